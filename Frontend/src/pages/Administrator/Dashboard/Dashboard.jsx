@@ -12,7 +12,7 @@ import {
     FaUserShield,
     FaUsers,
 } from "react-icons/fa";
-import { fetchDashboardOverview } from "../../../services/adminService";
+import { fetchDashboardOverview, subscribeToDashboardOverview } from "../../../services/adminService";
 import AdminNavigation from "../../../components/admin/AdminNavigation";
 
 const pageStyles = {
@@ -62,6 +62,13 @@ function Dashboard() {
         };
 
         resolveOverview();
+
+        // Live counters replace the snapshot as they change; EventSource reconnects on its own after errors.
+        return subscribeToDashboardOverview((data) => {
+            setOverview(data);
+            setOverviewError("");
+            setIsOverviewLoading(false);
+        });
     }, []);
 
     const overviewMetrics = useMemo(() => {
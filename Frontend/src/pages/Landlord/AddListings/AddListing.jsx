@@ -7,6 +7,7 @@ import { getCurrentUser } from "../../../services/authService";
 const initialForm = {
   rent: "",
   distanceFromCampus: "",
+  bedCapacity: "",
   roomType: "SINGLE",
   bathroomType: "PRIVATE",
   status: "AVAILABLE",
@@ -85,6 +86,7 @@ export default function AddListing() {
     return {
       rent: toNumber(formData.rent),
       distanceFromCampus: toNumber(formData.distanceFromCampus),
+      bedCapacity: toInteger(formData.bedCapacity),
       roomType: formData.roomType,
       bathroomType: formData.bathroomType,
       accommodationStatus: formData.status,
@@ -176,6 +178,18 @@ export default function AddListing() {
                     required
                 />
               </label>
+              <label className="form-field">
+                <span>Beds available (optional)</span>
+                <input
+                    type="number"
+                    name="bedCapacity"
+                    min="1"
+                    step="1"
+                    className="input"
+                    value={formData.bedCapacity}
+                    onChange={handleFieldChange}
+                />
+              </label>
               <label className="form-field">
                 <span>Room type</span>
                 <select
@@ -1,6 +1,6 @@
 import React, { useCallback, useEffect, useMemo, useRef, useState } from "react";
 import { useNavigate } from "react-router-dom";
-import { searchAccommodations } from "../../../services/accommodationService";
+import { searchAccommodationPage } from "../../../services/accommodationService";
 import StudentNavigation from "../../../components/student/StudentNavigation";
 
 const initialFilters = {
@@ -175,6 +175,9 @@ function SearchAccommodation() {
     const [filters, setFilters] = useState(initialFilters);
     const [results, setResults] = useState([]);
     const [loading, setLoading] = useState(false);
+    const [nextPageToken, setNextPageToken] = useState(null);
+    const [activePayload, setActivePayload] = useState({});
+    const [loadingMore, setLoadingMore] = useState(false);
     const [error, setError] = useState("");
     const [suggestions, setSuggestions] = useState([]);
     const [sortOrder, setSortOrder] = useState("RECOMMENDED");
@@ -221,17 +224,38 @@ function SearchAccommodation() {
     const loadResults = useCallback(async (payload = {}) => {
         setLoading(true);
         setError("");
+        setActivePayload(payload);
         try {
-            const data = await searchAccommodations(payload);
-            setResults(Array.isArray(data) ? data : []);
+            const page = await searchAccommodationPage(payload);
+            setResults(page.items);
+            setNextPageToken(page.nextPageToken);
         } catch (serviceError) {
             setError(serviceError.message);
             setResults([]);
+            setNextPageToken(null);
         } finally {
             setLoading(false);
         }
     }, []);
 
+    // Results are keyset-paginated; each page is fetched with the same filters and the token the last one returned.
+    const loadMoreResults = useCallback(async () => {
+        if (!nextPageToken) {
+            return;
+        }
+        setLoadingMore(true);
+        setError("");
+        try {
+            const page = await searchAccommodationPage(activePayload, { pageToken: nextPageToken });
+            setResults((current) => [...current, ...page.items]);
+            setNextPageToken(page.nextPageToken);
+        } catch (serviceError) {
+            setError(serviceError.message);
+        } finally {
+            setLoadingMore(false);
+        }
+    }, [activePayload, nextPageToken]);
+
     useEffect(() => {
         loadResults();
     }, [loadResults]);
@@ -806,6 +830,19 @@ function SearchAccommodation() {
                                 );
                             })}
                         </div>
+
+                        {!loading && !error && nextPageToken && (
+                            <div style={styles.loadMoreRow}>
+                                <button
+                                    type="button"
+                                    style={styles.secondaryButton}
+                                    onClick={loadMoreResults}
+                                    disabled={loadingMore}
+                                >
+                                    {loadingMore ? "Loading..." : "Load more listings"}
+                                </button>
+                            </div>
+                        )}
                     </div>
 
                     <aside style={styles.mapPanel}>
@@ -1195,6 +1232,11 @@ const styles = {
         padding: "48px",
         textAlign: "center",
     },
+    loadMoreRow: {
+        display: "flex",
+        justifyContent: "center",
+        marginTop: "24px",
+    },
     mapPanel: {
         position: "relative",
         borderRadius: "28px",
@@ -18,11 +18,34 @@ const normaliseFilters = (filters = {}) => {
     return params.toString();
 };
 
-export const searchAccommodations = async (filters = {}) => {
-    const query = normaliseFilters(filters);
+export const searchAccommodationPage = async (filters = {}, { sort, pageToken, size } = {}) => {
+    const query = normaliseFilters({ ...filters, sort, pageToken, size });
     const path = query ? `/accommodations/search?${query}` : "/accommodations/search";
     const response = await apiClient.get(path);
-    return response ?? [];
+    return {
+        items: Array.isArray(response?.items) ? response.items : [],
+        nextPageToken: response?.nextPageToken ?? null,
+    };
+};
+
+export const searchAccommodations = async (filters = {}, options = {}) => {
+    const page = await searchAccommodationPage(filters, options);
+    return page.items;
+};
+
+export const fetchSearchFacets = async (filters = {}) => {
+    const query = normaliseFilters(filters);
+    const path = query ? `/accommodations/search/facets?${query}` : "/accommodations/search/facets";
+    return apiClient.get(path);
+};
+
+export const suggestAccommodations = async (q, limit) => {
+    const query = normaliseFilters({ q, limit });
+    if (!query.includes("q=")) {
+        return [];
+    }
+    const response = await apiClient.get(`/accommodations/suggest?${query}`);
+    return Array.isArray(response) ? response : [];
 };
 
 export const fetchAccommodation = async (id) => {
@@ -59,12 +82,22 @@ export const fetchLandlordListings = async (landlordId, filters = {}) => {
         throw new Error("Landlord id is required to fetch listings");
     }
 
-    const results = await searchAccommodations({ ...filters, landlordId });
-    return Array.isArray(results) ? results : [];
+    const listings = [];
+    let pageToken;
+    do {
+        // A landlord's own listings are few, so follow the page tokens and hand back the complete set.
+        const page = await searchAccommodationPage({ ...filters, landlordId }, { pageToken, size: 100 });
+        listings.push(...page.items);
+        pageToken = page.nextPageToken;
+    } while (pageToken);
+    return listings;
 };
 
 const accommodationService = {
     searchAccommodations,
+    searchAccommodationPage,
+    fetchSearchFacets,
+    suggestAccommodations,
     fetchAccommodation,
     createAccommodation,
     updateAccommodation,
@@ -1,4 +1,4 @@
-import apiClient from "./apiClient";
+import apiClient, { API_BASE_URL } from "./apiClient";
 
 export const fetchDashboardOverview = async () => {
     const response = await apiClient.get("/admin/dashboard/overview");
@@ -8,6 +8,37 @@ export const fetchDashboardOverview = async () => {
     return response;
 };
 
+export const subscribeToDashboardOverview = (onOverview, onError) => {
+    if (typeof window === "undefined" || typeof window.EventSource === "undefined") {
+        return () => {};
+    }
+
+    const source = new window.EventSource(`${API_BASE_URL}/admin/dashboard/stream`);
+    source.addEventListener("overview", (event) => {
+        try {
+            onOverview(JSON.parse(event.data));
+        } catch (error) {
+            onError?.(error);
+        }
+    });
+    source.onerror = (error) => onError?.(error);
+    return () => source.close();
+};
+
+export const fetchBookingSeries = async ({ from, to, granularity, suburb, roomType } = {}) => {
+    if (!from || !to) {
+        throw new Error("A from and to date are required.");
+    }
+
+    const params = new URLSearchParams({ from, to });
+    if (granularity) params.append("granularity", granularity);
+    if (suburb) params.append("suburb", suburb);
+    if (roomType) params.append("roomType", roomType);
+
+    const response = await apiClient.get(`/admin/analytics/bookings?${params.toString()}`);
+    return response || [];
+};
+
 export const applyForAdministrator = async (application) => {
     if (!application) {
         throw new Error("Application details are required.");
@@ -80,6 +80,27 @@ const defaultHeaders = {
     "Content-Type": "application/json",
 };
 
+const AUTH_STORAGE_KEY = "cput_shc_active_user";
+
+// Administrators get a session token at login; sending it spares the password on every admin action.
+const resolveSessionHeaders = () => {
+    if (typeof window === "undefined" || !window.localStorage) {
+        return {};
+    }
+    try {
+        const user = JSON.parse(window.localStorage.getItem(AUTH_STORAGE_KEY) || "null");
+        if (!user?.sessionToken) {
+            return {};
+        }
+        if (user.sessionExpiresAt && Date.parse(user.sessionExpiresAt) <= Date.now()) {
+            return {};
+        }
+        return { Authorization: `Bearer ${user.sessionToken}` };
+    } catch (error) {
+        return {};
+    }
+};
+
 const createError = (message, code, details) => {
     const error = new Error(message);
     if (code) {
@@ -169,6 +190,7 @@ const request = async (path, options = {}) => {
         cache: "no-store",
         headers: {
             ...defaultHeaders,
+            ...resolveSessionHeaders(),
             ...(headers || {}),
         },
         ...rest,
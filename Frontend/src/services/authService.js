@@ -59,6 +59,12 @@ export const login = async (role, email, password) => {
         userId: response.userId,
         adminRoleStatus: response.adminRoleStatus,
         superAdmin: Boolean(response.superAdmin),
+        ...(response.sessionToken
+            ? {
+                sessionToken: response.sessionToken,
+                sessionExpiresAt: response.sessionExpiresAt,
+            }
+            : {}),
     };
 
     persistUser(sessionUser);
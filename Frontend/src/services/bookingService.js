@@ -36,6 +36,38 @@ export const listApplicationsForStudent = async (studentId) => {
     return Array.isArray(response) ? response : [];
 };
 
+const fetchInboxPage = async (path, { status, accommodationId, pageToken, size } = {}) => {
+    const params = new URLSearchParams();
+    Object.entries({ status, accommodationId, pageToken, size }).forEach(([key, value]) => {
+        if (value !== undefined && value !== null && value !== "") {
+            params.append(key, value);
+        }
+    });
+
+    const query = params.toString();
+    const response = await apiClient.get(query ? `${path}?${query}` : path);
+    return {
+        items: Array.isArray(response?.items) ? response.items : [],
+        nextPageToken: response?.nextPageToken ?? null,
+    };
+};
+
+export const fetchLandlordInboxPage = async (landlordId, options = {}) => {
+    if (!landlordId) {
+        throw new Error("Landlord id is required to fetch applications.");
+    }
+
+    return fetchInboxPage(`/bookings/landlord/${landlordId}/inbox`, options);
+};
+
+export const fetchStudentInboxPage = async (studentId, options = {}) => {
+    if (!studentId) {
+        throw new Error("Student id is required to fetch applications.");
+    }
+
+    return fetchInboxPage(`/bookings/student/${studentId}/inbox`, options);
+};
+
 export const updateApplicationStatus = async (bookingId, nextStatus) => {
     if (!bookingId) {
         throw new Error("Booking id is required to update status.");
@@ -48,6 +80,18 @@ export const updateApplicationStatus = async (bookingId, nextStatus) => {
     return apiClient.patch(`/bookings/applications/${bookingId}/status`, { status: nextStatus });
 };
 
+export const updateApplicationStatuses = async (landlordId, decisions) => {
+    if (!landlordId) {
+        throw new Error("Landlord id is required to update applications.");
+    }
+
+    if (!Array.isArray(decisions) || decisions.length === 0) {
+        throw new Error("At least one decision is required.");
+    }
+
+    return apiClient.patch("/bookings/applications/status", { landlordId, decisions });
+};
+
 export const listBookings = async (filters = {}) => {
     if (filters.landlordId) {
         return listApplicationsForLandlord(filters.landlordId);
@@ -81,6 +125,8 @@ const bookingService = {
     applyForListing,
     listApplicationsForLandlord,
     listApplicationsForStudent,
+    fetchLandlordInboxPage,
+    fetchStudentInboxPage,
     updateApplicationStatus,
     listBookings,
     fetchBooking,
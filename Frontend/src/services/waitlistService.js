@@ -0,0 +1,53 @@
+import apiClient from "./apiClient";
+
+export const joinWaitlist = async (studentId, accommodationId) => {
+    if (!studentId || !accommodationId) {
+        throw new Error("Student and accommodation identifiers are required.");
+    }
+
+    return apiClient.post("/waitlist", { studentId, accommodationId });
+};
+
+export const listWaitlistEntries = async (studentId) => {
+    if (!studentId) {
+        throw new Error("Student id is required to fetch waitlist places.");
+    }
+
+    const response = await apiClient.get(`/waitlist/student/${studentId}`);
+    return Array.isArray(response) ? response : [];
+};
+
+export const listWaitlistForListing = async (accommodationId) => {
+    if (!accommodationId) {
+        throw new Error("Accommodation id is required to fetch the waitlist.");
+    }
+
+    const response = await apiClient.get(`/waitlist/accommodation/${accommodationId}`);
+    return Array.isArray(response) ? response : [];
+};
+
+export const acceptWaitlistOffer = async (entryId, studentId) => {
+    if (!entryId || !studentId) {
+        throw new Error("Waitlist entry and student identifiers are required.");
+    }
+
+    return apiClient.post(`/waitlist/${entryId}/accept?studentId=${encodeURIComponent(studentId)}`);
+};
+
+export const leaveWaitlist = async (entryId, studentId) => {
+    if (!entryId || !studentId) {
+        throw new Error("Waitlist entry and student identifiers are required.");
+    }
+
+    return apiClient.delete(`/waitlist/${entryId}?studentId=${encodeURIComponent(studentId)}`);
+};
+
+const waitlistService = {
+    joinWaitlist,
+    listWaitlistEntries,
+    listWaitlistForListing,
+    acceptWaitlistOffer,
+    leaveWaitlist,
+};
+
+export default waitlistService;
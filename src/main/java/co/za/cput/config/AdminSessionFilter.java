@@ -0,0 +1,55 @@
+package co.za.cput.config;
+
+import co.za.cput.service.users.AdminPrincipal;
+import co.za.cput.service.users.AdminSessionTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests carrying an administrator session token in {@code Authorization: Bearer}. A missing,
+ * expired or forged token leaves the request anonymous rather than failing it, so endpoints that still accept a
+ * password keep working and public endpoints are never blocked by a stale token.
+ * <p>
+ * Not a bean on purpose: Spring Boot would also register a bean filter with the servlet container, running it
+ * twice. {@link SecurityConfig} adds it to the security chain instead.
+ */
+public class AdminSessionFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final AdminSessionTokenService tokens;
+
+    public AdminSessionFilter(AdminSessionTokenService tokens) {
+        this.tokens = tokens;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            tokens.authenticate(header.substring(BEARER.length()).trim()).ifPresent(this::signIn);
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void signIn(AdminPrincipal principal) {
+        List<SimpleGrantedAuthority> authorities = principal.superAdmin()
+                ? List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_SUPER_ADMIN"))
+                : List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities));
+        SecurityContextHolder.setContext(context);
+    }
+}
@@ -1,5 +1,6 @@
 package co.za.cput.config;
 
+import co.za.cput.service.users.AdminSessionTokenService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +9,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -56,9 +58,11 @@ public class SecurityConfig {
 
         @Bean
             public SecurityFilterChain filterChain(HttpSecurity http,
-                    CorsConfigurationSource corsConfigurationSource) throws Exception {
+                    CorsConfigurationSource corsConfigurationSource,
+                    AdminSessionTokenService adminSessions) throws Exception {
                 http
                         .cors(cors -> cors.configurationSource(corsConfigurationSource)) // Enable CORS
+                        .addFilterBefore(new AdminSessionFilter(adminSessions), UsernamePasswordAuthenticationFilter.class) // admin session tokens
                         .csrf(csrf -> csrf.disable()) // Disable CSRF for Postman/React testing
                         .authorizeHttpRequests(auth -> auth
                                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()//This allows all OPTIONS requests to pass through without authentication
@@ -1,18 +1,36 @@
+package co.za.cput.controller.analytics;
+
 import co.za.cput.dto.AdminDashboardStats;
+import co.za.cput.dto.ApplicationExpiryStats;
+import co.za.cput.dto.LoginThrottleStats;
 import co.za.cput.service.analytics.AdminDashboardService;
+import co.za.cput.service.analytics.DashboardStreamService;
+import co.za.cput.service.business.implementation.ApplicationExpiryService;
+import co.za.cput.service.users.LoginRateLimiter;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/admin/dashboard")
 public class AdminDashboardController {
 
     private final AdminDashboardService adminDashboardService;
+    private final DashboardStreamService dashboardStreamService;
+    private final ApplicationExpiryService applicationExpiryService;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AdminDashboardController(AdminDashboardService adminDashboardService) {
+    public AdminDashboardController(AdminDashboardService adminDashboardService,
+                                    DashboardStreamService dashboardStreamService,
+                                    ApplicationExpiryService applicationExpiryService,
+                                    LoginRateLimiter loginRateLimiter) {
         this.adminDashboardService = adminDashboardService;
+        this.dashboardStreamService = dashboardStreamService;
+        this.applicationExpiryService = applicationExpiryService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     @GetMapping("/overview")
@@ -20,4 +38,19 @@ public class AdminDashboardController {
         AdminDashboardStats stats = adminDashboardService.buildOverview();
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/application-expiry")
+    public ResponseEntity<ApplicationExpiryStats> getApplicationExpiry() {
+        return ResponseEntity.ok(applicationExpiryService.stats());
+    }
+
+    @GetMapping("/login-throttling")
+    public ResponseEntity<LoginThrottleStats> getLoginThrottling() {
+        return ResponseEntity.ok(loginRateLimiter.stats());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOverview() {
+        return dashboardStreamService.subscribe();
+    }
+}
@@ -0,0 +1,73 @@
+package co.za.cput.controller.analytics;
+
+import co.za.cput.domain.analytics.BookingRollup;
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.dto.BookingSeriesPoint;
+import co.za.cput.dto.ResponseLatencySummary;
+import co.za.cput.service.analytics.BookingAnalyticsService;
+import co.za.cput.service.analytics.ResponseLatencyTracker;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+public class BookingAnalyticsController {
+
+    static final int DEFAULT_FUNNEL_DAYS = 90;
+
+    private final BookingAnalyticsService bookingAnalyticsService;
+    private final ResponseLatencyTracker responseLatencyTracker;
+
+    public BookingAnalyticsController(BookingAnalyticsService bookingAnalyticsService,
+                                      ResponseLatencyTracker responseLatencyTracker) {
+        this.bookingAnalyticsService = bookingAnalyticsService;
+        this.responseLatencyTracker = responseLatencyTracker;
+    }
+
+    @GetMapping("/bookings")
+    public ResponseEntity<?> bookingSeries(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "granularity", required = false) BookingRollup.Granularity granularity,
+            @RequestParam(value = "suburb", required = false) String suburb,
+            @RequestParam(value = "roomType", required = false) Accommodation.RoomType roomType) {
+        try {
+            List<BookingSeriesPoint> series = bookingAnalyticsService.series(granularity, from, to, suburb, roomType);
+            return ResponseEntity.ok(series);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+        }
+    }
+
+    /**
+     * Defaults to the last {@value #DEFAULT_FUNNEL_DAYS} days ending today.
+     */
+    @GetMapping("/funnel")
+    public ResponseEntity<?> funnel(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_FUNNEL_DAYS - 1);
+        try {
+            return ResponseEntity.ok(bookingAnalyticsService.funnel(start, end));
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+        }
+    }
+
+    @GetMapping("/response-times")
+    public ResponseEntity<ResponseLatencySummary> responseTimes(
+            @RequestParam(value = "landlordId", required = false) Long landlordId) {
+        return ResponseEntity.ok(landlordId != null
+                ? responseLatencyTracker.forLandlord(landlordId)
+                : responseLatencyTracker.overall());
+    }
+}
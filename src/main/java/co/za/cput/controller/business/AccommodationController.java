@@ -1,11 +1,17 @@
 package co.za.cput.controller.business;
 
 import co.za.cput.domain.business.Accommodation;
+import co.za.cput.dto.AccommodationFacets;
 import co.za.cput.dto.AccommodationInsight;
-import co.za.cput.dto.AccommodationSearchCriteria;
-import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.dto.AccommodationInsightsRequest;
+import co.za.cput.dto.AccommodationSearchPage;
+import co.za.cput.dto.AccommodationSearchRequest;
+import co.za.cput.dto.AccommodationSortOption;
+import co.za.cput.dto.AccommodationSuggestion;
+import co.za.cput.dto.SearchCacheStats;
 import co.za.cput.service.business.implementation.AccommodationInsightService;
 import co.za.cput.service.business.implementation.AccommodationServiceImpl;
+import co.za.cput.service.business.search.AccommodationSearchCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,23 +21,32 @@ import java.util.List;
 @RequestMapping({"/api/accommodations", "/HouseConnect/Accommodation"})
 public class AccommodationController {
 
+    private static final int MAX_BULK_INSIGHTS = 100;
+
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(AccommodationController.class);
 
     private final AccommodationServiceImpl accommodationService;
     private final AccommodationInsightService accommodationInsightService;
+    private final AccommodationSearchCache searchCache;
 
     public AccommodationController(AccommodationServiceImpl accommodationService,
-                                   AccommodationInsightService accommodationInsightService) {
+                                   AccommodationInsightService accommodationInsightService,
+                                   AccommodationSearchCache searchCache) {
         this.accommodationService = accommodationService;
         this.accommodationInsightService = accommodationInsightService;
+        this.searchCache = searchCache;
     }
 
     @PostMapping("/create")
-    public ResponseEntity<Accommodation> create(@RequestBody Accommodation accommodation) {
+    public ResponseEntity<?> create(@RequestBody Accommodation accommodation) {
         log.debug("Received create request: {}", accommodation);
-        Accommodation created = accommodationService.create(accommodation);
-        log.debug("Created accommodation response: {}", created);
-        return ResponseEntity.ok(created);
+        try {
+            Accommodation created = accommodationService.create(accommodation);
+            log.debug("Created accommodation response: {}", created);
+            return ResponseEntity.ok(created);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
     }
 
     @GetMapping("/read/{accommodationID}")
@@ -44,15 +59,19 @@ public class AccommodationController {
     }
 
     @PutMapping("/update")
-    public ResponseEntity<Accommodation> update(@RequestBody Accommodation accommodation) {
+    public ResponseEntity<?> update(@RequestBody Accommodation accommodation) {
         if (accommodation.getAccommodationID() == null) {
             return ResponseEntity.badRequest().build();
         }
-        Accommodation updated = accommodationService.update(accommodation);
-        if (updated == null) {
-            return ResponseEntity.notFound().build();
+        try {
+            Accommodation updated = accommodationService.update(accommodation);
+            if (updated == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(updated);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
         }
-        return ResponseEntity.ok(updated);
     }
 
     @GetMapping({"/getAllAccommodations", "/getAllAccommodation"})
@@ -65,40 +84,51 @@ public class AccommodationController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<AccommodationSummary>> search(
-            @RequestParam(value = "minRent", required = false) Double minRent,
-            @RequestParam(value = "maxRent", required = false) Double maxRent,
-            @RequestParam(value = "wifiAvailable", required = false) Boolean wifiAvailable,
-            @RequestParam(value = "furnished", required = false) Boolean furnished,
-            @RequestParam(value = "utilitiesIncluded", required = false) Boolean utilitiesIncluded,
-            @RequestParam(value = "maxDistanceFromCampus", required = false) Double maxDistanceFromCampus,
-            @RequestParam(value = "city", required = false) String city,
-            @RequestParam(value = "suburb", required = false) String suburb,
-            @RequestParam(value = "roomType", required = false) Accommodation.RoomType roomType,
-            @RequestParam(value = "bathroomType", required = false) Accommodation.BathroomType bathroomType,
-            @RequestParam(value = "status", required = false) Accommodation.AccommodationStatus status,
-            @RequestParam(value = "landlordId", required = false) Long landlordId
+    public ResponseEntity<?> search(
+            @ModelAttribute AccommodationSearchRequest request,
+            @RequestParam(value = "sort", required = false) AccommodationSortOption sort,
+            @RequestParam(value = "pageToken", required = false) String pageToken,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        AccommodationSearchPage page;
+        try {
+            page = accommodationService.search(request.toCriteria(), sort, pageToken, size);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
+
+        if (page.items().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search/facets")
+    public ResponseEntity<?> facets(@ModelAttribute AccommodationSearchRequest request) {
+        AccommodationFacets facets;
+        try {
+            facets = accommodationService.facets(request.toCriteria());
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
+        return ResponseEntity.ok(facets);
+    }
+
+    @GetMapping("/search/cache-stats")
+    public ResponseEntity<SearchCacheStats> searchCacheStats() {
+        return ResponseEntity.ok(searchCache.stats());
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<AccommodationSuggestion>> suggest(
+            @RequestParam(value = "q") String q,
+            @RequestParam(value = "limit", required = false) Integer limit
     ) {
-        AccommodationSearchCriteria criteria = new AccommodationSearchCriteria(
-                minRent,
-                maxRent,
-                wifiAvailable,
-                furnished,
-                utilitiesIncluded,
-                maxDistanceFromCampus,
-                city,
-                suburb,
-                roomType,
-                bathroomType,
-                status,
-                landlordId
-        );
-
-        List<AccommodationSummary> results = accommodationService.search(criteria);
-        if (results == null || results.isEmpty()) {
+        List<AccommodationSuggestion> suggestions = accommodationService.suggest(q, limit);
+        if (suggestions.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok(suggestions);
     }
 
     @GetMapping("/{accommodationID}/insights")
@@ -108,6 +138,23 @@ public class AccommodationController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/insights")
+    public ResponseEntity<?> getInsights(@RequestBody AccommodationInsightsRequest request) {
+        if (request == null || request.getAccommodationIds() == null || request.getAccommodationIds().isEmpty()) {
+            return ResponseEntity.badRequest().body("At least one accommodation id is required.");
+        }
+        if (request.getAccommodationIds().size() > MAX_BULK_INSIGHTS) {
+            return ResponseEntity.badRequest()
+                    .body("At most " + MAX_BULK_INSIGHTS + " accommodation ids can be requested at once.");
+        }
+
+        List<AccommodationInsight> insights = accommodationInsightService.buildInsights(request.getAccommodationIds());
+        if (insights.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(insights);
+    }
+
     @GetMapping("/top-rated")
     public ResponseEntity<List<AccommodationInsight>> getTopRated(
             @RequestParam(value = "limit", required = false, defaultValue = "5") int limit
@@ -1,10 +1,14 @@
 package co.za.cput.controller.business;
 
 import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.BookingApplicationPage;
 import co.za.cput.dto.BookingApplicationRequest;
 import co.za.cput.dto.BookingApplicationView;
+import co.za.cput.dto.BookingStatusBulkRequest;
+import co.za.cput.dto.BookingStatusBulkResponse;
 import co.za.cput.dto.BookingStatusUpdateRequest;
 import co.za.cput.service.business.implementation.BookingServiceImpl;
+import co.za.cput.service.generic.implementation.IdempotencyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,10 +21,12 @@ import java.util.List;
 public class BookingController {
 
     private final BookingServiceImpl bookingService;
+    private final IdempotencyService idempotency;
 
     @Autowired
-    public BookingController(BookingServiceImpl bookingService) {
+    public BookingController(BookingServiceImpl bookingService, IdempotencyService idempotency) {
         this.bookingService = bookingService;
+        this.idempotency = idempotency;
     }
 
     @PostMapping("/create")
@@ -30,13 +36,16 @@ public class BookingController {
     }
 
     @PostMapping("/apply")
-    public ResponseEntity<?> apply(@RequestBody BookingApplicationRequest request) {
-        try {
-            BookingApplicationView application = bookingService.applyForAccommodation(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(application);
-        } catch (IllegalArgumentException exception) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
-        }
+    public ResponseEntity<?> apply(@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                                   @RequestBody BookingApplicationRequest request) {
+        return idempotency.execute("bookings.apply", idempotencyKey, request, () -> {
+            try {
+                BookingApplicationView application = bookingService.applyForAccommodation(request);
+                return ResponseEntity.status(HttpStatus.CREATED).body(application);
+            } catch (IllegalArgumentException exception) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+            }
+        });
     }
 
     @GetMapping("/read/{bookingID}")
@@ -87,6 +96,42 @@ public class BookingController {
         return ResponseEntity.ok(applications);
     }
 
+    @GetMapping("/landlord/{landlordId}/inbox")
+    public ResponseEntity<?> landlordInbox(@PathVariable Long landlordId,
+                                           @RequestParam(value = "status", required = false) Booking.BookingStatus status,
+                                           @RequestParam(value = "accommodationId", required = false) Long accommodationId,
+                                           @RequestParam(value = "pageToken", required = false) String pageToken,
+                                           @RequestParam(value = "size", required = false) Integer size) {
+        BookingApplicationPage page;
+        try {
+            page = bookingService.findApplicationPageForLandlord(landlordId, status, accommodationId, pageToken, size);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
+        if (page.items().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/student/{studentId}/inbox")
+    public ResponseEntity<?> studentInbox(@PathVariable Long studentId,
+                                          @RequestParam(value = "status", required = false) Booking.BookingStatus status,
+                                          @RequestParam(value = "accommodationId", required = false) Long accommodationId,
+                                          @RequestParam(value = "pageToken", required = false) String pageToken,
+                                          @RequestParam(value = "size", required = false) Integer size) {
+        BookingApplicationPage page;
+        try {
+            page = bookingService.findApplicationPageForStudent(studentId, status, accommodationId, pageToken, size);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
+        if (page.items().isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(page);
+    }
+
     @PatchMapping("/applications/{bookingId}/status")
     public ResponseEntity<?> updateStatus(@PathVariable Long bookingId,
                                           @RequestBody BookingStatusUpdateRequest request) {
@@ -101,6 +146,16 @@ public class BookingController {
         }
     }
 
+    @PatchMapping("/applications/status")
+    public ResponseEntity<?> updateStatuses(@RequestBody BookingStatusBulkRequest request) {
+        try {
+            BookingStatusBulkResponse response = bookingService.updateApplicationStatuses(request);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+        }
+    }
+
     @DeleteMapping("/delete/{bookingID}")
     public void delete(@PathVariable Long bookingID) {
         bookingService.delete(bookingID);
@@ -0,0 +1,81 @@
+package co.za.cput.controller.business;
+
+import co.za.cput.dto.WaitlistEntryView;
+import co.za.cput.service.business.IWaitlistService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+
+    private final IWaitlistService waitlistService;
+
+    public WaitlistController(IWaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> join(@RequestBody Map<String, Long> request) {
+        Long studentId = request.get("studentId");
+        Long accommodationId = request.get("accommodationId");
+
+        if (studentId == null || accommodationId == null) {
+            return ResponseEntity.badRequest().body("Student id and accommodation id are required.");
+        }
+
+        try {
+            WaitlistEntryView entry = waitlistService.join(studentId, accommodationId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+        } catch (IllegalArgumentException exception) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exception.getMessage());
+        }
+    }
+
+    @GetMapping("/student/{studentId}")
+    public ResponseEntity<List<WaitlistEntryView>> listForStudent(@PathVariable Long studentId) {
+        List<WaitlistEntryView> entries = waitlistService.findForStudent(studentId);
+        if (entries.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(entries);
+    }
+
+    @GetMapping("/accommodation/{accommodationId}")
+    public ResponseEntity<List<WaitlistEntryView>> listForAccommodation(@PathVariable Long accommodationId) {
+        List<WaitlistEntryView> entries = waitlistService.findForAccommodation(accommodationId);
+        if (entries.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(entries);
+    }
+
+    @PostMapping("/{entryId}/accept")
+    public ResponseEntity<?> accept(@PathVariable Long entryId, @RequestParam Long studentId) {
+        try {
+            return ResponseEntity.ok(waitlistService.acceptOffer(entryId, studentId));
+        } catch (IllegalArgumentException exception) {
+            return errorResponse(exception);
+        }
+    }
+
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<?> leave(@PathVariable Long entryId, @RequestParam Long studentId) {
+        try {
+            return ResponseEntity.ok(waitlistService.leave(entryId, studentId));
+        } catch (IllegalArgumentException exception) {
+            return errorResponse(exception);
+        }
+    }
+
+    private static ResponseEntity<String> errorResponse(IllegalArgumentException exception) {
+        HttpStatus status = "Waitlist entry not found.".equals(exception.getMessage())
+                ? HttpStatus.NOT_FOUND
+                : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(exception.getMessage());
+    }
+}
@@ -5,9 +5,11 @@ import co.za.cput.domain.generic.UserAuthentication;
 import co.za.cput.domain.users.Landlord;
 import co.za.cput.domain.users.Student;
 import co.za.cput.service.generic.implementation.ContactServiceImpl;
+import co.za.cput.service.generic.implementation.IdempotencyService;
 import co.za.cput.service.generic.implementation.UserAuthenticationServiceImpl;
 import co.za.cput.service.users.implementation.LandLordServiceImpl;
 import co.za.cput.service.users.implementation.StudentServiceImpl;
+import co.za.cput.util.Helper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -31,18 +33,21 @@ public class UserAuthenticationController {
     private final LandLordServiceImpl landLordService;
     private final ContactServiceImpl contactService;
     private final PasswordEncoder passwordEncoder;
+    private final IdempotencyService idempotency;
 
     @Autowired
     public UserAuthenticationController(UserAuthenticationServiceImpl userAuthenticationService,
                                         StudentServiceImpl studentService,
                                         LandLordServiceImpl landLordService,
                                         ContactServiceImpl contactService,
-                                        PasswordEncoder passwordEncoder) {
+                                        PasswordEncoder passwordEncoder,
+                                        IdempotencyService idempotency) {
         this.userAuthenticationService = userAuthenticationService;
         this.studentService = studentService;
         this.landLordService = landLordService;
         this.contactService = contactService;
         this.passwordEncoder = passwordEncoder;
+        this.idempotency = idempotency;
     }
 
     @PostMapping("/create")
@@ -95,7 +100,13 @@ public class UserAuthenticationController {
     }
 
     @PostMapping({"/signup/student", "/api/auth/signup/student"})
-    public ResponseEntity<?> registerStudent(@RequestBody StudentRegistrationRequest request) {
+    public ResponseEntity<?> registerStudent(
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @RequestBody StudentRegistrationRequest request) {
+        return idempotency.execute("signup.student", idempotencyKey, request, () -> createStudentAccount(request));
+    }
+
+    private ResponseEntity<?> createStudentAccount(StudentRegistrationRequest request) {
         try {
             validateStudentRequest(request);
 
@@ -190,29 +201,42 @@ public class UserAuthenticationController {
         try {
             validateLoginRequest(request);
 
-            UserAuthentication user = userAuthenticationService
-                    .findByUsernameOrEmail(normalizeUsername(request.getUsername()))
-                    .orElse(null);
-            if (user == null) {
+            UserAuthentication.UserRole role = Helper.isNullorEmpty(request.getRole())
+                    ? null
+                    : parseEnum(UserAuthentication.UserRole.class, request.getRole(), "role");
+
+            List<UserAuthentication> candidates = userAuthenticationService
+                    .findAllByUsernameOrEmail(normalizeUsername(request.getUsername())).stream()
+                    .filter(candidate -> role == null || candidate.getUserRole() == role)
+                    .toList();
+            if (candidates.isEmpty()) {
                 return badRequest("User not found");
             }
 
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            UserAuthentication user = candidates.stream()
+                    .filter(candidate -> candidate.getPassword() != null
+                            && passwordEncoder.matches(request.getPassword(), candidate.getPassword()))
+                    .findFirst()
+                    .orElse(null);
+            if (user == null) {
                 return badRequest("Invalid credentials");
             }
 
+            UserAuthentication.UserRole signedInRole = role != null ? role : user.getUserRole();
             Long studentId = null;
-            if (user.getUserRole() == UserAuthentication.UserRole.STUDENT && user.getStudent() != null) {
+            if (signedInRole == UserAuthentication.UserRole.STUDENT && user.getStudent() != null) {
                 studentId = user.getStudent().getStudentID();
             }
 
             return ResponseEntity.ok(new LoginResponse(
                     "Login successful",
                     user.getAuthenticationId(),
-                    user.getUserRole().toString(),
+                    String.valueOf(signedInRole),
                     user.getUsername(),
                     studentId
             ));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
         } catch (Exception e) {
             return internalError("Login failed: " + e.getMessage());
         }
@@ -408,12 +432,16 @@ public class UserAuthenticationController {
     public static class LoginRequest {
         private String username;
         private String password;
+        private String role;
 
         public String getUsername() { return username; }
         public void setUsername(String username) { this.username = username; }
 
         public String getPassword() { return password; }
         public void setPassword(String password) { this.password = password; }
+
+        public String getRole() { return role; }
+        public void setRole(String role) { this.role = role; }
     }
 
     public static class RegistrationResponse {
@@ -7,10 +7,12 @@ import co.za.cput.dto.AdminApprovalRequest;
 import co.za.cput.dto.AdminRejectionRequest;
 import co.za.cput.dto.LandlordVerificationRequest;
 import co.za.cput.dto.ListingVerificationRequest;
+import co.za.cput.service.users.AdminPrincipal;
 import co.za.cput.service.users.implementation.AdministratorServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -32,20 +34,27 @@ public class AdministratorController {
     public ResponseEntity<Administrator> create(
             @RequestBody Administrator administrator,
             @RequestParam(value = "creatorAdminId", required = false) Long creatorAdminId,
-            @RequestParam(value = "creatorPassword", required = false) String creatorPassword) {
+            @RequestParam(value = "creatorPassword", required = false) String creatorPassword,
+            @AuthenticationPrincipal AdminPrincipal session) {
 
         if (administrator == null) {
             return ResponseEntity.badRequest().build();
         }
 
         if (administratorService.hasAnyAdministrators()) {
-            if (creatorAdminId == null || creatorPassword == null) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-            }
-
-            Administrator creator = administratorService.authenticateAdmin(creatorAdminId, creatorPassword);
-            if (creator == null || !creator.isSuperAdmin()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            if (session != null) {
+                if (!session.superAdmin()) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+                }
+            } else {
+                if (creatorAdminId == null || creatorPassword == null) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+                }
+
+                Administrator creator = administratorService.authenticateAdmin(creatorAdminId, creatorPassword);
+                if (creator == null || !creator.isSuperAdmin()) {
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+                }
             }
             administrator = new Administrator.Builder()
                     .copy(administrator)
@@ -195,19 +204,22 @@ public class AdministratorController {
     @PostMapping("/landlords/{landlordId}/verification")
     public ResponseEntity<?> verifyLandlord(
             @PathVariable Long landlordId,
-            @RequestBody LandlordVerificationRequest request) {
+            @RequestBody LandlordVerificationRequest request,
+            @AuthenticationPrincipal AdminPrincipal session) {
 
         if (request == null) {
             return ResponseEntity.badRequest().body("Verification request is required.");
         }
 
         try {
-            Landlord landlord = administratorService.verifyLandlord(
-                    request.getAdminId(),
-                    request.getAdminPassword(),
-                    landlordId,
-                    request.isApproved()
-            );
+            Landlord landlord = session != null
+                    ? administratorService.verifyLandlord(session, landlordId, request.isApproved())
+                    : administratorService.verifyLandlord(
+                            request.getAdminId(),
+                            request.getAdminPassword(),
+                            landlordId,
+                            request.isApproved()
+                    );
             return ResponseEntity.ok(landlord);
         } catch (IllegalArgumentException exception) {
             return handleAdminActionException(exception);
@@ -217,20 +229,24 @@ public class AdministratorController {
     @PostMapping("/verifications/{verificationId}/status")
     public ResponseEntity<?> verifyListing(
             @PathVariable Long verificationId,
-            @RequestBody ListingVerificationRequest request) {
+            @RequestBody ListingVerificationRequest request,
+            @AuthenticationPrincipal AdminPrincipal session) {
 
         if (request == null) {
             return ResponseEntity.badRequest().body("Verification request is required.");
         }
 
         try {
-            Verification verification = administratorService.verifyListing(
-                    request.getAdminId(),
-                    request.getAdminPassword(),
-                    verificationId,
-                    request.getStatus(),
-                    request.getNotes()
-            );
+            Verification verification = session != null
+                    ? administratorService.verifyListing(session, verificationId, request.getStatus(),
+                            request.getNotes())
+                    : administratorService.verifyListing(
+                            request.getAdminId(),
+                            request.getAdminPassword(),
+                            verificationId,
+                            request.getStatus(),
+                            request.getNotes()
+                    );
             return ResponseEntity.ok(verification);
         } catch (IllegalArgumentException exception) {
             return handleAdminActionException(exception);
@@ -7,6 +7,7 @@ import co.za.cput.service.users.TooManyLoginAttemptsException;
 import co.za.cput.service.users.implementation.AuthenticationService;
 import co.za.cput.service.users.implementation.StudentServiceImpl;
 import co.za.cput.util.Helper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -33,7 +34,7 @@ public class AuthenticationController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest loginRequest, HttpServletRequest httpRequest) {
         if (loginRequest == null) {
             return ResponseEntity.badRequest().body(LoginResponse.failure("Login request is required."));
         }
@@ -42,7 +43,8 @@ public class AuthenticationController {
             LoginResponse loginResponse = authenticationService.login(
                     loginRequest.getEmail(),
                     loginRequest.getPassword(),
-                    loginRequest.getRole()
+                    loginRequest.getRole(),
+                    httpRequest.getRemoteAddr()
             );
 
             if (loginResponse.isAuthenticated()) {
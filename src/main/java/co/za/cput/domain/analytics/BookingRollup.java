@@ -0,0 +1,181 @@
+package co.za.cput.domain.analytics;
+
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Booking activity for one period, suburb and room type. Rows exist per day, ISO week and month so a series over
+ * any range reads at most a few hundred pre-summed rows instead of the booking table. Suburbs are stored trimmed
+ * and lower-cased so differently typed spellings share a bucket.
+ */
+@Entity
+@Table(name = "booking_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_booking_rollup_bucket",
+                columnNames = {"granularity", "period_start", "suburb", "room_type"}))
+public class BookingRollup {
+
+    public static final String UNSPECIFIED = "UNSPECIFIED";
+
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    private Long rollupID;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 8)
+    private Granularity granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "suburb", nullable = false, length = 120)
+    private String suburb;
+
+    @Column(name = "room_type", nullable = false, length = 32)
+    private String roomType;
+
+    private long applications;
+    private long confirmations;
+    private long failures;
+
+    public enum Granularity {
+        DAY,
+        WEEK,
+        MONTH;
+
+        public LocalDate periodStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        public LocalDate next(LocalDate periodStart) {
+            return switch (this) {
+                case DAY -> periodStart.plusDays(1);
+                case WEEK -> periodStart.plusWeeks(1);
+                case MONTH -> periodStart.plusMonths(1);
+            };
+        }
+    }
+
+    protected BookingRollup() {}
+
+    private BookingRollup(Builder builder) {
+        this.rollupID = builder.rollupID;
+        this.granularity = builder.granularity;
+        this.periodStart = builder.periodStart;
+        this.suburb = builder.suburb;
+        this.roomType = builder.roomType;
+        this.applications = builder.applications;
+        this.confirmations = builder.confirmations;
+        this.failures = builder.failures;
+    }
+
+    public Long getRollupID() {
+        return rollupID;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public String getSuburb() {
+        return suburb;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public long getApplications() {
+        return applications;
+    }
+
+    public long getConfirmations() {
+        return confirmations;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingRollup{" +
+                "rollupID=" + rollupID +
+                ", granularity=" + granularity +
+                ", periodStart=" + periodStart +
+                ", suburb='" + suburb + '\'' +
+                ", roomType='" + roomType + '\'' +
+                ", applications=" + applications +
+                ", confirmations=" + confirmations +
+                ", failures=" + failures +
+                '}';
+    }
+
+    public static class Builder {
+        private Long rollupID;
+        private Granularity granularity;
+        private LocalDate periodStart;
+        private String suburb;
+        private String roomType;
+        private long applications;
+        private long confirmations;
+        private long failures;
+
+        public Builder setRollupID(Long rollupID) {
+            this.rollupID = rollupID;
+            return this;
+        }
+        public Builder setGranularity(Granularity granularity) {
+            this.granularity = granularity;
+            return this;
+        }
+        public Builder setPeriodStart(LocalDate periodStart) {
+            this.periodStart = periodStart;
+            return this;
+        }
+        public Builder setSuburb(String suburb) {
+            this.suburb = suburb;
+            return this;
+        }
+        public Builder setRoomType(String roomType) {
+            this.roomType = roomType;
+            return this;
+        }
+        public Builder setApplications(long applications) {
+            this.applications = applications;
+            return this;
+        }
+        public Builder setConfirmations(long confirmations) {
+            this.confirmations = confirmations;
+            return this;
+        }
+        public Builder setFailures(long failures) {
+            this.failures = failures;
+            return this;
+        }
+
+        public Builder copy(BookingRollup rollup) {
+            this.rollupID = rollup.getRollupID();
+            this.granularity = rollup.getGranularity();
+            this.periodStart = rollup.getPeriodStart();
+            this.suburb = rollup.getSuburb();
+            this.roomType = rollup.getRoomType();
+            this.applications = rollup.getApplications();
+            this.confirmations = rollup.getConfirmations();
+            this.failures = rollup.getFailures();
+            return this;
+        }
+
+        public BookingRollup build() {return new BookingRollup(this);}
+    }
+}
@@ -9,6 +9,7 @@ import co.za.cput.domain.users.Landlord;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
 import java.util.ArrayList;
@@ -26,6 +27,12 @@ public class Accommodation {
     private boolean furnished;
     private double distanceFromCampus;
     private boolean utilitiesIncluded;// utilities like water/electricity/WI-FI are included
+    private Integer bedCapacity;// beds the landlord offers; null leaves the status to be set by hand
+    // Confirmed bookings holding a bed. Only ever written by the conditional updates in AccommodationRepository,
+    // so saving a stale copy of the listing can never overwrite it.
+    @Column(nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int bedsReserved;
 
     @Enumerated(EnumType.STRING)
     private RoomType roomType;
@@ -76,6 +83,8 @@ public class Accommodation {
         this.furnished = builder.furnished;
         this.distanceFromCampus = builder.distanceFromCampus;
         this.utilitiesIncluded = builder.utilitiesIncluded;
+        this.bedCapacity = builder.bedCapacity;
+        this.bedsReserved = builder.bedsReserved;
         this.roomType = builder.roomType;
         this.bathroomType = builder.bathroomType;
         this.accommodationStatus = builder.accommodationStatus;
@@ -160,6 +169,22 @@ public class Accommodation {
         this.utilitiesIncluded = utilitiesIncluded;
     }
 
+    public Integer getBedCapacity() {
+        return bedCapacity;
+    }
+
+    public void setBedCapacity(Integer bedCapacity) {
+        this.bedCapacity = bedCapacity;
+    }
+
+    public int getBedsReserved() {
+        return bedsReserved;
+    }
+
+    public void setBedsReserved(int bedsReserved) {
+        this.bedsReserved = bedsReserved;
+    }
+
     public BathroomType getBathroomType() {
         return bathroomType;
     }
@@ -201,6 +226,8 @@ public class Accommodation {
                 ", furnished=" + furnished +
                 ", distanceFromCampus=" + distanceFromCampus +
                 ", utilitiesIncluded=" + utilitiesIncluded +
+                ", bedCapacity=" + bedCapacity +
+                ", bedsReserved=" + bedsReserved +
                 ", roomType=" + roomType +
                 ", bathroomType=" + bathroomType +
                 ", accommodationStatus=" + accommodationStatus +
@@ -217,6 +244,8 @@ public class Accommodation {
         private boolean furnished;
         private double distanceFromCampus;
         private boolean utilitiesIncluded;
+        private Integer bedCapacity;
+        private int bedsReserved;
         private RoomType roomType;
         private BathroomType bathroomType;
         private AccommodationStatus accommodationStatus;
@@ -251,6 +280,10 @@ public class Accommodation {
             this.utilitiesIncluded = utilitiesIncluded;
             return this;
         }
+        public Builder setBedCapacity(Integer bedCapacity) {
+            this.bedCapacity = bedCapacity;
+            return this;
+        }
         public Builder setBathroomType(BathroomType bathroomType) {
             this.bathroomType = bathroomType;
             return this;
@@ -288,6 +321,8 @@ public class Accommodation {
             this.furnished = accommodation.getIsFurnished();
             this.distanceFromCampus = accommodation.getDistanceFromCampus();
             this.utilitiesIncluded = accommodation.getIsUtilitiesIncluded();
+            this.bedCapacity = accommodation.getBedCapacity();
+            this.bedsReserved = accommodation.getBedsReserved();
             this.roomType = accommodation.getRoomType();
             this.accommodationStatus = accommodation.getAccommodationStatus();
             this.address = accommodation.getAddress();
@@ -0,0 +1,172 @@
+package co.za.cput.domain.business;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Running review totals for one accommodation, kept in step with every review write so rating reads never have
+ * to aggregate the review table. The stored average backs the top-rated index.
+ */
+@Entity
+@Table(name = "accommodation_rating",
+        indexes = @Index(name = "idx_accommodation_rating_rank", columnList = "average_rating, review_count"))
+public class AccommodationRating {
+    public static final int POSITIVE_RATING = 4;
+    /** The rating rank is the average rating in millionths, rounded down. */
+    public static final long RATING_RANK_SCALE = 1_000_000L;
+
+    @Id
+    @Column(name = "accommodation_id")
+    private Long accommodationId;
+    @Column(name = "rating_sum")
+    private long ratingSum;
+    @Column(name = "review_count")
+    private long reviewCount;
+    @Column(name = "positive_count")
+    private long positiveCount;
+    @Column(name = "last_review_date")
+    private LocalDate lastReviewDate;
+    @Column(name = "average_rating")
+    private double averageRating;
+    // Exact stand-in for the average that search pages seek on; a double cannot be compared for equality safely.
+    @Column(name = "rating_rank")
+    private long ratingRank;
+
+    protected AccommodationRating() {}
+
+    private AccommodationRating(Builder builder) {
+        this.accommodationId = builder.accommodationId;
+        this.ratingSum = builder.ratingSum;
+        this.reviewCount = builder.reviewCount;
+        this.positiveCount = builder.positiveCount;
+        this.lastReviewDate = builder.lastReviewDate;
+        this.averageRating = builder.reviewCount == 0 ? 0.0 : (double) builder.ratingSum / builder.reviewCount;
+        this.ratingRank = rankOf(builder.ratingSum, builder.reviewCount);
+    }
+
+    public Long getAccommodationId() {
+        return accommodationId;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public long getPositiveCount() {
+        return positiveCount;
+    }
+
+    public LocalDate getLastReviewDate() {
+        return lastReviewDate;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public long getRatingRank() {
+        return ratingRank;
+    }
+
+    /**
+     * Adds ({@code direction} 1) or removes ({@code direction} -1) one review's contribution. The last review date
+     * only moves forward here; after a removal the caller re-reads it from the remaining reviews.
+     */
+    public void apply(int rating, LocalDate reviewDate, int direction) {
+        this.ratingSum += (long) rating * direction;
+        this.reviewCount += direction;
+        if (rating >= POSITIVE_RATING) {
+            this.positiveCount += direction;
+        }
+        if (direction > 0 && reviewDate != null && (lastReviewDate == null || reviewDate.isAfter(lastReviewDate))) {
+            this.lastReviewDate = reviewDate;
+        }
+        this.averageRating = reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+        this.ratingRank = rankOf(ratingSum, reviewCount);
+    }
+
+    public static long rankOf(long ratingSum, long reviewCount) {
+        return reviewCount == 0 ? 0L : ratingSum * RATING_RANK_SCALE / reviewCount;
+    }
+
+    public void setLastReviewDate(LocalDate lastReviewDate) {
+        this.lastReviewDate = lastReviewDate;
+    }
+
+    public boolean sameTotals(AccommodationRating other) {
+        return other != null
+                && ratingSum == other.ratingSum
+                && reviewCount == other.reviewCount
+                && positiveCount == other.positiveCount
+                && ratingRank == other.ratingRank
+                && Objects.equals(lastReviewDate, other.lastReviewDate);
+    }
+
+    public void copyTotals(AccommodationRating other) {
+        this.ratingSum = other.ratingSum;
+        this.reviewCount = other.reviewCount;
+        this.positiveCount = other.positiveCount;
+        this.lastReviewDate = other.lastReviewDate;
+        this.averageRating = other.averageRating;
+        this.ratingRank = other.ratingRank;
+    }
+
+    @Override
+    public String toString() {
+        return "AccommodationRating{" +
+                "accommodationId=" + accommodationId +
+                ", ratingSum=" + ratingSum +
+                ", reviewCount=" + reviewCount +
+                ", positiveCount=" + positiveCount +
+                ", lastReviewDate=" + lastReviewDate +
+                ", averageRating=" + averageRating +
+                ", ratingRank=" + ratingRank +
+                '}';
+    }
+
+    public static class Builder {
+        private Long accommodationId;
+        private long ratingSum;
+        private long reviewCount;
+        private long positiveCount;
+        private LocalDate lastReviewDate;
+
+        public Builder setAccommodationId(Long accommodationId) {
+            this.accommodationId = accommodationId;
+            return this;
+        }
+        public Builder setRatingSum(long ratingSum) {
+            this.ratingSum = ratingSum;
+            return this;
+        }
+        public Builder setReviewCount(long reviewCount) {
+            this.reviewCount = reviewCount;
+            return this;
+        }
+        public Builder setPositiveCount(long positiveCount) {
+            this.positiveCount = positiveCount;
+            return this;
+        }
+        public Builder setLastReviewDate(LocalDate lastReviewDate) {
+            this.lastReviewDate = lastReviewDate;
+            return this;
+        }
+
+        public Builder copy(AccommodationRating rating) {
+            this.accommodationId = rating.getAccommodationId();
+            this.ratingSum = rating.getRatingSum();
+            this.reviewCount = rating.getReviewCount();
+            this.positiveCount = rating.getPositiveCount();
+            this.lastReviewDate = rating.getLastReviewDate();
+            return this;
+        }
+
+        public AccommodationRating build() {return new AccommodationRating(this);}
+    }
+}
@@ -5,6 +5,7 @@ package co.za.cput.domain.business;
 
 import co.za.cput.domain.users.Student;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
@@ -12,7 +13,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Booking.ACTIVE_APPLICATION_CONSTRAINT,
+        columnNames = {"student_id", "accommodation_ID", "active_application"}),
+        indexes = {
+                @Index(name = "idx_booking_student_created", columnList = "student_id, createdAt, bookingID"),
+                @Index(name = "idx_booking_accommodation_created", columnList = "accommodation_ID, createdAt, bookingID"),
+                @Index(name = "idx_booking_stay", columnList = "bookingStatus, checkInDate, checkOutDate"),
+                @Index(name = "idx_booking_status_created", columnList = "bookingStatus, createdAt, bookingID")
+        })
 public class Booking {
+    public static final String ACTIVE_APPLICATION_CONSTRAINT = "uk_booking_active_application";
 
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Id
@@ -23,6 +33,13 @@ public class Booking {
     private double totalAmount; //total rent expected based on your choice.
     private LocalDateTime updatedAt; //tracks last update time for status changes in the booking.
     private LocalDateTime createdAt; //tracks when the booking was created in the system.
+    private LocalDateTime decidedAt; //when the landlord moved the application out of IN_PROGRESS.
+
+    //TRUE while the application is IN_PROGRESS or CONFIRMED, otherwise null. The unique constraint ignores rows
+    //holding null, so it allows one active application per student and listing alongside any number of failed ones.
+    @Column(name = "active_application")
+    @JsonIgnore
+    private Boolean activeApplication;
 
 
     @Enumerated(EnumType.STRING)
@@ -61,6 +78,16 @@ public class Booking {
 
     protected Booking (){}
 
+    @PrePersist
+    @PreUpdate
+    void syncActiveApplication() {
+        this.activeApplication = isActiveApplication(bookingStatus) ? Boolean.TRUE : null;
+    }
+
+    public static boolean isActiveApplication(BookingStatus status) {
+        return status == BookingStatus.IN_PROGRESS || status == BookingStatus.CONFIRMED;
+    }
+
     private Booking(Builder builder) {
         this.bookingID = builder.bookingID;
         this.requestDate = builder.requestDate;
@@ -69,6 +96,7 @@ public class Booking {
         this.totalAmount = builder.totalAmount;
         this.updatedAt = builder.updatedAt;
         this.createdAt = builder.createdAt;
+        this.decidedAt = builder.decidedAt;
         this.paymentStatus = builder.paymentStatus;
         this.bookingStatus = builder.bookingStatus;
         this.student = builder.student;
@@ -132,6 +160,14 @@ public class Booking {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getDecidedAt() {
+        return decidedAt;
+    }
+
+    public void setDecidedAt(LocalDateTime decidedAt) {
+        this.decidedAt = decidedAt;
+    }
+
     public PaymentStatus getPaymentStatus() {
         return paymentStatus;
     }
@@ -182,10 +218,11 @@ public class Booking {
                 ", totalAmount=" + totalAmount +
                 ", updatedAt=" + updatedAt +
                 ", createdAt=" + createdAt +
+                ", decidedAt=" + decidedAt +
                 ", paymentStatus=" + paymentStatus +
                 ", Booking status=" + bookingStatus +
                 ", student=" + student +
-                ", accommodation=" + accommodation +
+                ", accommodationID=" + (accommodation != null ? accommodation.getAccommodationID() : "null") +
                 ", review=" + review +
                 '}';
     }
@@ -198,6 +235,7 @@ public class Booking {
         private double totalAmount;
         private LocalDateTime updatedAt;
         private LocalDateTime createdAt;
+        private LocalDateTime decidedAt;
         private PaymentStatus paymentStatus;
         private BookingStatus bookingStatus;
         private Student student;
@@ -232,6 +270,10 @@ public class Booking {
             this.createdAt = createdAt;
             return this;
         }
+        public Builder setDecidedAt(LocalDateTime decidedAt) {
+            this.decidedAt = decidedAt;
+            return this;
+        }
         public Builder setPaymentStatus(PaymentStatus paymentStatus) {
             this.paymentStatus = paymentStatus;
             return this;
@@ -261,6 +303,7 @@ public class Booking {
             this.totalAmount = booking.getTotalAmount();
             this.updatedAt = booking.getUpdatedAt();
             this.createdAt = booking.getCreatedAt();
+            this.decidedAt = booking.getDecidedAt();
             this.paymentStatus = booking.getPaymentStatus();
             this.bookingStatus = booking.getBookingStatus();
             this.student = booking.getStudent();
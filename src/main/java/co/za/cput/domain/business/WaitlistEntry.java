@@ -0,0 +1,235 @@
+package co.za.cput.domain.business;
+
+import co.za.cput.domain.users.Student;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A student's place in the queue for a full listing. Entries are served by priority tier, then by the time they
+ * joined, then by id; the index below keeps both "who is next" and a new join to one index probe.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = WaitlistEntry.ACTIVE_ENTRY_CONSTRAINT,
+        columnNames = {"student_id", "accommodation_id", "active_entry"}),
+        indexes = {
+                @Index(name = "idx_waitlist_queue", columnList = "accommodation_id, status, priorityTier, joinedAt, id"),
+                @Index(name = "idx_waitlist_hold_expiry", columnList = "status, holdExpiresAt")
+        })
+public class WaitlistEntry {
+    public static final String ACTIVE_ENTRY_CONSTRAINT = "uk_waitlist_active_entry";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", referencedColumnName = "studentID")
+    @JsonIgnoreProperties({"bookings"})
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "accommodation_id", referencedColumnName = "accommodationID")
+    @JsonIgnoreProperties({"bookings"})
+    private Accommodation accommodation;
+
+    private int priorityTier; //lower tiers are served first, see priorityTierOf.
+    private LocalDateTime joinedAt;
+    private LocalDateTime offeredAt; //when a freed bed was held for this student.
+    private LocalDateTime holdExpiresAt; //the held bed goes to the next student after this.
+    private Long bookingId; //the booking made when the offer was accepted.
+
+    @Enumerated(EnumType.STRING)
+    private WaitlistStatus status;
+
+    public enum WaitlistStatus {
+        WAITING,
+        OFFERED,
+        ACCEPTED,
+        EXPIRED,
+        CANCELLED
+    }
+
+    //TRUE while WAITING or OFFERED, otherwise null, so a student holds one live place per listing; see Booking.
+    @Column(name = "active_entry")
+    @JsonIgnore
+    private Boolean activeEntry;
+
+    protected WaitlistEntry() {
+    }
+
+    private WaitlistEntry(Builder builder) {
+        this.id = builder.id;
+        this.student = builder.student;
+        this.accommodation = builder.accommodation;
+        this.priorityTier = builder.priorityTier;
+        this.joinedAt = builder.joinedAt;
+        this.offeredAt = builder.offeredAt;
+        this.holdExpiresAt = builder.holdExpiresAt;
+        this.bookingId = builder.bookingId;
+        this.status = builder.status;
+    }
+
+    public static boolean isActive(WaitlistStatus status) {
+        return status == WaitlistStatus.WAITING || status == WaitlistStatus.OFFERED;
+    }
+
+    /**
+     * Funded students are served first because their rent is paid by their bursary; students without a recorded
+     * funding status queue with the unfunded ones.
+     */
+    public static int priorityTierOf(Student.FundingStatus fundingStatus) {
+        if (fundingStatus == null) {
+            return 2;
+        }
+        return switch (fundingStatus) {
+            case FUNDED -> 0;
+            case SELF_FUNDED -> 1;
+            case NOT_FUNDED -> 2;
+        };
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncActiveEntry() {
+        this.activeEntry = isActive(status) ? Boolean.TRUE : null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public Accommodation getAccommodation() {
+        return accommodation;
+    }
+
+    public int getPriorityTier() {
+        return priorityTier;
+    }
+
+    public LocalDateTime getJoinedAt() {
+        return joinedAt;
+    }
+
+    public LocalDateTime getOfferedAt() {
+        return offeredAt;
+    }
+
+    public LocalDateTime getHoldExpiresAt() {
+        return holdExpiresAt;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void offer(LocalDateTime offeredAt, LocalDateTime holdExpiresAt) {
+        this.status = WaitlistStatus.OFFERED;
+        this.offeredAt = offeredAt;
+        this.holdExpiresAt = holdExpiresAt;
+    }
+
+    public void accept(Long bookingId) {
+        this.status = WaitlistStatus.ACCEPTED;
+        this.bookingId = bookingId;
+    }
+
+    public void close(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "id=" + id +
+                ", priorityTier=" + priorityTier +
+                ", joinedAt=" + joinedAt +
+                ", status=" + status +
+                ", holdExpiresAt=" + holdExpiresAt +
+                '}';
+    }
+
+    public static class Builder {
+        private Long id;
+        private Student student;
+        private Accommodation accommodation;
+        private int priorityTier;
+        private LocalDateTime joinedAt;
+        private LocalDateTime offeredAt;
+        private LocalDateTime holdExpiresAt;
+        private Long bookingId;
+        private WaitlistStatus status;
+
+        public Builder setId(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder setStudent(Student student) {
+            this.student = student;
+            return this;
+        }
+
+        public Builder setAccommodation(Accommodation accommodation) {
+            this.accommodation = accommodation;
+            return this;
+        }
+
+        public Builder setPriorityTier(int priorityTier) {
+            this.priorityTier = priorityTier;
+            return this;
+        }
+
+        public Builder setJoinedAt(LocalDateTime joinedAt) {
+            this.joinedAt = joinedAt;
+            return this;
+        }
+
+        public Builder setOfferedAt(LocalDateTime offeredAt) {
+            this.offeredAt = offeredAt;
+            return this;
+        }
+
+        public Builder setHoldExpiresAt(LocalDateTime holdExpiresAt) {
+            this.holdExpiresAt = holdExpiresAt;
+            return this;
+        }
+
+        public Builder setBookingId(Long bookingId) {
+            this.bookingId = bookingId;
+            return this;
+        }
+
+        public Builder setStatus(WaitlistStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder copy(WaitlistEntry entry) {
+            this.id = entry.getId();
+            this.student = entry.getStudent();
+            this.accommodation = entry.getAccommodation();
+            this.priorityTier = entry.getPriorityTier();
+            this.joinedAt = entry.getJoinedAt();
+            this.offeredAt = entry.getOfferedAt();
+            this.holdExpiresAt = entry.getHoldExpiresAt();
+            this.bookingId = entry.getBookingId();
+            this.status = entry.getStatus();
+            return this;
+        }
+
+        public WaitlistEntry build() {
+            return new WaitlistEntry(this);
+        }
+    }
+}
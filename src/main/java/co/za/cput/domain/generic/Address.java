@@ -4,9 +4,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 //Has a oneToOne relationship with Accommodation.
 @Entity
+@Table(indexes = @Index(name = "idx_address_lat_lng", columnList = "latitude, longitude"))
 public class Address {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Id
@@ -16,6 +19,8 @@ public class Address {
     private String suburb;
     private String city;
     private int postalCode;
+    private Double latitude; //WGS84 degrees, optional until the landlord pins the listing on the map.
+    private Double longitude;
 
     protected Address() {}
 
@@ -26,6 +31,8 @@ public class Address {
         this.suburb = builder.suburb;
         this.city = builder.city;
         this.postalCode = builder.postalCode;
+        this.latitude = builder.latitude;
+        this.longitude = builder.longitude;
     }
 
     public Long getAddressID() {
@@ -76,6 +83,22 @@ public class Address {
         this.postalCode = postalCode;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     @Override
     public String toString() {
         return "Address{" +
@@ -85,6 +108,8 @@ public class Address {
                 ", suburb='" + suburb + '\'' +
                 ", city='" + city + '\'' +
                 ", postalCode=" + postalCode +
+                ", latitude=" + latitude +
+                ", longitude=" + longitude +
                 '}';
     }
 
@@ -95,6 +120,8 @@ public class Address {
         private String suburb;
         private String city;
         private int postalCode;
+        private Double latitude;
+        private Double longitude;
 
         public Builder setAddressID(Long addressID) {
             this.addressID = addressID;
@@ -120,6 +147,14 @@ public class Address {
             this.postalCode = postalCode;
             return this;
         }
+        public Builder setLatitude(Double latitude) {
+            this.latitude = latitude;
+            return this;
+        }
+        public Builder setLongitude(Double longitude) {
+            this.longitude = longitude;
+            return this;
+        }
 
         public Builder copy(Address address) {
             this.addressID = address.addressID;
@@ -128,6 +163,8 @@ public class Address {
             this.suburb = address.suburb;
             this.city = address.city;
             this.postalCode = address.postalCode;
+            this.latitude = address.latitude;
+            this.longitude = address.longitude;
             return this;
         }
 
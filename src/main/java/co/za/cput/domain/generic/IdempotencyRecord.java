@@ -0,0 +1,80 @@
+package co.za.cput.domain.generic;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * The stored outcome of a POST sent with an {@code Idempotency-Key}, kept when idempotency persistence is on so a
+ * retry landing on another node, or after a restart, is still answered with the first response. A row without a
+ * status is a request still in progress.
+ */
+@Entity
+@Table(name = "idempotency_record", indexes = @Index(name = "idx_idempotency_expiry", columnList = "expiresAt"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(length = 200)
+    private String recordKey; //endpoint scope and the client's key.
+
+    @Column(length = 64)
+    private String fingerprint; //SHA-256 of the request body, so a key reused for another request is refused.
+
+    private Integer status;
+    private String contentType;
+
+    @Column(length = 10000)
+    private String body;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+
+    protected IdempotencyRecord() {
+    }
+
+    public String getRecordKey() {
+        return recordKey;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "recordKey='" + recordKey + '\'' +
+                ", status=" + status +
+                ", createdAt=" + createdAt +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -6,21 +6,22 @@ import co.za.cput.domain.users.Administrator;
 import jakarta.persistence.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_user_auth_username", columnList = "username"))
 public class UserAuthentication {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long authenticationId;
 
-    private String username;
+    private String username; // normalised email for accounts mirrored by CredentialIndexRepository
     private String password; // store hashed password only
 
     @Enumerated(EnumType.STRING)
     private UserRole userRole;
 
     // Unidirectional relationships
-    // Required: Contact must not be null
-    @OneToOne(cascade = CascadeType.ALL, optional = false) // optional = false means NOT NULL
+    // Required: Contact must not be null. Many to one: accounts sharing a contact each have their own row.
+    @ManyToOne(cascade = CascadeType.ALL, optional = false) // optional = false means NOT NULL
     @JoinColumn(name = "contact_id", referencedColumnName = "contactID", nullable = false)
     private Contact contact;
 
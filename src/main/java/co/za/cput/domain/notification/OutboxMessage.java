@@ -0,0 +1,240 @@
+package co.za.cput.domain.notification;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification waiting to go out on one channel. Rows are written in the same transaction as the change they
+ * announce, so a notification is sent exactly when its change commits, and are drained by
+ * {@code NotificationDispatcher}. A dispatcher claims a row by stamping its token on it and pushing
+ * {@code nextAttemptAt} out by a lease, so a row claimed by a dispatcher that died becomes due again by itself.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_outbox_due", columnList = "status, nextAttemptAt, id"),
+        @Index(name = "idx_outbox_claim", columnList = "claimToken")
+})
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private EventType eventType;
+
+    private Long subjectId; //the booking or verification the notification is about.
+
+    @Enumerated(EnumType.STRING)
+    private RecipientType recipientType;
+
+    private Long recipientId; //the email is looked up when the message is sent, so it is always current.
+    private String channel; //name of the NotificationChannel that delivers it.
+    private String subject;
+
+    @Column(length = 1000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String claimToken;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    public enum EventType {
+        BOOKING_STATUS_CHANGED,
+        APPLICATION_EXPIRED,
+        LISTING_VERIFIED
+    }
+
+    public enum RecipientType {
+        STUDENT,
+        LANDLORD
+    }
+
+    public enum OutboxStatus {
+        PENDING,
+        SENT,
+        FAILED
+    }
+
+    protected OutboxMessage() {
+    }
+
+    private OutboxMessage(Builder builder) {
+        this.id = builder.id;
+        this.eventType = builder.eventType;
+        this.subjectId = builder.subjectId;
+        this.recipientType = builder.recipientType;
+        this.recipientId = builder.recipientId;
+        this.channel = builder.channel;
+        this.subject = builder.subject;
+        this.body = builder.body;
+        this.status = builder.status;
+        this.attempts = builder.attempts;
+        this.nextAttemptAt = builder.nextAttemptAt;
+        this.createdAt = builder.createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public RecipientType getRecipientType() {
+        return recipientType;
+    }
+
+    public Long getRecipientId() {
+        return recipientId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public OutboxStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMessage{" +
+                "id=" + id +
+                ", eventType=" + eventType +
+                ", subjectId=" + subjectId +
+                ", recipientType=" + recipientType +
+                ", recipientId=" + recipientId +
+                ", channel='" + channel + '\'' +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                ", nextAttemptAt=" + nextAttemptAt +
+                '}';
+    }
+
+    public static class Builder {
+        private Long id;
+        private EventType eventType;
+        private Long subjectId;
+        private RecipientType recipientType;
+        private Long recipientId;
+        private String channel;
+        private String subject;
+        private String body;
+        private OutboxStatus status;
+        private int attempts;
+        private LocalDateTime nextAttemptAt;
+        private LocalDateTime createdAt;
+
+        public Builder setId(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder setEventType(EventType eventType) {
+            this.eventType = eventType;
+            return this;
+        }
+
+        public Builder setSubjectId(Long subjectId) {
+            this.subjectId = subjectId;
+            return this;
+        }
+
+        public Builder setRecipientType(RecipientType recipientType) {
+            this.recipientType = recipientType;
+            return this;
+        }
+
+        public Builder setRecipientId(Long recipientId) {
+            this.recipientId = recipientId;
+            return this;
+        }
+
+        public Builder setChannel(String channel) {
+            this.channel = channel;
+            return this;
+        }
+
+        public Builder setSubject(String subject) {
+            this.subject = subject;
+            return this;
+        }
+
+        public Builder setBody(String body) {
+            this.body = body;
+            return this;
+        }
+
+        public Builder setStatus(OutboxStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder setAttempts(int attempts) {
+            this.attempts = attempts;
+            return this;
+        }
+
+        public Builder setNextAttemptAt(LocalDateTime nextAttemptAt) {
+            this.nextAttemptAt = nextAttemptAt;
+            return this;
+        }
+
+        public Builder setCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+
+        public OutboxMessage build() {
+            return new OutboxMessage(this);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package co.za.cput.domain.scheduling;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which node may run a scheduled job, and until when. One row per job; a node runs the job only while it holds the
+ * row, so jobs that must not overlap run on one node at a time however many are deployed.
+ */
+@Entity
+@Table(name = "job_lease")
+public class JobLease {
+
+    @Id
+    private String jobName;
+
+    private String owner;
+    private LocalDateTime leaseUntil;
+
+    protected JobLease() {
+    }
+
+    private JobLease(Builder builder) {
+        this.jobName = builder.jobName;
+        this.owner = builder.owner;
+        this.leaseUntil = builder.leaseUntil;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    @Override
+    public String toString() {
+        return "JobLease{" +
+                "jobName='" + jobName + '\'' +
+                ", owner='" + owner + '\'' +
+                ", leaseUntil=" + leaseUntil +
+                '}';
+    }
+
+    public static class Builder {
+        private String jobName;
+        private String owner;
+        private LocalDateTime leaseUntil;
+
+        public Builder setJobName(String jobName) {
+            this.jobName = jobName;
+            return this;
+        }
+
+        public Builder setOwner(String owner) {
+            this.owner = owner;
+            return this;
+        }
+
+        public Builder setLeaseUntil(LocalDateTime leaseUntil) {
+            this.leaseUntil = leaseUntil;
+            return this;
+        }
+
+        public JobLease build() {
+            return new JobLease(this);
+        }
+    }
+}
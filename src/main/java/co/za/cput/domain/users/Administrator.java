@@ -47,6 +47,7 @@ public class Administrator {
         this.adminSurname = builder.adminSurname;
         this.adminPassword = builder.adminPassword;
         this.adminRoleStatus = builder.adminRoleStatus;
+        this.superAdmin = builder.superAdmin;
         this.contact = builder.contact;
         this.verifications = builder.verifications != null ? builder.verifications : new ArrayList<>();
     }
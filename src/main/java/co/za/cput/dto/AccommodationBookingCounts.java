@@ -0,0 +1,14 @@
+package co.za.cput.dto;
+
+/**
+ * Booking totals for one accommodation, produced by a grouped query over many accommodations at once.
+ */
+public record AccommodationBookingCounts(
+        Long accommodationId,
+        long totalBookings,
+        long confirmedBookings
+) {
+    public static AccommodationBookingCounts none(Long accommodationId) {
+        return new AccommodationBookingCounts(accommodationId, 0, 0);
+    }
+}
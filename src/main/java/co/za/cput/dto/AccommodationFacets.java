@@ -0,0 +1,128 @@
+package co.za.cput.dto;
+
+import co.za.cput.domain.business.Accommodation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-option listing counts for a search, so the client can show how many results each refinement would leave
+ * without running one search per option. Every count is taken over the listings matching the whole criteria.
+ */
+public record AccommodationFacets(
+        long total,
+        Map<Accommodation.RoomType, Long> roomTypes,
+        Map<Accommodation.BathroomType, Long> bathroomTypes,
+        Map<Accommodation.AccommodationStatus, Long> statuses,
+        long wifiAvailable,
+        long furnished,
+        long utilitiesIncluded,
+        Map<String, Long> suburbs,
+        List<RentBucket> rentBuckets
+) {
+    public static final double RENT_BUCKET_WIDTH = 1000;
+
+    /**
+     * Listings whose rent falls in {@code [minRent, maxRent)}.
+     */
+    public record RentBucket(double minRent, double maxRent, long count) {
+    }
+
+    /**
+     * Accumulates facet counts one listing (or one pre-grouped row of identical listings) at a time. Suburbs are
+     * merged case-insensitively and reported with the first spelling seen.
+     */
+    public static final class Tally {
+
+        private long total;
+        private final Map<Accommodation.RoomType, Long> roomTypes = zeroed(Accommodation.RoomType.class);
+        private final Map<Accommodation.BathroomType, Long> bathroomTypes = zeroed(Accommodation.BathroomType.class);
+        private final Map<Accommodation.AccommodationStatus, Long> statuses =
+                zeroed(Accommodation.AccommodationStatus.class);
+        private long wifiAvailable;
+        private long furnished;
+        private long utilitiesIncluded;
+        private final Map<String, String> suburbSpellings = new LinkedHashMap<>();
+        private final Map<String, Long> suburbs = new LinkedHashMap<>();
+        private final TreeMap<Long, Long> rentBuckets = new TreeMap<>();
+
+        public Tally add(Accommodation.RoomType roomType,
+                         Accommodation.BathroomType bathroomType,
+                         Accommodation.AccommodationStatus status,
+                         boolean wifiAvailable,
+                         boolean furnished,
+                         boolean utilitiesIncluded,
+                         String suburb,
+                         double rent,
+                         long count) {
+            total += count;
+            if (roomType != null) {
+                roomTypes.merge(roomType, count, Long::sum);
+            }
+            if (bathroomType != null) {
+                bathroomTypes.merge(bathroomType, count, Long::sum);
+            }
+            if (status != null) {
+                statuses.merge(status, count, Long::sum);
+            }
+            if (wifiAvailable) {
+                this.wifiAvailable += count;
+            }
+            if (furnished) {
+                this.furnished += count;
+            }
+            if (utilitiesIncluded) {
+                this.utilitiesIncluded += count;
+            }
+            if (suburb != null && !suburb.isBlank()) {
+                String key = suburb.trim().toLowerCase(Locale.ROOT);
+                suburbSpellings.putIfAbsent(key, suburb.trim());
+                suburbs.merge(key, count, Long::sum);
+            }
+            rentBuckets.merge((long) Math.floor(rent / RENT_BUCKET_WIDTH), count, Long::sum);
+            return this;
+        }
+
+        public Tally add(AccommodationSummary summary) {
+            return add(summary.roomType(), summary.bathroomType(), summary.status(), summary.wifiAvailable(),
+                    summary.furnished(), summary.utilitiesIncluded(), summary.suburb(), summary.rent(), 1);
+        }
+
+        public AccommodationFacets toFacets() {
+            Map<String, Long> suburbCounts = new LinkedHashMap<>();
+            suburbs.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(entry -> suburbCounts.put(suburbSpellings.get(entry.getKey()), entry.getValue()));
+
+            List<RentBucket> buckets = new ArrayList<>(rentBuckets.size());
+            rentBuckets.forEach((bucket, count) -> buckets.add(new RentBucket(
+                    bucket * RENT_BUCKET_WIDTH, (bucket + 1) * RENT_BUCKET_WIDTH, count)));
+
+            return new AccommodationFacets(
+                    total,
+                    Collections.unmodifiableMap(roomTypes),
+                    Collections.unmodifiableMap(bathroomTypes),
+                    Collections.unmodifiableMap(statuses),
+                    wifiAvailable,
+                    furnished,
+                    utilitiesIncluded,
+                    Collections.unmodifiableMap(suburbCounts),
+                    List.copyOf(buckets));
+        }
+
+        private static <E extends Enum<E>> Map<E, Long> zeroed(Class<E> type) {
+            Map<E, Long> counts = new EnumMap<>(type);
+            for (E value : type.getEnumConstants()) {
+                counts.put(value, 0L);
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package co.za.cput.dto;
+
+import java.util.List;
+
+public class AccommodationInsightsRequest {
+    private List<Long> accommodationIds;
+
+    public AccommodationInsightsRequest() {
+    }
+
+    public List<Long> getAccommodationIds() {
+        return accommodationIds;
+    }
+
+    public void setAccommodationIds(List<Long> accommodationIds) {
+        this.accommodationIds = accommodationIds;
+    }
+}
@@ -0,0 +1,54 @@
+package co.za.cput.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last row on a search page: the sort key of that row plus its id as tie breaker.
+ * Clients only ever see the encoded form and hand it back unchanged to fetch the following page. The rating order
+ * keys on the integer rating rank, which a double holds exactly.
+ */
+public record AccommodationPageToken(
+        AccommodationSortOption sort,
+        double sortValue,
+        long accommodationId
+) {
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + sortValue + SEPARATOR + accommodationId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AccommodationPageToken decode(String token, AccommodationSortOption expectedSort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR);
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Invalid page token.");
+        }
+
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid page token.");
+        }
+
+        AccommodationPageToken decoded;
+        try {
+            decoded = new AccommodationPageToken(
+                    AccommodationSortOption.valueOf(parts[0]),
+                    Double.parseDouble(parts[1]),
+                    Long.parseLong(parts[2])
+            );
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("Invalid page token.");
+        }
+
+        if (decoded.sort() == AccommodationSortOption.RATING && decoded.sortValue() != Math.rint(decoded.sortValue())) {
+            throw new IllegalArgumentException("Invalid page token.");
+        }
+        if (decoded.sort() != expectedSort) {
+            throw new IllegalArgumentException("Page token does not match the requested sort order.");
+        }
+        return decoded;
+    }
+}
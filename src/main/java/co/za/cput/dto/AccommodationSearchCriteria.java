@@ -2,7 +2,15 @@ package co.za.cput.dto;
 
 import co.za.cput.domain.business.Accommodation;
 
+import co.za.cput.util.Helper;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Encapsulates optional search filters that can be applied when querying the accommodation catalogue.
@@ -19,8 +27,82 @@ public record AccommodationSearchCriteria(
         Accommodation.RoomType roomType,
         Accommodation.BathroomType bathroomType,
         Accommodation.AccommodationStatus status,
-        Long landlordId
+        Long landlordId,
+        GeoRadius near,
+        GeoBounds viewport,
+        String text,
+        LocalDate availableFrom,
+        LocalDate availableTo
 ) {
+    /**
+     * Criteria with no filters, matching every listing.
+     */
+    public static final AccommodationSearchCriteria NONE = new Builder().build();
+
+    /**
+     * Returns equivalent criteria in a canonical form, so searches that differ only in letter case, a blank city or
+     * free-text punctuation compare equal.
+     */
+    public AccommodationSearchCriteria normalized() {
+        String normalizedCity = city == null || city.isBlank() ? null : city.toLowerCase(Locale.ROOT);
+        String normalizedSuburb = suburb == null ? null : suburb.toLowerCase(Locale.ROOT);
+        List<String> tokens = queryTokens();
+        String normalizedText = tokens.isEmpty() ? null : String.join(" ", tokens);
+        return new AccommodationSearchCriteria(minRent, maxRent, wifiAvailable, furnished, utilitiesIncluded,
+                maxDistanceFromCampus, normalizedCity, normalizedSuburb, roomType, bathroomType, status, landlordId,
+                near, viewport, normalizedText, availableFrom, availableTo);
+    }
+
+    /**
+     * Whether the search asks for listings free over a date range. Availability moves with every confirmation, so
+     * such searches are answered from the availability index rather than the listing index or the result cache.
+     */
+    public boolean hasStayDates() {
+        return availableFrom != null || availableTo != null;
+    }
+
+    /**
+     * In-memory equivalent of the search filters, used to decide whether a changed listing can affect a result.
+     * Date-range availability is not part of a listing's summary and is not checked here.
+     */
+    public boolean matches(AccommodationSummary summary) {
+        if ((minRent != null && summary.rent() < minRent)
+                || (maxRent != null && summary.rent() > maxRent)
+                || (wifiAvailable != null && summary.wifiAvailable() != wifiAvailable)
+                || (furnished != null && summary.furnished() != furnished)
+                || (utilitiesIncluded != null && summary.utilitiesIncluded() != utilitiesIncluded)
+                || (maxDistanceFromCampus != null && summary.distanceFromCampus() > maxDistanceFromCampus)
+                || (city != null && !city.isBlank() && !city.equalsIgnoreCase(summary.city()))
+                || (suburb != null && !suburb.equalsIgnoreCase(summary.suburb()))
+                || (roomType != null && summary.roomType() != roomType)
+                || (bathroomType != null && summary.bathroomType() != bathroomType)
+                || (status != null && summary.status() != status)
+                || (landlordId != null && !landlordId.equals(summary.landlordId()))) {
+            return false;
+        }
+
+        boolean located = summary.latitude() != null && summary.longitude() != null;
+        if ((near != null && !(located && near.contains(summary.latitude(), summary.longitude())))
+                || (viewport != null && !(located && viewport.contains(summary.latitude(), summary.longitude())))) {
+            return false;
+        }
+
+        List<String> tokens = queryTokens();
+        if (tokens.isEmpty()) {
+            return true;
+        }
+        List<String> words = Helper.toSearchTokens(Stream.of(
+                        summary.streetAddress(), summary.suburb(), summary.city(), summary.landlordName())
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining(" ")));
+        return tokens.stream().allMatch(token -> words.stream().anyMatch(word -> word.startsWith(token)));
+    }
+
+    private List<String> queryTokens() {
+        List<String> tokens = Helper.toSearchTokens(text);
+        return tokens.size() > Helper.MAX_QUERY_TOKENS ? tokens.subList(0, Helper.MAX_QUERY_TOKENS) : tokens;
+    }
+
     public Optional<Double> minRentOptional() {
         return Optional.ofNullable(minRent);
     }
@@ -68,4 +150,127 @@ public record AccommodationSearchCriteria(
     public Optional<Long> landlordIdOptional() {
         return Optional.ofNullable(landlordId);
     }
-}
\ No newline at end of file
+
+    public Optional<GeoRadius> nearOptional() {
+        return Optional.ofNullable(near);
+    }
+
+    public Optional<GeoBounds> viewportOptional() {
+        return Optional.ofNullable(viewport);
+    }
+
+    public Optional<String> textOptional() {
+        return Optional.ofNullable(text).filter(value -> !value.isBlank());
+    }
+
+    public static class Builder {
+        private Double minRent;
+        private Double maxRent;
+        private Boolean wifiAvailable;
+        private Boolean furnished;
+        private Boolean utilitiesIncluded;
+        private Double maxDistanceFromCampus;
+        private String city;
+        private String suburb;
+        private Accommodation.RoomType roomType;
+        private Accommodation.BathroomType bathroomType;
+        private Accommodation.AccommodationStatus status;
+        private Long landlordId;
+        private GeoRadius near;
+        private GeoBounds viewport;
+        private String text;
+        private LocalDate availableFrom;
+        private LocalDate availableTo;
+
+        public Builder setMinRent(Double minRent) {
+            this.minRent = minRent;
+            return this;
+        }
+
+        public Builder setMaxRent(Double maxRent) {
+            this.maxRent = maxRent;
+            return this;
+        }
+
+        public Builder setWifiAvailable(Boolean wifiAvailable) {
+            this.wifiAvailable = wifiAvailable;
+            return this;
+        }
+
+        public Builder setFurnished(Boolean furnished) {
+            this.furnished = furnished;
+            return this;
+        }
+
+        public Builder setUtilitiesIncluded(Boolean utilitiesIncluded) {
+            this.utilitiesIncluded = utilitiesIncluded;
+            return this;
+        }
+
+        public Builder setMaxDistanceFromCampus(Double maxDistanceFromCampus) {
+            this.maxDistanceFromCampus = maxDistanceFromCampus;
+            return this;
+        }
+
+        public Builder setCity(String city) {
+            this.city = city;
+            return this;
+        }
+
+        public Builder setSuburb(String suburb) {
+            this.suburb = suburb;
+            return this;
+        }
+
+        public Builder setRoomType(Accommodation.RoomType roomType) {
+            this.roomType = roomType;
+            return this;
+        }
+
+        public Builder setBathroomType(Accommodation.BathroomType bathroomType) {
+            this.bathroomType = bathroomType;
+            return this;
+        }
+
+        public Builder setStatus(Accommodation.AccommodationStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder setLandlordId(Long landlordId) {
+            this.landlordId = landlordId;
+            return this;
+        }
+
+        public Builder setNear(GeoRadius near) {
+            this.near = near;
+            return this;
+        }
+
+        public Builder setViewport(GeoBounds viewport) {
+            this.viewport = viewport;
+            return this;
+        }
+
+        public Builder setText(String text) {
+            this.text = text;
+            return this;
+        }
+
+        public Builder setAvailableFrom(LocalDate availableFrom) {
+            this.availableFrom = availableFrom;
+            return this;
+        }
+
+        public Builder setAvailableTo(LocalDate availableTo) {
+            this.availableTo = availableTo;
+            return this;
+        }
+
+        public AccommodationSearchCriteria build() {
+            return new AccommodationSearchCriteria(minRent, maxRent, wifiAvailable, furnished, utilitiesIncluded,
+                    maxDistanceFromCampus, city, suburb, roomType, bathroomType, status, landlordId, near, viewport,
+                    text, availableFrom, availableTo);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package co.za.cput.dto;
+
+import java.util.List;
+
+/**
+ * One page of accommodation search results. {@code nextPageToken} is null on the last page.
+ */
+public record AccommodationSearchPage(
+        List<AccommodationSummary> items,
+        AccommodationSortOption sort,
+        int size,
+        String nextPageToken
+) {
+}
@@ -0,0 +1,242 @@
+package co.za.cput.dto;
+
+import co.za.cput.domain.business.Accommodation;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Search filters as they arrive on the query string, shared by the search and facet endpoints. The map filters come
+ * in flat ({@code latitude}, {@code north}, ...) and the free text as {@code q}; {@link #toCriteria()} turns them into
+ * {@link AccommodationSearchCriteria}.
+ */
+public class AccommodationSearchRequest {
+    private Double minRent;
+    private Double maxRent;
+    private Boolean wifiAvailable;
+    private Boolean furnished;
+    private Boolean utilitiesIncluded;
+    private Double maxDistanceFromCampus;
+    private String city;
+    private String suburb;
+    private Accommodation.RoomType roomType;
+    private Accommodation.BathroomType bathroomType;
+    private Accommodation.AccommodationStatus status;
+    private Long landlordId;
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+    private Double north;
+    private Double south;
+    private Double east;
+    private Double west;
+    private String q;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate availableFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate availableTo;
+
+    public AccommodationSearchRequest() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when a radius or map box is given only in part or is out of range
+     */
+    public AccommodationSearchCriteria toCriteria() {
+        return new AccommodationSearchCriteria.Builder()
+                .setMinRent(minRent)
+                .setMaxRent(maxRent)
+                .setWifiAvailable(wifiAvailable)
+                .setFurnished(furnished)
+                .setUtilitiesIncluded(utilitiesIncluded)
+                .setMaxDistanceFromCampus(maxDistanceFromCampus)
+                .setCity(city)
+                .setSuburb(suburb)
+                .setRoomType(roomType)
+                .setBathroomType(bathroomType)
+                .setStatus(status)
+                .setLandlordId(landlordId)
+                .setNear(GeoRadius.of(latitude, longitude, radiusKm))
+                .setViewport(GeoBounds.of(south, west, north, east))
+                .setText(q)
+                .setAvailableFrom(availableFrom)
+                .setAvailableTo(availableTo)
+                .build();
+    }
+
+    public Double getMinRent() {
+        return minRent;
+    }
+
+    public void setMinRent(Double minRent) {
+        this.minRent = minRent;
+    }
+
+    public Double getMaxRent() {
+        return maxRent;
+    }
+
+    public void setMaxRent(Double maxRent) {
+        this.maxRent = maxRent;
+    }
+
+    public Boolean getWifiAvailable() {
+        return wifiAvailable;
+    }
+
+    public void setWifiAvailable(Boolean wifiAvailable) {
+        this.wifiAvailable = wifiAvailable;
+    }
+
+    public Boolean getFurnished() {
+        return furnished;
+    }
+
+    public void setFurnished(Boolean furnished) {
+        this.furnished = furnished;
+    }
+
+    public Boolean getUtilitiesIncluded() {
+        return utilitiesIncluded;
+    }
+
+    public void setUtilitiesIncluded(Boolean utilitiesIncluded) {
+        this.utilitiesIncluded = utilitiesIncluded;
+    }
+
+    public Double getMaxDistanceFromCampus() {
+        return maxDistanceFromCampus;
+    }
+
+    public void setMaxDistanceFromCampus(Double maxDistanceFromCampus) {
+        this.maxDistanceFromCampus = maxDistanceFromCampus;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getSuburb() {
+        return suburb;
+    }
+
+    public void setSuburb(String suburb) {
+        this.suburb = suburb;
+    }
+
+    public Accommodation.RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(Accommodation.RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public Accommodation.BathroomType getBathroomType() {
+        return bathroomType;
+    }
+
+    public void setBathroomType(Accommodation.BathroomType bathroomType) {
+        this.bathroomType = bathroomType;
+    }
+
+    public Accommodation.AccommodationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Accommodation.AccommodationStatus status) {
+        this.status = status;
+    }
+
+    public Long getLandlordId() {
+        return landlordId;
+    }
+
+    public void setLandlordId(Long landlordId) {
+        this.landlordId = landlordId;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getRadiusKm() {
+        return radiusKm;
+    }
+
+    public void setRadiusKm(Double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
+
+    public Double getNorth() {
+        return north;
+    }
+
+    public void setNorth(Double north) {
+        this.north = north;
+    }
+
+    public Double getSouth() {
+        return south;
+    }
+
+    public void setSouth(Double south) {
+        this.south = south;
+    }
+
+    public Double getEast() {
+        return east;
+    }
+
+    public void setEast(Double east) {
+        this.east = east;
+    }
+
+    public Double getWest() {
+        return west;
+    }
+
+    public void setWest(Double west) {
+        this.west = west;
+    }
+
+    public String getQ() {
+        return q;
+    }
+
+    public void setQ(String q) {
+        this.q = q;
+    }
+
+    public LocalDate getAvailableFrom() {
+        return availableFrom;
+    }
+
+    public void setAvailableFrom(LocalDate availableFrom) {
+        this.availableFrom = availableFrom;
+    }
+
+    public LocalDate getAvailableTo() {
+        return availableTo;
+    }
+
+    public void setAvailableTo(LocalDate availableTo) {
+        this.availableTo = availableTo;
+    }
+}
@@ -0,0 +1,22 @@
+package co.za.cput.dto;
+
+/**
+ * Stable orderings supported by the paginated accommodation search. Every option breaks ties on the
+ * accommodation id so that a page token always points at exactly one position in the result set.
+ */
+public enum AccommodationSortOption {
+    RENT(false),
+    DISTANCE(false),
+    NEWEST(true),
+    RATING(true);
+
+    private final boolean descending;
+
+    AccommodationSortOption(boolean descending) {
+        this.descending = descending;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+}
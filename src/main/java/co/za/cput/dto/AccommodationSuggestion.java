@@ -0,0 +1,15 @@
+package co.za.cput.dto;
+
+/**
+ * Autocomplete entry: a street, suburb, city or landlord name that matches what the student has typed so far,
+ * with the number of listings it would lead to.
+ */
+public record AccommodationSuggestion(String text, Field field, long listings) {
+
+    public enum Field {
+        SUBURB,
+        CITY,
+        STREET,
+        LANDLORD
+    }
+}
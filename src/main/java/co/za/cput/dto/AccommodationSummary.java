@@ -18,7 +18,57 @@ public record AccommodationSummary(
         String streetAddress,
         String suburb,
         String city,
+        Double latitude,
+        Double longitude,
         String landlordName,
-        String landlordEmail
+        String landlordEmail,
+        Long landlordId
 ) {
+    /**
+     * Projection constructor used by {@code AccommodationSummaryRepository}: receives the raw joined columns and
+     * formats them the same way the entity-based mapping always has. The address and landlord ids tell a missing
+     * association apart from one with blank fields.
+     */
+    public AccommodationSummary(Long id,
+                                double rent,
+                                boolean wifiAvailable,
+                                boolean furnished,
+                                boolean utilitiesIncluded,
+                                double distanceFromCampus,
+                                Accommodation.RoomType roomType,
+                                Accommodation.BathroomType bathroomType,
+                                Accommodation.AccommodationStatus status,
+                                Long addressId,
+                                String streetNumber,
+                                String streetName,
+                                String suburb,
+                                String city,
+                                Double latitude,
+                                Double longitude,
+                                Long landlordId,
+                                String landlordFirstName,
+                                String landlordLastName,
+                                String landlordEmail) {
+        this(id,
+                rent,
+                wifiAvailable,
+                furnished,
+                utilitiesIncluded,
+                distanceFromCampus,
+                roomType,
+                bathroomType,
+                status,
+                addressId != null ? join(streetNumber, streetName) : null,
+                suburb,
+                city,
+                latitude,
+                longitude,
+                landlordId != null ? join(landlordFirstName, landlordLastName) : null,
+                landlordEmail,
+                landlordId);
+    }
+
+    private static String join(String first, String second) {
+        return String.format("%s %s", first == null ? "" : first, second == null ? "" : second).trim();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package co.za.cput.dto;
+
+/**
+ * Raw platform counts behind {@link AdminDashboardStats}, read together in one statement.
+ */
+public record AdminDashboardCounts(
+        long totalStudents,
+        long totalLandlords,
+        long verifiedLandlords,
+        long totalAccommodations,
+        long pendingVerifications,
+        long activeBookings
+) {
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 /**
  * Aggregated metrics surfaced on the administrator dashboard for operational visibility.
+ * {@code generatedAt} is when the counts were computed, not when they were served.
  */
 public record AdminDashboardStats(
         long totalStudents,
@@ -0,0 +1,20 @@
+package co.za.cput.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counters for the stale application sweep since this node started. {@code leaseSkips} counts runs left to
+ * another node that held the job's lease; the {@code lastRun} fields describe this node's latest completed run.
+ */
+public record ApplicationExpiryStats(
+        int expiryDays,
+        long runs,
+        long leaseSkips,
+        long expiredTotal,
+        LocalDateTime lastRunAt,
+        int lastRunExpired,
+        int lastRunListings,
+        int lastRunChunks,
+        long lastRunMillis
+) {
+}
@@ -0,0 +1,21 @@
+package co.za.cput.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Applications made in a date range and the outcomes they have reached so far, each application counted towards at
+ * most one outcome. Rates are percentages of applications; {@code pending} is what was neither confirmed nor failed,
+ * where undecided students drop off.
+ */
+public record ApplicationFunnel(
+        LocalDate from,
+        LocalDate to,
+        long applications,
+        long confirmations,
+        long failures,
+        long pending,
+        double decisionRate,
+        double confirmationRate,
+        double failureRate
+) {
+}
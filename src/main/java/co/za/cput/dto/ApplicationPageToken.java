@@ -0,0 +1,38 @@
+package co.za.cput.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last application on an inbox page: its creation time, null for rows saved without one,
+ * and its booking id as tie breaker. Clients hand the encoded form back unchanged to fetch the next page.
+ */
+public record ApplicationPageToken(
+        LocalDateTime createdAt,
+        long bookingId
+) {
+    private static final String SEPARATOR = "|";
+    private static final String NO_TIME = "-";
+
+    public String encode() {
+        String raw = (createdAt != null ? createdAt.toString() : NO_TIME) + SEPARATOR + bookingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ApplicationPageToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid page token.");
+            }
+            String time = raw.substring(0, separator);
+            return new ApplicationPageToken(
+                    NO_TIME.equals(time) ? null : LocalDateTime.parse(time),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Invalid page token.");
+        }
+    }
+}
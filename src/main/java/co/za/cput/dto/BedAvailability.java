@@ -0,0 +1,17 @@
+package co.za.cput.dto;
+
+/**
+ * A listing's bed capacity and the beds held by confirmed bookings. A null capacity means beds are not tracked.
+ */
+public record BedAvailability(
+        Integer bedCapacity,
+        int bedsReserved
+) {
+    public boolean isTracked() {
+        return bedCapacity != null;
+    }
+
+    public boolean isFull() {
+        return bedCapacity != null && bedsReserved >= bedCapacity;
+    }
+}
@@ -0,0 +1,13 @@
+package co.za.cput.dto;
+
+import java.util.List;
+
+/**
+ * One page of an application inbox, newest first. {@code nextPageToken} is null on the last page.
+ */
+public record BookingApplicationPage(
+        List<BookingApplicationView> items,
+        int size,
+        String nextPageToken
+) {
+}
@@ -3,6 +3,7 @@ package co.za.cput.dto;
 import co.za.cput.domain.business.Booking;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 public record BookingApplicationView(
         Long bookingId,
@@ -18,6 +19,7 @@ public record BookingApplicationView(
         Booking.BookingStatus bookingStatus,
         Booking.PaymentStatus paymentStatus,
         Long landlordId,
-        String landlordEmail
+        String landlordEmail,
+        LocalDateTime createdAt
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package co.za.cput.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * When an application was made and decided, and by which landlord's listing.
+ */
+public record BookingDecisionLatency(
+        Long landlordId,
+        LocalDateTime createdAt,
+        LocalDateTime decidedAt
+) {
+}
@@ -0,0 +1,20 @@
+package co.za.cput.dto;
+
+import co.za.cput.domain.business.Booking;
+
+/**
+ * What happened to one decision of a bulk update. {@code status} is the booking's status afterwards, null when the
+ * booking does not exist; {@code message} explains a rejection.
+ */
+public record BookingDecisionResult(
+        Long bookingId,
+        Outcome outcome,
+        Booking.BookingStatus status,
+        String message
+) {
+    public enum Outcome {
+        APPLIED,
+        UNCHANGED,
+        REJECTED
+    }
+}
@@ -0,0 +1,21 @@
+package co.za.cput.dto;
+
+import co.za.cput.domain.business.Booking;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The columns a bulk status update needs from each booking, read without loading the entity.
+ */
+public record BookingDecisionState(
+        Long bookingId,
+        Booking.BookingStatus status,
+        Long studentId,
+        Long accommodationId,
+        LocalDateTime createdAt,
+        LocalDateTime decidedAt,
+        LocalDate checkInDate,
+        LocalDate checkOutDate
+) {
+}
@@ -0,0 +1,15 @@
+package co.za.cput.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Booking activity in the period starting at {@code periodStart}: applications made, and applications that moved
+ * to CONFIRMED or FAILED.
+ */
+public record BookingSeriesPoint(
+        LocalDate periodStart,
+        long applications,
+        long confirmations,
+        long failures
+) {
+}
@@ -0,0 +1,31 @@
+package co.za.cput.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decisions a landlord takes on several of their applications at once.
+ */
+public class BookingStatusBulkRequest {
+    private Long landlordId;
+    private List<BookingStatusDecision> decisions = new ArrayList<>();
+
+    public BookingStatusBulkRequest() {
+    }
+
+    public Long getLandlordId() {
+        return landlordId;
+    }
+
+    public void setLandlordId(Long landlordId) {
+        this.landlordId = landlordId;
+    }
+
+    public List<BookingStatusDecision> getDecisions() {
+        return decisions;
+    }
+
+    public void setDecisions(List<BookingStatusDecision> decisions) {
+        this.decisions = decisions != null ? decisions : new ArrayList<>();
+    }
+}
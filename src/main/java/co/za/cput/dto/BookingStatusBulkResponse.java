@@ -0,0 +1,14 @@
+package co.za.cput.dto;
+
+import java.util.List;
+
+/**
+ * Per-decision results of a bulk update, in request order.
+ */
+public record BookingStatusBulkResponse(
+        int applied,
+        int unchanged,
+        int rejected,
+        List<BookingDecisionResult> results
+) {
+}
@@ -0,0 +1,32 @@
+package co.za.cput.dto;
+
+import co.za.cput.domain.business.Booking;
+
+public class BookingStatusDecision {
+    private Long bookingId;
+    private Booking.BookingStatus status;
+
+    public BookingStatusDecision() {
+    }
+
+    public BookingStatusDecision(Long bookingId, Booking.BookingStatus status) {
+        this.bookingId = bookingId;
+        this.status = status;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public Booking.BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Booking.BookingStatus status) {
+        this.status = status;
+    }
+}
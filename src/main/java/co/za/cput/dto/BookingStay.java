@@ -0,0 +1,19 @@
+package co.za.cput.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A confirmed booking's stay on a listing, from check-in up to but not including check-out, with the listing's
+ * bed capacity (null when beds are not tracked).
+ */
+public record BookingStay(
+        Long bookingId,
+        Long accommodationId,
+        Integer bedCapacity,
+        LocalDate checkInDate,
+        LocalDate checkOutDate
+) {
+    public boolean isDated() {
+        return checkInDate != null && checkOutDate != null && checkInDate.isBefore(checkOutDate);
+    }
+}
@@ -0,0 +1,67 @@
+package co.za.cput.dto;
+
+/**
+ * Latitude/longitude rectangle, typically the visible map viewport. A {@code west} greater than {@code east}
+ * means the box crosses the antimeridian.
+ */
+public record GeoBounds(double south, double west, double north, double east) {
+
+    private static final double KM_PER_DEGREE_LATITUDE = 111.195;
+
+    public GeoBounds {
+        if (south > north || south < -90 || north > 90 || west < -180 || west > 180 || east < -180 || east > 180) {
+            throw new IllegalArgumentException("Map bounds are out of range.");
+        }
+    }
+
+    /**
+     * Builds bounds from optional request parameters: null when none are given, an error when only some are.
+     */
+    public static GeoBounds of(Double south, Double west, Double north, Double east) {
+        if (south == null && west == null && north == null && east == null) {
+            return null;
+        }
+        if (south == null || west == null || north == null || east == null) {
+            throw new IllegalArgumentException("north, south, east and west are all required for a map search.");
+        }
+        return new GeoBounds(south, west, north, east);
+    }
+
+    /**
+     * Smallest box that contains the circle of {@code radiusKm} around the point.
+     */
+    public static GeoBounds around(double latitude, double longitude, double radiusKm) {
+        double latitudeDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double cosine = Math.cos(Math.toRadians(latitude));
+        double longitudeDelta = cosine < 1e-6 ? 180 : Math.min(180, latitudeDelta / cosine);
+        return new GeoBounds(
+                Math.max(-90, latitude - latitudeDelta),
+                longitudeDelta >= 180 ? -180 : wrap(longitude - longitudeDelta),
+                Math.min(90, latitude + latitudeDelta),
+                longitudeDelta >= 180 ? 180 : wrap(longitude + longitudeDelta)
+        );
+    }
+
+    public boolean crossesAntimeridian() {
+        return west > east;
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < south || latitude > north) {
+            return false;
+        }
+        return crossesAntimeridian()
+                ? longitude >= west || longitude <= east
+                : longitude >= west && longitude <= east;
+    }
+
+    private static double wrap(double longitude) {
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude;
+    }
+}
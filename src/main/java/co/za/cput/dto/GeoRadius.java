@@ -0,0 +1,58 @@
+package co.za.cput.dto;
+
+/**
+ * "Within {@code radiusKm} of a point" filter. Distances use the equirectangular approximation, which is well
+ * within 1% of the great-circle distance at the city scale these searches run at and can be evaluated with
+ * plain arithmetic in SQL as well as in memory, so both search paths agree on the result.
+ */
+public record GeoRadius(double latitude, double longitude, double radiusKm) {
+
+    private static final double KM_PER_DEGREE = 111.195;
+
+    public GeoRadius {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Search point is out of range.");
+        }
+        if (!(radiusKm > 0)) {
+            throw new IllegalArgumentException("Search radius must be greater than zero.");
+        }
+    }
+
+    /**
+     * Builds a radius filter from optional request parameters: null when none are given, an error when only some are.
+     */
+    public static GeoRadius of(Double latitude, Double longitude, Double radiusKm) {
+        if (latitude == null && longitude == null && radiusKm == null) {
+            return null;
+        }
+        if (latitude == null || longitude == null || radiusKm == null) {
+            throw new IllegalArgumentException("latitude, longitude and radiusKm are all required for a radius search.");
+        }
+        return new GeoRadius(latitude, longitude, radiusKm);
+    }
+
+    public GeoBounds bounds() {
+        return GeoBounds.around(latitude, longitude, radiusKm);
+    }
+
+    /**
+     * Cosine of the centre latitude; scales longitude differences to the same units as latitude differences.
+     */
+    public double longitudeScale() {
+        return Math.cos(Math.toRadians(latitude));
+    }
+
+    /**
+     * Squared radius expressed in degrees of latitude, to compare against squared scaled degree offsets.
+     */
+    public double squaredRadiusInDegrees() {
+        double degrees = radiusKm / KM_PER_DEGREE;
+        return degrees * degrees;
+    }
+
+    public boolean contains(double pointLatitude, double pointLongitude) {
+        double latitudeOffset = pointLatitude - latitude;
+        double longitudeOffset = (pointLongitude - longitude) * longitudeScale();
+        return latitudeOffset * latitudeOffset + longitudeOffset * longitudeOffset <= squaredRadiusInDegrees();
+    }
+}
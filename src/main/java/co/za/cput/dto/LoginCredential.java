@@ -0,0 +1,26 @@
+package co.za.cput.dto;
+
+import co.za.cput.domain.generic.UserAuthentication;
+import co.za.cput.domain.users.Administrator;
+
+/**
+ * One row of the credential index with what a login response shows of its account, read in the same query: the
+ * hash to check and the account's name, email and standing. {@code adminRoleStatus} and {@code superAdmin} are set
+ * for administrators only. A row that names no account has a {@code null} account id and logs in to nothing.
+ */
+public record LoginCredential(
+        UserAuthentication.UserRole role,
+        String password,
+        Long accountId,
+        String firstName,
+        String lastName,
+        String email,
+        Boolean verified,
+        Administrator.AdminRoleStatus adminRoleStatus,
+        Boolean superAdmin
+) {
+
+    public boolean isActiveAdministrator() {
+        return adminRoleStatus == Administrator.AdminRoleStatus.ACTIVE;
+    }
+}
@@ -1,10 +1,13 @@
 package co.za.cput.dto;
 
+import co.za.cput.domain.generic.UserAuthentication;
 import co.za.cput.domain.users.Administrator;
 import co.za.cput.domain.users.Landlord;
 import co.za.cput.domain.users.Student;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
+import java.time.Instant;
+
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class LoginResponse {
 
@@ -18,6 +21,8 @@ public class LoginResponse {
     private String adminRoleStatus;
     private Boolean superAdmin;
     private String message;
+    private String sessionToken;
+    private Instant sessionExpiresAt;
 
     public LoginResponse() {
     }
@@ -33,9 +38,20 @@ public class LoginResponse {
         this.adminRoleStatus = builder.adminRoleStatus;
         this.superAdmin = builder.superAdmin;
         this.message = builder.message;
+        this.sessionToken = builder.sessionToken;
+        this.sessionExpiresAt = builder.sessionExpiresAt;
     }
 
     public static LoginResponse successForAdministrator(Administrator administrator) {
+        return successForAdministrator(administrator, null, null);
+    }
+
+    /**
+     * @param sessionToken sent back as {@code Authorization: Bearer} on admin actions instead of the password
+     */
+    public static LoginResponse successForAdministrator(Administrator administrator,
+                                                        String sessionToken,
+                                                        Instant sessionExpiresAt) {
         if (administrator == null) {
             throw new IllegalArgumentException("Administrator must not be null");
         }
@@ -52,6 +68,8 @@ public class LoginResponse {
                         ? administrator.getAdminRoleStatus().name()
                         : null)
                 .setSuperAdmin(administrator.isSuperAdmin())
+                .setSessionToken(sessionToken)
+                .setSessionExpiresAt(sessionExpiresAt)
                 .setMessage("Login successful.")
                 .build();
     }
@@ -90,6 +108,33 @@ public class LoginResponse {
                 .build();
     }
 
+    /**
+     * A successful login built from the credential index alone, without loading the account.
+     *
+     * @param sessionToken for administrators only; see {@link #successForAdministrator(Administrator, String, Instant)}
+     */
+    public static LoginResponse success(LoginCredential credential, String sessionToken, Instant sessionExpiresAt) {
+        if (credential == null || credential.accountId() == null) {
+            throw new IllegalArgumentException("Credential must name an account");
+        }
+
+        boolean administrator = credential.role() == UserAuthentication.UserRole.ADMINISTRATOR;
+        return new Builder()
+                .setAuthenticated(true)
+                .setRole(administrator ? "ADMIN" : credential.role().name())
+                .setUserId(credential.accountId())
+                .setFirstName(credential.firstName())
+                .setLastName(credential.lastName())
+                .setEmail(credential.email())
+                .setVerified(administrator ? credential.isActiveAdministrator() : credential.verified())
+                .setAdminRoleStatus(credential.adminRoleStatus() != null ? credential.adminRoleStatus().name() : null)
+                .setSuperAdmin(administrator ? credential.superAdmin() : null)
+                .setSessionToken(sessionToken)
+                .setSessionExpiresAt(sessionExpiresAt)
+                .setMessage("Login successful.")
+                .build();
+    }
+
     public static LoginResponse failure(String message) {
         return new Builder()
                 .setAuthenticated(false)
@@ -137,6 +182,14 @@ public class LoginResponse {
         return message;
     }
 
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    public Instant getSessionExpiresAt() {
+        return sessionExpiresAt;
+    }
+
     public static class Builder {
         private boolean authenticated;
         private String role;
@@ -148,6 +201,8 @@ public class LoginResponse {
         private String adminRoleStatus;
         private Boolean superAdmin;
         private String message;
+        private String sessionToken;
+        private Instant sessionExpiresAt;
 
         public Builder setAuthenticated(boolean authenticated) {
             this.authenticated = authenticated;
@@ -199,6 +254,16 @@ public class LoginResponse {
             return this;
         }
 
+        public Builder setSessionToken(String sessionToken) {
+            this.sessionToken = sessionToken;
+            return this;
+        }
+
+        public Builder setSessionExpiresAt(Instant sessionExpiresAt) {
+            this.sessionExpiresAt = sessionExpiresAt;
+            return this;
+        }
+
         public LoginResponse build() {
             return new LoginResponse(this);
         }
@@ -0,0 +1,22 @@
+package co.za.cput.dto;
+
+/**
+ * Login throttling counters since this node started. {@code blockedByEmail} and {@code blockedByIp} count login
+ * attempts refused during a lockout; {@code displaced} counts keys dropped before going idle to make room for new
+ * ones.
+ */
+public record LoginThrottleStats(
+        int maxAttemptsPerEmail,
+        int maxAttemptsPerIp,
+        int trackedKeys,
+        int maxTrackedKeys,
+        long lockedKeys,
+        long failedAttempts,
+        long blockedByEmail,
+        long blockedByIp,
+        long emailLockouts,
+        long ipLockouts,
+        long evicted,
+        long displaced
+) {
+}
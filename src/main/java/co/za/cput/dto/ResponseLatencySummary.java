@@ -0,0 +1,16 @@
+package co.za.cput.dto;
+
+/**
+ * How long landlords take to decide applications, in seconds from application to CONFIRMED or FAILED.
+ * {@code landlordId} is null for the platform-wide figures.
+ */
+public record ResponseLatencySummary(
+        Long landlordId,
+        long decisions,
+        long p50Seconds,
+        long p90Seconds,
+        long p99Seconds,
+        long maxSeconds,
+        double meanSeconds
+) {
+}
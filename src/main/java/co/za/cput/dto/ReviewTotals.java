@@ -0,0 +1,15 @@
+package co.za.cput.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Raw review totals for one accommodation, as summed straight from the review table.
+ */
+public record ReviewTotals(
+        Long accommodationId,
+        Long ratingSum,
+        Long reviewCount,
+        Long positiveCount,
+        LocalDate lastReviewDate
+) {
+}
@@ -0,0 +1,16 @@
+package co.za.cput.dto;
+
+/**
+ * Counters for the accommodation search result cache. {@code weight} is the number of listing rows held.
+ */
+public record SearchCacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        long invalidations,
+        int entries,
+        long weight,
+        long maxWeight,
+        double hitRate
+) {
+}
@@ -0,0 +1,23 @@
+package co.za.cput.dto;
+
+import co.za.cput.domain.business.WaitlistEntry;
+
+import java.time.LocalDateTime;
+
+/**
+ * A waitlist place as shown to students and landlords. {@code position} counts from 1 and is only set while the
+ * student is still waiting.
+ */
+public record WaitlistEntryView(
+        Long id,
+        Long studentId,
+        Long accommodationId,
+        WaitlistEntry.WaitlistStatus status,
+        int priorityTier,
+        Long position,
+        LocalDateTime joinedAt,
+        LocalDateTime offeredAt,
+        LocalDateTime holdExpiresAt,
+        Long bookingId
+) {
+}
@@ -10,11 +10,22 @@ public class AddressFactory {
                                         String suburb,
                                         String city,
                                         int postalCode) {
+        return createAddress(streetNumber, streetName, suburb, city, postalCode, null, null);
+    }
+
+    public static Address createAddress(String streetNumber,
+                                        String streetName,
+                                        String suburb,
+                                        String city,
+                                        int postalCode,
+                                        Double latitude,
+                                        Double longitude) {
         if (Helper.isNullorEmpty(streetNumber) ||
                 Helper.isNullorEmpty(streetName) ||
                 Helper.isNullorEmpty(suburb) ||
                 Helper.isNullorEmpty(city) ||
-                !Helper.isValidPostalCode(postalCode)) {
+                !Helper.isValidPostalCode(postalCode) ||
+                !Helper.isValidCoordinates(latitude, longitude)) {
             return null;
         }
 
@@ -24,6 +35,8 @@ public class AddressFactory {
                 .setSuburb(suburb)
                 .setCity(city)
                 .setPostalCode(postalCode)
+                .setLatitude(latitude)
+                .setLongitude(longitude)
                 .build();
 
     }
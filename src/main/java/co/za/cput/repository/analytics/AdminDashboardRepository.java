@@ -0,0 +1,34 @@
+package co.za.cput.repository.analytics;
+
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.business.Verification;
+import co.za.cput.dto.AdminDashboardCounts;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class AdminDashboardRepository {
+
+    // Scalar subqueries let the database answer every count in one round trip, each from its own table.
+    private static final String OVERVIEW_QUERY = """
+            SELECT new co.za.cput.dto.AdminDashboardCounts(
+                (SELECT COUNT(s) FROM Student s),
+                (SELECT COUNT(l) FROM Landlord l),
+                (SELECT COUNT(l) FROM Landlord l WHERE l.isVerified = true),
+                (SELECT COUNT(a) FROM Accommodation a),
+                (SELECT COUNT(v) FROM Verification v WHERE v.verificationStatus = :pending),
+                (SELECT COUNT(b) FROM Booking b WHERE b.bookingStatus = :confirmed)
+            )
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public AdminDashboardCounts countOverview() {
+        return entityManager.createQuery(OVERVIEW_QUERY, AdminDashboardCounts.class)
+                .setParameter("pending", Verification.VerificationStatus.PENDING)
+                .setParameter("confirmed", Booking.BookingStatus.CONFIRMED)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,59 @@
+package co.za.cput.repository.analytics;
+
+import co.za.cput.domain.analytics.BookingRollup;
+import co.za.cput.dto.BookingSeriesPoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BookingRollupRepository extends JpaRepository<BookingRollup, Long> {
+
+    /**
+     * Adds to an existing bucket in place, so concurrent writers never read-modify-write the same row. Decision
+     * counts never drop below zero, so taking back an outcome the bucket never counted leaves it at zero.
+     *
+     * @return 1 when the bucket exists, 0 when it still has to be inserted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE BookingRollup r
+            SET r.applications = r.applications + :applications,
+                r.confirmations = GREATEST(r.confirmations + :confirmations, 0),
+                r.failures = GREATEST(r.failures + :failures, 0)
+            WHERE r.granularity = :granularity
+              AND r.periodStart = :periodStart
+              AND r.suburb = :suburb
+              AND r.roomType = :roomType
+            """)
+    int increment(@Param("granularity") BookingRollup.Granularity granularity,
+                  @Param("periodStart") LocalDate periodStart,
+                  @Param("suburb") String suburb,
+                  @Param("roomType") String roomType,
+                  @Param("applications") long applications,
+                  @Param("confirmations") long confirmations,
+                  @Param("failures") long failures);
+
+    @Query("""
+            SELECT new co.za.cput.dto.BookingSeriesPoint(
+                r.periodStart, SUM(r.applications), SUM(r.confirmations), SUM(r.failures)
+            )
+            FROM BookingRollup r
+            WHERE r.granularity = :granularity
+              AND r.periodStart BETWEEN :from AND :to
+              AND (:suburb IS NULL OR r.suburb = :suburb)
+              AND (:roomType IS NULL OR r.roomType = :roomType)
+            GROUP BY r.periodStart
+            ORDER BY r.periodStart
+            """)
+    List<BookingSeriesPoint> findSeries(@Param("granularity") BookingRollup.Granularity granularity,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to,
+                                        @Param("suburb") String suburb,
+                                        @Param("roomType") String roomType);
+}
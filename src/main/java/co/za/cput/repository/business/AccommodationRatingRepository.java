@@ -0,0 +1,59 @@
+package co.za.cput.repository.business;
+
+import co.za.cput.domain.business.AccommodationRating;
+import co.za.cput.dto.AccommodationRatingSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccommodationRatingRepository extends JpaRepository<AccommodationRating, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM AccommodationRating r WHERE r.accommodationId = :accommodationId")
+    Optional<AccommodationRating> findForUpdate(@Param("accommodationId") Long accommodationId);
+
+    @Query("""
+            SELECT new co.za.cput.dto.AccommodationRatingSummary(
+                r.accommodationId, r.averageRating, r.reviewCount, r.lastReviewDate, r.positiveCount
+            )
+            FROM AccommodationRating r
+            WHERE r.accommodationId = :accommodationId AND r.reviewCount > 0
+            """)
+    Optional<AccommodationRatingSummary> findSummaryByAccommodationId(@Param("accommodationId") Long accommodationId);
+
+    @Query("""
+            SELECT new co.za.cput.dto.AccommodationRatingSummary(
+                r.accommodationId, r.averageRating, r.reviewCount, r.lastReviewDate, r.positiveCount
+            )
+            FROM AccommodationRating r
+            WHERE r.accommodationId IN :accommodationIds AND r.reviewCount > 0
+            """)
+    List<AccommodationRatingSummary> findSummariesByAccommodationIds(
+            @Param("accommodationIds") Collection<Long> accommodationIds);
+
+    // Walks idx_accommodation_rating_rank from the top, so only the requested page is read.
+    @Query("""
+            SELECT new co.za.cput.dto.AccommodationRatingSummary(
+                r.accommodationId, r.averageRating, r.reviewCount, r.lastReviewDate, r.positiveCount
+            )
+            FROM AccommodationRating r
+            WHERE r.reviewCount > 0
+            ORDER BY r.averageRating DESC, r.reviewCount DESC
+            """)
+    List<AccommodationRatingSummary> findTopRatedSummaries(Pageable pageable);
+
+    @Query("SELECT r.ratingRank FROM AccommodationRating r WHERE r.accommodationId = :accommodationId")
+    Optional<Long> findRatingRank(@Param("accommodationId") Long accommodationId);
+
+    @Query("SELECT r.accommodationId FROM AccommodationRating r")
+    List<Long> findAllAccommodationIds();
+}
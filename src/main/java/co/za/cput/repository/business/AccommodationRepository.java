@@ -4,11 +4,145 @@ package co.za.cput.repository.business;
 //Student Number:   221802797.
 
 import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.business.WaitlistEntry;
+import co.za.cput.dto.BedAvailability;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AccommodationRepository extends JpaRepository<Accommodation, Long>, JpaSpecificationExecutor<Accommodation> {
+public interface AccommodationRepository extends JpaRepository<Accommodation, Long>, JpaSpecificationExecutor<Accommodation>,
+        AccommodationSummaryRepository {
+
+    // Fetches the address in the same select; otherwise every row would load it with a query of its own.
+    @EntityGraph(attributePaths = "address")
+    List<Accommodation> findByAccommodationIDIn(Collection<Long> accommodationIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Accommodation a WHERE a.accommodationID = :accommodationId")
+    Optional<Accommodation> lockById(@Param("accommodationId") Long accommodationId);
+
+    @Query("""
+            SELECT new co.za.cput.dto.BedAvailability(a.bedCapacity, a.bedsReserved)
+            FROM Accommodation a
+            WHERE a.accommodationID = :accommodationId
+            """)
+    Optional<BedAvailability> findBedAvailability(@Param("accommodationId") Long accommodationId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT new co.za.cput.dto.BedAvailability(a.bedCapacity, a.bedsReserved)
+            FROM Accommodation a
+            WHERE a.accommodationID = :accommodationId
+            """)
+    Optional<BedAvailability> lockBedAvailability(@Param("accommodationId") Long accommodationId);
+
+    /*
+     * The bed updates below are single conditional statements, so concurrent confirmations serialise on the row lock
+     * and each re-checks the count it is about to change. The status is assigned before the count so it is computed
+     * from the count as it was, whether the database evaluates assignments in order (MySQL) or all at once.
+     */
+
+    /**
+     * Takes {@code beds} beds, flipping a tracked listing to FULL when they are the last. Listings without a
+     * capacity count the beds and keep their status.
+     *
+     * @return 0 when the listing has fewer free beds or is missing
+     */
+    @Modifying
+    @Query("""
+            UPDATE Accommodation a
+            SET a.accommodationStatus = CASE
+                    WHEN a.bedCapacity IS NULL THEN a.accommodationStatus
+                    WHEN a.bedsReserved + :beds >= a.bedCapacity THEN :full
+                    ELSE :available END,
+                a.bedsReserved = a.bedsReserved + :beds
+            WHERE a.accommodationID = :accommodationId
+              AND (a.bedCapacity IS NULL OR a.bedsReserved + :beds <= a.bedCapacity)
+            """)
+    int reserveBeds(@Param("accommodationId") Long accommodationId,
+                    @Param("beds") int beds,
+                    @Param("full") Accommodation.AccommodationStatus full,
+                    @Param("available") Accommodation.AccommodationStatus available);
+
+    /**
+     * Gives {@code beds} beds back, flipping a tracked listing to AVAILABLE once it has a free bed.
+     *
+     * @return 0 when fewer beds were held
+     */
+    @Modifying
+    @Query("""
+            UPDATE Accommodation a
+            SET a.accommodationStatus = CASE
+                    WHEN a.bedCapacity IS NULL THEN a.accommodationStatus
+                    WHEN a.bedsReserved - :beds >= a.bedCapacity THEN :full
+                    ELSE :available END,
+                a.bedsReserved = a.bedsReserved - :beds
+            WHERE a.accommodationID = :accommodationId
+              AND a.bedsReserved >= :beds
+            """)
+    int releaseBeds(@Param("accommodationId") Long accommodationId,
+                    @Param("beds") int beds,
+                    @Param("full") Accommodation.AccommodationStatus full,
+                    @Param("available") Accommodation.AccommodationStatus available);
+
+    /**
+     * Re-derives a tracked listing's status after its capacity was edited.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Accommodation a
+            SET a.accommodationStatus = CASE WHEN a.bedsReserved >= a.bedCapacity THEN :full ELSE :available END
+            WHERE a.accommodationID = :accommodationId
+              AND a.bedCapacity IS NOT NULL
+            """)
+    int refreshBedStatus(@Param("accommodationId") Long accommodationId,
+                         @Param("full") Accommodation.AccommodationStatus full,
+                         @Param("available") Accommodation.AccommodationStatus available);
+
+    @Modifying
+    @Query("""
+            UPDATE Accommodation a
+            SET a.accommodationStatus = CASE WHEN a.bedsReserved >= a.bedCapacity THEN :full ELSE :available END
+            WHERE a.bedCapacity IS NOT NULL
+              AND a.accommodationStatus <> CASE WHEN a.bedsReserved >= a.bedCapacity THEN :full ELSE :available END
+            """)
+    int refreshAllBedStatuses(@Param("full") Accommodation.AccommodationStatus full,
+                              @Param("available") Accommodation.AccommodationStatus available);
 
+    /**
+     * Resets every listing's reserved beds to its confirmed bookings plus the beds held for waitlisted students,
+     * where the two disagree.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Accommodation a
+            SET a.bedsReserved = (
+                    SELECT COUNT(b) FROM Booking b
+                    WHERE b.accommodation.accommodationID = a.accommodationID AND b.bookingStatus = :confirmed)
+                + (
+                    SELECT COUNT(w) FROM WaitlistEntry w
+                    WHERE w.accommodation.accommodationID = a.accommodationID AND w.status = :offered)
+            WHERE a.bedsReserved <> (
+                    SELECT COUNT(b) FROM Booking b
+                    WHERE b.accommodation.accommodationID = a.accommodationID AND b.bookingStatus = :confirmed)
+                + (
+                    SELECT COUNT(w) FROM WaitlistEntry w
+                    WHERE w.accommodation.accommodationID = a.accommodationID AND w.status = :offered)
+            """)
+    int reconcileBedsReserved(@Param("confirmed") Booking.BookingStatus confirmed,
+                               @Param("offered") WaitlistEntry.WaitlistStatus offered);
 }
@@ -0,0 +1,27 @@
+package co.za.cput.repository.business;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.dto.AccommodationFacets;
+import co.za.cput.dto.AccommodationSummary;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Builds {@link AccommodationSummary} rows straight from the database instead of loading entities and walking
+ * their address/landlord/contact associations one lazy select at a time.
+ */
+public interface AccommodationSummaryRepository {
+
+    /**
+     * Runs a single select joining accommodation, address, landlord and contact, filtered and ordered by the
+     * given specification. A {@code limit} of zero or less returns every match.
+     */
+    List<AccommodationSummary> findSummaries(Specification<Accommodation> specification, int limit);
+
+    /**
+     * Counts the listings matching the specification per facet with one grouped select over the accommodation
+     * and address tables, rather than one count per option.
+     */
+    AccommodationFacets countFacets(Specification<Accommodation> specification);
+}
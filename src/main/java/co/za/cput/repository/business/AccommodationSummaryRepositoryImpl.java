@@ -0,0 +1,122 @@
+package co.za.cput.repository.business;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.generic.Address;
+import co.za.cput.domain.generic.Contact;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.dto.AccommodationFacets;
+import co.za.cput.dto.AccommodationSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccommodationSummaryRepositoryImpl implements AccommodationSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AccommodationSummary> findSummaries(Specification<Accommodation> specification, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AccommodationSummary> query = builder.createQuery(AccommodationSummary.class);
+        Root<Accommodation> root = query.from(Accommodation.class);
+        Join<Accommodation, Address> address = root.join("address", JoinType.LEFT);
+        Join<Accommodation, Landlord> landlord = root.join("landlord", JoinType.LEFT);
+        Join<Landlord, Contact> contact = landlord.join("contact", JoinType.LEFT);
+
+        query.select(builder.construct(
+                AccommodationSummary.class,
+                root.get("accommodationID"),
+                root.get("rent"),
+                root.get("wifiAvailable"),
+                root.get("furnished"),
+                root.get("utilitiesIncluded"),
+                root.get("distanceFromCampus"),
+                root.get("roomType"),
+                root.get("bathroomType"),
+                root.get("accommodationStatus"),
+                address.get("addressID"),
+                address.get("streetNumber"),
+                address.get("streetName"),
+                address.get("suburb"),
+                address.get("city"),
+                address.get("latitude"),
+                address.get("longitude"),
+                landlord.get("landlordID"),
+                landlord.get("landlordFirstName"),
+                landlord.get("landlordLastName"),
+                contact.get("email")
+        ));
+
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        TypedQuery<AccommodationSummary> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public AccommodationFacets countFacets(Specification<Accommodation> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Accommodation> root = query.from(Accommodation.class);
+        Join<Accommodation, Address> address = root.join("address", JoinType.LEFT);
+
+        // Rent is grouped as-is and bucketed while folding the rows: listings share a handful of round rents, and
+        // keeping arithmetic out of the GROUP BY keeps the statement portable between H2 and MySQL.
+        List<Expression<?>> groups = List.of(
+                root.get("roomType"),
+                root.get("bathroomType"),
+                root.get("accommodationStatus"),
+                root.get("wifiAvailable"),
+                root.get("furnished"),
+                root.get("utilitiesIncluded"),
+                address.get("suburb"),
+                root.get("rent"));
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        selections.add(builder.count(root));
+        query.multiselect(selections).groupBy(groups);
+
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        AccommodationFacets.Tally tally = new AccommodationFacets.Tally();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            tally.add(
+                    row.get(0, Accommodation.RoomType.class),
+                    row.get(1, Accommodation.BathroomType.class),
+                    row.get(2, Accommodation.AccommodationStatus.class),
+                    row.get(3, Boolean.class),
+                    row.get(4, Boolean.class),
+                    row.get(5, Boolean.class),
+                    row.get(6, String.class),
+                    row.get(7, Double.class),
+                    row.get(8, Long.class));
+        }
+        return tally.toFacets();
+    }
+}
@@ -0,0 +1,20 @@
+package co.za.cput.repository.business;
+
+import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.BookingApplicationView;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Builds {@link BookingApplicationView} rows in one select joining the booking to its student, listing, address,
+ * landlord and both contacts, instead of loading each booking and walking those associations lazily.
+ */
+public interface BookingApplicationRepository {
+
+    /**
+     * Applications matching the specification, newest first by creation time then booking id, with rows saved
+     * without a creation time last. A {@code limit} of zero or less returns every match.
+     */
+    List<BookingApplicationView> findApplicationViews(Specification<Booking> specification, int limit);
+}
@@ -0,0 +1,108 @@
+package co.za.cput.repository.business;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.generic.Address;
+import co.za.cput.domain.generic.Contact;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.BookingApplicationView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingApplicationRepositoryImpl implements BookingApplicationRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingApplicationView> findApplicationViews(Specification<Booking> specification, int limit) {
+        HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Booking> root = query.from(Booking.class);
+        Join<Booking, Student> student = root.join("student", JoinType.LEFT);
+        Join<Student, Contact> studentContact = student.join("contact", JoinType.LEFT);
+        Join<Booking, Accommodation> accommodation = root.join("accommodation", JoinType.LEFT);
+        Join<Accommodation, Address> address = accommodation.join("address", JoinType.LEFT);
+        Join<Accommodation, Landlord> landlord = accommodation.join("landlord", JoinType.LEFT);
+        Join<Landlord, Contact> landlordContact = landlord.join("contact", JoinType.LEFT);
+
+        query.multiselect(
+                root.get("bookingID"),
+                student.get("studentID"),
+                student.get("studentName"),
+                student.get("studentSurname"),
+                studentContact.get("email"),
+                accommodation.get("accommodationID"),
+                address.get("streetNumber"),
+                address.get("streetName"),
+                address.get("suburb"),
+                accommodation.get("rent"),
+                root.get("requestDate"),
+                root.get("bookingStatus"),
+                root.get("paymentStatus"),
+                landlord.get("landlordID"),
+                landlordContact.get("email"),
+                root.get("createdAt"));
+
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(builder.desc(root.get("createdAt"), false), builder.desc(root.get("bookingID")));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit > 0) {
+            typedQuery.setMaxResults(limit);
+        }
+        List<BookingApplicationView> views = new ArrayList<>();
+        for (Tuple row : typedQuery.getResultList()) {
+            views.add(toView(row));
+        }
+        return views;
+    }
+
+    private static BookingApplicationView toView(Tuple row) {
+        String suburb = row.get(8, String.class);
+        String addressLine = String.format("%s %s",
+                valueOrBlank(row.get(6, String.class)),
+                valueOrBlank(row.get(7, String.class))).trim();
+        Long accommodationId = row.get(5, Long.class);
+        return new BookingApplicationView(
+                row.get(0, Long.class),
+                row.get(1, Long.class),
+                row.get(2, String.class),
+                row.get(3, String.class),
+                row.get(4, String.class),
+                accommodationId,
+                accommodationId == null ? null : !addressLine.isBlank() ? addressLine : suburb,
+                suburb,
+                accommodationId != null ? row.get(9, Double.class) : null,
+                row.get(10, LocalDate.class),
+                row.get(11, Booking.BookingStatus.class),
+                row.get(12, Booking.PaymentStatus.class),
+                row.get(13, Long.class),
+                row.get(14, String.class),
+                row.get(15, LocalDateTime.class));
+    }
+
+    private static String valueOrBlank(String value) {
+        return value != null ? value : "";
+    }
+}
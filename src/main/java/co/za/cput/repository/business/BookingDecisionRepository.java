@@ -0,0 +1,162 @@
+package co.za.cput.repository.business;
+
+import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.BookingDecisionState;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes for bulk status decisions, kept off the entity path so a batch of N bookings costs a few
+ * statements rather than a load, merge and flush per booking. Callers must hold a transaction.
+ */
+@Repository
+public class BookingDecisionRepository {
+
+    // Reads the foreign keys straight off the booking row, so locking it locks nothing else.
+    private static final String STATE_QUERY = """
+            SELECT new co.za.cput.dto.BookingDecisionState(
+                b.bookingID, b.bookingStatus, b.student.studentID, b.accommodation.accommodationID,
+                b.createdAt, b.decidedAt, b.checkInDate, b.checkOutDate
+            )
+            FROM Booking b
+            """;
+
+    // The expected previous status guards against a write that slipped past the row locks.
+    private static final String UPDATE_STATUS = """
+            UPDATE booking
+            SET booking_status = ?, updated_at = ?, decided_at = ?, active_application = ?
+            WHERE bookingid = ? AND booking_status = ?
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingDecisionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Current state of the given bookings, row-locked until the transaction ends. Rows are locked in id order so
+     * overlapping batches cannot deadlock.
+     */
+    public List<BookingDecisionState> lockStates(Collection<Long> bookingIds) {
+        return entityManager.createQuery(STATE_QUERY + " WHERE b.bookingID IN :bookingIds ORDER BY b.bookingID",
+                        BookingDecisionState.class)
+                .setParameter("bookingIds", bookingIds)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+
+    /**
+     * Active applications held by any of the students on any of the listings; callers match the exact pairs.
+     */
+    public List<BookingDecisionState> findActiveApplications(Collection<Long> studentIds,
+                                                             Collection<Long> accommodationIds) {
+        return entityManager.createQuery(STATE_QUERY + """
+                         WHERE b.activeApplication = TRUE
+                           AND b.student.studentID IN :studentIds
+                           AND b.accommodation.accommodationID IN :accommodationIds
+                        """, BookingDecisionState.class)
+                .setParameter("studentIds", studentIds)
+                .setParameter("accommodationIds", accommodationIds)
+                .getResultList();
+    }
+
+    /**
+     * The landlord of each listing that has one.
+     */
+    public Map<Long, Long> findLandlordIds(Collection<Long> accommodationIds) {
+        Map<Long, Long> landlords = new HashMap<>();
+        entityManager.createQuery("""
+                        SELECT a.accommodationID, a.landlord.landlordID
+                        FROM Accommodation a
+                        WHERE a.accommodationID IN :accommodationIds AND a.landlord IS NOT NULL
+                        """, Object[].class)
+                .setParameter("accommodationIds", accommodationIds)
+                .getResultList()
+                .forEach(row -> landlords.put((Long) row[0], (Long) row[1]));
+        return landlords;
+    }
+
+    /**
+     * Up to {@code limit} applications still in progress that were created before the cutoff, oldest first; one
+     * range scan of {@code idx_booking_status_created}. Rows without a creation time are never returned.
+     */
+    public List<Long> findStaleApplicationIds(LocalDateTime createdBefore, int limit) {
+        return entityManager.createQuery("""
+                        SELECT b.bookingID FROM Booking b
+                        WHERE b.bookingStatus = :inProgress AND b.createdAt < :createdBefore
+                        ORDER BY b.createdAt, b.bookingID
+                        """, Long.class)
+                .setParameter("inProgress", Booking.BookingStatus.IN_PROGRESS)
+                .setParameter("createdBefore", createdBefore)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Fails the given applications in one statement. Only rows still in progress change, so callers that need to
+     * know exactly which ones did lock the rows first.
+     *
+     * @return the number of applications failed
+     */
+    public int expireApplications(Collection<Long> bookingIds, LocalDateTime now) {
+        if (bookingIds.isEmpty()) {
+            return 0;
+        }
+        return entityManager.createQuery("""
+                        UPDATE Booking b
+                        SET b.bookingStatus = :failed, b.updatedAt = :now, b.activeApplication = NULL
+                        WHERE b.bookingID IN :bookingIds AND b.bookingStatus = :inProgress
+                        """)
+                .setParameter("failed", Booking.BookingStatus.FAILED)
+                .setParameter("now", now)
+                .setParameter("bookingIds", bookingIds)
+                .setParameter("inProgress", Booking.BookingStatus.IN_PROGRESS)
+                .executeUpdate();
+    }
+
+    /**
+     * Applies every status change as one JDBC batch.
+     *
+     * @return rows updated per change, in order; {@link java.sql.Statement#SUCCESS_NO_INFO} where the driver does
+     * not report counts
+     */
+    public int[] updateStatuses(List<StatusWrite> writes) {
+        if (writes.isEmpty()) {
+            return new int[0];
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_STATUS, writes, writes.size(), (statement, write) -> {
+            statement.setString(1, write.current().name());
+            statement.setTimestamp(2, Timestamp.valueOf(write.updatedAt()));
+            statement.setTimestamp(3, write.decidedAt() != null ? Timestamp.valueOf(write.decidedAt()) : null);
+            if (Booking.isActiveApplication(write.current())) {
+                statement.setBoolean(4, true);
+            } else {
+                statement.setObject(4, null);
+            }
+            statement.setLong(5, write.bookingId());
+            statement.setString(6, write.previous().name());
+        });
+        return counts[0];
+    }
+
+    public record StatusWrite(Long bookingId,
+                              Booking.BookingStatus previous,
+                              Booking.BookingStatus current,
+                              LocalDateTime updatedAt,
+                              LocalDateTime decidedAt) {
+    }
+}
@@ -1,20 +1,144 @@
 package co.za.cput.repository.business;
 
 import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.AccommodationBookingCounts;
+import co.za.cput.dto.BookingDecisionLatency;
+import co.za.cput.dto.BookingStay;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingApplicationRepository {
     long countByBookingStatus(Booking.BookingStatus status);
 
     long countByAccommodation_AccommodationID(Long accommodationId);
 
     long countByAccommodation_AccommodationIDAndBookingStatus(Long accommodationId, Booking.BookingStatus status);
 
-    List<Booking> findByAccommodation_Landlord_LandlordIDOrderByCreatedAtDesc(Long landlordId);
+    /**
+     * Total and confirmed booking counts for every listed accommodation in one grouped query. Accommodations
+     * without bookings have no row.
+     */
+    @Query("""
+            SELECT new co.za.cput.dto.AccommodationBookingCounts(
+                b.accommodation.accommodationID,
+                COUNT(b),
+                SUM(CASE WHEN b.bookingStatus = :confirmed THEN 1 ELSE 0 END)
+            )
+            FROM Booking b
+            WHERE b.accommodation.accommodationID IN :accommodationIds
+            GROUP BY b.accommodation.accommodationID
+            """)
+    List<AccommodationBookingCounts> countBookingsByAccommodationIds(
+            @Param("accommodationIds") Collection<Long> accommodationIds,
+            @Param("confirmed") Booking.BookingStatus confirmed);
 
-    List<Booking> findByStudent_StudentIDOrderByCreatedAtDesc(Long studentId);
+    /**
+     * Application and decision times of every decided booking decided before {@code decidedBefore}, with the
+     * deciding landlord.
+     */
+    @Query("""
+            SELECT new co.za.cput.dto.BookingDecisionLatency(l.landlordID, b.createdAt, b.decidedAt)
+            FROM Booking b
+            LEFT JOIN b.accommodation a
+            LEFT JOIN a.landlord l
+            WHERE b.decidedAt IS NOT NULL
+              AND b.createdAt IS NOT NULL
+              AND b.decidedAt < :decidedBefore
+            """)
+    List<BookingDecisionLatency> findDecisionLatencies(@Param("decidedBefore") LocalDateTime decidedBefore);
+
+    /**
+     * Whether the student holds an active application for the listing; a probe of the active-application unique
+     * index.
+     */
+    boolean existsByStudent_StudentIDAndAccommodation_AccommodationIDAndActiveApplicationTrue(Long studentId,
+                                                                                              Long accommodationId);
+
+    Optional<Booking> findFirstByStudent_StudentIDAndAccommodation_AccommodationIDAndActiveApplicationTrue(
+            Long studentId, Long accommodationId);
+
+    /**
+     * Active bookings whose active-application flag has not been set, such as rows written before it existed.
+     */
+    @Query("""
+            SELECT b.bookingID FROM Booking b
+            WHERE b.activeApplication IS NULL AND b.bookingStatus IN :statuses
+            ORDER BY b.bookingID
+            """)
+    List<Long> findUnflaggedActiveBookingIds(@Param("statuses") Collection<Booking.BookingStatus> statuses);
+
+    /**
+     * Every confirmed stay with both dates, for loading the availability index.
+     */
+    @Query("""
+            SELECT new co.za.cput.dto.BookingStay(b.bookingID, a.accommodationID, a.bedCapacity, b.checkInDate, b.checkOutDate)
+            FROM Booking b
+            JOIN b.accommodation a
+            WHERE b.bookingStatus = :confirmed
+              AND b.checkInDate IS NOT NULL
+              AND b.checkOutDate > b.checkInDate
+            """)
+    List<BookingStay> findConfirmedStays(@Param("confirmed") Booking.BookingStatus confirmed);
+
+    @Query("""
+            SELECT new co.za.cput.dto.BookingStay(b.bookingID, a.accommodationID, a.bedCapacity, b.checkInDate, b.checkOutDate)
+            FROM Booking b
+            JOIN b.accommodation a
+            WHERE a.accommodationID = :accommodationId
+              AND b.bookingStatus = :confirmed
+              AND b.checkInDate IS NOT NULL
+              AND b.checkOutDate > b.checkInDate
+            """)
+    List<BookingStay> findConfirmedStaysFor(@Param("accommodationId") Long accommodationId,
+                                            @Param("confirmed") Booking.BookingStatus confirmed);
+
+    /**
+     * {@link #findConfirmedStaysFor} as a locking read, for confirmation checks. A locking read returns the latest
+     * committed rows and waits for in-flight writers, where a plain read under MySQL's REPEATABLE READ answers from
+     * the snapshot the transaction took at its first read and can miss a stay confirmed since.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("""
+            SELECT new co.za.cput.dto.BookingStay(b.bookingID, a.accommodationID, a.bedCapacity, b.checkInDate, b.checkOutDate)
+            FROM Booking b
+            JOIN b.accommodation a
+            WHERE a.accommodationID = :accommodationId
+              AND b.bookingStatus = :confirmed
+              AND b.checkInDate IS NOT NULL
+              AND b.checkOutDate > b.checkInDate
+            """)
+    List<BookingStay> lockConfirmedStaysFor(@Param("accommodationId") Long accommodationId,
+                                            @Param("confirmed") Booking.BookingStatus confirmed);
+
+    /**
+     * Confirmed stays sharing a night with [from, to), used while the availability index is still loading.
+     */
+    @Query("""
+            SELECT new co.za.cput.dto.BookingStay(b.bookingID, a.accommodationID, a.bedCapacity, b.checkInDate, b.checkOutDate)
+            FROM Booking b
+            JOIN b.accommodation a
+            WHERE b.bookingStatus = :confirmed
+              AND b.checkInDate < :to
+              AND b.checkOutDate > :from
+              AND b.checkOutDate > b.checkInDate
+            """)
+    List<BookingStay> findConfirmedStaysOverlapping(@Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to,
+                                                    @Param("confirmed") Booking.BookingStatus confirmed);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.activeApplication = TRUE WHERE b.bookingID = :bookingId")
+    int flagActiveApplication(@Param("bookingId") Long bookingId);
 }
\ No newline at end of file
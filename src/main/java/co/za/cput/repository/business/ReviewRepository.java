@@ -1,46 +1,59 @@
 package co.za.cput.repository.business;
 
 import co.za.cput.domain.business.Review;
-import co.za.cput.dto.AccommodationRatingSummary;
-import org.springframework.data.domain.Pageable;
+import co.za.cput.dto.ReviewTotals;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
+    /**
+     * Rating totals recomputed from the reviews themselves. Reads are served from
+     * {@link AccommodationRatingRepository}; these are the source of truth the rebuild job compares it against.
+     */
     @Query("""
-            SELECT new co.za.cput.dto.AccommodationRatingSummary(
+            SELECT new co.za.cput.dto.ReviewTotals(
                 b.accommodation.accommodationID,
-                AVG(r.rating),
+                SUM(r.rating),
                 COUNT(r),
-                MAX(r.reviewDate),
-                SUM(CASE WHEN r.rating >= 4 THEN 1 ELSE 0 END)
+                SUM(CASE WHEN r.rating >= 4 THEN 1 ELSE 0 END),
+                MAX(r.reviewDate)
             )
             FROM Review r
             JOIN r.booking b
-            WHERE b.accommodation.accommodationID = :accommodationId
             GROUP BY b.accommodation.accommodationID
             """)
-    Optional<AccommodationRatingSummary> findSummaryByAccommodationId(@Param("accommodationId") Long accommodationId);
+    List<ReviewTotals> findTotalsByAccommodation();
 
     @Query("""
-            SELECT new co.za.cput.dto.AccommodationRatingSummary(
+            SELECT new co.za.cput.dto.ReviewTotals(
                 b.accommodation.accommodationID,
-                AVG(r.rating),
+                SUM(r.rating),
                 COUNT(r),
-                MAX(r.reviewDate),
-                SUM(CASE WHEN r.rating >= 4 THEN 1 ELSE 0 END)
+                SUM(CASE WHEN r.rating >= 4 THEN 1 ELSE 0 END),
+                MAX(r.reviewDate)
             )
             FROM Review r
             JOIN r.booking b
+            WHERE b.accommodation.accommodationID = :accommodationId
             GROUP BY b.accommodation.accommodationID
-            ORDER BY AVG(r.rating) DESC, COUNT(r) DESC
             """)
-    List<AccommodationRatingSummary> findTopRatedSummaries(Pageable pageable);
-}
\ No newline at end of file
+    Optional<ReviewTotals> findTotalsByAccommodationId(@Param("accommodationId") Long accommodationId);
+
+    @Query("SELECT r.booking.accommodation.accommodationID FROM Review r WHERE r.reviewID = :reviewId")
+    Optional<Long> findAccommodationIdByReviewId(@Param("reviewId") Long reviewId);
+
+    @Query("""
+            SELECT MAX(r.reviewDate)
+            FROM Review r
+            WHERE r.booking.accommodation.accommodationID = :accommodationId
+            """)
+    Optional<LocalDate> findLatestReviewDate(@Param("accommodationId") Long accommodationId);
+}
@@ -0,0 +1,74 @@
+package co.za.cput.repository.business;
+
+import co.za.cput.domain.business.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.id = :id")
+    Optional<WaitlistEntry> lockById(@Param("id") Long id);
+
+    /**
+     * The head of a listing's queue; one probe of {@code idx_waitlist_queue}.
+     */
+    Optional<WaitlistEntry> findFirstByAccommodation_AccommodationIDAndStatusOrderByPriorityTierAscJoinedAtAscIdAsc(
+            Long accommodationId, WaitlistEntry.WaitlistStatus status);
+
+    List<WaitlistEntry> findByAccommodation_AccommodationIDAndStatusInOrderByPriorityTierAscJoinedAtAscIdAsc(
+            Long accommodationId, Collection<WaitlistEntry.WaitlistStatus> statuses);
+
+    List<WaitlistEntry> findByStudent_StudentIDOrderByJoinedAtDesc(Long studentId);
+
+    boolean existsByStudent_StudentIDAndAccommodation_AccommodationIDAndActiveEntryTrue(Long studentId, Long accommodationId);
+
+    /**
+     * The number of waiting entries served before the given place in the queue. The entry itself is excluded by id
+     * because its stored join time may be rounded below the in-memory one.
+     */
+    @Query("""
+            SELECT COUNT(w) FROM WaitlistEntry w
+            WHERE w.accommodation.accommodationID = :accommodationId
+              AND w.status = :waiting
+              AND w.id <> :id
+              AND (w.priorityTier < :tier
+                   OR (w.priorityTier = :tier AND (w.joinedAt < :joinedAt
+                       OR (w.joinedAt = :joinedAt AND w.id < :id))))
+            """)
+    long countAhead(@Param("accommodationId") Long accommodationId,
+                    @Param("waiting") WaitlistEntry.WaitlistStatus waiting,
+                    @Param("tier") int tier,
+                    @Param("joinedAt") LocalDateTime joinedAt,
+                    @Param("id") Long id);
+
+    @Query("""
+            SELECT w.id FROM WaitlistEntry w
+            WHERE w.status = :offered AND w.holdExpiresAt < :now
+            ORDER BY w.holdExpiresAt, w.id
+            """)
+    List<Long> findExpiredHoldIds(@Param("offered") WaitlistEntry.WaitlistStatus offered,
+                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Listings with students waiting and a free bed, which a bed released outside the booking flow (a capacity
+     * raised by the landlord, a row edited through the CRUD endpoints) leaves behind.
+     */
+    @Query("""
+            SELECT DISTINCT w.accommodation.accommodationID FROM WaitlistEntry w
+            WHERE w.status = :waiting
+              AND w.accommodation.bedCapacity IS NOT NULL
+              AND w.accommodation.bedsReserved < w.accommodation.bedCapacity
+            """)
+    List<Long> findAccommodationIdsWithFreeBeds(@Param("waiting") WaitlistEntry.WaitlistStatus waiting);
+}
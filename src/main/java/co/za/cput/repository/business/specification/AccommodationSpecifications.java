@@ -1,8 +1,29 @@
 package co.za.cput.repository.business.specification;
 
 import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.AccommodationRating;
+import co.za.cput.domain.generic.Address;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.dto.AccommodationPageToken;
+import co.za.cput.dto.AccommodationSortOption;
+import co.za.cput.dto.GeoBounds;
+import co.za.cput.dto.GeoRadius;
+import co.za.cput.util.Helper;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 public final class AccommodationSpecifications {
 
     private AccommodationSpecifications() {
@@ -58,7 +79,151 @@ public final class AccommodationSpecifications {
         );
     }
 
+    /**
+     * Database fallback for free-text search when the in-memory text index is unavailable: every query token must
+     * start a word of the street, suburb, city or landlord name. The leading-wildcard LIKE cannot use an index, so
+     * this is only meant for the rating sort and for deployments that run without the search index.
+     */
+    public static Specification<Accommodation> matchesText(String text) {
+        return (root, query, builder) -> {
+            Join<Accommodation, Address> address = root.join("address", JoinType.LEFT);
+            Join<Accommodation, Landlord> landlord = root.join("landlord", JoinType.LEFT);
+            List<Expression<String>> names = List.of(
+                    address.get("streetNumber"),
+                    address.get("streetName"),
+                    address.get("suburb"),
+                    address.get("city"),
+                    landlord.get("landlordFirstName"),
+                    landlord.get("landlordLastName"));
+
+            List<Predicate> everyToken = new ArrayList<>();
+            for (String token : Helper.toSearchTokens(text).stream().limit(Helper.MAX_QUERY_TOKENS).toList()) {
+                List<Predicate> anyName = new ArrayList<>();
+                for (Expression<String> name : names) {
+                    Expression<String> lowered = builder.lower(name);
+                    anyName.add(builder.like(lowered, token + "%"));
+                    anyName.add(builder.like(lowered, "% " + token + "%"));
+                }
+                everyToken.add(builder.or(anyName.toArray(Predicate[]::new)));
+            }
+            return builder.and(everyToken.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Listings whose address lies inside the rectangle. Both coordinates are range predicates, so the composite
+     * latitude/longitude index on address narrows the scan.
+     */
+    public static Specification<Accommodation> withinBounds(GeoBounds bounds) {
+        return (root, query, builder) -> {
+            Path<Double> latitude = root.get("address").get("latitude");
+            Path<Double> longitude = root.get("address").get("longitude");
+            Predicate latitudeInRange = builder.between(latitude, bounds.south(), bounds.north());
+            Predicate longitudeInRange = bounds.crossesAntimeridian()
+                    ? builder.or(
+                    builder.greaterThanOrEqualTo(longitude, bounds.west()),
+                    builder.lessThanOrEqualTo(longitude, bounds.east()))
+                    : builder.between(longitude, bounds.west(), bounds.east());
+            return builder.and(latitudeInRange, longitudeInRange);
+        };
+    }
+
+    /**
+     * Listings within the radius: an index-friendly bounding box first, then the same equirectangular distance
+     * test {@link GeoRadius#contains(double, double)} applies in memory.
+     */
+    public static Specification<Accommodation> withinRadius(GeoRadius radius) {
+        Specification<Accommodation> insideBox = withinBounds(radius.bounds());
+        return insideBox.and((root, query, builder) -> {
+            Expression<Double> latitudeOffset = builder.diff(
+                    root.get("address").<Double>get("latitude"), radius.latitude());
+            Expression<Double> longitudeOffset = builder.prod(
+                    builder.diff(root.get("address").<Double>get("longitude"), radius.longitude()),
+                    radius.longitudeScale());
+            Expression<Double> squaredDistance = builder.sum(
+                    builder.prod(latitudeOffset, latitudeOffset),
+                    builder.prod(longitudeOffset, longitudeOffset));
+            return builder.lessThanOrEqualTo(squaredDistance, radius.squaredRadiusInDegrees());
+        });
+    }
+
+    public static Specification<Accommodation> hasId(Long accommodationId) {
+        return (root, query, builder) -> builder.equal(root.get("accommodationID"), accommodationId);
+    }
+
+    public static Specification<Accommodation> notIn(Collection<Long> accommodationIds) {
+        return (root, query, builder) -> accommodationIds.isEmpty()
+                ? null
+                : builder.not(root.get("accommodationID").in(accommodationIds));
+    }
+
     public static Specification<Accommodation> ownedBy(Long landlordId) {
         return (root, query, builder) -> builder.equal(root.get("landlord").get("landlordID"), landlordId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Orders the query by the requested sort key (ties broken on the id in the same direction) and, when a page
+     * token is supplied, only keeps rows that come strictly after that position. Seeking on the key instead of
+     * using an offset keeps the cost of a page independent of how deep into the result set the client is. The
+     * rating order seeks on the aggregate's integer rating rank, so a token's key compares exactly.
+     */
+    public static Specification<Accommodation> keysetPage(AccommodationSortOption sort, AccommodationPageToken after) {
+        return (root, query, builder) -> {
+            Path<Long> id = root.get("accommodationID");
+
+            if (sort == AccommodationSortOption.NEWEST) {
+                query.orderBy(builder.desc(id));
+                return after == null ? null : builder.lessThan(id, after.accommodationId());
+            }
+            if (sort == AccommodationSortOption.RATING) {
+                Long afterRank = after == null ? null : (long) after.sortValue();
+                return seek(ratingRank(root, query, builder), afterRank, id, sort, after, query, builder);
+            }
+            Double afterValue = after == null ? null : after.sortValue();
+            Path<Double> key = sort == AccommodationSortOption.RENT
+                    ? root.get("rent")
+                    : root.get("distanceFromCampus");
+            return seek(key, afterValue, id, sort, after, query, builder);
+        };
+    }
+
+    private static <K extends Comparable<? super K>> Predicate seek(Expression<K> key,
+                                                                   K afterKey,
+                                                                   Path<Long> id,
+                                                                   AccommodationSortOption sort,
+                                                                   AccommodationPageToken after,
+                                                                   CriteriaQuery<?> query,
+                                                                   CriteriaBuilder builder) {
+        if (sort.isDescending()) {
+            query.orderBy(builder.desc(key), builder.desc(id));
+        } else {
+            query.orderBy(builder.asc(key), builder.asc(id));
+        }
+
+        if (after == null) {
+            return null;
+        }
+
+        Predicate sameKeyLaterId = builder.and(
+                builder.equal(key, afterKey),
+                sort.isDescending()
+                        ? builder.lessThan(id, after.accommodationId())
+                        : builder.greaterThan(id, after.accommodationId())
+        );
+        Predicate laterKey = sort.isDescending()
+                ? builder.lessThan(key, afterKey)
+                : builder.greaterThan(key, afterKey);
+        return builder.or(laterKey, sameKeyLaterId);
+    }
+
+    private static Expression<Long> ratingRank(Root<Accommodation> root,
+                                               CriteriaQuery<?> query,
+                                               CriteriaBuilder builder) {
+        // Reads the maintained aggregate rather than averaging every listing's reviews per row.
+        Subquery<Long> rank = query.subquery(Long.class);
+        Root<AccommodationRating> rating = rank.from(AccommodationRating.class);
+        rank.select(rating.get("ratingRank"))
+                .where(builder.equal(rating.get("accommodationId"), root.get("accommodationID")));
+        return builder.coalesce(rank, 0L);
+    }
+}
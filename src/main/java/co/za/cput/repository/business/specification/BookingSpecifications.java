@@ -0,0 +1,63 @@
+package co.za.cput.repository.business.specification;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.ApplicationPageToken;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> forStudent(Long studentId) {
+        return (root, query, builder) -> builder.equal(root.get("student").get("studentID"), studentId);
+    }
+
+    public static Specification<Booking> forLandlord(Long landlordId) {
+        return (root, query, builder) ->
+                builder.equal(accommodation(root).get("landlord").get("landlordID"), landlordId);
+    }
+
+    public static Specification<Booking> forAccommodation(Long accommodationId) {
+        return (root, query, builder) -> builder.equal(root.get("accommodation").get("accommodationID"), accommodationId);
+    }
+
+    public static Specification<Booking> hasStatus(Booking.BookingStatus status) {
+        return (root, query, builder) -> builder.equal(root.get("bookingStatus"), status);
+    }
+
+    /**
+     * Applications after the token's row in newest-first order, where rows without a creation time come last.
+     */
+    public static Specification<Booking> after(ApplicationPageToken token) {
+        return (root, query, builder) -> {
+            if (token.createdAt() == null) {
+                return builder.and(
+                        builder.isNull(root.get("createdAt")),
+                        builder.lessThan(root.get("bookingID"), token.bookingId()));
+            }
+            return builder.or(
+                    builder.lessThan(root.get("createdAt"), token.createdAt()),
+                    builder.and(
+                            builder.equal(root.get("createdAt"), token.createdAt()),
+                            builder.lessThan(root.get("bookingID"), token.bookingId())),
+                    builder.isNull(root.get("createdAt")));
+        };
+    }
+
+    // Reuses the listing join the projection already made, so filtering on it adds no second join.
+    @SuppressWarnings("unchecked")
+    private static From<Booking, Accommodation> accommodation(Root<Booking> root) {
+        for (Join<Booking, ?> join : root.getJoins()) {
+            if ("accommodation".equals(join.getAttribute().getName())) {
+                return (From<Booking, Accommodation>) join;
+            }
+        }
+        return root.join("accommodation", JoinType.LEFT);
+    }
+}
@@ -0,0 +1,183 @@
+package co.za.cput.repository.generic;
+
+import co.za.cput.domain.generic.Contact;
+import co.za.cput.domain.generic.UserAuthentication;
+import co.za.cput.domain.users.Administrator;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.domain.users.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.util.Locale;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keeps {@code user_authentication} holding one row for every student, landlord and administrator, keyed by
+ * normalised email, so a login is one indexed read. Accounts sharing a contact each keep their own row and hash.
+ * The index is kept from inside Hibernate's flush, where the flushing session must not run queries, so the
+ * statements are bulk JPQL run on a child session sharing its connection and transaction. Callers must hold a
+ * transaction.
+ */
+@Repository
+public class CredentialIndexRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Points the account's row at its current email and hash. When the account has no row yet it adopts a row its
+     * contact holds for no account in its role, such as one written at sign-up, and otherwise gets a new one. A
+     * {@code null} hash keeps the stored one, as accounts created through sign-up keep their hash only here. An
+     * account without an email cannot log in and loses its row.
+     */
+    public void upsert(Account account, Long accountId, Long contactId, String email, String passwordHash) {
+        String username = normaliseEmail(email);
+        if (accountId == null) {
+            return;
+        }
+        if (username == null || contactId == null) {
+            remove(account, accountId);
+            return;
+        }
+        inIndexSession(index -> {
+            Contact contact = index.getReference(Contact.class, contactId);
+            Object indexed = index.getReference(account.entity, accountId);
+            int updated = index.createMutationQuery("""
+                            UPDATE UserAuthentication u
+                            SET u.username = :username, u.password = COALESCE(:password, u.password),
+                                u.contact = :contact
+                            WHERE u.%s = :account
+                            """.formatted(account.attribute))
+                    .setParameter("username", username)
+                    .setParameter("password", passwordHash)
+                    .setParameter("contact", contact)
+                    .setParameter("account", indexed)
+                    .executeUpdate();
+            if (updated > 0) {
+                return updated;
+            }
+            int adopted = index.createMutationQuery("""
+                            UPDATE UserAuthentication u
+                            SET u.%s = :account, u.userRole = :role, u.username = :username,
+                                u.password = COALESCE(:password, u.password)
+                            WHERE u.contact = :contact
+                              AND (u.userRole IS NULL OR u.userRole = :role)
+                              AND u.student IS NULL AND u.landlord IS NULL AND u.administrator IS NULL
+                            """.formatted(account.attribute))
+                    .setParameter("account", indexed)
+                    .setParameter("role", account.role)
+                    .setParameter("username", username)
+                    .setParameter("password", passwordHash)
+                    .setParameter("contact", contact)
+                    .executeUpdate();
+            if (adopted > 0 || passwordHash == null) {
+                return adopted;
+            }
+            return index.createMutationQuery("""
+                            INSERT INTO UserAuthentication (username, password, userRole, contact, %s)
+                            SELECT :username, :password, :role, c, a
+                            FROM %s a, Contact c
+                            WHERE a = :account AND c = :contact
+                            """.formatted(account.attribute, account.entity.getSimpleName()))
+                    .setParameter("username", username)
+                    .setParameter("password", passwordHash)
+                    .setParameter("role", account.role)
+                    .setParameter("account", indexed)
+                    .setParameter("contact", contact)
+                    .executeUpdate();
+        });
+    }
+
+    /**
+     * Drops the account's row.
+     */
+    public void remove(Account account, Long accountId) {
+        if (accountId == null) {
+            return;
+        }
+        inIndexSession(index -> index.createMutationQuery(
+                        "DELETE FROM UserAuthentication u WHERE u.%s = :account".formatted(account.attribute))
+                .setParameter("account", index.getReference(account.entity, accountId))
+                .executeUpdate());
+    }
+
+    public void renameContact(Long contactId, String email) {
+        String username = normaliseEmail(email);
+        if (contactId != null && username != null) {
+            inIndexSession(index -> index.createMutationQuery(
+                            "UPDATE UserAuthentication u SET u.username = :username WHERE u.contact = :contact")
+                    .setParameter("username", username)
+                    .setParameter("contact", index.getReference(Contact.class, contactId))
+                    .executeUpdate());
+        }
+    }
+
+    /**
+     * Indexes every account of this kind that has an email and a hash but no row yet: it adopts a row its contact
+     * holds for no account in its role, or gets a new one.
+     *
+     * @return the number of rows adopted or added
+     */
+    public int backfill(Account account) {
+        String entity = account.entity.getSimpleName();
+        return inIndexSession(index -> index.createMutationQuery("""
+                                UPDATE UserAuthentication u
+                                SET u.%1$s = (SELECT a FROM %2$s a WHERE a.contact = u.contact),
+                                    u.userRole = :role,
+                                    u.username = (SELECT LOWER(TRIM(c.email)) FROM Contact c WHERE c = u.contact),
+                                    u.password = COALESCE((SELECT a.%3$s FROM %2$s a WHERE a.contact = u.contact),
+                                                          u.password)
+                                WHERE (u.userRole IS NULL OR u.userRole = :role)
+                                  AND u.student IS NULL AND u.landlord IS NULL AND u.administrator IS NULL
+                                  AND EXISTS (SELECT 1 FROM %2$s a JOIN a.contact c
+                                              WHERE c = u.contact AND TRIM(c.email) <> ''
+                                                AND (a.%3$s IS NOT NULL OR u.password IS NOT NULL)
+                                                AND NOT EXISTS (SELECT 1 FROM UserAuthentication o WHERE o.%1$s = a))
+                                """.formatted(account.attribute, entity, account.passwordAttribute))
+                        .setParameter("role", account.role)
+                        .executeUpdate()
+                + index.createMutationQuery("""
+                                INSERT INTO UserAuthentication (username, password, userRole, contact, %1$s)
+                                SELECT LOWER(TRIM(c.email)), a.%3$s, :role, c, a
+                                FROM %2$s a JOIN a.contact c
+                                WHERE a.%3$s IS NOT NULL AND TRIM(c.email) <> ''
+                                  AND NOT EXISTS (SELECT 1 FROM UserAuthentication u WHERE u.%1$s = a)
+                                """.formatted(account.attribute, entity, account.passwordAttribute))
+                        .setParameter("role", account.role)
+                        .executeUpdate());
+    }
+
+    public static String normaliseEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private int inIndexSession(ToIntFunction<Session> statements) {
+        try (Session index = entityManager.unwrap(Session.class).sessionWithOptions().connection().openSession()) {
+            return statements.applyAsInt(index);
+        }
+    }
+
+    public enum Account {
+        STUDENT(UserAuthentication.UserRole.STUDENT, Student.class, "student", "password"),
+        LANDLORD(UserAuthentication.UserRole.LANDLORD, Landlord.class, "landlord", "password"),
+        ADMINISTRATOR(UserAuthentication.UserRole.ADMINISTRATOR, Administrator.class, "administrator",
+                "adminPassword");
+
+        private final UserAuthentication.UserRole role;
+        private final Class<?> entity;
+        private final String attribute;
+        private final String passwordAttribute;
+
+        Account(UserAuthentication.UserRole role, Class<?> entity, String attribute, String passwordAttribute) {
+            this.role = role;
+            this.entity = entity;
+            this.attribute = attribute;
+            this.passwordAttribute = passwordAttribute;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package co.za.cput.repository.generic;
+
+import co.za.cput.domain.generic.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims the key for a request about to run; fails with a key violation when another node claimed it first.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_record (record_key, fingerprint, created_at, expires_at)
+            VALUES (:recordKey, :fingerprint, :createdAt, :expiresAt)
+            """, nativeQuery = true)
+    int claim(@Param("recordKey") String recordKey,
+              @Param("fingerprint") String fingerprint,
+              @Param("createdAt") LocalDateTime createdAt,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r SET r.status = :status, r.contentType = :contentType, r.body = :body
+            WHERE r.recordKey = :recordKey
+            """)
+    int complete(@Param("recordKey") String recordKey,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("body") String body);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
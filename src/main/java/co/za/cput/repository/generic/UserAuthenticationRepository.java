@@ -1,14 +1,42 @@
 package co.za.cput.repository.generic;
 
 import co.za.cput.domain.generic.UserAuthentication;
+import co.za.cput.dto.LoginCredential;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface UserAuthenticationRepository extends JpaRepository<UserAuthentication, Long> {
     boolean existsByUsernameIgnoreCaseOrContact_EmailIgnoreCase(String username, String email);
 
-    Optional<UserAuthentication> findByUsernameIgnoreCaseOrContact_EmailIgnoreCase(String username, String email);
+    List<UserAuthentication> findAllByUsernameIgnoreCaseOrContact_EmailIgnoreCaseOrderByAuthenticationIdAsc(
+            String username, String email);
+
+    /**
+     * Every account a normalised email logs in to, with the fields a login response needs, in one read off
+     * {@code idx_user_auth_username}. Each row names at most one account, so the coalesced columns are that
+     * account's.
+     */
+    @Query("""
+            SELECT new co.za.cput.dto.LoginCredential(
+                u.userRole, u.password,
+                COALESCE(a.adminID, l.landlordID, s.studentID),
+                COALESCE(a.adminName, l.landlordFirstName, s.studentName),
+                COALESCE(a.adminSurname, l.landlordLastName, s.studentSurname),
+                c.email,
+                COALESCE(l.isVerified, s.isStudentVerified),
+                a.adminRoleStatus, a.superAdmin
+            )
+            FROM UserAuthentication u
+            JOIN u.contact c
+            LEFT JOIN u.student s
+            LEFT JOIN u.landlord l
+            LEFT JOIN u.administrator a
+            WHERE u.username = :email
+            """)
+    List<LoginCredential> findCredentials(@Param("email") String email);
 }
\ No newline at end of file
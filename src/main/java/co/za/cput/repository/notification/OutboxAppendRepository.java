@@ -0,0 +1,14 @@
+package co.za.cput.repository.notification;
+
+import co.za.cput.domain.notification.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Writes outbox rows as one JDBC batch. Identity ids keep Hibernate from batching inserts, and a bulk decision can
+ * announce hundreds of changes; callers must hold the transaction of the change being announced.
+ */
+public interface OutboxAppendRepository {
+
+    void append(List<OutboxMessage> messages);
+}
@@ -0,0 +1,44 @@
+package co.za.cput.repository.notification;
+
+import co.za.cput.domain.notification.OutboxMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+public class OutboxAppendRepositoryImpl implements OutboxAppendRepository {
+
+    private static final String INSERT = """
+            INSERT INTO notification_outbox
+                (event_type, subject_id, recipient_type, recipient_id, channel, subject, body, status, attempts,
+                 next_attempt_at, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxAppendRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void append(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, messages, messages.size(), (statement, message) -> {
+            statement.setString(1, message.getEventType().name());
+            statement.setObject(2, message.getSubjectId(), Types.BIGINT);
+            statement.setString(3, message.getRecipientType().name());
+            statement.setLong(4, message.getRecipientId());
+            statement.setString(5, message.getChannel());
+            statement.setString(6, message.getSubject());
+            statement.setString(7, message.getBody());
+            statement.setString(8, message.getStatus().name());
+            statement.setInt(9, message.getAttempts());
+            statement.setTimestamp(10, Timestamp.valueOf(message.getNextAttemptAt()));
+            statement.setTimestamp(11, Timestamp.valueOf(message.getCreatedAt()));
+        });
+    }
+}
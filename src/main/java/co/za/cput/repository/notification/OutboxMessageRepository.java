@@ -0,0 +1,75 @@
+package co.za.cput.repository.notification;
+
+import co.za.cput.domain.notification.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long>, OutboxAppendRepository {
+
+    /**
+     * The oldest due messages; one range scan of {@code idx_outbox_due}.
+     */
+    @Query("""
+            SELECT m.id FROM OutboxMessage m
+            WHERE m.status = :pending AND m.nextAttemptAt <= :now
+            ORDER BY m.nextAttemptAt, m.id
+            """)
+    List<Long> findDueIds(@Param("pending") OutboxMessage.OutboxStatus pending,
+                          @Param("now") LocalDateTime now,
+                          Pageable page);
+
+    /**
+     * Claims the messages that are still due for one dispatcher and counts the attempt. The due check is re-read
+     * under each row's lock, so of two dispatchers that picked the same row only the first claims it.
+     */
+    @Modifying
+    @Query("""
+            UPDATE OutboxMessage m
+            SET m.claimToken = :token, m.nextAttemptAt = :leaseUntil, m.attempts = m.attempts + 1
+            WHERE m.id IN :ids AND m.status = :pending AND m.nextAttemptAt <= :now
+            """)
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("pending") OutboxMessage.OutboxStatus pending,
+              @Param("now") LocalDateTime now,
+              @Param("token") String token,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<OutboxMessage> findByClaimTokenOrderById(String claimToken);
+
+    /**
+     * Settles claimed messages. The token guard drops the write when the lease ran out and another dispatcher
+     * claimed the row since.
+     */
+    @Modifying
+    @Query("""
+            UPDATE OutboxMessage m
+            SET m.status = :status, m.sentAt = :sentAt, m.nextAttemptAt = :nextAttemptAt, m.lastError = :error,
+                m.claimToken = NULL
+            WHERE m.id IN :ids AND m.claimToken = :token
+            """)
+    int settle(@Param("ids") Collection<Long> ids,
+               @Param("token") String token,
+               @Param("status") OutboxMessage.OutboxStatus status,
+               @Param("sentAt") LocalDateTime sentAt,
+               @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+               @Param("error") String error);
+
+    long countByStatus(OutboxMessage.OutboxStatus status);
+
+    List<OutboxMessage> findBySubjectIdAndEventTypeOrderById(Long subjectId, OutboxMessage.EventType eventType);
+
+    @Query("SELECT s.studentID, c.email FROM Student s JOIN s.contact c WHERE s.studentID IN :ids")
+    List<Object[]> findStudentEmails(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT l.landlordID, c.email FROM Landlord l JOIN l.contact c WHERE l.landlordID IN :ids")
+    List<Object[]> findLandlordEmails(@Param("ids") Collection<Long> ids);
+}
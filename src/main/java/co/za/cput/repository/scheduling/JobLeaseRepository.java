@@ -0,0 +1,42 @@
+package co.za.cput.repository.scheduling;
+
+import co.za.cput.domain.scheduling.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes the lease when it has run out, or extends it for its current owner; 0 when another node holds it.
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobLease l SET l.owner = :owner, l.leaseUntil = :leaseUntil
+            WHERE l.jobName = :jobName AND (l.leaseUntil <= :now OR l.owner = :owner)
+            """)
+    int takeOrExtend(@Param("jobName") String jobName,
+                     @Param("owner") String owner,
+                     @Param("now") LocalDateTime now,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Creates the job's lease row; fails with a key violation when another node created it first. A plain insert
+     * rather than {@code save}, which would merge into and overwrite the other node's row.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_lease (job_name, owner, lease_until) VALUES (:jobName, :owner, :leaseUntil)",
+            nativeQuery = true)
+    int create(@Param("jobName") String jobName,
+               @Param("owner") String owner,
+               @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = :now WHERE l.jobName = :jobName AND l.owner = :owner")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -1,63 +1,30 @@
 package co.za.cput.service.analytics;
 
-import co.za.cput.domain.business.Booking;
-import co.za.cput.domain.business.Verification;
 import co.za.cput.dto.AdminDashboardStats;
-import co.za.cput.repository.business.AccommodationRepository;
-import co.za.cput.repository.business.BookingRepository;
-import co.za.cput.repository.business.VerificationRepository;
-import co.za.cput.repository.users.LandLordRepository;
-import co.za.cput.repository.users.StudentRepository;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
 
+/**
+ * Serves the admin overview from the {@link LiveDashboardCounters}, so reading it never queries the database; the
+ * counters are seeded from the database on startup and reconciled on a schedule.
+ * {@link AdminDashboardStats#generatedAt()} is the time the totals last moved.
+ */
 @Service
 public class AdminDashboardService {
 
-    private final StudentRepository studentRepository;
-    private final LandLordRepository landLordRepository;
-    private final AccommodationRepository accommodationRepository;
-    private final VerificationRepository verificationRepository;
-    private final BookingRepository bookingRepository;
+    private final LiveDashboardCounters counters;
 
-    public AdminDashboardService(StudentRepository studentRepository,
-                                 LandLordRepository landLordRepository,
-                                 AccommodationRepository accommodationRepository,
-                                 VerificationRepository verificationRepository,
-                                 BookingRepository bookingRepository) {
-        this.studentRepository = studentRepository;
-        this.landLordRepository = landLordRepository;
-        this.accommodationRepository = accommodationRepository;
-        this.verificationRepository = verificationRepository;
-        this.bookingRepository = bookingRepository;
+    public AdminDashboardService(LiveDashboardCounters counters) {
+        this.counters = counters;
     }
 
     public AdminDashboardStats buildOverview() {
-        long totalStudents = studentRepository.count();
-        long totalLandlords = landLordRepository.count();
-        long verifiedLandlords = landLordRepository.countByIsVerifiedTrue();
-        long totalAccommodations = accommodationRepository.count();
-        long pendingVerifications = verificationRepository.countByVerificationStatus(Verification.VerificationStatus.PENDING);
-        long activeBookings = bookingRepository.countByBookingStatus(Booking.BookingStatus.CONFIRMED);
-
-        double occupancyRate = computeOccupancyRate(activeBookings, totalAccommodations);
-
-        return new AdminDashboardStats(
-                totalStudents,
-                totalLandlords,
-                verifiedLandlords,
-                totalAccommodations,
-                pendingVerifications,
-                activeBookings,
-                occupancyRate,
-                LocalDateTime.now()
-        );
+        return counters.snapshot();
     }
 
-    private double computeOccupancyRate(long activeBookings, long totalAccommodations) {
+    static double computeOccupancyRate(long activeBookings, long totalAccommodations) {
         if (totalAccommodations == 0) {
             return 0.0;
         }
@@ -67,4 +34,4 @@ public class AdminDashboardService {
                 .setScale(2, RoundingMode.HALF_UP)
                 .doubleValue();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,235 @@
+package co.za.cput.service.analytics;
+
+import co.za.cput.domain.analytics.BookingRollup;
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.ApplicationFunnel;
+import co.za.cput.dto.BookingSeriesPoint;
+import co.za.cput.repository.analytics.BookingRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the booking rollups as applications are made and decided, and answers time series from them.
+ * <p>
+ * Rollups are cohorts: an application and its outcome are both counted under the day the application was made, and
+ * a decision that is later reversed is taken back out, so each application counts towards at most one outcome.
+ * Each event adds to one day, one week and one month bucket. Buckets are bumped with an in-place UPDATE and only
+ * inserted when missing; if a concurrent writer inserts the same bucket first, the unique constraint rejects the
+ * second insert and the delta is applied as an update instead. Every step commits on its own, after the booking
+ * write, so analytics failures are logged and never fail the booking.
+ */
+@Service
+public class BookingAnalyticsService {
+
+    public static final int MAX_SERIES_POINTS = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BookingAnalyticsService.class);
+
+    private final BookingRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingAnalyticsService(BookingRollupRepository rollupRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordApplication(Booking booking) {
+        record(booking.getAccommodation(), applicationDay(booking.getCreatedAt(), booking.getRequestDate()), 1, 0, 0);
+    }
+
+    /**
+     * Moves an application's outcome when it enters or leaves CONFIRMED or FAILED; other moves leave the rollups
+     * alone.
+     */
+    public void recordStatusChange(Booking booking, Booking.BookingStatus previous) {
+        recordDecisions(booking.getAccommodation(), List.of(new StatusChange(
+                applicationDay(booking.getCreatedAt(), booking.getRequestDate()), previous,
+                booking.getBookingStatus())));
+    }
+
+    /**
+     * Counts several decisions on one listing at once, as a bulk update makes them, with one delta per application
+     * day.
+     */
+    public void recordDecisions(Accommodation accommodation, Collection<StatusChange> changes) {
+        Map<LocalDate, long[]> deltas = new TreeMap<>();
+        for (StatusChange change : changes) {
+            long[] delta = deltas.computeIfAbsent(change.applicationDay(), day -> new long[2]);
+            delta[0] += change.net(Booking.BookingStatus.CONFIRMED);
+            delta[1] += change.net(Booking.BookingStatus.FAILED);
+        }
+        deltas.forEach((day, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                record(accommodation, day, 0, delta[0], delta[1]);
+            }
+        });
+    }
+
+    /**
+     * The day an application is filed under: the day it was created, falling back to its request date and then
+     * to today for rows that have neither.
+     */
+    public static LocalDate applicationDay(LocalDateTime createdAt, LocalDate requestDate) {
+        if (createdAt != null) {
+            return createdAt.toLocalDate();
+        }
+        return requestDate != null ? requestDate : LocalDate.now();
+    }
+
+    /**
+     * One point per period from the period containing {@code from} to the one containing {@code to}, zero-filled.
+     */
+    public List<BookingSeriesPoint> series(BookingRollup.Granularity granularity,
+                                           LocalDate from,
+                                           LocalDate to,
+                                           String suburb,
+                                           Accommodation.RoomType roomType) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required.");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The from date must not be after the to date.");
+        }
+        BookingRollup.Granularity resolved = granularity != null ? granularity : BookingRollup.Granularity.DAY;
+        LocalDate first = resolved.periodStart(from);
+        LocalDate last = resolved.periodStart(to);
+        long periods = switch (resolved) {
+            case DAY -> ChronoUnit.DAYS.between(first, last);
+            case WEEK -> ChronoUnit.WEEKS.between(first, last);
+            case MONTH -> ChronoUnit.MONTHS.between(first, last);
+        } + 1;
+        if (periods > MAX_SERIES_POINTS) {
+            throw new IllegalArgumentException("The range spans more than " + MAX_SERIES_POINTS
+                    + " periods; use a coarser granularity.");
+        }
+
+        Map<LocalDate, BookingSeriesPoint> stored = new HashMap<>();
+        rollupRepository.findSeries(resolved, first, last, suburbKeyOrNull(suburb),
+                        roomType != null ? roomType.name() : null)
+                .forEach(point -> stored.put(point.periodStart(), point));
+
+        List<BookingSeriesPoint> series = new ArrayList<>((int) periods);
+        for (LocalDate period = first; !period.isAfter(last); period = resolved.next(period)) {
+            series.add(stored.getOrDefault(period, new BookingSeriesPoint(period, 0, 0, 0)));
+        }
+        return series;
+    }
+
+    /**
+     * Applications made between {@code from} and {@code to} inclusive and the outcomes they have reached so far,
+     * summed from the day rollups, with the share of applications that reached each outcome.
+     */
+    public ApplicationFunnel funnel(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required.");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The from date must not be after the to date.");
+        }
+        long applications = 0;
+        long confirmations = 0;
+        long failures = 0;
+        for (BookingSeriesPoint point : rollupRepository.findSeries(BookingRollup.Granularity.DAY, from, to, null, null)) {
+            applications += point.applications();
+            confirmations += point.confirmations();
+            failures += point.failures();
+        }
+        long pending = Math.max(0, applications - confirmations - failures);
+        return new ApplicationFunnel(from, to, applications, confirmations, failures, pending,
+                percentage(confirmations + failures, applications),
+                percentage(confirmations, applications),
+                percentage(failures, applications));
+    }
+
+    static double percentage(long part, long whole) {
+        if (whole <= 0) {
+            return 0.0;
+        }
+        return Math.round(part * 10_000.0 / whole) / 100.0;
+    }
+
+    private void record(Accommodation accommodation, LocalDate day, long applications, long confirmations,
+                        long failures) {
+        String suburb = accommodation != null && accommodation.getAddress() != null
+                ? suburbKeyOrNull(accommodation.getAddress().getSuburb())
+                : null;
+        String roomType = accommodation != null && accommodation.getRoomType() != null
+                ? accommodation.getRoomType().name()
+                : null;
+        try {
+            for (BookingRollup.Granularity granularity : BookingRollup.Granularity.values()) {
+                BookingRollup bucket = new BookingRollup.Builder()
+                        .setGranularity(granularity)
+                        .setPeriodStart(granularity.periodStart(day))
+                        .setSuburb(suburb != null ? suburb : BookingRollup.UNSPECIFIED)
+                        .setRoomType(roomType != null ? roomType : BookingRollup.UNSPECIFIED)
+                        .setApplications(applications)
+                        .setConfirmations(confirmations)
+                        .setFailures(failures)
+                        .build();
+                add(bucket);
+            }
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Unable to record booking analytics for {}.", day, exception);
+        }
+    }
+
+    private void add(BookingRollup delta) {
+        if (increment(delta) > 0) {
+            return;
+        }
+        // A missing bucket has nothing to take a reversed decision back from.
+        BookingRollup bucket = new BookingRollup.Builder()
+                .copy(delta)
+                .setConfirmations(Math.max(0, delta.getConfirmations()))
+                .setFailures(Math.max(0, delta.getFailures()))
+                .build();
+        try {
+            transactionTemplate.executeWithoutResult(status -> rollupRepository.saveAndFlush(bucket));
+        } catch (DataIntegrityViolationException raced) {
+            // Another writer created the bucket between our update and insert.
+            increment(delta);
+        }
+    }
+
+    private int increment(BookingRollup delta) {
+        Integer updated = transactionTemplate.execute(status -> rollupRepository.increment(
+                delta.getGranularity(), delta.getPeriodStart(), delta.getSuburb(), delta.getRoomType(),
+                delta.getApplications(), delta.getConfirmations(), delta.getFailures()));
+        return updated != null ? updated : 0;
+    }
+
+    private static String suburbKeyOrNull(String suburb) {
+        if (suburb == null || suburb.isBlank()) {
+            return null;
+        }
+        return suburb.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One application's move from {@code previous} to {@code current}, filed under the day it was made.
+     */
+    public record StatusChange(LocalDate applicationDay, Booking.BookingStatus previous, Booking.BookingStatus current) {
+
+        long net(Booking.BookingStatus outcome) {
+            return (current == outcome ? 1 : 0) - (previous == outcome ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package co.za.cput.service.analytics;
+
+/**
+ * The platform totals shown on the admin dashboard, one per {@link co.za.cput.dto.AdminDashboardStats} count.
+ */
+public enum DashboardCounter {
+    STUDENTS,
+    LANDLORDS,
+    VERIFIED_LANDLORDS,
+    ACCOMMODATIONS,
+    PENDING_VERIFICATIONS,
+    ACTIVE_BOOKINGS
+}
@@ -0,0 +1,8 @@
+package co.za.cput.service.analytics;
+
+/**
+ * Published by the domain services when a write moves one of the dashboard totals. Applied after the write
+ * commits, so rolled-back changes never reach the live counters.
+ */
+public record DashboardCounterEvent(DashboardCounter counter, long delta) {
+}
@@ -0,0 +1,41 @@
+package co.za.cput.service.analytics;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns entity writes into {@link DashboardCounterEvent}s so services only describe what changed.
+ */
+@Component
+public class DashboardEventPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DashboardEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void created(DashboardCounter counter) {
+        changed(counter, 1);
+    }
+
+    public void deleted(DashboardCounter counter) {
+        changed(counter, -1);
+    }
+
+    /**
+     * Records an entity entering or leaving the state a counter tracks, such as a booking becoming confirmed.
+     * Nothing is published when the state did not change.
+     */
+    public void transition(DashboardCounter counter, boolean countedBefore, boolean countedAfter) {
+        if (countedBefore != countedAfter) {
+            changed(counter, countedAfter ? 1 : -1);
+        }
+    }
+
+    public void changed(DashboardCounter counter, long delta) {
+        if (delta != 0) {
+            eventPublisher.publishEvent(new DashboardCounterEvent(counter, delta));
+        }
+    }
+}
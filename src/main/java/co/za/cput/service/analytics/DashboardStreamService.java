@@ -0,0 +1,79 @@
+package co.za.cput.service.analytics;
+
+import co.za.cput.dto.AdminDashboardStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes the live dashboard counters to connected admin browsers as Server-Sent Events.
+ * <p>
+ * Changes are coalesced: subscribers get the current totals when they connect and then at most one
+ * {@code overview} frame per {@code app.admin.dashboard.stream.min-interval-ms}, however many writes happened in
+ * between. Idle connections receive a comment every {@code heartbeat-ms} so proxies keep them open and dead
+ * clients are noticed.
+ */
+@Service
+public class DashboardStreamService {
+
+    static final String EVENT_NAME = "overview";
+
+    private final LiveDashboardCounters counters;
+    private final long emitterTimeoutMillis;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public DashboardStreamService(LiveDashboardCounters counters,
+                                  @Value("${app.admin.dashboard.stream.timeout-ms:1800000}") long emitterTimeoutMillis) {
+        this.counters = counters;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> {
+            emitters.remove(emitter);
+            emitter.complete();
+        });
+        emitter.onError(error -> emitters.remove(emitter));
+        emitters.add(emitter);
+        send(emitter, SseEmitter.event().name(EVENT_NAME).data(counters.snapshot()));
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin.dashboard.stream.min-interval-ms:1000}")
+    public void pushChanges() {
+        if (!counters.takeChanged() || emitters.isEmpty()) {
+            return;
+        }
+        AdminDashboardStats stats = counters.snapshot();
+        for (SseEmitter emitter : emitters) {
+            send(emitter, SseEmitter.event().name(EVENT_NAME).data(stats));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin.dashboard.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    public int subscriberCount() {
+        return emitters.size();
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException exception) {
+            emitters.remove(emitter);
+            emitter.completeWithError(exception);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package co.za.cput.service.analytics;
+
+import co.za.cput.dto.AdminDashboardCounts;
+import co.za.cput.dto.AdminDashboardStats;
+import co.za.cput.repository.analytics.AdminDashboardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory dashboard totals, moved by {@link DashboardCounterEvent}s instead of counting rows.
+ * <p>
+ * Each total is a striped {@link LongAdder}, so concurrent writes never contend on one cell. An event published
+ * inside a transaction is applied once the transaction commits, and is counted as in flight from publication until
+ * then. A periodic reconcile reads the real counts and corrects any drift from writes that bypass the services; a
+ * counter is only corrected when no event was in flight or applied while the counts were being read, since such an
+ * event may already be in them without being in the counter yet.
+ */
+@Component
+public class LiveDashboardCounters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LiveDashboardCounters.class);
+
+    private final AdminDashboardRepository dashboardRepository;
+    private final Map<DashboardCounter, LongAdder> counters = new EnumMap<>(DashboardCounter.class);
+    private final Map<DashboardCounter, LongAdder> versions = new EnumMap<>(DashboardCounter.class);
+    private final Map<DashboardCounter, LongAdder> inFlight = new EnumMap<>(DashboardCounter.class);
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private volatile LocalDateTime changedAt = LocalDateTime.now();
+
+    public LiveDashboardCounters(AdminDashboardRepository dashboardRepository) {
+        this.dashboardRepository = dashboardRepository;
+        for (DashboardCounter counter : DashboardCounter.values()) {
+            counters.put(counter, new LongAdder());
+            versions.put(counter, new LongAdder());
+            inFlight.put(counter, new LongAdder());
+        }
+    }
+
+    @EventListener
+    public void onCounterEvent(DashboardCounterEvent event) {
+        if (event == null || event.counter() == null || event.delta() == 0) {
+            return;
+        }
+        DashboardCounter counter = event.counter();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versions.get(counter).increment();
+            apply(counter, event.delta());
+            return;
+        }
+        inFlight.get(counter).increment();
+        versions.get(counter).increment();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    apply(counter, event.delta());
+                }
+                // Bumped before the in-flight count drops, so reconcile sees one or the other.
+                versions.get(counter).increment();
+                inFlight.get(counter).decrement();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        reconcile();
+    }
+
+    /**
+     * @return the number of counters that had drifted and were corrected
+     */
+    @Scheduled(initialDelayString = "${app.admin.dashboard.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.admin.dashboard.reconcile-interval-ms:300000}")
+    public synchronized int reconcile() {
+        Map<DashboardCounter, Long> versionsBefore = new EnumMap<>(DashboardCounter.class);
+        versions.forEach((counter, version) -> versionsBefore.put(counter, version.sum()));
+
+        AdminDashboardCounts counts;
+        try {
+            counts = dashboardRepository.countOverview();
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Unable to reconcile the live dashboard counters.", exception);
+            return 0;
+        }
+
+        int corrected = 0;
+        for (DashboardCounter counter : DashboardCounter.values()) {
+            // Read before the checks: an event that starts after them committed after the counts were read, and
+            // adds its delta on top of the correction.
+            long current = counters.get(counter).sum();
+            if (versions.get(counter).sum() != versionsBefore.get(counter) || inFlight.get(counter).sum() != 0) {
+                continue;
+            }
+            long drift = valueOf(counts, counter) - current;
+            if (drift != 0) {
+                apply(counter, drift);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    public long get(DashboardCounter counter) {
+        return counters.get(counter).sum();
+    }
+
+    public AdminDashboardStats snapshot() {
+        long accommodations = get(DashboardCounter.ACCOMMODATIONS);
+        long activeBookings = get(DashboardCounter.ACTIVE_BOOKINGS);
+        return new AdminDashboardStats(
+                get(DashboardCounter.STUDENTS),
+                get(DashboardCounter.LANDLORDS),
+                get(DashboardCounter.VERIFIED_LANDLORDS),
+                accommodations,
+                get(DashboardCounter.PENDING_VERIFICATIONS),
+                activeBookings,
+                AdminDashboardService.computeOccupancyRate(activeBookings, accommodations),
+                changedAt
+        );
+    }
+
+    /**
+     * Whether any counter moved since the last call; clears the flag.
+     */
+    public boolean takeChanged() {
+        return changed.getAndSet(false);
+    }
+
+    private void apply(DashboardCounter counter, long delta) {
+        counters.get(counter).add(delta);
+        changedAt = LocalDateTime.now();
+        changed.set(true);
+    }
+
+    private static long valueOf(AdminDashboardCounts counts, DashboardCounter counter) {
+        return switch (counter) {
+            case STUDENTS -> counts.totalStudents();
+            case LANDLORDS -> counts.totalLandlords();
+            case VERIFIED_LANDLORDS -> counts.verifiedLandlords();
+            case ACCOMMODATIONS -> counts.totalAccommodations();
+            case PENDING_VERIFICATIONS -> counts.pendingVerifications();
+            case ACTIVE_BOOKINGS -> counts.activeBookings();
+        };
+    }
+}
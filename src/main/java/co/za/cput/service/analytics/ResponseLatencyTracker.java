@@ -0,0 +1,121 @@
+package co.za.cput.service.analytics;
+
+import co.za.cput.dto.BookingDecisionLatency;
+import co.za.cput.dto.ResponseLatencySummary;
+import co.za.cput.repository.business.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Landlord response times, from application to decision, held in one platform-wide {@link LatencyHistogram} and
+ * one per landlord.
+ * <p>
+ * Memory is bounded twice over: each histogram has a fixed number of buckets, and at most
+ * {@code app.analytics.latency.max-landlords} landlords get their own; decisions by any further landlord still
+ * count towards the platform figures. On startup the histograms are seeded from bookings decided before this
+ * tracker was created, and live decisions are recorded from then on, so no decision is counted twice.
+ */
+@Component
+public class ResponseLatencyTracker {
+
+    /** One year, in seconds; slower decisions are counted as one year. */
+    static final long HIGHEST_TRACKABLE_SECONDS = 365L * 24 * 60 * 60;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseLatencyTracker.class);
+
+    private final BookingRepository bookingRepository;
+    private final int maxLandlords;
+    private final LocalDateTime liveSince;
+
+    private final LatencyHistogram overall = new LatencyHistogram(HIGHEST_TRACKABLE_SECONDS);
+    private final ConcurrentMap<Long, LatencyHistogram> byLandlord = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResponseLatencyTracker(BookingRepository bookingRepository,
+                                  @Value("${app.analytics.latency.max-landlords:1000}") int maxLandlords) {
+        this(bookingRepository, maxLandlords, LocalDateTime.now());
+    }
+
+    ResponseLatencyTracker(BookingRepository bookingRepository, int maxLandlords, LocalDateTime liveSince) {
+        this.bookingRepository = bookingRepository;
+        this.maxLandlords = maxLandlords;
+        this.liveSince = liveSince;
+    }
+
+    public void record(Long landlordId, LocalDateTime createdAt, LocalDateTime decidedAt) {
+        if (createdAt == null || decidedAt == null) {
+            return;
+        }
+        long seconds = Math.max(0, Duration.between(createdAt, decidedAt).getSeconds());
+        overall.record(seconds);
+        LatencyHistogram landlord = histogramFor(landlordId);
+        if (landlord != null) {
+            landlord.record(seconds);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        try {
+            int seeded = 0;
+            for (BookingDecisionLatency decision : bookingRepository.findDecisionLatencies(liveSince)) {
+                record(decision.landlordId(), decision.createdAt(), decision.decidedAt());
+                seeded++;
+            }
+            LOGGER.info("Seeded landlord response times from {} decided booking(s).", seeded);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Unable to seed landlord response times; only new decisions will be tracked.", exception);
+        }
+    }
+
+    public ResponseLatencySummary overall() {
+        return summarize(null, overall);
+    }
+
+    /**
+     * The landlord's figures, empty if they have made no decisions or were beyond the tracked landlord limit.
+     */
+    public ResponseLatencySummary forLandlord(Long landlordId) {
+        if (landlordId == null) {
+            throw new IllegalArgumentException("A landlord id is required.");
+        }
+        LatencyHistogram histogram = byLandlord.get(landlordId);
+        return histogram != null ? summarize(landlordId, histogram) : new ResponseLatencySummary(landlordId, 0, 0, 0, 0, 0, 0.0);
+    }
+
+    public int trackedLandlords() {
+        return byLandlord.size();
+    }
+
+    private LatencyHistogram histogramFor(Long landlordId) {
+        if (landlordId == null) {
+            return null;
+        }
+        LatencyHistogram existing = byLandlord.get(landlordId);
+        if (existing != null || byLandlord.size() >= maxLandlords) {
+            return existing;
+        }
+        return byLandlord.computeIfAbsent(landlordId, ignored -> new LatencyHistogram(HIGHEST_TRACKABLE_SECONDS));
+    }
+
+    private static ResponseLatencySummary summarize(Long landlordId, LatencyHistogram histogram) {
+        return new ResponseLatencySummary(
+                landlordId,
+                histogram.count(),
+                histogram.valueAtPercentile(50),
+                histogram.valueAtPercentile(90),
+                histogram.valueAtPercentile(99),
+                histogram.max(),
+                Math.round(histogram.mean() * 10.0) / 10.0);
+    }
+}
@@ -0,0 +1,14 @@
+package co.za.cput.service.business;
+
+import co.za.cput.dto.AccommodationSummary;
+
+/**
+ * Published by the accommodation service after a listing is created, updated or deleted so that in-memory
+ * read models can refresh themselves. {@code summary} is null when the listing was deleted.
+ */
+public record AccommodationChangedEvent(Long accommodationId, AccommodationSummary summary) {
+
+    public boolean isDeletion() {
+        return summary == null;
+    }
+}
@@ -4,13 +4,21 @@ package co.za.cput.service.business;
 //Student Number:   221802797.
 
 import co.za.cput.domain.business.Accommodation;
+import co.za.cput.dto.AccommodationFacets;
 import co.za.cput.dto.AccommodationSearchCriteria;
-import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.dto.AccommodationSearchPage;
+import co.za.cput.dto.AccommodationSortOption;
+import co.za.cput.dto.AccommodationSuggestion;
 import co.za.cput.service.IService;
 
 import java.util.List;
 
 public interface IAccommodationService extends IService<Accommodation, Long> {
     List<Accommodation> getAllAccommodations();
-    List<AccommodationSummary> search(AccommodationSearchCriteria criteria);
+    AccommodationSearchPage search(AccommodationSearchCriteria criteria,
+                                   AccommodationSortOption sort,
+                                   String pageToken,
+                                   Integer size);
+    AccommodationFacets facets(AccommodationSearchCriteria criteria);
+    List<AccommodationSuggestion> suggest(String prefix, Integer limit);
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package co.za.cput.service.business;
 
 import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.BookingApplicationPage;
 import co.za.cput.dto.BookingApplicationRequest;
 import co.za.cput.dto.BookingApplicationView;
+import co.za.cput.dto.BookingStatusBulkRequest;
+import co.za.cput.dto.BookingStatusBulkResponse;
 import co.za.cput.dto.BookingStatusUpdateRequest;
 import co.za.cput.service.IService;
 
@@ -17,5 +20,13 @@ public interface IBookingService extends IService<Booking, Long> {
 
     List<BookingApplicationView> findApplicationsForStudent(Long studentId);
 
+    BookingApplicationPage findApplicationPageForLandlord(Long landlordId, Booking.BookingStatus status,
+                                                          Long accommodationId, String pageToken, Integer size);
+
+    BookingApplicationPage findApplicationPageForStudent(Long studentId, Booking.BookingStatus status,
+                                                         Long accommodationId, String pageToken, Integer size);
+
     BookingApplicationView updateApplicationStatus(Long bookingId, BookingStatusUpdateRequest request);
+
+    BookingStatusBulkResponse updateApplicationStatuses(BookingStatusBulkRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package co.za.cput.service.business;
+
+import co.za.cput.dto.WaitlistEntryView;
+
+import java.util.List;
+
+public interface IWaitlistService {
+    WaitlistEntryView join(Long studentId, Long accommodationId);
+
+    List<WaitlistEntryView> findForStudent(Long studentId);
+
+    List<WaitlistEntryView> findForAccommodation(Long accommodationId);
+
+    WaitlistEntryView acceptOffer(Long entryId, Long studentId);
+
+    WaitlistEntryView leave(Long entryId, Long studentId);
+}
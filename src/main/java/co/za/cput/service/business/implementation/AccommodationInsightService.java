@@ -2,16 +2,18 @@ package co.za.cput.service.business.implementation;
 
 import co.za.cput.domain.business.Accommodation;
 import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.AccommodationBookingCounts;
 import co.za.cput.dto.AccommodationInsight;
 import co.za.cput.dto.AccommodationRatingSummary;
+import co.za.cput.repository.business.AccommodationRatingRepository;
 import co.za.cput.repository.business.AccommodationRepository;
 import co.za.cput.repository.business.BookingRepository;
-import co.za.cput.repository.business.ReviewRepository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -23,14 +25,14 @@ import java.util.stream.Collectors;
 public class AccommodationInsightService {
 
     private final AccommodationRepository accommodationRepository;
-    private final ReviewRepository reviewRepository;
+    private final AccommodationRatingRepository ratingRepository;
     private final BookingRepository bookingRepository;
 
     public AccommodationInsightService(AccommodationRepository accommodationRepository,
-                                       ReviewRepository reviewRepository,
+                                       AccommodationRatingRepository ratingRepository,
                                        BookingRepository bookingRepository) {
         this.accommodationRepository = accommodationRepository;
-        this.reviewRepository = reviewRepository;
+        this.ratingRepository = ratingRepository;
         this.bookingRepository = bookingRepository;
     }
 
@@ -41,25 +43,60 @@ public class AccommodationInsightService {
 
         return accommodationRepository.findById(accommodationId)
                 .map(accommodation -> {
-                    AccommodationRatingSummary summary = reviewRepository
+                    AccommodationRatingSummary summary = ratingRepository
                             .findSummaryByAccommodationId(accommodationId)
                             .orElse(null);
-                    return buildInsight(accommodation, summary);
+                    return buildInsight(accommodation, summary, countBookings(List.of(accommodationId))
+                            .getOrDefault(accommodationId, AccommodationBookingCounts.none(accommodationId)));
                 });
     }
 
+    /**
+     * Insights for many accommodations with a fixed number of queries: one for the accommodations and their
+     * addresses, one for their rating aggregates and one for booking counts. Unknown ids are skipped and the
+     * result follows the order of the first occurrence of each id.
+     */
+    public List<AccommodationInsight> buildInsights(Collection<Long> accommodationIds) {
+        if (accommodationIds == null || accommodationIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = accommodationIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Accommodation> accommodationMap = accommodationRepository.findByAccommodationIDIn(ids)
+                .stream()
+                .collect(Collectors.toMap(Accommodation::getAccommodationID, Function.identity()));
+        Map<Long, AccommodationRatingSummary> ratings = ratingRepository.findSummariesByAccommodationIds(ids)
+                .stream()
+                .collect(Collectors.toMap(AccommodationRatingSummary::accommodationId, Function.identity()));
+        Map<Long, AccommodationBookingCounts> bookingCounts = countBookings(ids);
+
+        return ids.stream()
+                .filter(accommodationMap::containsKey)
+                .map(id -> buildInsight(accommodationMap.get(id), ratings.get(id),
+                        bookingCounts.getOrDefault(id, AccommodationBookingCounts.none(id))))
+                .toList();
+    }
+
     public List<AccommodationInsight> findTopRated(int limit) {
         int size = Math.max(1, Math.min(limit, 20));
-        List<AccommodationRatingSummary> summaries = reviewRepository.findTopRatedSummaries(PageRequest.of(0, size));
+        List<AccommodationRatingSummary> summaries = ratingRepository.findTopRatedSummaries(PageRequest.of(0, size));
 
         List<Long> accommodationIds = summaries.stream()
                 .map(AccommodationRatingSummary::accommodationId)
                 .filter(Objects::nonNull)
                 .toList();
 
-        Map<Long, Accommodation> accommodationMap = accommodationRepository.findAllById(accommodationIds)
+        Map<Long, Accommodation> accommodationMap = accommodationRepository.findByAccommodationIDIn(accommodationIds)
                 .stream()
                 .collect(Collectors.toMap(Accommodation::getAccommodationID, Function.identity()));
+        Map<Long, AccommodationBookingCounts> bookingCounts = countBookings(accommodationIds);
 
         return summaries.stream()
                 .map(summary -> {
@@ -67,18 +104,27 @@ public class AccommodationInsightService {
                     if (accommodation == null) {
                         return null;
                     }
-                    return buildInsight(accommodation, summary);
+                    return buildInsight(accommodation, summary, bookingCounts.getOrDefault(
+                            summary.accommodationId(), AccommodationBookingCounts.none(summary.accommodationId())));
                 })
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
-    private AccommodationInsight buildInsight(Accommodation accommodation, AccommodationRatingSummary summary) {
-        long totalBookings = bookingRepository.countByAccommodation_AccommodationID(accommodation.getAccommodationID());
-        long confirmedBookings = bookingRepository.countByAccommodation_AccommodationIDAndBookingStatus(
-                accommodation.getAccommodationID(),
-                Booking.BookingStatus.CONFIRMED
-        );
+    private Map<Long, AccommodationBookingCounts> countBookings(Collection<Long> accommodationIds) {
+        if (accommodationIds.isEmpty()) {
+            return Map.of();
+        }
+        return bookingRepository.countBookingsByAccommodationIds(accommodationIds, Booking.BookingStatus.CONFIRMED)
+                .stream()
+                .collect(Collectors.toMap(AccommodationBookingCounts::accommodationId, Function.identity()));
+    }
+
+    private AccommodationInsight buildInsight(Accommodation accommodation,
+                                              AccommodationRatingSummary summary,
+                                              AccommodationBookingCounts bookingCounts) {
+        long totalBookings = bookingCounts.totalBookings();
+        long confirmedBookings = bookingCounts.confirmedBookings();
 
         double occupancyRate = totalBookings == 0
                 ? 0.0
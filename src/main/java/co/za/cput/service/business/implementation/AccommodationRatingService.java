@@ -0,0 +1,187 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.AccommodationRating;
+import co.za.cput.dto.ReviewTotals;
+import co.za.cput.repository.business.AccommodationRatingRepository;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.repository.business.ReviewRepository;
+import co.za.cput.service.business.AccommodationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Keeps {@link AccommodationRating} in step with the review table.
+ * <p>
+ * Every review write applies its delta inside the same transaction while holding the aggregate row's lock, so
+ * concurrent reviews for one listing serialise on that row and the totals commit or roll back with the review.
+ * Writes that bypass the review service (a booking or listing deleted with its reviews) are repaired by
+ * {@link #rebuild()}, which compares every aggregate against totals recomputed from the reviews.
+ */
+@Service
+public class AccommodationRatingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccommodationRatingService.class);
+
+    private final AccommodationRatingRepository ratingRepository;
+    private final AccommodationRepository accommodationRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public AccommodationRatingService(AccommodationRatingRepository ratingRepository,
+                                      AccommodationRepository accommodationRepository,
+                                      ReviewRepository reviewRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.ratingRepository = ratingRepository;
+        this.accommodationRepository = accommodationRepository;
+        this.reviewRepository = reviewRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Moves one review's contribution from its previous listing, rating and date to its current ones. Pass a null
+     * previous accommodation for a new review and a null current accommodation for a deleted one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReviewChange(Long previousAccommodationId, int previousRating, LocalDate previousDate,
+                                   Long currentAccommodationId, int currentRating, LocalDate currentDate) {
+        // Lock in id order so two reviews moving between the same listings cannot deadlock.
+        TreeSet<Long> ids = new TreeSet<>();
+        if (previousAccommodationId != null) {
+            ids.add(previousAccommodationId);
+        }
+        if (currentAccommodationId != null) {
+            ids.add(currentAccommodationId);
+        }
+        Map<Long, AccommodationRating> locked = new HashMap<>();
+        for (Long id : ids) {
+            locked.put(id, lockOrCreate(id));
+        }
+
+        if (previousAccommodationId != null) {
+            AccommodationRating rating = locked.get(previousAccommodationId);
+            rating.apply(previousRating, previousDate, -1);
+            if (previousDate != null && previousDate.equals(rating.getLastReviewDate())
+                    && !(previousAccommodationId.equals(currentAccommodationId) && previousDate.equals(currentDate))) {
+                // The removed review may have been the latest; the review write is already flushed.
+                rating.setLastReviewDate(reviewRepository.findLatestReviewDate(previousAccommodationId).orElse(null));
+            }
+        }
+        if (currentAccommodationId != null) {
+            locked.get(currentAccommodationId).apply(currentRating, currentDate, 1);
+        }
+        ratingRepository.saveAll(locked.values());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAccommodationChanged(AccommodationChangedEvent event) {
+        if (event != null && event.isDeletion() && event.accommodationId() != null) {
+            ratingRepository.findById(event.accommodationId()).ifPresent(ratingRepository::delete);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Recomputes every aggregate from the reviews in one grouped query and repairs any that drifted. Each repair
+     * re-reads its listing's totals under the row lock, so it cannot overwrite a review that committed meanwhile.
+     *
+     * @return the number of aggregates that were created, corrected or removed
+     */
+    @Scheduled(initialDelayString = "${app.ratings.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${app.ratings.rebuild-interval-ms:3600000}")
+    public int rebuild() {
+        Map<Long, ReviewTotals> expected = new HashMap<>();
+        reviewRepository.findTotalsByAccommodation().forEach(totals -> expected.put(totals.accommodationId(), totals));
+        Map<Long, AccommodationRating> stored = new HashMap<>();
+        ratingRepository.findAll().forEach(rating -> stored.put(rating.getAccommodationId(), rating));
+
+        TreeSet<Long> ids = new TreeSet<>(expected.keySet());
+        ids.addAll(stored.keySet());
+        int repaired = 0;
+        for (Long id : ids) {
+            if (toRating(id, expected.get(id)).sameTotals(stored.get(id))) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> repair(id)))) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            LOGGER.warn("Repaired {} accommodation rating aggregate(s) that had drifted from their reviews.", repaired);
+        }
+        return repaired;
+    }
+
+    private boolean repair(Long accommodationId) {
+        Optional<AccommodationRating> existing = ratingRepository.findForUpdate(accommodationId);
+        boolean listed = true;
+        if (existing.isEmpty()) {
+            listed = accommodationRepository.lockById(accommodationId).isPresent();
+            existing = ratingRepository.findForUpdate(accommodationId);
+        }
+        Optional<ReviewTotals> totals = reviewRepository.findTotalsByAccommodationId(accommodationId);
+        if (totals.isEmpty() || !listed) {
+            existing.ifPresent(ratingRepository::delete);
+            return existing.isPresent();
+        }
+
+        AccommodationRating expected = toRating(accommodationId, totals.get());
+        if (existing.isEmpty()) {
+            ratingRepository.save(expected);
+            return true;
+        }
+        if (existing.get().sameTotals(expected)) {
+            return false;
+        }
+        existing.get().copyTotals(expected);
+        ratingRepository.save(existing.get());
+        return true;
+    }
+
+    private AccommodationRating lockOrCreate(Long accommodationId) {
+        Optional<AccommodationRating> existing = ratingRepository.findForUpdate(accommodationId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        // No row to lock yet: serialise first reviews on the listing row itself, then look again.
+        accommodationRepository.lockById(accommodationId);
+        return ratingRepository.findForUpdate(accommodationId)
+                .orElseGet(() -> ratingRepository.saveAndFlush(new AccommodationRating.Builder()
+                        .setAccommodationId(accommodationId)
+                        .build()));
+    }
+
+    private static AccommodationRating toRating(Long accommodationId, ReviewTotals totals) {
+        if (totals == null) {
+            return new AccommodationRating.Builder().setAccommodationId(accommodationId).build();
+        }
+        return new AccommodationRating.Builder()
+                .setAccommodationId(accommodationId)
+                .setRatingSum(totals.ratingSum() == null ? 0 : totals.ratingSum())
+                .setReviewCount(totals.reviewCount() == null ? 0 : totals.reviewCount())
+                .setPositiveCount(totals.positiveCount() == null ? 0 : totals.positiveCount())
+                .setLastReviewDate(totals.lastReviewDate())
+                .build();
+    }
+}
@@ -4,38 +4,79 @@ package co.za.cput.service.business.implementation;
 //Student Number:   221802797.
 
 import co.za.cput.domain.business.Accommodation;
+import co.za.cput.dto.AccommodationFacets;
+import co.za.cput.dto.AccommodationPageToken;
 import co.za.cput.dto.AccommodationSearchCriteria;
+import co.za.cput.dto.AccommodationSearchPage;
+import co.za.cput.dto.AccommodationSortOption;
+import co.za.cput.dto.AccommodationSuggestion;
 import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.repository.business.AccommodationRatingRepository;
 import co.za.cput.repository.business.AccommodationRepository;
 import co.za.cput.repository.users.LandLordRepository;
+import co.za.cput.service.analytics.DashboardCounter;
+import co.za.cput.service.analytics.DashboardEventPublisher;
+import co.za.cput.service.business.AccommodationChangedEvent;
 import co.za.cput.service.business.IAccommodationService;
+import co.za.cput.service.business.search.AccommodationSearchCache;
+import co.za.cput.service.business.search.AccommodationSearchIndex;
 import co.za.cput.repository.business.specification.AccommodationSpecifications;
 import co.za.cput.util.LinkingEntitiesHelper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 @Service
 public class AccommodationServiceImpl implements IAccommodationService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_SUGGESTION_LIMIT = 8;
+    private static final int MAX_SUGGESTION_LIMIT = 20;
+
     private AccommodationRepository accommodationRepository;
     private LandLordRepository landLordRepository;
+    private AccommodationRatingRepository ratingRepository;
+    private AccommodationSearchIndex searchIndex;
+    private AccommodationSearchCache searchCache;
+    private ApplicationEventPublisher eventPublisher;
+    private DashboardEventPublisher dashboardEvents;
+    private StayAvailabilityService stayAvailability;
 
     @Autowired
     public AccommodationServiceImpl(AccommodationRepository accommodationRepository,
-                                    LandLordRepository landLordRepository) {
+                                    LandLordRepository landLordRepository,
+                                    AccommodationRatingRepository ratingRepository,
+                                    AccommodationSearchIndex searchIndex,
+                                    AccommodationSearchCache searchCache,
+                                    ApplicationEventPublisher eventPublisher,
+                                    DashboardEventPublisher dashboardEvents,
+                                    StayAvailabilityService stayAvailability) {
         this.accommodationRepository = accommodationRepository;
         this.landLordRepository = landLordRepository;
+        this.ratingRepository = ratingRepository;
+        this.searchIndex = searchIndex;
+        this.searchCache = searchCache;
+        this.eventPublisher = eventPublisher;
+        this.dashboardEvents = dashboardEvents;
+        this.stayAvailability = stayAvailability;
     }
 
     @Override
     public Accommodation create(Accommodation accommodation) {
+        validateBedCapacity(accommodation);
         Accommodation linkedAccommodation = LinkingEntitiesHelper.linkLandlord(accommodation, landLordRepository);
-        return accommodationRepository.saveAndFlush(linkedAccommodation);
+        boolean isNew = linkedAccommodation.getAccommodationID() == null;
+        Accommodation saved = accommodationRepository.saveAndFlush(linkedAccommodation);
+        syncBeds(saved);
+        publishChange(saved.getAccommodationID());
+        if (isNew) {
+            dashboardEvents.created(DashboardCounter.ACCOMMODATIONS);
+        }
+        return saved;
     }
 
     @Override
@@ -48,9 +89,13 @@ public class AccommodationServiceImpl implements IAccommodationService {
         if (!accommodationRepository.existsById(accommodation.getAccommodationID())) {
             return null;
         }
+        validateBedCapacity(accommodation);
 
         Accommodation linkedAccommodation = LinkingEntitiesHelper.linkLandlord(accommodation, landLordRepository);
-        return accommodationRepository.saveAndFlush(linkedAccommodation);
+        Accommodation saved = accommodationRepository.saveAndFlush(linkedAccommodation);
+        syncBeds(saved);
+        publishChange(saved.getAccommodationID());
+        return saved;
     }
 
     @Override
@@ -59,7 +104,109 @@ public class AccommodationServiceImpl implements IAccommodationService {
     }
 
     @Override
-    public List<AccommodationSummary> search(AccommodationSearchCriteria criteria) {
+    public AccommodationSearchPage search(AccommodationSearchCriteria criteria,
+                                          AccommodationSortOption sort,
+                                          String pageToken,
+                                          Integer size) {
+        AccommodationSortOption resolvedSort = sort != null ? sort : AccommodationSortOption.NEWEST;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        AccommodationPageToken after = pageToken == null || pageToken.isBlank()
+                ? null
+                : AccommodationPageToken.decode(pageToken, resolvedSort);
+
+        if (hasStayDates(criteria)) {
+            return loadPage(criteria, resolvedSort, after, pageSize);
+        }
+        return searchCache.page(criteria, resolvedSort, pageToken, pageSize,
+                () -> loadPage(criteria, resolvedSort, after, pageSize));
+    }
+
+    @Override
+    public AccommodationFacets facets(AccommodationSearchCriteria criteria) {
+        if (searchIndex.canServe(null) && !hasStayDates(criteria)) {
+            return searchIndex.facets(criteria);
+        }
+        return accommodationRepository.countFacets(buildSpecification(criteria));
+    }
+
+    @Override
+    public List<AccommodationSuggestion> suggest(String prefix, Integer limit) {
+        // Typeahead only comes from the in-memory text index; a leading-wildcard LIKE is too slow to type against.
+        if (!searchIndex.canServe(null)) {
+            return List.of();
+        }
+        int resolvedLimit = limit == null ? DEFAULT_SUGGESTION_LIMIT : Math.max(1, Math.min(limit, MAX_SUGGESTION_LIMIT));
+        return searchIndex.suggest(prefix, resolvedLimit);
+    }
+
+    @Override
+    public void delete(Long Id) {
+        if (!accommodationRepository.existsById(Id)) {
+            return;
+        }
+        accommodationRepository.deleteById(Id);
+        eventPublisher.publishEvent(new AccommodationChangedEvent(Id, null));
+        dashboardEvents.deleted(DashboardCounter.ACCOMMODATIONS);
+    }
+
+    private AccommodationSearchPage loadPage(AccommodationSearchCriteria criteria,
+                                             AccommodationSortOption sort,
+                                             AccommodationPageToken after,
+                                             int pageSize) {
+        // Fetch one row beyond the page so we know whether another page exists without a count query.
+        List<AccommodationSummary> rows;
+        if (searchIndex.canServe(sort) && !hasStayDates(criteria)) {
+            rows = searchIndex.find(criteria, sort, after, pageSize + 1);
+        } else {
+            Specification<Accommodation> specification = buildSpecification(criteria)
+                    .and(AccommodationSpecifications.keysetPage(sort, after));
+            rows = accommodationRepository.findSummaries(specification, pageSize + 1);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<AccommodationSummary> items = List.copyOf(hasNext ? rows.subList(0, pageSize) : rows);
+        String nextPageToken = hasNext ? tokenAfter(sort, items.get(items.size() - 1)).encode() : null;
+
+        return new AccommodationSearchPage(items, sort, pageSize, nextPageToken);
+    }
+
+    private static boolean hasStayDates(AccommodationSearchCriteria criteria) {
+        return criteria != null && criteria.hasStayDates();
+    }
+
+    private static void validateBedCapacity(Accommodation accommodation) {
+        if (accommodation.getBedCapacity() != null && accommodation.getBedCapacity() < 1) {
+            throw new IllegalArgumentException("Bed capacity must be at least 1.");
+        }
+    }
+
+    /**
+     * Re-derives the status of a listing whose beds are tracked, since an edited capacity can fill or free it, and
+     * replaces the reserved count the caller sent, which the database ignores, with the stored one.
+     */
+    private void syncBeds(Accommodation saved) {
+        accommodationRepository.refreshBedStatus(saved.getAccommodationID(),
+                Accommodation.AccommodationStatus.FULL, Accommodation.AccommodationStatus.AVAILABLE);
+        accommodationRepository.findBedAvailability(saved.getAccommodationID()).ifPresent(beds -> {
+            saved.setBedsReserved(beds.bedsReserved());
+            if (beds.isTracked()) {
+                saved.setAccommodationStatus(beds.isFull()
+                        ? Accommodation.AccommodationStatus.FULL
+                        : Accommodation.AccommodationStatus.AVAILABLE);
+            }
+        });
+    }
+
+    private void publishChange(Long accommodationId) {
+        // Listeners run once the surrounding transaction (if any) commits, so they never see rolled-back rows.
+        List<AccommodationSummary> current = accommodationRepository.findSummaries(
+                AccommodationSpecifications.hasId(accommodationId), 1);
+        if (!current.isEmpty()) {
+            eventPublisher.publishEvent(new AccommodationChangedEvent(accommodationId, current.get(0)));
+        }
+    }
+
+    private Specification<Accommodation> buildSpecification(AccommodationSearchCriteria criteria) {
         Specification<Accommodation> specification = Specification.where(null);
 
         if (criteria != null) {
@@ -123,68 +270,38 @@ public class AccommodationServiceImpl implements IAccommodationService {
                     .map(AccommodationSpecifications::ownedBy)
                     .map(specification::and)
                     .orElse(specification);
-        }
 
-        List<Accommodation> results = specification == null
-                ? accommodationRepository.findAll()
-                : accommodationRepository.findAll(specification);
-
-        return results.stream()
-                .filter(Objects::nonNull)
-                .map(this::toSummary)
-                .collect(Collectors.toList());
-    }
-
-    @Override
-    public void delete(Long Id) {
-        accommodationRepository.deleteById(Id);
-    }
+            specification = criteria.nearOptional()
+                    .map(AccommodationSpecifications::withinRadius)
+                    .map(specification::and)
+                    .orElse(specification);
 
-    private AccommodationSummary toSummary(Accommodation accommodation) {
-        if (accommodation == null) {
-            return null;
-        }
+            specification = criteria.viewportOptional()
+                    .map(AccommodationSpecifications::withinBounds)
+                    .map(specification::and)
+                    .orElse(specification);
 
-        String landlordName = null;
-        String landlordEmail = null;
+            specification = criteria.textOptional()
+                    .map(AccommodationSpecifications::matchesText)
+                    .map(specification::and)
+                    .orElse(specification);
 
-        if (accommodation.getLandlord() != null) {
-            landlordName = String.format("%s %s",
-                    valueOrEmpty(accommodation.getLandlord().getLandlordFirstName()),
-                    valueOrEmpty(accommodation.getLandlord().getLandlordLastName())).trim();
-            if (accommodation.getLandlord().getContact() != null) {
-                landlordEmail = accommodation.getLandlord().getContact().getEmail();
+            if (criteria.hasStayDates()) {
+                specification = specification.and(AccommodationSpecifications.notIn(
+                        stayAvailability.bookedOutAccommodationIds(criteria.availableFrom(), criteria.availableTo())));
             }
         }
 
-        String street = accommodation.getAddress() != null
-                ? String.format("%s %s",
-                valueOrEmpty(accommodation.getAddress().getStreetNumber()),
-                valueOrEmpty(accommodation.getAddress().getStreetName())).trim()
-                : null;
-
-        String suburb = accommodation.getAddress() != null ? accommodation.getAddress().getSuburb() : null;
-        String city = accommodation.getAddress() != null ? accommodation.getAddress().getCity() : null;
-
-        return new AccommodationSummary(
-                accommodation.getAccommodationID(),
-                accommodation.getRent(),
-                accommodation.getIsWifiAvailable(),
-                accommodation.getIsFurnished(),
-                accommodation.getIsUtilitiesIncluded(),
-                accommodation.getDistanceFromCampus(),
-                accommodation.getRoomType(),
-                accommodation.getBathroomType(),
-                accommodation.getAccommodationStatus(),
-                street,
-                suburb,
-                city,
-                landlordName != null ? landlordName : null,
-                landlordEmail
-        );
-    }
-
-    private String valueOrEmpty(String value) {
-        return value == null ? "" : value;
-    }
-}
\ No newline at end of file
+        return specification;
+    }
+
+    private AccommodationPageToken tokenAfter(AccommodationSortOption sort, AccommodationSummary last) {
+        double sortValue = switch (sort) {
+            case RENT -> last.rent();
+            case DISTANCE -> last.distanceFromCampus();
+            case NEWEST -> last.id();
+            case RATING -> ratingRepository.findRatingRank(last.id()).orElse(0L);
+        };
+        return new AccommodationPageToken(sort, sortValue, last.id());
+    }
+}
@@ -0,0 +1,58 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Booking;
+import co.za.cput.repository.business.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Sets the active-application flag on bookings saved before it existed, oldest first, so the unique constraint
+ * covers them too. Where a student already holds two active applications for one listing the later one is left
+ * unflagged and logged for an administrator to resolve.
+ */
+@Component
+public class ActiveApplicationBackfill {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ActiveApplicationBackfill.class);
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ActiveApplicationBackfill(BookingRepository bookingRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return the number of bookings flagged
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfill() {
+        List<Long> bookingIds = bookingRepository.findUnflaggedActiveBookingIds(
+                EnumSet.of(Booking.BookingStatus.IN_PROGRESS, Booking.BookingStatus.CONFIRMED));
+        int flagged = 0;
+        for (Long bookingId : bookingIds) {
+            try {
+                Integer updated = transactionTemplate.execute(status -> bookingRepository.flagActiveApplication(bookingId));
+                flagged += updated != null ? updated : 0;
+            } catch (DataIntegrityViolationException duplicate) {
+                LOGGER.warn("Booking {} duplicates another active application for the same student and listing.",
+                        bookingId);
+            }
+        }
+        if (flagged > 0) {
+            LOGGER.info("Flagged {} existing active application(s).", flagged);
+        }
+        return flagged;
+    }
+}
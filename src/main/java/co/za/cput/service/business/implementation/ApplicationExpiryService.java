@@ -0,0 +1,196 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.ApplicationExpiryStats;
+import co.za.cput.dto.BookingDecisionState;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.repository.business.BookingDecisionRepository;
+import co.za.cput.service.analytics.BookingAnalyticsService;
+import co.za.cput.service.notification.NotificationOutbox;
+import co.za.cput.service.scheduling.JobLeaseService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fails applications a landlord left unanswered for {@code app.applications.expiry.days}, so they stop blocking the
+ * student from applying again and stop filling the landlord's inbox. Applications are failed a chunk at a time,
+ * each chunk one locking read and one UPDATE in its own short transaction, and the job runs on one node at a time
+ * under a database lease. In-progress applications hold no beds and are not counted as active bookings, so
+ * nothing is released and the live dashboard does not move. Once a chunk commits its expiries are reported to the
+ * booking analytics, as landlord decisions are.
+ */
+@Service
+public class ApplicationExpiryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationExpiryService.class);
+    static final String JOB_NAME = "application-expiry";
+
+    private final BookingDecisionRepository bookingDecisionRepository;
+    private final AccommodationRepository accommodationRepository;
+    private final NotificationOutbox notificationOutbox;
+    private final BookingAnalyticsService bookingAnalytics;
+    private final JobLeaseService jobLeases;
+    private final TransactionTemplate transactionTemplate;
+    private final int expiryDays;
+    private final int chunkSize;
+    private final Duration lease;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong leaseSkips = new AtomicLong();
+    private final AtomicLong expiredTotal = new AtomicLong();
+    private volatile LastRun lastRun;
+
+    public ApplicationExpiryService(BookingDecisionRepository bookingDecisionRepository,
+                                    AccommodationRepository accommodationRepository,
+                                    NotificationOutbox notificationOutbox,
+                                    BookingAnalyticsService bookingAnalytics,
+                                    JobLeaseService jobLeases,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.applications.expiry.days:30}") int expiryDays,
+                                    @Value("${app.applications.expiry.chunk-size:500}") int chunkSize,
+                                    @Value("${app.applications.expiry.lease-ms:600000}") long leaseMs) {
+        this.bookingDecisionRepository = bookingDecisionRepository;
+        this.accommodationRepository = accommodationRepository;
+        this.notificationOutbox = notificationOutbox;
+        this.bookingAnalytics = bookingAnalytics;
+        this.jobLeases = jobLeases;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiryDays = expiryDays;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.lease = Duration.ofMillis(Math.max(1, leaseMs));
+    }
+
+    /**
+     * Fails every in-progress application created more than {@code expiryDays} days ago. Does nothing when the
+     * expiry is switched off with a value of zero or less, or when another node holds the lease.
+     *
+     * @return the number of applications failed
+     */
+    @Scheduled(initialDelayString = "${app.applications.expiry.interval-ms:3600000}",
+            fixedDelayString = "${app.applications.expiry.interval-ms:3600000}")
+    public int expireStaleApplications() {
+        if (expiryDays <= 0) {
+            return 0;
+        }
+        if (!jobLeases.tryAcquire(JOB_NAME, lease)) {
+            leaseSkips.incrementAndGet();
+            LOGGER.debug("Skipping application expiry: another node holds the lease.");
+            return 0;
+        }
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusDays(expiryDays);
+        int expired = 0;
+        int chunks = 0;
+        Set<Long> listings = new HashSet<>();
+        try {
+            while (true) {
+                Chunk chunk = transactionTemplate.execute(status -> expireChunk(cutoff, now));
+                if (chunk == null || chunk.candidates() == 0) {
+                    break;
+                }
+                chunks++;
+                expired += chunk.expired().size();
+                chunk.expired().forEach(state -> listings.add(state.accommodationId()));
+                afterChunkCommitted(chunk.expired());
+                if (chunk.candidates() < chunkSize) {
+                    break;
+                }
+                // Extended per chunk so a long run keeps the job; stop if another node has taken it meanwhile.
+                if (!jobLeases.tryAcquire(JOB_NAME, lease)) {
+                    LOGGER.warn("Lost the application expiry lease after {} chunk(s); stopping this run.", chunks);
+                    break;
+                }
+            }
+        } finally {
+            jobLeases.release(JOB_NAME);
+            listings.remove(null);
+            long millis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+            runs.incrementAndGet();
+            expiredTotal.addAndGet(expired);
+            lastRun = new LastRun(now, expired, listings.size(), chunks, millis);
+        }
+        if (expired > 0) {
+            LOGGER.info("Expired {} application(s) older than {} days on {} listing(s) in {} chunk(s), {} ms.",
+                    expired, expiryDays, listings.size(), chunks, lastRun.millis());
+        }
+        return expired;
+    }
+
+    // The chunk is locked before the update so the notifications go to exactly the applications that changed.
+    // Candidates decided between the read and the lock are skipped; they are out of the next chunk's range.
+    private Chunk expireChunk(LocalDateTime cutoff, LocalDateTime now) {
+        List<Long> candidates = bookingDecisionRepository.findStaleApplicationIds(cutoff, chunkSize);
+        if (candidates.isEmpty()) {
+            return new Chunk(0, List.of());
+        }
+        List<BookingDecisionState> stale = bookingDecisionRepository.lockStates(candidates).stream()
+                .filter(state -> state.status() == Booking.BookingStatus.IN_PROGRESS)
+                .toList();
+        if (stale.isEmpty()) {
+            return new Chunk(candidates.size(), stale);
+        }
+        bookingDecisionRepository.expireApplications(stale.stream().map(BookingDecisionState::bookingId).toList(), now);
+        notificationOutbox.applicationsExpired(stale.stream()
+                .map(state -> new NotificationOutbox.BookingStatusNotice(state.bookingId(), state.studentId(),
+                        Booking.BookingStatus.FAILED))
+                .toList(), expiryDays);
+        return new Chunk(candidates.size(), stale);
+    }
+
+    // Records the analytics deltas per listing. Only in-progress applications expire, so no dashboard counter moves.
+    private void afterChunkCommitted(List<BookingDecisionState> expired) {
+        if (expired.isEmpty()) {
+            return;
+        }
+        Map<Long, List<BookingAnalyticsService.StatusChange>> changesByListing = new HashMap<>();
+        for (BookingDecisionState state : expired) {
+            changesByListing.computeIfAbsent(state.accommodationId(), ignored -> new ArrayList<>())
+                    .add(new BookingAnalyticsService.StatusChange(
+                            BookingAnalyticsService.applicationDay(state.createdAt(), null),
+                            state.status(), Booking.BookingStatus.FAILED));
+        }
+
+        Map<Long, Accommodation> accommodations = new HashMap<>();
+        Set<Long> listingIds = new HashSet<>(changesByListing.keySet());
+        listingIds.remove(null);
+        if (!listingIds.isEmpty()) {
+            accommodationRepository.findByAccommodationIDIn(listingIds)
+                    .forEach(accommodation -> accommodations.put(accommodation.getAccommodationID(), accommodation));
+        }
+        changesByListing.forEach((accommodationId, changes) ->
+                bookingAnalytics.recordDecisions(accommodations.get(accommodationId), changes));
+    }
+
+    public ApplicationExpiryStats stats() {
+        LastRun last = lastRun;
+        return new ApplicationExpiryStats(expiryDays, runs.get(), leaseSkips.get(), expiredTotal.get(),
+                last != null ? last.at() : null,
+                last != null ? last.expired() : 0,
+                last != null ? last.listings() : 0,
+                last != null ? last.chunks() : 0,
+                last != null ? last.millis() : 0);
+    }
+
+    private record Chunk(int candidates, List<BookingDecisionState> expired) {
+    }
+
+    private record LastRun(LocalDateTime at, int expired, int listings, int chunks, long millis) {
+    }
+}
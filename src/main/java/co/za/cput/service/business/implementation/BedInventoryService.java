@@ -0,0 +1,153 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.business.WaitlistEntry;
+import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.dto.BedAvailability;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.repository.business.specification.AccommodationSpecifications;
+import co.za.cput.service.business.AccommodationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Holds and frees beds as bookings are confirmed and un-confirmed.
+ * <p>
+ * Each change is one conditional UPDATE on the listing row (see {@link AccommodationRepository#reserveBeds}), run
+ * inside the caller's transaction so the bed and the booking status commit or roll back together. There is no
+ * read-modify-write: at semester start many confirmations for one listing queue on its row lock and each finds the
+ * count left by the one before, so a listing is never over-booked. When a listing fills or frees its first bed the
+ * change is published so search results pick up the new status.
+ */
+@Service
+public class BedInventoryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BedInventoryService.class);
+
+    private final AccommodationRepository accommodationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WaitlistPromoter waitlistPromoter;
+    private final TransactionTemplate transactionTemplate;
+
+    public BedInventoryService(AccommodationRepository accommodationRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               WaitlistPromoter waitlistPromoter,
+                               PlatformTransactionManager transactionManager) {
+        this.accommodationRepository = accommodationRepository;
+        this.eventPublisher = eventPublisher;
+        this.waitlistPromoter = waitlistPromoter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Takes or gives back a bed when a booking moves into or out of CONFIRMED; any other move is a no-op.
+     *
+     * @throws IllegalArgumentException when confirming and the listing has no beds left
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChange(Long accommodationId, Booking.BookingStatus previous, Booking.BookingStatus current) {
+        boolean wasHolding = previous == Booking.BookingStatus.CONFIRMED;
+        boolean holds = current == Booking.BookingStatus.CONFIRMED;
+        if (accommodationId == null || wasHolding == holds) {
+            return;
+        }
+        if (holds) {
+            reserve(accommodationId, 1);
+        } else {
+            release(accommodationId, 1);
+        }
+    }
+
+    /**
+     * Takes as many of {@code beds} beds as the listing has free, for a batch of confirmations. The listing row is
+     * locked first so the count read is the count updated.
+     *
+     * @return the beds granted; every bed for listings without a capacity, 0 for a missing listing
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int reserveUpTo(Long accommodationId, int beds) {
+        BedAvailability before = accommodationRepository.lockBedAvailability(accommodationId).orElse(null);
+        if (before == null || beds <= 0) {
+            return 0;
+        }
+        int granted = before.isTracked()
+                ? Math.min(beds, Math.max(0, before.bedCapacity() - before.bedsReserved()))
+                : beds;
+        if (granted > 0) {
+            reserve(accommodationId, granted);
+        }
+        return granted;
+    }
+
+    /**
+     * Gives back {@code beds} beds at once, for a batch of bookings leaving CONFIRMED or a waitlist hold ending.
+     * Freed beds go straight to the listing's waitlist, if it has one, before anyone else can confirm into them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long accommodationId, int beds) {
+        if (beds <= 0) {
+            return;
+        }
+        if (accommodationRepository.releaseBeds(accommodationId, beds, Accommodation.AccommodationStatus.FULL,
+                Accommodation.AccommodationStatus.AVAILABLE) == 0) {
+            return;
+        }
+        int promoted = waitlistPromoter.offerFreeBeds(accommodationId);
+        BedAvailability after = accommodationRepository.findBedAvailability(accommodationId).orElse(null);
+        if (after != null && after.isTracked() && !after.isFull()
+                && after.bedsReserved() - promoted + beds >= after.bedCapacity()) {
+            publishChange(accommodationId);
+        }
+    }
+
+    private void reserve(Long accommodationId, int beds) {
+        if (accommodationRepository.reserveBeds(accommodationId, beds, Accommodation.AccommodationStatus.FULL,
+                Accommodation.AccommodationStatus.AVAILABLE) == 0) {
+            throw new IllegalArgumentException("This listing has no beds left.");
+        }
+        BedAvailability after = accommodationRepository.findBedAvailability(accommodationId).orElse(null);
+        if (after != null && after.isFull() && after.bedsReserved() - beds < after.bedCapacity()) {
+            publishChange(accommodationId);
+        }
+    }
+
+    /**
+     * Brings reserved beds back in line with confirmed bookings and open waitlist holds, covering rows written before
+     * beds were counted and
+     * bookings changed through the plain CRUD endpoints, then re-derives the status of every tracked listing.
+     *
+     * @return the number of listings whose count or status was corrected
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int reconcile() {
+        Integer corrected = transactionTemplate.execute(status ->
+                accommodationRepository.reconcileBedsReserved(Booking.BookingStatus.CONFIRMED,
+                        WaitlistEntry.WaitlistStatus.OFFERED)
+                        + accommodationRepository.refreshAllBedStatuses(Accommodation.AccommodationStatus.FULL,
+                        Accommodation.AccommodationStatus.AVAILABLE));
+        int total = corrected != null ? corrected : 0;
+        if (total > 0) {
+            LOGGER.info("Reconciled bed counts or status on {} listing update(s).", total);
+        }
+        return total;
+    }
+
+    private void publishChange(Long accommodationId) {
+        List<AccommodationSummary> current = accommodationRepository.findSummaries(
+                AccommodationSpecifications.hasId(accommodationId), 1);
+        if (!current.isEmpty()) {
+            eventPublisher.publishEvent(new AccommodationChangedEvent(accommodationId, current.get(0)));
+        }
+    }
+}
@@ -3,36 +3,95 @@ package co.za.cput.service.business.implementation;
 import co.za.cput.domain.business.Accommodation;
 import co.za.cput.domain.business.Booking;
 import co.za.cput.domain.users.Student;
+import co.za.cput.dto.ApplicationPageToken;
+import co.za.cput.dto.BookingApplicationPage;
 import co.za.cput.dto.BookingApplicationRequest;
 import co.za.cput.dto.BookingApplicationView;
+import co.za.cput.dto.BookingDecisionResult;
+import co.za.cput.dto.BookingDecisionState;
+import co.za.cput.dto.BookingStay;
+import co.za.cput.dto.BookingStatusBulkRequest;
+import co.za.cput.dto.BookingStatusBulkResponse;
+import co.za.cput.dto.BookingStatusDecision;
 import co.za.cput.dto.BookingStatusUpdateRequest;
 import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.repository.business.BookingDecisionRepository;
 import co.za.cput.repository.business.BookingRepository;
+import co.za.cput.repository.business.specification.BookingSpecifications;
 import co.za.cput.repository.users.StudentRepository;
+import co.za.cput.service.analytics.BookingAnalyticsService;
+import co.za.cput.service.analytics.DashboardCounter;
+import co.za.cput.service.analytics.DashboardEventPublisher;
+import co.za.cput.service.analytics.ResponseLatencyTracker;
 import co.za.cput.service.business.IBookingService;
+import co.za.cput.service.notification.NotificationOutbox;
 import co.za.cput.util.LinkingEntitiesHelper;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 @Service
 public class BookingServiceImpl implements IBookingService {
 
+    static final int MAX_BULK_DECISIONS = 500;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    static final String DUPLICATE_APPLICATION_MESSAGE = "You already have an active application for this listing.";
+
     private BookingRepository bookingRepository;
     private StudentRepository studentRepository;
     private AccommodationRepository accommodationRepository;
+    private DashboardEventPublisher dashboardEvents;
+    private BookingAnalyticsService bookingAnalytics;
+    private ResponseLatencyTracker responseLatency;
+    private BedInventoryService bedInventory;
+    private TransactionTemplate transactionTemplate;
+    private BookingDecisionRepository bookingDecisionRepository;
+    private StayAvailabilityService stayAvailability;
+    private NotificationOutbox notificationOutbox;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository,
                               StudentRepository studentRepository,
-                              AccommodationRepository accommodationRepository) {
+                              AccommodationRepository accommodationRepository,
+                              DashboardEventPublisher dashboardEvents,
+                              BookingAnalyticsService bookingAnalytics,
+                              ResponseLatencyTracker responseLatency,
+                              BedInventoryService bedInventory,
+                              PlatformTransactionManager transactionManager,
+                              BookingDecisionRepository bookingDecisionRepository,
+                              StayAvailabilityService stayAvailability,
+                              NotificationOutbox notificationOutbox) {
         this.bookingRepository = bookingRepository;
         this.studentRepository = studentRepository;
         this.accommodationRepository = accommodationRepository;
+        this.dashboardEvents = dashboardEvents;
+        this.bookingAnalytics = bookingAnalytics;
+        this.responseLatency = responseLatency;
+        this.bedInventory = bedInventory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookingDecisionRepository = bookingDecisionRepository;
+        this.stayAvailability = stayAvailability;
+        this.notificationOutbox = notificationOutbox;
     }
 
     @Override
@@ -45,7 +104,12 @@ public class BookingServiceImpl implements IBookingService {
         preparedBooking = LinkingEntitiesHelper.setBookingInReview(preparedBooking);
 
         // Save booking
-        return bookingRepository.saveAndFlush(preparedBooking);
+        Booking saved = bookingRepository.saveAndFlush(preparedBooking);
+        dashboardEvents.transition(DashboardCounter.ACTIVE_BOOKINGS, false, isActive(saved));
+        if (isActive(saved)) {
+            stayAvailability.staysChanged(accommodationIdOf(saved));
+        }
+        return saved;
     }
 
     @Override
@@ -55,8 +119,8 @@ public class BookingServiceImpl implements IBookingService {
 
     @Override
     public Booking update(Booking booking) {
-        if (booking.getBookingID() == null || !bookingRepository.existsById(booking.getBookingID())) {
-            return null; // or throw exception if preferred
+        if (booking.getBookingID() == null) {
+            return null;
         }
 
         // Prepare booking with persisted linked entities (student, accommodation)
@@ -64,10 +128,33 @@ public class BookingServiceImpl implements IBookingService {
                 booking, studentRepository, accommodationRepository);
 
         // Link the booking inside the review (if review exists)
-        preparedBooking = LinkingEntitiesHelper.setBookingInReview(preparedBooking);
-
-        // Save updated booking
-        return bookingRepository.saveAndFlush(preparedBooking);
+        Booking linkedBooking = LinkingEntitiesHelper.setBookingInReview(preparedBooking);
+
+        // Save updated booking; a status change here takes or frees beds exactly as a status update does.
+        AppliedUpdate applied = transactionTemplate.execute(status -> {
+            BookingDecisionState previous = lockState(linkedBooking.getBookingID());
+            if (previous == null) {
+                return null; // or throw exception if preferred
+            }
+            Booking written = bookingRepository.saveAndFlush(linkedBooking);
+            moveBeds(previous, written);
+            return new AppliedUpdate(written, previous);
+        });
+        if (applied == null) {
+            return null;
+        }
+        Booking saved = applied.booking();
+        boolean wasActive = applied.previous().status() == Booking.BookingStatus.CONFIRMED;
+        dashboardEvents.transition(DashboardCounter.ACTIVE_BOOKINGS, wasActive, isActive(saved));
+        if (wasActive || isActive(saved)) {
+            Long before = applied.previous().accommodationId();
+            Long after = accommodationIdOf(saved);
+            stayAvailability.staysChanged(before);
+            if (after != null && !after.equals(before)) {
+                stayAvailability.staysChanged(after);
+            }
+        }
+        return saved;
     }
 
     @Override
@@ -77,7 +164,18 @@ public class BookingServiceImpl implements IBookingService {
 
     @Override
     public void delete(Long Id) {
-        bookingRepository.deleteById(Id);
+        Booking existing = bookingRepository.findById(Id).orElse(null);
+        boolean wasActive = existing != null && isActive(existing);
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingRepository.deleteById(Id);
+            if (existing != null) {
+                bedInventory.onStatusChange(accommodationIdOf(existing), existing.getBookingStatus(), null);
+            }
+        });
+        dashboardEvents.transition(DashboardCounter.ACTIVE_BOOKINGS, wasActive, false);
+        if (wasActive) {
+            stayAvailability.staysChanged(accommodationIdOf(existing));
+        }
     }
 
     @Override
@@ -92,16 +190,10 @@ public class BookingServiceImpl implements IBookingService {
         Accommodation accommodation = accommodationRepository.findById(request.getAccommodationId())
                 .orElseThrow(() -> new IllegalArgumentException("Accommodation not found."));
 
-        boolean alreadyApplied = bookingRepository.findByStudent_StudentIDOrderByCreatedAtDesc(student.getStudentID())
-                .stream()
-                .anyMatch(existing -> existing.getAccommodation() != null
-                        && existing.getAccommodation().getAccommodationID() != null
-                        && existing.getAccommodation().getAccommodationID().equals(accommodation.getAccommodationID())
-                        && (existing.getBookingStatus() == Booking.BookingStatus.IN_PROGRESS
-                        || existing.getBookingStatus() == Booking.BookingStatus.CONFIRMED));
-
-        if (alreadyApplied) {
-            throw new IllegalArgumentException("You already have an active application for this listing.");
+        // The probe gives the usual answer cheaply; the unique constraint settles two concurrent applications.
+        if (bookingRepository.existsByStudent_StudentIDAndAccommodation_AccommodationIDAndActiveApplicationTrue(
+                student.getStudentID(), accommodation.getAccommodationID())) {
+            throw new IllegalArgumentException(DUPLICATE_APPLICATION_MESSAGE);
         }
 
         LocalDate requestDate = LocalDate.now();
@@ -120,7 +212,8 @@ public class BookingServiceImpl implements IBookingService {
                 .setBookingStatus(Booking.BookingStatus.IN_PROGRESS)
                 .build();
 
-        Booking saved = bookingRepository.saveAndFlush(newBooking);
+        Booking saved = saveApplication(() -> bookingRepository.saveAndFlush(newBooking), DUPLICATE_APPLICATION_MESSAGE);
+        bookingAnalytics.recordApplication(saved);
         return toView(saved);
     }
 
@@ -130,10 +223,7 @@ public class BookingServiceImpl implements IBookingService {
             throw new IllegalArgumentException("Landlord id is required.");
         }
 
-        return bookingRepository.findByAccommodation_Landlord_LandlordIDOrderByCreatedAtDesc(landlordId)
-                .stream()
-                .map(this::toView)
-                .collect(Collectors.toList());
+        return bookingRepository.findApplicationViews(BookingSpecifications.forLandlord(landlordId), 0);
     }
 
     @Override
@@ -142,10 +232,31 @@ public class BookingServiceImpl implements IBookingService {
             throw new IllegalArgumentException("Student id is required.");
         }
 
-        return bookingRepository.findByStudent_StudentIDOrderByCreatedAtDesc(studentId)
-                .stream()
-                .map(this::toView)
-                .collect(Collectors.toList());
+        return bookingRepository.findApplicationViews(BookingSpecifications.forStudent(studentId), 0);
+    }
+
+    @Override
+    public BookingApplicationPage findApplicationPageForLandlord(Long landlordId,
+                                                                 Booking.BookingStatus status,
+                                                                 Long accommodationId,
+                                                                 String pageToken,
+                                                                 Integer size) {
+        if (landlordId == null) {
+            throw new IllegalArgumentException("Landlord id is required.");
+        }
+        return loadApplicationPage(BookingSpecifications.forLandlord(landlordId), status, accommodationId, pageToken, size);
+    }
+
+    @Override
+    public BookingApplicationPage findApplicationPageForStudent(Long studentId,
+                                                                Booking.BookingStatus status,
+                                                                Long accommodationId,
+                                                                String pageToken,
+                                                                Integer size) {
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student id is required.");
+        }
+        return loadApplicationPage(BookingSpecifications.forStudent(studentId), status, accommodationId, pageToken, size);
     }
 
     @Override
@@ -154,17 +265,420 @@ public class BookingServiceImpl implements IBookingService {
             throw new IllegalArgumentException("A valid status update request is required.");
         }
 
-        Booking existing = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new IllegalArgumentException("Booking not found."));
+        // The previous status is read under the row lock, so two concurrent updates cannot both start from it; the
+        // status change and the bed it takes or frees commit together.
+        LocalDateTime now = LocalDateTime.now();
+        AppliedUpdate applied = saveApplication(() -> transactionTemplate.execute(status -> {
+            BookingDecisionState previous = lockState(bookingId);
+            if (previous == null) {
+                throw new IllegalArgumentException("Booking not found.");
+            }
+            Booking existing = bookingRepository.findById(bookingId)
+                    .orElseThrow(() -> new IllegalArgumentException("Booking not found."));
+            boolean deciding = previous.status() == Booking.BookingStatus.IN_PROGRESS
+                    && request.getStatus() != Booking.BookingStatus.IN_PROGRESS;
+            Booking written = bookingRepository.saveAndFlush(new Booking.Builder()
+                    .copy(existing)
+                    .setBookingStatus(request.getStatus())
+                    .setUpdatedAt(now)
+                    .setDecidedAt(deciding ? now : previous.decidedAt())
+                    .build());
+            moveBeds(previous, written);
+            // The view and the analytics read the listing and its landlord after this transaction commits.
+            Accommodation accommodation = written.getAccommodation();
+            Hibernate.initialize(accommodation);
+            if (accommodation != null) {
+                Hibernate.initialize(accommodation.getLandlord());
+            }
+            if (previous.status() != written.getBookingStatus()) {
+                notificationOutbox.bookingStatusChanged(written.getBookingID(), studentIdOf(written),
+                        written.getBookingStatus());
+            }
+            return new AppliedUpdate(written, previous);
+        }), "The student already has an active application for this listing.");
+
+        Booking saved = applied.booking();
+        Booking.BookingStatus previousStatus = applied.previous().status();
+        Long accommodationId = applied.previous().accommodationId();
+        boolean wasActive = previousStatus == Booking.BookingStatus.CONFIRMED;
+        boolean decided = previousStatus == Booking.BookingStatus.IN_PROGRESS
+                && saved.getBookingStatus() != Booking.BookingStatus.IN_PROGRESS;
+        dashboardEvents.transition(DashboardCounter.ACTIVE_BOOKINGS, wasActive, isActive(saved));
+        if (wasActive != isActive(saved)) {
+            stayAvailability.staysChanged(accommodationId);
+        }
+        bookingAnalytics.recordStatusChange(saved, previousStatus);
+        if (decided) {
+            responseLatency.record(landlordIdOf(saved), saved.getCreatedAt(), saved.getDecidedAt());
+        }
+        return toView(saved);
+    }
 
-        Booking updated = new Booking.Builder()
-                .copy(existing)
-                .setBookingStatus(request.getStatus())
-                .setUpdatedAt(LocalDateTime.now())
-                .build();
+    /**
+     * Applies many decisions in one transaction: one locking read of the bookings, one read of their listings'
+     * landlords, a bed update per listing and one JDBC batch for the status writes. Each decision is applied,
+     * left unchanged or rejected with a reason; a rejection never blocks the others. Confirmations take beds in
+     * request order, so on a listing with too few beds the later ones are rejected.
+     */
+    @Override
+    public BookingStatusBulkResponse updateApplicationStatuses(BookingStatusBulkRequest request) {
+        if (request == null || request.getLandlordId() == null) {
+            throw new IllegalArgumentException("Landlord id is required.");
+        }
+        List<BookingStatusDecision> decisions = request.getDecisions();
+        if (decisions.isEmpty()) {
+            throw new IllegalArgumentException("At least one decision is required.");
+        }
+        if (decisions.size() > MAX_BULK_DECISIONS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_DECISIONS + " decisions can be applied at once.");
+        }
 
-        Booking saved = bookingRepository.saveAndFlush(updated);
-        return toView(saved);
+        BookingDecisionResult[] results = new BookingDecisionResult[decisions.size()];
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            BookingStatusDecision decision = decisions.get(i);
+            Long bookingId = decision != null ? decision.getBookingId() : null;
+            if (bookingId == null || decision.getStatus() == null) {
+                results[i] = rejected(bookingId, null, "A booking id and status are required.");
+            } else if (positions.putIfAbsent(bookingId, i) != null) {
+                results[i] = rejected(bookingId, null, "This booking already has a decision in the request.");
+            }
+        }
+
+        List<PendingDecision> applied = List.of();
+        LocalDateTime now = LocalDateTime.now();
+        if (!positions.isEmpty()) {
+            try {
+                applied = transactionTemplate.execute(status ->
+                        applyDecisions(request.getLandlordId(), decisions, positions, results, now));
+            } catch (DataIntegrityViolationException exception) {
+                if (violatesActiveApplication(exception)) {
+                    throw new IllegalArgumentException("A student applied again while the decisions were being saved;"
+                            + " no decisions were applied. Please retry.");
+                }
+                throw exception;
+            }
+        }
+        afterDecisionsCommitted(applied, now);
+
+        int appliedCount = 0;
+        int unchangedCount = 0;
+        for (BookingDecisionResult result : results) {
+            if (result.outcome() == BookingDecisionResult.Outcome.APPLIED) {
+                appliedCount++;
+            } else if (result.outcome() == BookingDecisionResult.Outcome.UNCHANGED) {
+                unchangedCount++;
+            }
+        }
+        return new BookingStatusBulkResponse(appliedCount, unchangedCount,
+                results.length - appliedCount - unchangedCount, List.of(results));
+    }
+
+    private List<PendingDecision> applyDecisions(Long landlordId,
+                                                 List<BookingStatusDecision> decisions,
+                                                 Map<Long, Integer> positions,
+                                                 BookingDecisionResult[] results,
+                                                 LocalDateTime now) {
+        Map<Long, BookingDecisionState> states = new HashMap<>();
+        bookingDecisionRepository.lockStates(positions.keySet()).forEach(state -> states.put(state.bookingId(), state));
+        Set<Long> accommodationIds = new HashSet<>();
+        states.values().forEach(state -> {
+            if (state.accommodationId() != null) {
+                accommodationIds.add(state.accommodationId());
+            }
+        });
+        Map<Long, Long> landlords = accommodationIds.isEmpty()
+                ? Map.of()
+                : bookingDecisionRepository.findLandlordIds(accommodationIds);
+
+        List<PendingDecision> pending = new ArrayList<>();
+        positions.forEach((bookingId, index) -> {
+            BookingDecisionState state = states.get(bookingId);
+            Booking.BookingStatus target = decisions.get(index).getStatus();
+            if (state == null) {
+                results[index] = rejected(bookingId, null, "Booking not found.");
+            } else if (!landlordId.equals(landlords.get(state.accommodationId()))) {
+                results[index] = rejected(bookingId, null, "This booking is not for one of your listings.");
+            } else if (state.status() == target) {
+                results[index] = new BookingDecisionResult(bookingId, BookingDecisionResult.Outcome.UNCHANGED, target, null);
+            } else {
+                pending.add(new PendingDecision(index, state, target, landlordId));
+            }
+        });
+
+        rejectSecondActiveApplications(pending, results);
+        reserveBeds(pending, results);
+
+        List<BookingDecisionRepository.StatusWrite> writes = new ArrayList<>();
+        for (PendingDecision decision : pending) {
+            writes.add(new BookingDecisionRepository.StatusWrite(decision.state().bookingId(), decision.state().status(),
+                    decision.target(), now, decision.decidedAt(now)));
+        }
+        int[] updated = bookingDecisionRepository.updateStatuses(writes);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                // The rows are locked, so this means a write bypassed the lock; undo the beds and the batch.
+                throw new IllegalArgumentException("Booking " + writes.get(i).bookingId()
+                        + " changed while the decisions were being saved; no decisions were applied. Please retry.");
+            }
+        }
+        for (PendingDecision decision : pending) {
+            results[decision.index()] = new BookingDecisionResult(decision.state().bookingId(),
+                    BookingDecisionResult.Outcome.APPLIED, decision.target(), null);
+        }
+        notificationOutbox.bookingStatusesChanged(pending.stream()
+                .map(decision -> new NotificationOutbox.BookingStatusNotice(decision.state().bookingId(),
+                        decision.state().studentId(), decision.target()))
+                .toList());
+        return pending;
+    }
+
+    // Reopening an application must not give the student a second active one on the same listing.
+    private void rejectSecondActiveApplications(List<PendingDecision> pending, BookingDecisionResult[] results) {
+        List<PendingDecision> reopening = pending.stream()
+                .filter(decision -> !Booking.isActiveApplication(decision.state().status())
+                        && Booking.isActiveApplication(decision.target()))
+                .toList();
+        if (reopening.isEmpty()) {
+            return;
+        }
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> accommodationIds = new HashSet<>();
+        reopening.forEach(decision -> {
+            studentIds.add(decision.state().studentId());
+            accommodationIds.add(decision.state().accommodationId());
+        });
+        studentIds.remove(null);
+        accommodationIds.remove(null);
+        Set<List<Long>> active = new HashSet<>();
+        if (!studentIds.isEmpty() && !accommodationIds.isEmpty()) {
+            bookingDecisionRepository.findActiveApplications(studentIds, accommodationIds)
+                    .forEach(state -> active.add(applicationKey(state)));
+        }
+        pending.stream()
+                .filter(decision -> Booking.isActiveApplication(decision.state().status())
+                        && !Booking.isActiveApplication(decision.target()))
+                .forEach(decision -> active.remove(applicationKey(decision.state())));
+
+        for (PendingDecision decision : reopening) {
+            if (decision.state().studentId() == null || decision.state().accommodationId() == null) {
+                continue;
+            }
+            if (!active.add(applicationKey(decision.state()))) {
+                results[decision.index()] = rejected(decision.state().bookingId(), decision.state().status(),
+                        "The student already has an active application for this listing.");
+                pending.remove(decision);
+            }
+        }
+    }
+
+    // Listings are visited in id order, releasing before reserving, so overlapping batches lock them in one order.
+    // Confirmations must fit both the listing's dates and its beds; date clashes are settled first.
+    private void reserveBeds(List<PendingDecision> pending, BookingDecisionResult[] results) {
+        TreeMap<Long, List<Long>> releasing = new TreeMap<>();
+        TreeMap<Long, List<PendingDecision>> confirming = new TreeMap<>();
+        for (PendingDecision decision : pending) {
+            Long accommodationId = decision.state().accommodationId();
+            if (accommodationId == null) {
+                continue;
+            }
+            if (decision.state().status() == Booking.BookingStatus.CONFIRMED) {
+                releasing.computeIfAbsent(accommodationId, ignored -> new ArrayList<>()).add(decision.state().bookingId());
+            } else if (decision.target() == Booking.BookingStatus.CONFIRMED) {
+                confirming.computeIfAbsent(accommodationId, ignored -> new ArrayList<>()).add(decision);
+            }
+        }
+
+        TreeSet<Long> accommodationIds = new TreeSet<>(releasing.keySet());
+        accommodationIds.addAll(confirming.keySet());
+        for (Long accommodationId : accommodationIds) {
+            List<Long> leaving = releasing.getOrDefault(accommodationId, List.of());
+            bedInventory.release(accommodationId, leaving.size());
+            List<PendingDecision> wanting = new ArrayList<>(confirming.getOrDefault(accommodationId, List.of()));
+            if (!wanting.isEmpty()) {
+                Set<Long> clashing = stayAvailability.rejectOverlaps(accommodationId, leaving,
+                        wanting.stream().map(decision -> stayOf(decision.state())).toList());
+                wanting.removeIf(decision -> {
+                    if (!clashing.contains(decision.state().bookingId())) {
+                        return false;
+                    }
+                    results[decision.index()] = rejected(decision.state().bookingId(), decision.state().status(),
+                            StayAvailabilityService.STAY_CONFLICT_MESSAGE);
+                    pending.remove(decision);
+                    return true;
+                });
+            }
+            int granted = bedInventory.reserveUpTo(accommodationId, wanting.size());
+            for (PendingDecision decision : wanting.subList(granted, wanting.size())) {
+                results[decision.index()] = rejected(decision.state().bookingId(), decision.state().status(),
+                        "This listing has no beds left.");
+                pending.remove(decision);
+            }
+        }
+    }
+
+    private static BookingStay stayOf(BookingDecisionState state) {
+        return new BookingStay(state.bookingId(), state.accommodationId(), null,
+                state.checkInDate(), state.checkOutDate());
+    }
+
+    private void afterDecisionsCommitted(List<PendingDecision> applied, LocalDateTime now) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        long activeDelta = 0;
+        Map<Long, List<BookingAnalyticsService.StatusChange>> decisionsByListing = new HashMap<>();
+        for (PendingDecision decision : applied) {
+            Booking.BookingStatus previous = decision.state().status();
+            Booking.BookingStatus current = decision.target();
+            activeDelta += (current == Booking.BookingStatus.CONFIRMED ? 1 : 0)
+                    - (previous == Booking.BookingStatus.CONFIRMED ? 1 : 0);
+            decisionsByListing.computeIfAbsent(decision.state().accommodationId(), ignored -> new ArrayList<>())
+                    .add(new BookingAnalyticsService.StatusChange(
+                            BookingAnalyticsService.applicationDay(decision.state().createdAt(), null),
+                            previous, current));
+            if (previous == Booking.BookingStatus.IN_PROGRESS) {
+                responseLatency.record(decision.landlordId(), decision.state().createdAt(), decision.decidedAt(now));
+            }
+        }
+        dashboardEvents.changed(DashboardCounter.ACTIVE_BOOKINGS, activeDelta);
+
+        Map<Long, Accommodation> listings = new HashMap<>();
+        Set<Long> listingIds = new HashSet<>(decisionsByListing.keySet());
+        listingIds.remove(null);
+        if (!listingIds.isEmpty()) {
+            accommodationRepository.findByAccommodationIDIn(listingIds)
+                    .forEach(accommodation -> listings.put(accommodation.getAccommodationID(), accommodation));
+        }
+        decisionsByListing.forEach((accommodationId, changes) ->
+                bookingAnalytics.recordDecisions(listings.get(accommodationId), changes));
+        applied.stream()
+                .filter(decision -> decision.state().status() == Booking.BookingStatus.CONFIRMED
+                        || decision.target() == Booking.BookingStatus.CONFIRMED)
+                .map(decision -> decision.state().accommodationId())
+                .distinct()
+                .forEach(stayAvailability::staysChanged);
+    }
+
+    private static List<Long> applicationKey(BookingDecisionState state) {
+        return List.of(state.studentId(), state.accommodationId());
+    }
+
+    private static BookingDecisionResult rejected(Long bookingId, Booking.BookingStatus status, String message) {
+        return new BookingDecisionResult(bookingId, BookingDecisionResult.Outcome.REJECTED, status, message);
+    }
+
+    // Pending decisions stay in request order, so beds go to the earliest confirmations.
+    private record PendingDecision(int index, BookingDecisionState state, Booking.BookingStatus target, Long landlordId) {
+
+        // Mirrors updateApplicationStatus: the first move out of IN_PROGRESS is the decision.
+        LocalDateTime decidedAt(LocalDateTime now) {
+            return state.status() == Booking.BookingStatus.IN_PROGRESS && target != Booking.BookingStatus.IN_PROGRESS
+                    ? now
+                    : state.decidedAt();
+        }
+    }
+
+    private record AppliedUpdate(Booking booking, BookingDecisionState previous) {
+    }
+
+    private BookingDecisionState lockState(Long bookingId) {
+        List<BookingDecisionState> states = bookingDecisionRepository.lockStates(List.of(bookingId));
+        return states.isEmpty() ? null : states.get(0);
+    }
+
+    /**
+     * Moves the booking's bed from its locked previous state to the written one, checking the stay calendar
+     * whenever a confirmed stay lands on a listing or dates it did not hold before. Must run in the writing
+     * transaction.
+     */
+    private void moveBeds(BookingDecisionState previous, Booking written) {
+        Long before = previous.accommodationId();
+        Long after = accommodationIdOf(written);
+        boolean confirmed = written.getBookingStatus() == Booking.BookingStatus.CONFIRMED;
+        boolean sameListing = Objects.equals(before, after);
+        boolean newStay = previous.status() != Booking.BookingStatus.CONFIRMED || !sameListing
+                || !Objects.equals(previous.checkInDate(), written.getCheckInDate())
+                || !Objects.equals(previous.checkOutDate(), written.getCheckOutDate());
+        if (confirmed && newStay) {
+            stayAvailability.assertStayFits(after, written.getBookingID(),
+                    written.getCheckInDate(), written.getCheckOutDate());
+        }
+        if (sameListing) {
+            bedInventory.onStatusChange(after, previous.status(), written.getBookingStatus());
+        } else {
+            bedInventory.onStatusChange(before, previous.status(), null);
+            bedInventory.onStatusChange(after, null, written.getBookingStatus());
+        }
+    }
+
+    private <T> T saveApplication(Supplier<T> write, String duplicateMessage) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException exception) {
+            if (violatesActiveApplication(exception)) {
+                throw new IllegalArgumentException(duplicateMessage);
+            }
+            throw exception;
+        }
+    }
+
+    static boolean violatesActiveApplication(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(Booking.ACTIVE_APPLICATION_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Long accommodationIdOf(Booking booking) {
+        return booking.getAccommodation() != null ? booking.getAccommodation().getAccommodationID() : null;
+    }
+
+    private static Long studentIdOf(Booking booking) {
+        return booking.getStudent() != null ? booking.getStudent().getStudentID() : null;
+    }
+
+    private static Long landlordIdOf(Booking booking) {
+        Accommodation accommodation = booking.getAccommodation();
+        return accommodation != null && accommodation.getLandlord() != null
+                ? accommodation.getLandlord().getLandlordID()
+                : null;
+    }
+
+    private BookingApplicationPage loadApplicationPage(Specification<Booking> owner,
+                                                       Booking.BookingStatus status,
+                                                       Long accommodationId,
+                                                       String pageToken,
+                                                       Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Specification<Booking> specification = owner;
+        if (status != null) {
+            specification = specification.and(BookingSpecifications.hasStatus(status));
+        }
+        if (accommodationId != null) {
+            specification = specification.and(BookingSpecifications.forAccommodation(accommodationId));
+        }
+        if (pageToken != null && !pageToken.isBlank()) {
+            specification = specification.and(BookingSpecifications.after(ApplicationPageToken.decode(pageToken)));
+        }
+
+        // Fetch one row beyond the page so we know whether another page exists without a count query.
+        List<BookingApplicationView> rows = bookingRepository.findApplicationViews(specification, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<BookingApplicationView> items = List.copyOf(hasNext ? rows.subList(0, pageSize) : rows);
+        BookingApplicationView last = hasNext ? items.get(items.size() - 1) : null;
+        String nextPageToken = last != null
+                ? new ApplicationPageToken(last.createdAt(), last.bookingId()).encode()
+                : null;
+
+        return new BookingApplicationPage(items, pageSize, nextPageToken);
+    }
+
+    private boolean isActive(Booking booking) {
+        return booking.getBookingStatus() == Booking.BookingStatus.CONFIRMED;
     }
 
     private BookingApplicationView toView(Booking booking) {
@@ -205,7 +719,8 @@ public class BookingServiceImpl implements IBookingService {
                 booking.getBookingStatus(),
                 booking.getPaymentStatus(),
                 landlordId,
-                landlordEmail
+                landlordEmail,
+                booking.getCreatedAt()
         );
     }
 
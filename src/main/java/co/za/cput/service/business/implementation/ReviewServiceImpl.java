@@ -7,7 +7,9 @@ import co.za.cput.repository.business.ReviewRepository;
 import co.za.cput.service.business.IReviewService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Service
@@ -18,16 +20,23 @@ public class ReviewServiceImpl implements IReviewService {
     //added because it will be used to link the booking to the review that will be made later by the student.
     private BookingRepository bookingRepository;
 
+    private AccommodationRatingService ratingService;
+
     @Autowired
     public ReviewServiceImpl(ReviewRepository reviewRepository,
-                             BookingRepository bookingRepository) {
+                             BookingRepository bookingRepository,
+                             AccommodationRatingService ratingService) {
         this.reviewRepository = reviewRepository;
         this.bookingRepository = bookingRepository;
+        this.ratingService = ratingService;
     }
 
     @Override
+    @Transactional
     public Review create(Review review) {
-        return reviewRepository.saveAndFlush(review);
+        Review saved = reviewRepository.saveAndFlush(review);
+        recordAdded(saved);
+        return saved;
     }
 
     @Override
@@ -36,8 +45,26 @@ public class ReviewServiceImpl implements IReviewService {
     }
 
     @Override
+    @Transactional
     public Review update(Review review) {
-        return reviewRepository.saveAndFlush(review);
+        Long previousAccommodationId = null;
+        int previousRating = 0;
+        LocalDate previousDate = null;
+        Review previous = review.getReviewID() == null ? null
+                : reviewRepository.findById(review.getReviewID()).orElse(null);
+        if (previous != null) {
+            previousAccommodationId = reviewRepository.findAccommodationIdByReviewId(previous.getReviewID()).orElse(null);
+            previousRating = previous.getRating();
+            previousDate = previous.getReviewDate();
+        }
+
+        Review saved = reviewRepository.saveAndFlush(review);
+        Long currentAccommodationId = reviewRepository.findAccommodationIdByReviewId(saved.getReviewID()).orElse(null);
+        if (previousAccommodationId != null || currentAccommodationId != null) {
+            ratingService.recordReviewChange(previousAccommodationId, previousRating, previousDate,
+                    currentAccommodationId, saved.getRating(), saved.getReviewDate());
+        }
+        return saved;
     }
 
     @Override
@@ -48,6 +75,7 @@ public class ReviewServiceImpl implements IReviewService {
     //Needs testing.
     //This method is used to share an experience about the accommodation.
     @Override
+    @Transactional
     public Review addReviewToBooking(Long bookingID, Review review) {
         Booking booking = bookingRepository.findById(bookingID)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -67,11 +95,33 @@ public class ReviewServiceImpl implements IReviewService {
                 .setBooking(booking)
                 .build();
 
-        return reviewRepository.saveAndFlush(reviewToSave);
+        Review saved = reviewRepository.saveAndFlush(reviewToSave);
+        recordAdded(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public void delete(Long ID) {
+        Review existing = reviewRepository.findById(ID).orElse(null);
+        Long accommodationId = existing == null ? null
+                : reviewRepository.findAccommodationIdByReviewId(ID).orElse(null);
+        if (existing != null && existing.getBooking() != null) {
+            // The booking cascades to its review; unlink it or the delete is cancelled on flush.
+            existing.getBooking().setReview(null);
+        }
         reviewRepository.deleteById(ID);
+        if (accommodationId != null) {
+            reviewRepository.flush();
+            ratingService.recordReviewChange(accommodationId, existing.getRating(), existing.getReviewDate(),
+                    null, 0, null);
+        }
+    }
+
+    // Keeps the listing's rating aggregate in the same transaction as the review that changes it.
+    private void recordAdded(Review saved) {
+        reviewRepository.findAccommodationIdByReviewId(saved.getReviewID())
+                .ifPresent(accommodationId -> ratingService.recordReviewChange(
+                        null, 0, null, accommodationId, saved.getRating(), saved.getReviewDate()));
     }
 }
@@ -0,0 +1,125 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.BedAvailability;
+import co.za.cput.dto.BookingStay;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.repository.business.BookingRepository;
+import co.za.cput.service.business.search.AvailabilityIndex;
+import co.za.cput.service.business.search.StayCalendar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps confirmed stays on a listing from overlapping beyond its beds, and answers date-range availability.
+ * <p>
+ * Confirmation checks read the listing's stays from the database after locking the listing row, the same lock bed
+ * reservations take, so two overlapping confirmations on one listing are checked one after the other. The stays are
+ * read with a locking read too: the caller has usually read the booking already, and under MySQL's REPEATABLE READ a
+ * plain read would answer from that earlier snapshot and miss a stay confirmed while it waited for the lock.
+ * Searches use the {@link AvailabilityIndex}. Bookings without both a check-in and a check-out date have no stay to
+ * check.
+ */
+@Service
+public class StayAvailabilityService {
+
+    static final String STAY_CONFLICT_MESSAGE = "This listing is already booked for those dates.";
+
+    private final BookingRepository bookingRepository;
+    private final AccommodationRepository accommodationRepository;
+    private final AvailabilityIndex availabilityIndex;
+
+    public StayAvailabilityService(BookingRepository bookingRepository,
+                                   AccommodationRepository accommodationRepository,
+                                   AvailabilityIndex availabilityIndex) {
+        this.bookingRepository = bookingRepository;
+        this.accommodationRepository = accommodationRepository;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    /**
+     * Checks that confirming the booking leaves a bed free on every night of its stay.
+     *
+     * @throws IllegalArgumentException when the stay would overlap too many confirmed stays
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void assertStayFits(Long accommodationId, Long bookingId, LocalDate checkInDate, LocalDate checkOutDate) {
+        BookingStay stay = new BookingStay(bookingId, accommodationId, null, checkInDate, checkOutDate);
+        if (accommodationId == null || !stay.isDated()) {
+            return;
+        }
+        if (!rejectOverlaps(accommodationId, List.of(bookingId), List.of(stay)).isEmpty()) {
+            throw new IllegalArgumentException(STAY_CONFLICT_MESSAGE);
+        }
+    }
+
+    /**
+     * Checks a batch of confirmations on one listing in order, each against the stays already confirmed and the
+     * batch confirmations before it.
+     *
+     * @param leaving  bookings on the listing still confirmed in the database but leaving CONFIRMED in this batch
+     * @param arriving the stays to confirm
+     * @return the ids of the arriving bookings that do not fit
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Long> rejectOverlaps(Long accommodationId, Collection<Long> leaving, List<BookingStay> arriving) {
+        Set<Long> rejected = new LinkedHashSet<>();
+        if (arriving.stream().noneMatch(BookingStay::isDated)) {
+            return rejected;
+        }
+        BedAvailability beds = accommodationRepository.lockBedAvailability(accommodationId).orElse(null);
+        if (beds == null) {
+            return rejected;
+        }
+        int capacity = AvailabilityIndex.stayCapacity(beds.bedCapacity());
+        List<BookingStay> confirmed = new ArrayList<>();
+        for (BookingStay stay : bookingRepository.lockConfirmedStaysFor(accommodationId, Booking.BookingStatus.CONFIRMED)) {
+            if (!leaving.contains(stay.bookingId())) {
+                confirmed.add(stay);
+            }
+        }
+        StayCalendar calendar = new StayCalendar(confirmed);
+        List<BookingStay> accepted = new ArrayList<>();
+        for (BookingStay stay : arriving) {
+            if (!stay.isDated()) {
+                continue;
+            }
+            if (calendar.peakOccupancy(stay.checkInDate(), stay.checkOutDate(), stay.bookingId(), accepted) >= capacity) {
+                rejected.add(stay.bookingId());
+            } else {
+                accepted.add(stay);
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Listings without a free bed on some night of [from, to).
+     *
+     * @throws IllegalArgumentException when only one date is given or the range is empty
+     */
+    public Set<Long> bookedOutAccommodationIds(LocalDate availableFrom, LocalDate availableTo) {
+        if (availableFrom == null || availableTo == null) {
+            throw new IllegalArgumentException("Both availableFrom and availableTo are required.");
+        }
+        if (!availableFrom.isBefore(availableTo)) {
+            throw new IllegalArgumentException("availableFrom must be before availableTo.");
+        }
+        return availabilityIndex.bookedOut(availableFrom, availableTo);
+    }
+
+    /**
+     * Brings the index up to date for a listing after its confirmed stays changed and the change committed.
+     */
+    public void staysChanged(Long accommodationId) {
+        availabilityIndex.refresh(accommodationId);
+    }
+}
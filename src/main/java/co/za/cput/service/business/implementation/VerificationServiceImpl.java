@@ -5,6 +5,8 @@ package co.za.cput.service.business.implementation;
 
 import co.za.cput.domain.business.Verification;
 import co.za.cput.repository.business.VerificationRepository;
+import co.za.cput.service.analytics.DashboardCounter;
+import co.za.cput.service.analytics.DashboardEventPublisher;
 import co.za.cput.service.business.IVerificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,15 +17,20 @@ import java.util.List;
 public class VerificationServiceImpl implements IVerificationService {
 
     private VerificationRepository verificationRepository;
+    private DashboardEventPublisher dashboardEvents;
 
     @Autowired
-    public VerificationServiceImpl(VerificationRepository verificationRepository) {
+    public VerificationServiceImpl(VerificationRepository verificationRepository,
+                                   DashboardEventPublisher dashboardEvents) {
         this.verificationRepository = verificationRepository;
+        this.dashboardEvents = dashboardEvents;
     }
 
     @Override
     public Verification create(Verification verification) {
-        return verificationRepository.saveAndFlush(verification);
+        Verification saved = verificationRepository.saveAndFlush(verification);
+        dashboardEvents.transition(DashboardCounter.PENDING_VERIFICATIONS, false, isPending(saved));
+        return saved;
     }
 
     @Override
@@ -33,7 +40,11 @@ public class VerificationServiceImpl implements IVerificationService {
 
     @Override
     public Verification update(Verification verification) {
-        return verificationRepository.saveAndFlush(verification);
+        boolean wasPending = verification.getVerificationID() != null
+                && verificationRepository.findById(verification.getVerificationID()).map(this::isPending).orElse(false);
+        Verification saved = verificationRepository.saveAndFlush(verification);
+        dashboardEvents.transition(DashboardCounter.PENDING_VERIFICATIONS, wasPending, isPending(saved));
+        return saved;
     }
 
     @Override
@@ -43,6 +54,12 @@ public class VerificationServiceImpl implements IVerificationService {
 
     @Override
     public void delete(Long aLong) {
+        boolean wasPending = verificationRepository.findById(aLong).map(this::isPending).orElse(false);
         verificationRepository.deleteById(aLong);
+        dashboardEvents.transition(DashboardCounter.PENDING_VERIFICATIONS, wasPending, false);
+    }
+
+    private boolean isPending(Verification verification) {
+        return verification.getVerificationStatus() == Verification.VerificationStatus.PENDING;
     }
 }
@@ -0,0 +1,76 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.WaitlistEntry;
+import co.za.cput.dto.BedAvailability;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.repository.business.WaitlistEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Hands a listing's free beds to the head of its waitlist. Each promoted student gets the bed held for them, counted
+ * in {@code bedsReserved} like a confirmed booking, until they accept or the hold runs out.
+ * <p>
+ * Promotion runs in the transaction that freed the bed, after the listing row is locked, so two releases on one
+ * listing promote one after the other and a freed bed can never be offered twice or taken by a new confirmation
+ * in between.
+ */
+@Component
+public class WaitlistPromoter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WaitlistPromoter.class);
+
+    private final AccommodationRepository accommodationRepository;
+    private final WaitlistEntryRepository waitlistRepository;
+    private final long holdHours;
+
+    public WaitlistPromoter(AccommodationRepository accommodationRepository,
+                            WaitlistEntryRepository waitlistRepository,
+                            @Value("${app.waitlist.hold-hours:48}") long holdHours) {
+        this.accommodationRepository = accommodationRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.holdHours = holdHours;
+    }
+
+    /**
+     * Offers every free bed of a listing whose beds are tracked to the next waiting students.
+     *
+     * @return the number of students promoted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int offerFreeBeds(Long accommodationId) {
+        BedAvailability beds = accommodationRepository.lockBedAvailability(accommodationId).orElse(null);
+        if (beds == null || !beds.isTracked()) {
+            return 0;
+        }
+        int free = beds.bedCapacity() - beds.bedsReserved();
+        LocalDateTime now = LocalDateTime.now();
+        int promoted = 0;
+        while (promoted < free) {
+            Optional<WaitlistEntry> next = waitlistRepository
+                    .findFirstByAccommodation_AccommodationIDAndStatusOrderByPriorityTierAscJoinedAtAscIdAsc(
+                            accommodationId, WaitlistEntry.WaitlistStatus.WAITING);
+            if (next.isEmpty()) {
+                break;
+            }
+            accommodationRepository.reserveBeds(accommodationId, 1, Accommodation.AccommodationStatus.FULL,
+                    Accommodation.AccommodationStatus.AVAILABLE);
+            WaitlistEntry entry = next.get();
+            entry.offer(now, now.plusHours(holdHours));
+            waitlistRepository.saveAndFlush(entry);
+            promoted++;
+        }
+        if (promoted > 0) {
+            LOGGER.info("Held {} bed(s) on listing {} for waitlisted students.", promoted, accommodationId);
+        }
+        return promoted;
+    }
+}
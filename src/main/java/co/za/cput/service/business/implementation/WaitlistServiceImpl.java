@@ -0,0 +1,331 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.business.WaitlistEntry;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.BedAvailability;
+import co.za.cput.dto.WaitlistEntryView;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.repository.business.BookingRepository;
+import co.za.cput.repository.business.WaitlistEntryRepository;
+import co.za.cput.repository.users.StudentRepository;
+import co.za.cput.service.analytics.BookingAnalyticsService;
+import co.za.cput.service.analytics.DashboardCounter;
+import co.za.cput.service.analytics.DashboardEventPublisher;
+import co.za.cput.service.business.IWaitlistService;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Per-listing waitlists for full listings. Students queue by priority tier and then in the order they joined; when
+ * a bed frees up {@link WaitlistPromoter} holds it for the head of the queue, who accepts the offer to turn the hold
+ * into a confirmed booking. Joining, accepting and leaving lock the listing or the entry row, so they serialise
+ * with the releases that promote students.
+ */
+@Service
+public class WaitlistServiceImpl implements IWaitlistService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WaitlistServiceImpl.class);
+    private static final String ALREADY_WAITING_MESSAGE = "You are already on the waitlist for this listing.";
+
+    private final WaitlistEntryRepository waitlistRepository;
+    private final StudentRepository studentRepository;
+    private final AccommodationRepository accommodationRepository;
+    private final BookingRepository bookingRepository;
+    private final BedInventoryService bedInventory;
+    private final WaitlistPromoter waitlistPromoter;
+    private final DashboardEventPublisher dashboardEvents;
+    private final BookingAnalyticsService bookingAnalytics;
+    private final StayAvailabilityService stayAvailability;
+    private final TransactionTemplate transactionTemplate;
+
+    public WaitlistServiceImpl(WaitlistEntryRepository waitlistRepository,
+                               StudentRepository studentRepository,
+                               AccommodationRepository accommodationRepository,
+                               BookingRepository bookingRepository,
+                               BedInventoryService bedInventory,
+                               WaitlistPromoter waitlistPromoter,
+                               DashboardEventPublisher dashboardEvents,
+                               BookingAnalyticsService bookingAnalytics,
+                               StayAvailabilityService stayAvailability,
+                               PlatformTransactionManager transactionManager) {
+        this.waitlistRepository = waitlistRepository;
+        this.studentRepository = studentRepository;
+        this.accommodationRepository = accommodationRepository;
+        this.bookingRepository = bookingRepository;
+        this.bedInventory = bedInventory;
+        this.waitlistPromoter = waitlistPromoter;
+        this.dashboardEvents = dashboardEvents;
+        this.bookingAnalytics = bookingAnalytics;
+        this.stayAvailability = stayAvailability;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public WaitlistEntryView join(Long studentId, Long accommodationId) {
+        if (studentId == null || accommodationId == null) {
+            throw new IllegalArgumentException("Student id and accommodation id are required.");
+        }
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new IllegalArgumentException("Student not found."));
+
+        try {
+            return transactionTemplate.execute(status -> {
+                // Locking the listing row orders this join against any release that would promote from the queue.
+                BedAvailability beds = accommodationRepository.lockBedAvailability(accommodationId)
+                        .orElseThrow(() -> new IllegalArgumentException("Accommodation not found."));
+                if (!beds.isTracked()) {
+                    throw new IllegalArgumentException("This listing does not keep a waitlist.");
+                }
+                if (!beds.isFull()) {
+                    throw new IllegalArgumentException("This listing still has beds; apply for it instead.");
+                }
+                Booking.BookingStatus current = bookingRepository
+                        .findFirstByStudent_StudentIDAndAccommodation_AccommodationIDAndActiveApplicationTrue(
+                                studentId, accommodationId)
+                        .map(Booking::getBookingStatus)
+                        .orElse(null);
+                if (current == Booking.BookingStatus.CONFIRMED) {
+                    throw new IllegalArgumentException("You already have a confirmed booking for this listing.");
+                }
+                if (waitlistRepository.existsByStudent_StudentIDAndAccommodation_AccommodationIDAndActiveEntryTrue(
+                        studentId, accommodationId)) {
+                    throw new IllegalArgumentException(ALREADY_WAITING_MESSAGE);
+                }
+
+                WaitlistEntry saved = waitlistRepository.saveAndFlush(new WaitlistEntry.Builder()
+                        .setStudent(student)
+                        .setAccommodation(accommodationRepository.getReferenceById(accommodationId))
+                        .setPriorityTier(WaitlistEntry.priorityTierOf(student.getFundingStatus()))
+                        .setJoinedAt(LocalDateTime.now())
+                        .setStatus(WaitlistEntry.WaitlistStatus.WAITING)
+                        .build());
+                return toView(saved, accommodationId);
+            });
+        } catch (DataIntegrityViolationException exception) {
+            throw new IllegalArgumentException(ALREADY_WAITING_MESSAGE);
+        }
+    }
+
+    @Override
+    public List<WaitlistEntryView> findForStudent(Long studentId) {
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student id is required.");
+        }
+        return transactionTemplate.execute(status -> waitlistRepository.findByStudent_StudentIDOrderByJoinedAtDesc(studentId)
+                .stream()
+                .map(entry -> toView(entry, entry.getAccommodation().getAccommodationID()))
+                .toList());
+    }
+
+    @Override
+    public List<WaitlistEntryView> findForAccommodation(Long accommodationId) {
+        if (accommodationId == null) {
+            throw new IllegalArgumentException("Accommodation id is required.");
+        }
+        return transactionTemplate.execute(status -> {
+            List<WaitlistEntry> queue = waitlistRepository
+                    .findByAccommodation_AccommodationIDAndStatusInOrderByPriorityTierAscJoinedAtAscIdAsc(accommodationId,
+                            EnumSet.of(WaitlistEntry.WaitlistStatus.OFFERED, WaitlistEntry.WaitlistStatus.WAITING));
+            // The queue is already in serving order, so positions come from the list rather than a count per entry.
+            long position = 0;
+            List<WaitlistEntryView> views = new ArrayList<>(queue.size());
+            for (WaitlistEntry entry : queue) {
+                Long shown = entry.getStatus() == WaitlistEntry.WaitlistStatus.WAITING ? ++position : null;
+                views.add(toView(entry, accommodationId, studentIdOf(entry), shown));
+            }
+            return views;
+        });
+    }
+
+    /**
+     * Turns a held bed into a confirmed booking: an application the student already has for the listing is
+     * confirmed, otherwise a confirmed booking is created. The held bed becomes the booking's bed, so the listing's
+     * count does not move. An application whose stay overlaps too many confirmed stays is refused, and the offer
+     * stays open until it expires or the student leaves.
+     */
+    @Override
+    public WaitlistEntryView acceptOffer(Long entryId, Long studentId) {
+        if (entryId == null || studentId == null) {
+            throw new IllegalArgumentException("Waitlist entry id and student id are required.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        AcceptedOffer accepted = transactionTemplate.execute(status -> {
+            WaitlistEntry entry = lockOwnEntry(entryId, studentId);
+            if (entry.getStatus() != WaitlistEntry.WaitlistStatus.OFFERED) {
+                throw new IllegalArgumentException("This waitlist entry has no open offer.");
+            }
+            if (entry.getHoldExpiresAt() != null && entry.getHoldExpiresAt().isBefore(now)) {
+                throw new IllegalArgumentException("This offer has expired.");
+            }
+
+            Accommodation accommodation = entry.getAccommodation();
+            // Analytics reads the listing after this transaction commits.
+            Hibernate.initialize(accommodation);
+            Booking existing = bookingRepository
+                    .findFirstByStudent_StudentIDAndAccommodation_AccommodationIDAndActiveApplicationTrue(
+                            studentId, accommodation.getAccommodationID())
+                    .orElse(null);
+            Booking confirmed;
+            if (existing != null && existing.getBookingStatus() == Booking.BookingStatus.CONFIRMED) {
+                // Confirmed through the landlord meanwhile, which took a bed of its own; give the hold back.
+                confirmed = null;
+                bedInventory.release(accommodation.getAccommodationID(), 1);
+            } else if (existing != null) {
+                // The hold guarantees a bed, not the nights the application asks for.
+                stayAvailability.assertStayFits(accommodation.getAccommodationID(), existing.getBookingID(),
+                        existing.getCheckInDate(), existing.getCheckOutDate());
+                confirmed = bookingRepository.saveAndFlush(new Booking.Builder()
+                        .copy(existing)
+                        .setBookingStatus(Booking.BookingStatus.CONFIRMED)
+                        .setUpdatedAt(now)
+                        .setDecidedAt(now)
+                        .build());
+            } else {
+                confirmed = bookingRepository.saveAndFlush(new Booking.Builder()
+                        .setStudent(entry.getStudent())
+                        .setAccommodation(accommodation)
+                        .setRequestDate(LocalDate.now())
+                        .setTotalAmount(accommodation.getRent())
+                        .setCreatedAt(now)
+                        .setUpdatedAt(now)
+                        .setDecidedAt(now)
+                        .setPaymentStatus(Booking.PaymentStatus.PENDING)
+                        .setBookingStatus(Booking.BookingStatus.CONFIRMED)
+                        .build());
+            }
+            entry.accept(confirmed != null ? confirmed.getBookingID() : existing.getBookingID());
+            WaitlistEntry saved = waitlistRepository.saveAndFlush(entry);
+            return new AcceptedOffer(toView(saved, accommodation.getAccommodationID()), confirmed, existing == null);
+        });
+
+        if (accepted.booking() != null) {
+            dashboardEvents.transition(DashboardCounter.ACTIVE_BOOKINGS, false, true);
+            if (accepted.created()) {
+                bookingAnalytics.recordApplication(accepted.booking());
+            }
+            bookingAnalytics.recordStatusChange(accepted.booking(), Booking.BookingStatus.IN_PROGRESS);
+            stayAvailability.staysChanged(accepted.view().accommodationId());
+        }
+        return accepted.view();
+    }
+
+    /**
+     * Leaves the queue, or declines an open offer, whose held bed then goes to the next student.
+     */
+    @Override
+    public WaitlistEntryView leave(Long entryId, Long studentId) {
+        if (entryId == null || studentId == null) {
+            throw new IllegalArgumentException("Waitlist entry id and student id are required.");
+        }
+        return transactionTemplate.execute(status -> {
+            WaitlistEntry entry = lockOwnEntry(entryId, studentId);
+            Long accommodationId = entry.getAccommodation().getAccommodationID();
+            if (close(entry, WaitlistEntry.WaitlistStatus.CANCELLED)) {
+                LOGGER.debug("Student {} left the waitlist for listing {}.", studentId, accommodationId);
+            }
+            return toView(entry, accommodationId);
+        });
+    }
+
+    /**
+     * Passes holds that ran out to the next student, then offers any free bed on a listing with students waiting,
+     * which covers beds freed while the application was down and beds freed outside the booking flow.
+     *
+     * @return the number of holds expired
+     */
+    @Scheduled(initialDelayString = "${app.waitlist.sweep-interval-ms:60000}",
+            fixedDelayString = "${app.waitlist.sweep-interval-ms:60000}")
+    public int sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        for (Long entryId : waitlistRepository.findExpiredHoldIds(WaitlistEntry.WaitlistStatus.OFFERED, now)) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> expire(entryId, now)))) {
+                expired++;
+            }
+        }
+        int promoted = 0;
+        for (Long accommodationId : waitlistRepository.findAccommodationIdsWithFreeBeds(WaitlistEntry.WaitlistStatus.WAITING)) {
+            Integer offered = transactionTemplate.execute(status -> waitlistPromoter.offerFreeBeds(accommodationId));
+            promoted += offered != null ? offered : 0;
+        }
+        if (expired + promoted > 0) {
+            LOGGER.info("Waitlist sweep expired {} hold(s) and made {} new offer(s).", expired, promoted);
+        }
+        return expired;
+    }
+
+    private boolean expire(Long entryId, LocalDateTime now) {
+        WaitlistEntry entry = waitlistRepository.lockById(entryId).orElse(null);
+        // Re-checked under the lock: the student may have accepted since the ids were read.
+        if (entry == null || entry.getStatus() != WaitlistEntry.WaitlistStatus.OFFERED
+                || entry.getHoldExpiresAt() == null || !entry.getHoldExpiresAt().isBefore(now)) {
+            return false;
+        }
+        return close(entry, WaitlistEntry.WaitlistStatus.EXPIRED);
+    }
+
+    private boolean close(WaitlistEntry entry, WaitlistEntry.WaitlistStatus outcome) {
+        if (!WaitlistEntry.isActive(entry.getStatus())) {
+            return false;
+        }
+        boolean heldBed = entry.getStatus() == WaitlistEntry.WaitlistStatus.OFFERED;
+        entry.close(outcome);
+        waitlistRepository.saveAndFlush(entry);
+        if (heldBed) {
+            bedInventory.release(entry.getAccommodation().getAccommodationID(), 1);
+        }
+        return true;
+    }
+
+    private WaitlistEntry lockOwnEntry(Long entryId, Long studentId) {
+        WaitlistEntry entry = waitlistRepository.lockById(entryId)
+                .orElseThrow(() -> new IllegalArgumentException("Waitlist entry not found."));
+        if (!studentId.equals(studentIdOf(entry))) {
+            throw new IllegalArgumentException("This waitlist entry belongs to another student.");
+        }
+        return entry;
+    }
+
+    private WaitlistEntryView toView(WaitlistEntry entry, Long accommodationId) {
+        Long position = entry.getStatus() == WaitlistEntry.WaitlistStatus.WAITING
+                ? waitlistRepository.countAhead(accommodationId, WaitlistEntry.WaitlistStatus.WAITING,
+                entry.getPriorityTier(), entry.getJoinedAt(), entry.getId()) + 1
+                : null;
+        return toView(entry, accommodationId, studentIdOf(entry), position);
+    }
+
+    private static WaitlistEntryView toView(WaitlistEntry entry, Long accommodationId, Long studentId, Long position) {
+        return new WaitlistEntryView(
+                entry.getId(),
+                studentId,
+                accommodationId,
+                entry.getStatus(),
+                entry.getPriorityTier(),
+                position,
+                entry.getJoinedAt(),
+                entry.getOfferedAt(),
+                entry.getHoldExpiresAt(),
+                entry.getBookingId());
+    }
+
+    private static Long studentIdOf(WaitlistEntry entry) {
+        return entry.getStudent() != null ? entry.getStudent().getStudentID() : null;
+    }
+
+    private record AcceptedOffer(WaitlistEntryView view, Booking booking, boolean created) {
+    }
+}
@@ -0,0 +1,221 @@
+package co.za.cput.service.business.search;
+
+import co.za.cput.dto.AccommodationSearchCriteria;
+import co.za.cput.dto.AccommodationSearchPage;
+import co.za.cput.dto.AccommodationSortOption;
+import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.dto.SearchCacheStats;
+import co.za.cput.service.business.AccommodationChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded least-recently-used cache of search results, keyed by normalized criteria plus the paging parameters.
+ * <p>
+ * The bound is on weight, the total number of listing rows held, so a few broad searches cannot crowd out many
+ * narrow ones; a single result heavier than a tenth of the budget is returned but not stored. Entries expire after
+ * a TTL as a backstop for writes that do not raise an {@link AccommodationChangedEvent}.
+ * <p>
+ * Invalidation is per listing: once a change commits, only entries whose results contained the listing or whose
+ * criteria match its new state are dropped. A load that overlaps any invalidation is not stored, so a search that
+ * read the old rows cannot re-cache them after the event. Rating-sorted pages depend on reviews rather than
+ * listing writes and are never cached.
+ */
+@Component
+public class AccommodationSearchCache {
+
+    private static final int ADMISSION_FRACTION = 10;
+
+    private final boolean enabled;
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<SearchKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Long, Set<SearchKey>> keysByAccommodation = new HashMap<>();
+    private long weight;
+    private long invalidationCount;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public AccommodationSearchCache(@Value("${app.search.cache.enabled:true}") boolean enabled,
+                                    @Value("${app.search.cache.max-weight:20000}") long maxWeight,
+                                    @Value("${app.search.cache.ttl-ms:60000}") long ttlMillis) {
+        this(enabled, maxWeight, ttlMillis, System::nanoTime);
+    }
+
+    AccommodationSearchCache(boolean enabled, long maxWeight, long ttlMillis, LongSupplier clock) {
+        this.enabled = enabled;
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.clock = clock;
+    }
+
+    public List<AccommodationSummary> search(AccommodationSearchCriteria criteria,
+                                             Supplier<List<AccommodationSummary>> loader) {
+        return lookup(new SearchKey(normalize(criteria), null, null, 0), loader, Function.identity());
+    }
+
+    public AccommodationSearchPage page(AccommodationSearchCriteria criteria,
+                                        AccommodationSortOption sort,
+                                        String pageToken,
+                                        int size,
+                                        Supplier<AccommodationSearchPage> loader) {
+        if (sort == AccommodationSortOption.RATING) {
+            return loader.get();
+        }
+        String token = pageToken == null || pageToken.isBlank() ? null : pageToken;
+        return lookup(new SearchKey(normalize(criteria), sort, token, size), loader, AccommodationSearchPage::items);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccommodationChanged(AccommodationChangedEvent event) {
+        if (!enabled || event == null || event.accommodationId() == null) {
+            return;
+        }
+
+        synchronized (this) {
+            invalidationCount++;
+            Set<SearchKey> containing = keysByAccommodation.get(event.accommodationId());
+            if (containing != null) {
+                for (SearchKey key : Set.copyOf(containing)) {
+                    remove(key);
+                    invalidations.increment();
+                }
+            }
+            if (event.summary() == null) {
+                return;
+            }
+            Iterator<Map.Entry<SearchKey, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<SearchKey, Entry> candidate = iterator.next();
+                if (candidate.getKey().criteria().matches(event.summary())) {
+                    iterator.remove();
+                    forget(candidate.getKey(), candidate.getValue());
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    public SearchCacheStats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        synchronized (this) {
+            return new SearchCacheStats(hitCount, missCount, evictions.sum(), invalidations.sum(),
+                    entries.size(), weight, maxWeight, lookups == 0 ? 0.0 : (double) hitCount / lookups);
+        }
+    }
+
+    private <T> T lookup(SearchKey key, Supplier<T> loader, Function<T, List<AccommodationSummary>> rowsOf) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        long loadStartedAfter;
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null && cached.expiresAt - clock.getAsLong() > 0) {
+                hits.increment();
+                @SuppressWarnings("unchecked")
+                T value = (T) cached.value;
+                return value;
+            }
+            if (cached != null) {
+                remove(key);
+            }
+            loadStartedAfter = invalidationCount;
+        }
+
+        misses.increment();
+        T value = loader.get();
+        List<AccommodationSummary> rows = rowsOf.apply(value);
+        long entryWeight = rows.size() + 1L;
+        if (entryWeight * ADMISSION_FRACTION > maxWeight) {
+            return value;
+        }
+
+        synchronized (this) {
+            if (invalidationCount != loadStartedAfter) {
+                return value;
+            }
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                forget(key, previous);
+            }
+            long[] ids = rows.stream().mapToLong(AccommodationSummary::id).toArray();
+            Entry entry = new Entry(value, entryWeight, clock.getAsLong() + ttlNanos, ids);
+            entries.put(key, entry);
+            weight += entryWeight;
+            for (long id : ids) {
+                keysByAccommodation.computeIfAbsent(id, ignored -> new HashSet<>()).add(key);
+            }
+            evictToBudget();
+        }
+        return value;
+    }
+
+    private void evictToBudget() {
+        Iterator<Map.Entry<SearchKey, Entry>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<SearchKey, Entry> victim = eldest.next();
+            eldest.remove();
+            forget(victim.getKey(), victim.getValue());
+            evictions.increment();
+        }
+    }
+
+    private void remove(SearchKey key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            forget(key, entry);
+        }
+    }
+
+    private void forget(SearchKey key, Entry entry) {
+        weight -= entry.weight;
+        for (long id : entry.ids) {
+            Set<SearchKey> keys = keysByAccommodation.get(id);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByAccommodation.remove(id);
+                }
+            }
+        }
+    }
+
+    private static AccommodationSearchCriteria normalize(AccommodationSearchCriteria criteria) {
+        AccommodationSearchCriteria present = criteria != null ? criteria
+                : AccommodationSearchCriteria.NONE;
+        return present.normalized();
+    }
+
+    private record SearchKey(AccommodationSearchCriteria criteria,
+                             AccommodationSortOption sort,
+                             String pageToken,
+                             int size) {
+    }
+
+    private record Entry(Object value, long weight, long expiresAt, long[] ids) {
+    }
+}
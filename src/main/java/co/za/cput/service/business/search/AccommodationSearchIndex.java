@@ -0,0 +1,576 @@
+package co.za.cput.service.business.search;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.dto.AccommodationFacets;
+import co.za.cput.dto.AccommodationPageToken;
+import co.za.cput.dto.AccommodationSearchCriteria;
+import co.za.cput.dto.AccommodationSortOption;
+import co.za.cput.dto.AccommodationSuggestion;
+import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.dto.GeoBounds;
+import co.za.cput.dto.GeoRadius;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.service.business.AccommodationChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process, column-oriented copy of the listing catalogue used to answer searches without a database round trip.
+ * <p>
+ * Numeric filters are kept in primitive arrays indexed by slot, boolean and enum filters as one {@link BitSet}
+ * per value, city/suburb/landlord as dictionary-encoded posting bitsets, and street, suburb, city and landlord
+ * names as a prefix-searchable {@link ListingTextIndex}. Coordinates are bucketed into a fixed-size
+ * latitude/longitude grid so radius and viewport searches only visit the cells they overlap. A search intersects
+ * the relevant bitsets, range-checks the surviving slots and keeps the best {@code limit} rows in a bounded heap.
+ * <p>
+ * The database stays the source of truth: the index is loaded when the application is ready, refreshed after
+ * every committed {@link AccommodationChangedEvent}, and rebuilt periodically to pick up writes made through
+ * other paths (for example accommodations cascaded from a landlord update). Rating order is not held here, so
+ * rating-sorted searches keep going to the database.
+ */
+@Component
+public class AccommodationSearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccommodationSearchIndex.class);
+
+    private final AccommodationRepository accommodationRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ListingColumns columns = new ListingColumns();
+    private List<AccommodationChangedEvent> changesDuringRebuild;
+    private volatile boolean ready;
+
+    public AccommodationSearchIndex(AccommodationRepository accommodationRepository,
+                                    @Value("${app.search.index.enabled:true}") boolean enabled) {
+        this.accommodationRepository = accommodationRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.search.index.rebuild-interval-ms:300000}",
+            fixedDelayString = "${app.search.index.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<AccommodationSummary> rows;
+        try {
+            rows = accommodationRepository.findSummaries(null, 0);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Unable to load the accommodation search index; searches will use the database.", exception);
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        ListingColumns rebuilt = new ListingColumns();
+        rows.forEach(rebuilt::put);
+
+        lock.writeLock().lock();
+        try {
+            // Replay writes that committed while the snapshot was loading so the swap cannot lose them.
+            changesDuringRebuild.forEach(rebuilt::apply);
+            changesDuringRebuild = null;
+            columns = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        LOGGER.debug("Accommodation search index loaded {} listings.", rebuilt.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccommodationChanged(AccommodationChangedEvent event) {
+        if (!enabled || event == null || event.accommodationId() == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            columns.apply(event);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean canServe(AccommodationSortOption sort) {
+        return ready && sort != AccommodationSortOption.RATING;
+    }
+
+    /**
+     * Returns up to {@code limit} listings matching the criteria that come after {@code after} in the given sort
+     * order. A null sort returns matches by ascending id and a {@code limit} of zero or less returns every match.
+     */
+    public List<AccommodationSummary> find(AccommodationSearchCriteria criteria,
+                                           AccommodationSortOption sort,
+                                           AccommodationPageToken after,
+                                           int limit) {
+        lock.readLock().lock();
+        try {
+            return columns.find(criteria, sort, after, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the listings matching the criteria per facet in a single pass over the surviving slots.
+     */
+    public AccommodationFacets facets(AccommodationSearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            return columns.facets(criteria);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Autocomplete over street, suburb, city and landlord names; see {@link ListingTextIndex#suggest}.
+     */
+    public List<AccommodationSuggestion> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return columns.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class ListingColumns {
+
+        private static final int INITIAL_CAPACITY = 1024;
+        private static final BitSet NONE = new BitSet();
+        private static final double GRID_CELL_DEGREES = 0.02; // roughly 2 km at Cape Town's latitude
+        private static final long GRID_COLUMNS = (long) Math.ceil(360 / GRID_CELL_DEGREES) + 1;
+        private static final int MAX_GRID_CELLS_PER_QUERY = 4096;
+        private static final long NO_CELL = Long.MIN_VALUE;
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private double[] rents = new double[INITIAL_CAPACITY];
+        private double[] distances = new double[INITIAL_CAPACITY];
+        private double[] latitudes = new double[INITIAL_CAPACITY];
+        private double[] longitudes = new double[INITIAL_CAPACITY];
+        private long[] gridCells = new long[INITIAL_CAPACITY];
+        private int[] cityCodes = new int[INITIAL_CAPACITY];
+        private int[] suburbCodes = new int[INITIAL_CAPACITY];
+        private AccommodationSummary[] rows = new AccommodationSummary[INITIAL_CAPACITY];
+        private int highWaterMark;
+
+        private final Map<Long, Integer> slotsById = new HashMap<>();
+        private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+
+        private final BitSet live = new BitSet();
+        private final BitSet wifi = new BitSet();
+        private final BitSet furnished = new BitSet();
+        private final BitSet utilities = new BitSet();
+        private final BitSet[] roomTypes = newBitSets(Accommodation.RoomType.values().length);
+        private final BitSet[] bathroomTypes = newBitSets(Accommodation.BathroomType.values().length);
+        private final BitSet[] statuses = newBitSets(Accommodation.AccommodationStatus.values().length);
+        private final Dictionary cities = new Dictionary();
+        private final Dictionary suburbs = new Dictionary();
+        private final Map<Long, BitSet> landlords = new HashMap<>();
+        private final Map<Long, BitSet> grid = new HashMap<>();
+        private final ListingTextIndex text = new ListingTextIndex();
+
+        int size() {
+            return slotsById.size();
+        }
+
+        void apply(AccommodationChangedEvent event) {
+            if (event.isDeletion()) {
+                remove(event.accommodationId());
+            } else {
+                put(event.summary());
+            }
+        }
+
+        void put(AccommodationSummary summary) {
+            if (summary == null || summary.id() == null) {
+                return;
+            }
+
+            Integer existing = slotsById.get(summary.id());
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                clear(slot);
+            } else {
+                slot = allocate();
+                slotsById.put(summary.id(), slot);
+            }
+
+            ids[slot] = summary.id();
+            rents[slot] = summary.rent();
+            distances[slot] = summary.distanceFromCampus();
+            boolean located = summary.latitude() != null && summary.longitude() != null;
+            latitudes[slot] = located ? summary.latitude() : Double.NaN;
+            longitudes[slot] = located ? summary.longitude() : Double.NaN;
+            gridCells[slot] = located ? gridCell(summary.latitude(), summary.longitude()) : NO_CELL;
+            if (located) {
+                grid.computeIfAbsent(gridCells[slot], key -> new BitSet()).set(slot);
+            }
+            rows[slot] = summary;
+            text.add(slot, summary);
+            live.set(slot);
+            wifi.set(slot, summary.wifiAvailable());
+            furnished.set(slot, summary.furnished());
+            utilities.set(slot, summary.utilitiesIncluded());
+            if (summary.roomType() != null) {
+                roomTypes[summary.roomType().ordinal()].set(slot);
+            }
+            if (summary.bathroomType() != null) {
+                bathroomTypes[summary.bathroomType().ordinal()].set(slot);
+            }
+            if (summary.status() != null) {
+                statuses[summary.status().ordinal()].set(slot);
+            }
+            cityCodes[slot] = cities.add(summary.city(), slot);
+            suburbCodes[slot] = suburbs.add(summary.suburb(), slot);
+            if (summary.landlordId() != null) {
+                landlords.computeIfAbsent(summary.landlordId(), key -> new BitSet()).set(slot);
+            }
+        }
+
+        void remove(Long accommodationId) {
+            Integer slot = slotsById.remove(accommodationId);
+            if (slot == null) {
+                return;
+            }
+            clear(slot);
+            freeSlots.push(slot);
+        }
+
+        private int allocate() {
+            if (!freeSlots.isEmpty()) {
+                return freeSlots.pop();
+            }
+            if (highWaterMark == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                rents = Arrays.copyOf(rents, capacity);
+                distances = Arrays.copyOf(distances, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                gridCells = Arrays.copyOf(gridCells, capacity);
+                cityCodes = Arrays.copyOf(cityCodes, capacity);
+                suburbCodes = Arrays.copyOf(suburbCodes, capacity);
+                rows = Arrays.copyOf(rows, capacity);
+            }
+            return highWaterMark++;
+        }
+
+        private void clear(int slot) {
+            AccommodationSummary previous = rows[slot];
+            live.clear(slot);
+            wifi.clear(slot);
+            furnished.clear(slot);
+            utilities.clear(slot);
+            clearAll(roomTypes, slot);
+            clearAll(bathroomTypes, slot);
+            clearAll(statuses, slot);
+            cities.remove(cityCodes[slot], slot);
+            suburbs.remove(suburbCodes[slot], slot);
+            if (gridCells[slot] != NO_CELL) {
+                BitSet cell = grid.get(gridCells[slot]);
+                if (cell != null) {
+                    cell.clear(slot);
+                    if (cell.isEmpty()) {
+                        grid.remove(gridCells[slot]);
+                    }
+                }
+                gridCells[slot] = NO_CELL;
+            }
+            if (previous != null) {
+                text.remove(slot, previous);
+            }
+            if (previous != null && previous.landlordId() != null) {
+                BitSet owned = landlords.get(previous.landlordId());
+                if (owned != null) {
+                    owned.clear(slot);
+                    if (owned.isEmpty()) {
+                        landlords.remove(previous.landlordId());
+                    }
+                }
+            }
+            rows[slot] = null;
+        }
+
+        List<AccommodationSummary> find(AccommodationSearchCriteria criteria,
+                                        AccommodationSortOption sort,
+                                        AccommodationPageToken after,
+                                        int limit) {
+            BitSet matches = candidates(criteria);
+            Comparator<Integer> order = order(sort);
+            boolean bounded = limit > 0;
+            // Max-heap on the sort order: the head is the worst row kept so far and is evicted first.
+            PriorityQueue<Integer> kept = new PriorityQueue<>(bounded ? limit + 1 : 16, order.reversed());
+
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                if (!withinRanges(slot, criteria) || (after != null && !comesAfter(slot, sort, after))) {
+                    continue;
+                }
+                kept.offer(slot);
+                if (bounded && kept.size() > limit) {
+                    kept.poll();
+                }
+            }
+
+            List<Integer> slots = new ArrayList<>(kept);
+            slots.sort(order);
+            List<AccommodationSummary> results = new ArrayList<>(slots.size());
+            for (int slot : slots) {
+                results.add(rows[slot]);
+            }
+            return results;
+        }
+
+        List<AccommodationSuggestion> suggest(String prefix, int limit) {
+            return text.suggest(prefix, limit);
+        }
+
+        AccommodationFacets facets(AccommodationSearchCriteria criteria) {
+            BitSet matches = candidates(criteria);
+            AccommodationFacets.Tally tally = new AccommodationFacets.Tally();
+            for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+                if (withinRanges(slot, criteria)) {
+                    tally.add(rows[slot]);
+                }
+            }
+            return tally.toFacets();
+        }
+
+        /**
+         * Intersects the bitset-backed filters. The result still has to pass {@link #withinRanges} per slot.
+         */
+        private BitSet candidates(AccommodationSearchCriteria criteria) {
+            BitSet matches = (BitSet) live.clone();
+            if (criteria == null) {
+                return matches;
+            }
+
+            restrict(matches, wifi, criteria.wifiAvailable());
+            restrict(matches, furnished, criteria.furnished());
+            restrict(matches, utilities, criteria.utilitiesIncluded());
+            if (criteria.roomType() != null) {
+                matches.and(roomTypes[criteria.roomType().ordinal()]);
+            }
+            if (criteria.bathroomType() != null) {
+                matches.and(bathroomTypes[criteria.bathroomType().ordinal()]);
+            }
+            if (criteria.status() != null) {
+                matches.and(statuses[criteria.status().ordinal()]);
+            }
+            if (criteria.city() != null && !criteria.city().isBlank()) {
+                matches.and(cities.postings(criteria.city()));
+            }
+            if (criteria.suburb() != null) {
+                matches.and(suburbs.postings(criteria.suburb()));
+            }
+            if (criteria.landlordId() != null) {
+                matches.and(landlords.getOrDefault(criteria.landlordId(), NONE));
+            }
+            criteria.textOptional().ifPresent(query -> matches.and(text.match(query)));
+            if (criteria.near() != null) {
+                restrictToGrid(matches, criteria.near().bounds());
+            }
+            if (criteria.viewport() != null) {
+                restrictToGrid(matches, criteria.viewport());
+            }
+            return matches;
+        }
+
+        private boolean withinRanges(int slot, AccommodationSearchCriteria criteria) {
+            if (criteria == null) {
+                return true;
+            }
+            GeoRadius near = criteria.near();
+            GeoBounds viewport = criteria.viewport();
+            return (criteria.minRent() == null || rents[slot] >= criteria.minRent())
+                    && (criteria.maxRent() == null || rents[slot] <= criteria.maxRent())
+                    && (criteria.maxDistanceFromCampus() == null || distances[slot] <= criteria.maxDistanceFromCampus())
+                    && (near == null || near.contains(latitudes[slot], longitudes[slot]))
+                    && (viewport == null || viewport.contains(latitudes[slot], longitudes[slot]));
+        }
+
+        private Comparator<Integer> order(AccommodationSortOption sort) {
+            if (sort == null) {
+                return (left, right) -> Long.compare(ids[left], ids[right]);
+            }
+            return switch (sort) {
+                case NEWEST -> (left, right) -> Long.compare(ids[right], ids[left]);
+                case RENT -> byKeyThenId(rents);
+                case DISTANCE -> byKeyThenId(distances);
+                case RATING -> throw new IllegalArgumentException("Rating order is served by the database.");
+            };
+        }
+
+        private Comparator<Integer> byKeyThenId(double[] keys) {
+            return (left, right) -> {
+                int byKey = Double.compare(keys[left], keys[right]);
+                return byKey != 0 ? byKey : Long.compare(ids[left], ids[right]);
+            };
+        }
+
+        private boolean comesAfter(int slot, AccommodationSortOption sort, AccommodationPageToken after) {
+            if (sort == AccommodationSortOption.NEWEST) {
+                return ids[slot] < after.accommodationId();
+            }
+            double key = sort == AccommodationSortOption.RENT ? rents[slot] : distances[slot];
+            return key > after.sortValue()
+                    || (key == after.sortValue() && ids[slot] > after.accommodationId());
+        }
+
+        /**
+         * Narrows the candidates to slots in grid cells overlapping the box. Very large boxes (zoomed-out maps)
+         * skip the narrowing and rely on the per-slot coordinate check instead of visiting thousands of cells.
+         */
+        private void restrictToGrid(BitSet matches, GeoBounds box) {
+            long firstRow = gridRow(box.south());
+            long lastRow = gridRow(box.north());
+            long westColumn = gridColumn(box.west());
+            long eastColumn = gridColumn(box.east());
+            long columns = box.crossesAntimeridian()
+                    ? (GRID_COLUMNS - westColumn) + eastColumn + 1
+                    : eastColumn - westColumn + 1;
+            if ((lastRow - firstRow + 1) * columns > MAX_GRID_CELLS_PER_QUERY) {
+                return;
+            }
+
+            BitSet covered = new BitSet();
+            for (long row = firstRow; row <= lastRow; row++) {
+                for (long offset = 0; offset < columns; offset++) {
+                    long column = (westColumn + offset) % GRID_COLUMNS;
+                    BitSet cell = grid.get(row * GRID_COLUMNS + column);
+                    if (cell != null) {
+                        covered.or(cell);
+                    }
+                }
+            }
+            matches.and(covered);
+        }
+
+        private static long gridCell(double latitude, double longitude) {
+            return gridRow(latitude) * GRID_COLUMNS + gridColumn(longitude);
+        }
+
+        private static long gridRow(double latitude) {
+            return (long) Math.floor((latitude + 90) / GRID_CELL_DEGREES);
+        }
+
+        private static long gridColumn(double longitude) {
+            return (long) Math.floor((longitude + 180) / GRID_CELL_DEGREES);
+        }
+
+        private static void restrict(BitSet matches, BitSet flag, Boolean wanted) {
+            if (wanted == null) {
+                return;
+            }
+            if (wanted) {
+                matches.and(flag);
+            } else {
+                matches.andNot(flag);
+            }
+        }
+
+        private static BitSet[] newBitSets(int count) {
+            BitSet[] bitSets = new BitSet[count];
+            for (int i = 0; i < count; i++) {
+                bitSets[i] = new BitSet();
+            }
+            return bitSets;
+        }
+
+        private static void clearAll(BitSet[] bitSets, int slot) {
+            for (BitSet bitSet : bitSets) {
+                bitSet.clear(slot);
+            }
+        }
+    }
+
+    /**
+     * Case-insensitive string dictionary: each distinct value gets a small integer code and a posting bitset of
+     * the slots holding it. Codes are never recycled; the number of distinct cities and suburbs is small.
+     */
+    private static final class Dictionary {
+
+        private static final int ABSENT = -1;
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<BitSet> postings = new ArrayList<>();
+
+        int add(String value, int slot) {
+            if (value == null) {
+                return ABSENT;
+            }
+            int code = codes.computeIfAbsent(normalise(value), key -> {
+                postings.add(new BitSet());
+                return postings.size() - 1;
+            });
+            postings.get(code).set(slot);
+            return code;
+        }
+
+        void remove(int code, int slot) {
+            if (code != ABSENT) {
+                postings.get(code).clear(slot);
+            }
+        }
+
+        BitSet postings(String value) {
+            Integer code = codes.get(normalise(value));
+            return code == null ? ListingColumns.NONE : postings.get(code);
+        }
+
+        private static String normalise(String value) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
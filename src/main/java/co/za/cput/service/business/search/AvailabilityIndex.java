@@ -0,0 +1,131 @@
+package co.za.cput.service.business.search;
+
+import co.za.cput.domain.business.Booking;
+import co.za.cput.dto.BookingStay;
+import co.za.cput.repository.business.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-process calendar of confirmed stays, one {@link StayCalendar} per listing that has any, used to answer
+ * "which listings are free for these dates" without reading the booking table.
+ * <p>
+ * A listing is booked out for a range when, on some night of it, its stays fill every bed; listings whose beds are
+ * not tracked count as one unit. Listings without dated stays are not held at all, so a date search only touches
+ * listings that have been booked. The database stays the source of truth: the index is loaded when the application
+ * is ready, a listing is reloaded after each committed change to its confirmed stays, and the whole index is
+ * rebuilt periodically to pick up bookings edited through the plain CRUD endpoints.
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private final BookingRepository bookingRepository;
+
+    private volatile Map<Long, ListingStays> listings = new ConcurrentHashMap<>();
+    private volatile Set<Long> refreshedDuringRebuild;
+    private volatile boolean ready;
+
+    public AvailabilityIndex(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Beds a listing can have in use on one night: its bed capacity, or one when beds are not tracked.
+     */
+    public static int stayCapacity(Integer bedCapacity) {
+        return bedCapacity != null ? bedCapacity : 1;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.availability.rebuild-interval-ms:300000}",
+            fixedDelayString = "${app.availability.rebuild-interval-ms:300000}")
+    public synchronized void rebuild() {
+        refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+        Map<Long, ListingStays> rebuilt;
+        try {
+            rebuilt = group(bookingRepository.findConfirmedStays(Booking.BookingStatus.CONFIRMED));
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Unable to load the availability index; date searches will use the database.", exception);
+            refreshedDuringRebuild = null;
+            return;
+        }
+
+        listings = new ConcurrentHashMap<>(rebuilt);
+        ready = true;
+        // Listings changed while the snapshot was loading are reloaded so the swap cannot lose them.
+        Set<Long> changed = refreshedDuringRebuild;
+        refreshedDuringRebuild = null;
+        changed.forEach(this::refresh);
+        LOGGER.debug("Availability index loaded {} booked listings.", rebuilt.size());
+    }
+
+    /**
+     * Reloads one listing's stays; call after a transaction that confirmed or un-confirmed one of its bookings has
+     * committed.
+     */
+    public void refresh(Long accommodationId) {
+        if (accommodationId == null) {
+            return;
+        }
+        Set<Long> pending = refreshedDuringRebuild;
+        if (pending != null) {
+            pending.add(accommodationId);
+        }
+        // Loading inside compute orders concurrent reloads of one listing, so an older read never wins.
+        listings.compute(accommodationId, (id, previous) -> {
+            List<BookingStay> stays = bookingRepository.findConfirmedStaysFor(id, Booking.BookingStatus.CONFIRMED);
+            return stays.isEmpty() ? null : new ListingStays(stayCapacity(stays.get(0).bedCapacity()), new StayCalendar(stays));
+        });
+    }
+
+    /**
+     * Listings with no free bed on at least one night of [from, to).
+     */
+    public Set<Long> bookedOut(LocalDate from, LocalDate to) {
+        Map<Long, ListingStays> source = ready
+                ? listings
+                : group(bookingRepository.findConfirmedStaysOverlapping(from, to, Booking.BookingStatus.CONFIRMED));
+        Set<Long> bookedOut = new HashSet<>();
+        source.forEach((accommodationId, stays) -> {
+            if (stays.calendar().peakOccupancy(from, to, null) >= stays.capacity()) {
+                bookedOut.add(accommodationId);
+            }
+        });
+        return bookedOut;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private static Map<Long, ListingStays> group(List<BookingStay> stays) {
+        Map<Long, ListingStays> grouped = new HashMap<>();
+        stays.stream()
+                .collect(Collectors.groupingBy(BookingStay::accommodationId))
+                .forEach((accommodationId, listingStays) -> grouped.put(accommodationId, new ListingStays(
+                        stayCapacity(listingStays.get(0).bedCapacity()), new StayCalendar(listingStays))));
+        return grouped;
+    }
+
+    private record ListingStays(int capacity, StayCalendar calendar) {
+    }
+}
@@ -0,0 +1,222 @@
+package co.za.cput.service.business.search;
+
+import co.za.cput.dto.AccommodationSuggestion;
+import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.util.Helper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Inverted index over the names a student might type: street address, suburb, city and landlord name.
+ * <p>
+ * Every distinct (field, name) pair is a {@link Phrase} holding the slots of the listings that carry it, and
+ * phrases are reachable from a character trie keyed by each of their tokens. Resolving a typed prefix walks one
+ * trie node per character and then only visits the subtree below it, so lookups do not depend on catalogue size.
+ * <p>
+ * Not thread-safe: {@link AccommodationSearchIndex} guards it with its read/write lock.
+ */
+final class ListingTextIndex {
+
+    private static final Comparator<Phrase> BY_RELEVANCE = Comparator
+            .comparingInt((Phrase phrase) -> phrase.slots.cardinality()).reversed()
+            .thenComparing(phrase -> phrase.field)
+            .thenComparing(phrase -> phrase.text);
+
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    private final TrieNode root = new TrieNode();
+
+    void add(int slot, AccommodationSummary summary) {
+        names(summary).forEach((field, name) -> {
+            List<String> tokens = Helper.toSearchTokens(name);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            Phrase phrase = phrases.computeIfAbsent(key(field, tokens), key -> {
+                Phrase created = new Phrase(field, name.trim(), tokens);
+                tokens.forEach(token -> root.add(token, created));
+                return created;
+            });
+            phrase.slots.set(slot);
+        });
+    }
+
+    void remove(int slot, AccommodationSummary summary) {
+        names(summary).forEach((field, name) -> {
+            List<String> tokens = Helper.toSearchTokens(name);
+            String key = key(field, tokens);
+            Phrase phrase = phrases.get(key);
+            if (phrase == null) {
+                return;
+            }
+            phrase.slots.clear(slot);
+            if (phrase.slots.isEmpty()) {
+                phrase.tokens.forEach(token -> root.remove(token, phrase));
+                phrases.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Slots whose names contain, for every query token, some word starting with it. Tokens may be satisfied by
+     * different fields, so "main rondebosch" finds Main Road listings in Rondebosch.
+     */
+    BitSet match(String text) {
+        List<String> tokens = Helper.toSearchTokens(text);
+        BitSet result = null;
+        for (String token : tokens.subList(0, Math.min(tokens.size(), Helper.MAX_QUERY_TOKENS))) {
+            BitSet withToken = new BitSet();
+            root.visit(token, phrase -> withToken.or(phrase.slots));
+            if (result == null) {
+                result = withToken;
+            } else {
+                result.and(withToken);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result == null ? new BitSet() : result;
+    }
+
+    /**
+     * Names whose words cover every typed token, the last one as a prefix, most-listed first.
+     */
+    List<AccommodationSuggestion> suggest(String text, int limit) {
+        List<String> tokens = Helper.toSearchTokens(text);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        tokens = tokens.subList(0, Math.min(tokens.size(), Helper.MAX_QUERY_TOKENS));
+        List<String> leading = tokens.subList(0, tokens.size() - 1);
+
+        Set<Phrase> candidates = new LinkedHashSet<>();
+        root.visit(tokens.get(tokens.size() - 1), candidates::add);
+
+        List<Phrase> matches = new ArrayList<>();
+        for (Phrase phrase : candidates) {
+            if (leading.stream().allMatch(phrase::hasWordStartingWith)) {
+                matches.add(phrase);
+            }
+        }
+        matches.sort(BY_RELEVANCE);
+
+        List<AccommodationSuggestion> suggestions = new ArrayList<>(Math.min(limit, matches.size()));
+        for (Phrase phrase : matches.subList(0, Math.min(limit, matches.size()))) {
+            suggestions.add(new AccommodationSuggestion(phrase.text, phrase.field, phrase.slots.cardinality()));
+        }
+        return suggestions;
+    }
+
+    private static Map<AccommodationSuggestion.Field, String> names(AccommodationSummary summary) {
+        Map<AccommodationSuggestion.Field, String> names = new HashMap<>(4);
+        putIfPresent(names, AccommodationSuggestion.Field.SUBURB, summary.suburb());
+        putIfPresent(names, AccommodationSuggestion.Field.CITY, summary.city());
+        putIfPresent(names, AccommodationSuggestion.Field.STREET, summary.streetAddress());
+        putIfPresent(names, AccommodationSuggestion.Field.LANDLORD, summary.landlordName());
+        return names;
+    }
+
+    private static void putIfPresent(Map<AccommodationSuggestion.Field, String> names,
+                                     AccommodationSuggestion.Field field,
+                                     String name) {
+        if (name != null && !name.isBlank()) {
+            names.put(field, name);
+        }
+    }
+
+    private static String key(AccommodationSuggestion.Field field, List<String> tokens) {
+        return field.name() + ':' + String.join(" ", tokens);
+    }
+
+    private static final class Phrase {
+
+        private final AccommodationSuggestion.Field field;
+        private final String text;
+        private final List<String> tokens;
+        private final BitSet slots = new BitSet();
+
+        private Phrase(AccommodationSuggestion.Field field, String text, List<String> tokens) {
+            this.field = field;
+            this.text = text;
+            this.tokens = tokens;
+        }
+
+        private boolean hasWordStartingWith(String prefix) {
+            for (String token : tokens) {
+                if (token.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class TrieNode {
+
+        private final Map<Character, TrieNode> children = new HashMap<>(4);
+        private Set<Phrase> phrases;
+
+        void add(String token, Phrase phrase) {
+            TrieNode node = this;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.children.computeIfAbsent(token.charAt(i), key -> new TrieNode());
+            }
+            if (node.phrases == null) {
+                node.phrases = new LinkedHashSet<>(2);
+            }
+            node.phrases.add(phrase);
+        }
+
+        void remove(String token, Phrase phrase) {
+            TrieNode[] path = new TrieNode[token.length() + 1];
+            path[0] = this;
+            for (int i = 0; i < token.length(); i++) {
+                path[i + 1] = path[i].children.get(token.charAt(i));
+                if (path[i + 1] == null) {
+                    return;
+                }
+            }
+
+            TrieNode leaf = path[token.length()];
+            if (leaf.phrases != null) {
+                leaf.phrases.remove(phrase);
+                if (leaf.phrases.isEmpty()) {
+                    leaf.phrases = null;
+                }
+            }
+            // Prune the branch back up to the first node that still leads somewhere.
+            for (int i = token.length(); i > 0 && path[i].phrases == null && path[i].children.isEmpty(); i--) {
+                path[i - 1].children.remove(token.charAt(i - 1));
+            }
+        }
+
+        void visit(String prefix, Consumer<Phrase> visitor) {
+            TrieNode node = this;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return;
+            }
+
+            ArrayDeque<TrieNode> pending = new ArrayDeque<>();
+            pending.push(node);
+            while (!pending.isEmpty()) {
+                TrieNode current = pending.pop();
+                if (current.phrases != null) {
+                    current.phrases.forEach(visitor);
+                }
+                current.children.values().forEach(pending::push);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package co.za.cput.service.business.search;
+
+import co.za.cput.dto.BookingStay;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable interval tree over one listing's stays, each the half-open day range [check-in, check-out).
+ * <p>
+ * Stays are sorted by check-in and the sorted array is read as an implicit balanced tree: the node for a range is
+ * its middle element, and {@code maxEnd} holds the latest check-out in that node's subtree. An overlap query skips
+ * every subtree that ends before the range and every right subtree that starts after it, so it costs
+ * O(log n + k) for k overlapping stays. Stays without both dates are left out.
+ */
+public final class StayCalendar {
+
+    private static final Comparator<BookingStay> BY_CHECK_IN = Comparator
+            .comparing(BookingStay::checkInDate)
+            .thenComparing(BookingStay::checkOutDate)
+            .thenComparing(BookingStay::bookingId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final long[] bookingIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnd;
+
+    public StayCalendar(Collection<BookingStay> stays) {
+        BookingStay[] sorted = stays.stream().filter(BookingStay::isDated).sorted(BY_CHECK_IN).toArray(BookingStay[]::new);
+        int size = sorted.length;
+        bookingIds = new long[size];
+        starts = new long[size];
+        ends = new long[size];
+        maxEnd = new long[size];
+        for (int i = 0; i < size; i++) {
+            bookingIds[i] = sorted[i].bookingId() != null ? sorted[i].bookingId() : -1;
+            starts[i] = sorted[i].checkInDate().toEpochDay();
+            ends[i] = sorted[i].checkOutDate().toEpochDay();
+        }
+        build(0, size - 1);
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Ids of the stays sharing at least one night with [from, to).
+     */
+    public List<Long> overlapping(LocalDate from, LocalDate to) {
+        List<Long> ids = new ArrayList<>();
+        visit(0, size() - 1, from.toEpochDay(), to.toEpochDay(), node -> ids.add(bookingIds[node]));
+        return ids;
+    }
+
+    /**
+     * The most stays in progress on any one night of [from, to), leaving out the given booking (null for none).
+     */
+    public int peakOccupancy(LocalDate from, LocalDate to, Long excludedBookingId) {
+        return peakOccupancy(from, to, excludedBookingId, List.of());
+    }
+
+    /**
+     * As {@link #peakOccupancy(LocalDate, LocalDate, Long)}, also counting stays not yet in the calendar.
+     */
+    public int peakOccupancy(LocalDate from, LocalDate to, Long excludedBookingId, Collection<BookingStay> additional) {
+        long rangeStart = from.toEpochDay();
+        long rangeEnd = to.toEpochDay();
+        List<long[]> clipped = new ArrayList<>();
+        visit(0, size() - 1, rangeStart, rangeEnd, node -> {
+            if (excludedBookingId == null || bookingIds[node] != excludedBookingId) {
+                clipped.add(new long[]{Math.max(starts[node], rangeStart), Math.min(ends[node], rangeEnd)});
+            }
+        });
+        for (BookingStay stay : additional) {
+            if (stay.isDated() && stay.checkInDate().toEpochDay() < rangeEnd && stay.checkOutDate().toEpochDay() > rangeStart
+                    && (excludedBookingId == null || !excludedBookingId.equals(stay.bookingId()))) {
+                clipped.add(new long[]{Math.max(stay.checkInDate().toEpochDay(), rangeStart),
+                        Math.min(stay.checkOutDate().toEpochDay(), rangeEnd)});
+            }
+        }
+        return peak(clipped);
+    }
+
+    /**
+     * The most of the given [start, end) epoch-day intervals open on any one day; an interval ending on a day does
+     * not overlap one starting on it.
+     */
+    static int peak(List<long[]> intervals) {
+        long[] opens = new long[intervals.size()];
+        long[] closes = new long[intervals.size()];
+        for (int i = 0; i < opens.length; i++) {
+            opens[i] = intervals.get(i)[0];
+            closes[i] = intervals.get(i)[1];
+        }
+        Arrays.sort(opens);
+        Arrays.sort(closes);
+        int open = 0;
+        int peak = 0;
+        int closed = 0;
+        for (long start : opens) {
+            while (closed < closes.length && closes[closed] <= start) {
+                closed++;
+                open--;
+            }
+            open++;
+            peak = Math.max(peak, open);
+        }
+        return peak;
+    }
+
+    private long build(int lo, int hi) {
+        if (lo > hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long latest = Math.max(ends[mid], Math.max(build(lo, mid - 1), build(mid + 1, hi)));
+        maxEnd[mid] = latest;
+        return latest;
+    }
+
+    private void visit(int lo, int hi, long from, long to, IntConsumer action) {
+        if (lo > hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (maxEnd[mid] <= from) {
+            return;
+        }
+        visit(lo, mid - 1, from, to, action);
+        if (starts[mid] >= to) {
+            return;
+        }
+        if (ends[mid] > from) {
+            action.accept(mid);
+        }
+        visit(mid + 1, hi, from, to, action);
+    }
+}
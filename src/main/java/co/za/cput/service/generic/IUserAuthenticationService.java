@@ -4,12 +4,14 @@ import co.za.cput.domain.generic.UserAuthentication;
 import co.za.cput.service.IService;
 
 import java.util.List;
-import java.util.Optional;
 
 public interface IUserAuthenticationService extends IService<UserAuthentication, Long> {
     List<UserAuthentication> getAllUserAuthentications();
 
     boolean existsByUsernameOrEmail(String usernameOrEmail);
 
-    Optional<UserAuthentication> findByUsernameOrEmail(String usernameOrEmail);
+    /**
+     * Every row an email or username matches, oldest first; accounts of different roles may share an email.
+     */
+    List<UserAuthentication> findAllByUsernameOrEmail(String usernameOrEmail);
 }
\ No newline at end of file
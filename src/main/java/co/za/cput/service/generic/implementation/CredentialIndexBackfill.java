@@ -0,0 +1,46 @@
+package co.za.cput.service.generic.implementation;
+
+import co.za.cput.repository.generic.CredentialIndexRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Indexes accounts saved before the index was kept in step with the user tables, adopting the row their contact
+ * already holds where there is one. Accounts without an email, or without a password anywhere, are skipped, as
+ * they cannot log in.
+ */
+@Component
+public class CredentialIndexBackfill {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CredentialIndexBackfill.class);
+
+    private final CredentialIndexRepository credentialIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public CredentialIndexBackfill(CredentialIndexRepository credentialIndex,
+                                   PlatformTransactionManager transactionManager) {
+        this.credentialIndex = credentialIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @return the number of rows adopted or added
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfill() {
+        int added = 0;
+        for (CredentialIndexRepository.Account account : CredentialIndexRepository.Account.values()) {
+            Integer rows = transactionTemplate.execute(status -> credentialIndex.backfill(account));
+            added += rows != null ? rows : 0;
+        }
+        if (added > 0) {
+            LOGGER.info("Added {} existing account(s) to the credential index.", added);
+        }
+        return added;
+    }
+}
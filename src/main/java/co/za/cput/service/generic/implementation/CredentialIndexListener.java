@@ -0,0 +1,96 @@
+package co.za.cput.service.generic.implementation;
+
+import co.za.cput.domain.generic.Contact;
+import co.za.cput.domain.users.Administrator;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.domain.users.Student;
+import co.za.cput.repository.generic.CredentialIndexRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreDeleteEvent;
+import org.hibernate.event.spi.PreDeleteEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mirrors every write to a student, landlord, administrator or contact into the credential index, in the same
+ * transaction, so the index stays complete whichever service or repository saved the account. It registers itself
+ * with Hibernate's event listeners, which keeps the entities unaware of the index.
+ */
+@Component
+public class CredentialIndexListener implements PostInsertEventListener, PostUpdateEventListener,
+        PreDeleteEventListener {
+
+    private final CredentialIndexRepository credentialIndex;
+
+    public CredentialIndexListener(CredentialIndexRepository credentialIndex,
+                                   EntityManagerFactory entityManagerFactory) {
+        this.credentialIndex = credentialIndex;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.PRE_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        saved(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        saved(event.getEntity());
+    }
+
+    @Override
+    public boolean onPreDelete(PreDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Student student) {
+            credentialIndex.remove(CredentialIndexRepository.Account.STUDENT, student.getStudentID());
+        } else if (entity instanceof Landlord landlord) {
+            credentialIndex.remove(CredentialIndexRepository.Account.LANDLORD, landlord.getLandlordID());
+        } else if (entity instanceof Administrator administrator) {
+            credentialIndex.remove(CredentialIndexRepository.Account.ADMINISTRATOR, administrator.getAdminID());
+        }
+        return false;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void saved(Object entity) {
+        if (entity instanceof Student student) {
+            Contact contact = student.getContact();
+            credentialIndex.upsert(CredentialIndexRepository.Account.STUDENT, student.getStudentID(),
+                    contactId(contact), email(contact), student.getPassword());
+        } else if (entity instanceof Landlord landlord) {
+            Contact contact = landlord.getContact();
+            credentialIndex.upsert(CredentialIndexRepository.Account.LANDLORD, landlord.getLandlordID(),
+                    contactId(contact), email(contact), landlord.getPassword());
+        } else if (entity instanceof Administrator administrator) {
+            Contact contact = administrator.getContact();
+            credentialIndex.upsert(CredentialIndexRepository.Account.ADMINISTRATOR, administrator.getAdminID(),
+                    contactId(contact), email(contact), administrator.getAdminPassword());
+        } else if (entity instanceof Contact contact) {
+            credentialIndex.renameContact(contact.getContactID(), contact.getEmail());
+        }
+    }
+
+    private static Long contactId(Contact contact) {
+        return contact != null ? contact.getContactID() : null;
+    }
+
+    private static String email(Contact contact) {
+        return contact != null ? contact.getEmail() : null;
+    }
+}
@@ -0,0 +1,316 @@
+package co.za.cput.service.generic.implementation;
+
+import co.za.cput.domain.generic.IdempotencyRecord;
+import co.za.cput.repository.generic.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs a POST at most once per {@code Idempotency-Key}, so a client retrying over a bad connection gets the first
+ * response back instead of a second write. Keys are scoped per endpoint and tied to a hash of the request body; the
+ * same key with a different body is refused.
+ * <p>
+ * Outcomes are held in a bounded in-memory map for {@code app.idempotency.ttl-ms}. A duplicate arriving while the
+ * first request is still running waits for it and replays its response; if the first request fails, one waiting
+ * duplicate runs in its place. Server errors are not kept, so a retry after one runs again. With
+ * {@code app.idempotency.persistence.enabled} the outcome is also written to the database, which covers retries that
+ * land on another node or arrive after a restart; a duplicate in flight on another node gets a 409.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_PERSISTED_BODY_LENGTH = 10000;
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final ObjectMapper objectMapper;
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean persistenceEnabled;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final long waitMillis;
+    private final LongSupplier clock;
+
+    // Insertion order is expiry order, as every entry lives for the same TTL.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyService(ObjectMapper objectMapper,
+                              IdempotencyRecordRepository recordRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.idempotency.persistence.enabled:false}") boolean persistenceEnabled,
+                              @Value("${app.idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${app.idempotency.ttl-ms:86400000}") long ttlMillis,
+                              @Value("${app.idempotency.wait-timeout-ms:30000}") long waitMillis) {
+        this(objectMapper, recordRepository, transactionManager, persistenceEnabled, maxEntries, ttlMillis, waitMillis,
+                System::nanoTime);
+    }
+
+    IdempotencyService(ObjectMapper objectMapper,
+                       IdempotencyRecordRepository recordRepository,
+                       PlatformTransactionManager transactionManager,
+                       boolean persistenceEnabled,
+                       int maxEntries,
+                       long ttlMillis,
+                       long waitMillis,
+                       LongSupplier clock) {
+        this.objectMapper = objectMapper;
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.persistenceEnabled = persistenceEnabled;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttl = Duration.ofMillis(Math.max(1, ttlMillis));
+        this.waitMillis = Math.max(0, waitMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Runs {@code action} unless a request with the same key already ran or is running for {@code scope}.
+     *
+     * @param key the client's {@code Idempotency-Key} header; without one the action simply runs
+     * @param request the request body, hashed to tell a true retry from a reused key
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        String trimmed = key.trim();
+        if (trimmed.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters.");
+        }
+        String recordKey = scope + ":" + trimmed;
+        String fingerprint = fingerprint(request);
+
+        // Loops only when the request waited on failed without an outcome to replay.
+        while (true) {
+            Entry entry;
+            boolean first;
+            synchronized (this) {
+                long now = clock.getAsLong();
+                evictExpired(now);
+                entry = entries.get(recordKey);
+                first = entry == null;
+                if (first) {
+                    entry = new Entry(fingerprint, now + ttl.toNanos());
+                    entries.put(recordKey, entry);
+                    evictToSize();
+                }
+            }
+            if (first) {
+                return runFirst(recordKey, entry, action);
+            }
+            if (!entry.fingerprint().equals(fingerprint)) {
+                return keyReused();
+            }
+            StoredResponse outcome;
+            try {
+                outcome = entry.outcome().get(waitMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException exception) {
+                return stillRunning();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return stillRunning();
+            } catch (ExecutionException exception) {
+                outcome = null;
+            }
+            if (outcome != null) {
+                return outcome.replay();
+            }
+        }
+    }
+
+    /**
+     * Deletes persisted outcomes past their TTL.
+     *
+     * @return the number of rows deleted
+     */
+    @Scheduled(initialDelayString = "${app.idempotency.cleanup-interval-ms:600000}",
+            fixedDelayString = "${app.idempotency.cleanup-interval-ms:600000}")
+    public int purgeExpired() {
+        if (!persistenceEnabled) {
+            return 0;
+        }
+        Integer deleted = transactionTemplate.execute(status -> recordRepository.deleteExpired(LocalDateTime.now()));
+        return deleted != null ? deleted : 0;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private ResponseEntity<?> runFirst(String recordKey, Entry entry, Supplier<ResponseEntity<?>> action) {
+        StoredResponse outcome = null;
+        boolean claimed = false;
+        try {
+            if (persistenceEnabled) {
+                IdempotencyRecord record = recordRepository.findById(recordKey).orElse(null);
+                if (record != null && record.getExpiresAt().isAfter(LocalDateTime.now())) {
+                    if (!record.getFingerprint().equals(entry.fingerprint())) {
+                        return keyReused();
+                    }
+                    if (!record.isCompleted()) {
+                        return stillRunning();
+                    }
+                    outcome = new StoredResponse(record.getStatus(), record.getContentType(), record.getBody());
+                    return outcome.replay();
+                }
+                claimed = claim(recordKey, entry.fingerprint(), record != null);
+                if (!claimed) {
+                    return stillRunning();
+                }
+            }
+            ResponseEntity<?> response = action.get();
+            if (!response.getStatusCode().is5xxServerError()) {
+                outcome = toStored(response);
+                if (outcome != null && claimed) {
+                    claimed = !persist(recordKey, outcome);
+                }
+            }
+            return response;
+        } finally {
+            entry.outcome().complete(outcome);
+            if (outcome == null) {
+                synchronized (this) {
+                    entries.remove(recordKey, entry);
+                }
+            }
+            if (claimed) {
+                // Nothing worth keeping: give the key back so a retry runs.
+                transactionTemplate.executeWithoutResult(status -> recordRepository.deleteById(recordKey));
+            }
+        }
+    }
+
+    private boolean claim(String recordKey, String fingerprint, boolean replaceExpired) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (replaceExpired) {
+                    recordRepository.deleteById(recordKey);
+                    recordRepository.flush();
+                }
+                recordRepository.claim(recordKey, fingerprint, now, now.plus(ttl));
+            });
+            return true;
+        } catch (DataIntegrityViolationException exception) {
+            return false;
+        }
+    }
+
+    // Returns whether the outcome was stored; bodies too large for the column stay in memory only.
+    private boolean persist(String recordKey, StoredResponse outcome) {
+        if (outcome.body() != null && outcome.body().length() > MAX_PERSISTED_BODY_LENGTH) {
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                recordRepository.complete(recordKey, outcome.status(), outcome.contentType(), outcome.body()));
+        return true;
+    }
+
+    private StoredResponse toStored(ResponseEntity<?> response) {
+        Object body = response.getBody();
+        int status = response.getStatusCode().value();
+        if (body == null) {
+            return new StoredResponse(status, null, null);
+        }
+        if (body instanceof String text) {
+            return new StoredResponse(status, MediaType.TEXT_PLAIN_VALUE, text);
+        }
+        try {
+            return new StoredResponse(status, MediaType.APPLICATION_JSON_VALUE, objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException exception) {
+            LOGGER.warn("Could not keep the response for an idempotent request; a retry will run again.", exception);
+            return null;
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] body = request == null ? new byte[0] : objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException exception) {
+            // Falls back to a hash of the string form, which still tells different requests apart in practice.
+            return Integer.toHexString(String.valueOf(request).hashCode());
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (eldest.hasNext()) {
+            Entry entry = eldest.next().getValue();
+            if (entry.expiresAt() - now > 0) {
+                return;
+            }
+            if (entry.outcome().isDone()) {
+                eldest.remove();
+            }
+        }
+    }
+
+    // Requests still running are never evicted, so the bound can be exceeded by the number in flight.
+    private void evictToSize() {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            if (eldest.next().getValue().outcome().isDone()) {
+                eldest.remove();
+            }
+        }
+    }
+
+    private static ResponseEntity<String> keyReused() {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(HEADER + " was already used for a different request.");
+    }
+
+    private static ResponseEntity<String> stillRunning() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("A request with this " + HEADER + " is still being processed. Please retry shortly.");
+    }
+
+    private record Entry(String fingerprint, long expiresAt, CompletableFuture<StoredResponse> outcome) {
+        Entry(String fingerprint, long expiresAt) {
+            this(fingerprint, expiresAt, new CompletableFuture<>());
+        }
+    }
+
+    private record StoredResponse(int status, String contentType, String body) {
+
+        ResponseEntity<String> replay() {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).header(REPLAYED_HEADER, "true");
+            if (contentType != null) {
+                builder.contentType(MediaType.parseMediaType(contentType));
+            }
+            return builder.body(body);
+        }
+    }
+}
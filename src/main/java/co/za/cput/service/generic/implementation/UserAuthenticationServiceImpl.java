@@ -63,10 +63,11 @@ public class UserAuthenticationServiceImpl implements IUserAuthenticationService
     }
 
     @Override
-    public Optional<UserAuthentication> findByUsernameOrEmail(String usernameOrEmail) {
+    public List<UserAuthentication> findAllByUsernameOrEmail(String usernameOrEmail) {
         return normalize(usernameOrEmail)
-                .flatMap(value -> userAuthenticationRepository
-                        .findByUsernameIgnoreCaseOrContact_EmailIgnoreCase(value, value));
+                .map(value -> userAuthenticationRepository
+                        .findAllByUsernameIgnoreCaseOrContact_EmailIgnoreCaseOrderByAuthenticationIdAsc(value, value))
+                .orElse(List.of());
     }
 
     private Optional<String> normalize(String usernameOrEmail) {
@@ -0,0 +1,59 @@
+package co.za.cput.service.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stands in for an SMTP relay: appends each notification to a file as one JSON line, which is enough to see what
+ * would have been mailed when running locally or in tests. The file holds recipients' addresses and messages, so
+ * the channel is only created when {@code app.notifications.file.enabled} is set to true.
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.file.enabled", havingValue = "true")
+public class FileNotificationChannel implements NotificationChannel {
+
+    static final String NAME = "file";
+
+    private final Path path;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public FileNotificationChannel(
+            @Value("${app.notifications.file.path:${java.io.tmpdir}/cput-housing-notifications.jsonl}") String path) {
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public synchronized void deliver(Notification notification) throws IOException {
+        Map<String, String> line = new LinkedHashMap<>();
+        line.put("id", notification.idempotencyKey());
+        line.put("to", notification.recipientEmail());
+        line.put("subject", notification.subject());
+        line.put("body", notification.body());
+        line.put("writtenAt", LocalDateTime.now().toString());
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.writeString(path, objectMapper.writeValueAsString(line) + System.lineSeparator(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    Path path() {
+        return path;
+    }
+}
@@ -0,0 +1,9 @@
+package co.za.cput.service.notification;
+
+/**
+ * One message handed to a {@link NotificationChannel}. The idempotency key is the same on every attempt at the
+ * same outbox row, so a receiver can drop the copy sent again after a dispatcher died between sending and
+ * recording the send.
+ */
+public record Notification(String idempotencyKey, String recipientEmail, String subject, String body) {
+}
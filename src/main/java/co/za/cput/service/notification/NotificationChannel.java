@@ -0,0 +1,19 @@
+package co.za.cput.service.notification;
+
+/**
+ * A way of delivering notifications, such as email. Every channel bean gets its own copy of each notification, so
+ * adding a channel is a matter of declaring another bean; the outbox keeps retrying one channel without resending
+ * on the others.
+ */
+public interface NotificationChannel {
+
+    /**
+     * The name stored on outbox rows; it must not change while rows for the channel are pending.
+     */
+    String name();
+
+    /**
+     * Delivers the notification or throws, in which case it is retried later.
+     */
+    void deliver(Notification notification) throws Exception;
+}
@@ -0,0 +1,182 @@
+package co.za.cput.service.notification;
+
+import co.za.cput.domain.notification.OutboxMessage;
+import co.za.cput.repository.notification.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the notification outbox off the request threads. Each batch is claimed in one short transaction, sent
+ * with no transaction or lock held, and settled in another, so a slow channel never holds up the changes being
+ * announced. A failed send is retried with exponential backoff until {@code app.notifications.max-attempts}, after
+ * which the row is left FAILED for someone to look at. Delivery is at least once: a dispatcher that dies between
+ * sending and settling leaves the row to be claimed again when its lease runs out, and the repeat carries the same
+ * idempotency key.
+ */
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationDispatcher.class);
+    private static final int MAX_BATCHES_PER_RUN = 10;
+    private static final Duration MAX_BACKOFF = Duration.ofHours(6);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxMessageRepository outboxRepository;
+    private final Map<String, NotificationChannel> channels;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBase;
+    private final Duration lease;
+
+    public NotificationDispatcher(OutboxMessageRepository outboxRepository,
+                                  List<NotificationChannel> channels,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.notifications.batch-size:100}") int batchSize,
+                                  @Value("${app.notifications.max-attempts:8}") int maxAttempts,
+                                  @Value("${app.notifications.retry-base-ms:30000}") long retryBaseMs,
+                                  @Value("${app.notifications.lease-ms:120000}") long leaseMs) {
+        this.outboxRepository = outboxRepository;
+        this.channels = channels.stream().collect(Collectors.toMap(NotificationChannel::name, Function.identity()));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBase = Duration.ofMillis(Math.max(0, retryBaseMs));
+        this.lease = Duration.ofMillis(Math.max(1, leaseMs));
+    }
+
+    /**
+     * Sends due notifications a batch at a time, stopping after a short batch or {@value #MAX_BATCHES_PER_RUN}
+     * batches so a large backlog does not hold the scheduler thread from the other jobs.
+     *
+     * @return the number of notifications sent
+     */
+    @Scheduled(initialDelayString = "${app.notifications.dispatch-interval-ms:5000}",
+            fixedDelayString = "${app.notifications.dispatch-interval-ms:5000}")
+    public int dispatch() {
+        int sent = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            BatchOutcome outcome = dispatchBatch();
+            sent += outcome.sent();
+            if (outcome.claimed() < batchSize) {
+                break;
+            }
+        }
+        return sent;
+    }
+
+    private BatchOutcome dispatchBatch() {
+        String token = UUID.randomUUID().toString();
+        List<OutboxMessage> claimed = transactionTemplate.execute(status -> claim(token));
+        if (claimed == null || claimed.isEmpty()) {
+            return new BatchOutcome(0, 0);
+        }
+
+        Map<OutboxMessage.RecipientType, Map<Long, String>> emails = findEmails(claimed);
+        List<Long> sentIds = new ArrayList<>();
+        Map<OutboxMessage, String> failures = new HashMap<>();
+        for (OutboxMessage message : claimed) {
+            NotificationChannel channel = channels.get(message.getChannel());
+            String email = emails.getOrDefault(message.getRecipientType(), Map.of()).get(message.getRecipientId());
+            if (channel == null) {
+                failures.put(message, "No notification channel named '" + message.getChannel() + "'.");
+            } else if (email == null || email.isBlank()) {
+                failures.put(message, "The recipient has no email address.");
+            } else {
+                try {
+                    channel.deliver(new Notification("outbox-" + message.getId(), email,
+                            message.getSubject(), message.getBody()));
+                    sentIds.add(message.getId());
+                } catch (Exception exception) {
+                    LOGGER.debug("Sending notification {} on {} failed.", message.getId(), channel.name(), exception);
+                    failures.put(message, exception.getClass().getSimpleName() + ": " + exception.getMessage());
+                }
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxRepository.settle(sentIds, token, OutboxMessage.OutboxStatus.SENT, now, null, null);
+            }
+            failures.forEach((message, error) -> settleFailure(message, error, token, now));
+        });
+        if (!failures.isEmpty()) {
+            LOGGER.warn("{} of {} notification(s) could not be sent and will be retried where attempts remain.",
+                    failures.size(), claimed.size());
+        }
+        return new BatchOutcome(claimed.size(), sentIds.size());
+    }
+
+    private List<OutboxMessage> claim(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = outboxRepository.findDueIds(OutboxMessage.OutboxStatus.PENDING, now,
+                PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return List.of();
+        }
+        if (outboxRepository.claim(dueIds, OutboxMessage.OutboxStatus.PENDING, now, token, now.plus(lease)) == 0) {
+            return List.of();
+        }
+        return outboxRepository.findByClaimTokenOrderById(token);
+    }
+
+    private void settleFailure(OutboxMessage message, String error, String token, LocalDateTime now) {
+        String trimmed = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (message.getAttempts() >= maxAttempts) {
+            outboxRepository.settle(List.of(message.getId()), token, OutboxMessage.OutboxStatus.FAILED,
+                    null, null, trimmed);
+        } else {
+            outboxRepository.settle(List.of(message.getId()), token, OutboxMessage.OutboxStatus.PENDING,
+                    null, now.plus(backoff(message.getAttempts())), trimmed);
+        }
+    }
+
+    // Doubles from the base per attempt made: with the defaults 30s, 1m, 2m, ... capped at six hours.
+    Duration backoff(int attempts) {
+        Duration delay = retryBase.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private Map<OutboxMessage.RecipientType, Map<Long, String>> findEmails(List<OutboxMessage> messages) {
+        Map<OutboxMessage.RecipientType, Set<Long>> recipients = new HashMap<>();
+        for (OutboxMessage message : messages) {
+            recipients.computeIfAbsent(message.getRecipientType(), ignored -> new HashSet<>())
+                    .add(message.getRecipientId());
+        }
+        Map<OutboxMessage.RecipientType, Map<Long, String>> emails = new HashMap<>();
+        recipients.forEach((type, ids) -> emails.put(type, toMap(switch (type) {
+            case STUDENT -> outboxRepository.findStudentEmails(ids);
+            case LANDLORD -> outboxRepository.findLandlordEmails(ids);
+        })));
+        return emails;
+    }
+
+    private static Map<Long, String> toMap(Collection<Object[]> rows) {
+        Map<Long, String> emails = new HashMap<>();
+        rows.forEach(row -> emails.put((Long) row[0], (String) row[1]));
+        return emails;
+    }
+
+    private record BatchOutcome(int claimed, int sent) {
+    }
+}
@@ -0,0 +1,140 @@
+package co.za.cput.service.notification;
+
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.business.Verification;
+import co.za.cput.domain.notification.OutboxMessage;
+import co.za.cput.repository.notification.OutboxMessageRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the notifications a change calls for, in the transaction making the change; nothing is sent here.
+ * {@link NotificationDispatcher} sends them once the change has committed, so a rolled back change announces
+ * nothing and a committed one is announced even if the application stops right after.
+ */
+@Service
+public class NotificationOutbox {
+
+    private static final int MAX_BODY_LENGTH = 1000;
+
+    private final OutboxMessageRepository outboxRepository;
+    private final List<NotificationChannel> channels;
+
+    public NotificationOutbox(OutboxMessageRepository outboxRepository, List<NotificationChannel> channels) {
+        this.outboxRepository = outboxRepository;
+        this.channels = channels;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingStatusChanged(Long bookingId, Long studentId, Booking.BookingStatus status) {
+        bookingStatusesChanged(List.of(new BookingStatusNotice(bookingId, studentId, status)));
+    }
+
+    /**
+     * Tells each student their application's new status; one batched insert however many changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bookingStatusesChanged(List<BookingStatusNotice> notices) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (BookingStatusNotice notice : notices) {
+            if (notice.studentId() == null || notice.status() == null) {
+                continue;
+            }
+            String subject = switch (notice.status()) {
+                case CONFIRMED -> "Your application has been confirmed";
+                case FAILED -> "Your application was not successful";
+                case IN_PROGRESS -> "Your application is being reviewed";
+            };
+            String body = switch (notice.status()) {
+                case CONFIRMED -> "Good news: your application #" + notice.bookingId()
+                        + " has been confirmed by the landlord.";
+                case FAILED -> "Your application #" + notice.bookingId()
+                        + " was not successful. You can apply for other listings at any time.";
+                case IN_PROGRESS -> "Your application #" + notice.bookingId()
+                        + " is being reviewed by the landlord again.";
+            };
+            addForEachChannel(messages, OutboxMessage.EventType.BOOKING_STATUS_CHANGED, notice.bookingId(),
+                    OutboxMessage.RecipientType.STUDENT, notice.studentId(), subject, body, now);
+        }
+        outboxRepository.append(messages);
+    }
+
+    /**
+     * Tells each student that their application lapsed because the landlord did not answer it in time.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applicationsExpired(List<BookingStatusNotice> notices, int expiryDays) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (BookingStatusNotice notice : notices) {
+            if (notice.studentId() == null) {
+                continue;
+            }
+            addForEachChannel(messages, OutboxMessage.EventType.APPLICATION_EXPIRED, notice.bookingId(),
+                    OutboxMessage.RecipientType.STUDENT, notice.studentId(),
+                    "Your application has expired",
+                    "Your application #" + notice.bookingId() + " received no answer from the landlord within "
+                            + expiryDays + " days and has been closed. You are free to apply again.",
+                    now);
+        }
+        outboxRepository.append(messages);
+    }
+
+    /**
+     * Tells the landlord the outcome of a listing verification, with the administrator's notes on a rejection.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void listingVerified(Long verificationId,
+                                Long accommodationId,
+                                Long landlordId,
+                                Verification.VerificationStatus status,
+                                String notes) {
+        if (landlordId == null || status == null || status == Verification.VerificationStatus.PENDING) {
+            return;
+        }
+        String subject = status == Verification.VerificationStatus.APPROVED
+                ? "Your listing has been verified"
+                : "Your listing could not be verified";
+        String body = status == Verification.VerificationStatus.APPROVED
+                ? "Listing #" + accommodationId + " passed verification and is now shown as verified to students."
+                : "Listing #" + accommodationId + " did not pass verification."
+                + (notes != null && !notes.isBlank() ? " Notes from the administrator: " + notes.trim() : "");
+        List<OutboxMessage> messages = new ArrayList<>();
+        addForEachChannel(messages, OutboxMessage.EventType.LISTING_VERIFIED, verificationId,
+                OutboxMessage.RecipientType.LANDLORD, landlordId, subject, body, LocalDateTime.now());
+        outboxRepository.append(messages);
+    }
+
+    private void addForEachChannel(List<OutboxMessage> messages,
+                                   OutboxMessage.EventType eventType,
+                                   Long subjectId,
+                                   OutboxMessage.RecipientType recipientType,
+                                   Long recipientId,
+                                   String subject,
+                                   String body,
+                                   LocalDateTime now) {
+        for (NotificationChannel channel : channels) {
+            messages.add(new OutboxMessage.Builder()
+                    .setEventType(eventType)
+                    .setSubjectId(subjectId)
+                    .setRecipientType(recipientType)
+                    .setRecipientId(recipientId)
+                    .setChannel(channel.name())
+                    .setSubject(subject)
+                    .setBody(body.length() > MAX_BODY_LENGTH ? body.substring(0, MAX_BODY_LENGTH) : body)
+                    .setStatus(OutboxMessage.OutboxStatus.PENDING)
+                    .setNextAttemptAt(now)
+                    .setCreatedAt(now)
+                    .build());
+        }
+    }
+
+    public record BookingStatusNotice(Long bookingId, Long studentId, Booking.BookingStatus status) {
+    }
+}
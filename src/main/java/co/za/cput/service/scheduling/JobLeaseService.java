@@ -0,0 +1,81 @@
+package co.za.cput.service.scheduling;
+
+import co.za.cput.repository.scheduling.JobLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database leases for scheduled jobs that must run on one node at a time. A lease is taken for at most a given
+ * time, so a node that dies mid-run holds the job up for no longer than that; long runs extend it as they go.
+ * Lease times come from each node's clock, so nodes are assumed to keep their clocks in step.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobLeaseService.class);
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    public JobLeaseService(JobLeaseRepository jobLeaseRepository, PlatformTransactionManager transactionManager) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = hostName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Takes the job's lease, or extends it when this node already holds it.
+     *
+     * @return whether this node holds the lease for {@code leaseFor} from now
+     */
+    public boolean tryAcquire(String jobName, Duration leaseFor) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(leaseFor);
+        Integer taken = transactionTemplate.execute(status ->
+                jobLeaseRepository.takeOrExtend(jobName, owner, now, leaseUntil));
+        if (taken != null && taken > 0) {
+            return true;
+        }
+        if (jobLeaseRepository.existsById(jobName)) {
+            return false;
+        }
+        try {
+            // First run of the job anywhere: whichever node inserts the row holds the lease.
+            transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.create(jobName, owner, leaseUntil));
+            return true;
+        } catch (DataIntegrityViolationException exception) {
+            LOGGER.debug("Another node created the lease for {} first.", jobName);
+            return false;
+        }
+    }
+
+    /**
+     * Gives the lease up early so the next run, on any node, need not wait for it to run out.
+     */
+    public void release(String jobName) {
+        transactionTemplate.executeWithoutResult(status ->
+                jobLeaseRepository.release(jobName, owner, LocalDateTime.now()));
+    }
+
+    String owner() {
+        return owner;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception exception) {
+            return "unknown-host";
+        }
+    }
+}
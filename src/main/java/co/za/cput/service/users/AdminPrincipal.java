@@ -0,0 +1,8 @@
+package co.za.cput.service.users;
+
+/**
+ * The administrator behind a verified session token, as seen by controllers through
+ * {@code @AuthenticationPrincipal}. Only active administrators ever get one.
+ */
+public record AdminPrincipal(Long adminId, boolean superAdmin) {
+}
@@ -0,0 +1,222 @@
+package co.za.cput.service.users;
+
+import co.za.cput.domain.users.Administrator;
+import co.za.cput.repository.users.AdministratorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Issues and checks the session tokens administrators get at login, so admin actions are authorised by an HMAC
+ * check instead of a BCrypt verification of a password sent with every request.
+ * <p>
+ * A token is {@code payload.signature}, both base64url: the payload names the administrator, the expiry and a stamp
+ * derived from the stored password hash, and the signature is HMAC-SHA256 over it with
+ * {@code app.security.admin-session.secret}. Changing the password changes the stamp, which revokes every token
+ * issued before. Whether the administrator is still active, a super administrator, and on the current stamp is
+ * read from a small cache that expires after {@code principal-cache.ttl-ms}, so a suspension takes effect within
+ * that time. Without a configured secret a random key is generated, and tokens last only until a restart and
+ * work only on the node that issued them.
+ */
+@Service
+public class AdminSessionTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdminSessionTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final AdministratorRepository administratorRepository;
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final int maxCachedPrincipals;
+    private final long cacheTtlNanos;
+    private final LongSupplier clock;
+    private final Supplier<Instant> now;
+
+    private final LinkedHashMap<Long, CachedAdministrator> principals = new LinkedHashMap<>(64, 0.75f, true);
+
+    @Autowired
+    public AdminSessionTokenService(AdministratorRepository administratorRepository,
+                                    @Value("${app.security.admin-session.secret:}") String secret,
+                                    @Value("${app.security.admin-session.ttl-ms:28800000}") long ttlMillis,
+                                    @Value("${app.security.admin-session.principal-cache.max-entries:1000}") int maxCachedPrincipals,
+                                    @Value("${app.security.admin-session.principal-cache.ttl-ms:60000}") long cacheTtlMillis) {
+        this(administratorRepository, secret, ttlMillis, maxCachedPrincipals, cacheTtlMillis, System::nanoTime,
+                Instant::now);
+    }
+
+    AdminSessionTokenService(AdministratorRepository administratorRepository,
+                             String secret,
+                             long ttlMillis,
+                             int maxCachedPrincipals,
+                             long cacheTtlMillis,
+                             LongSupplier clock,
+                             Supplier<Instant> now) {
+        this.administratorRepository = administratorRepository;
+        this.key = new SecretKeySpec(resolveSecret(secret), ALGORITHM);
+        this.ttl = Duration.ofMillis(Math.max(1, ttlMillis));
+        this.maxCachedPrincipals = Math.max(1, maxCachedPrincipals);
+        this.cacheTtlNanos = Duration.ofMillis(Math.max(0, cacheTtlMillis)).toNanos();
+        this.clock = clock;
+        this.now = now;
+    }
+
+    /**
+     * A token for an administrator who has just proved their password. Callers must only pass active accounts.
+     */
+    public AdminSessionToken issue(Administrator administrator) {
+        return issue(administrator.getAdminID(), administrator.getAdminPassword());
+    }
+
+    /**
+     * A token for an administrator who has just proved the given stored password hash, as read from the credential
+     * index. Callers must only pass active accounts.
+     */
+    public AdminSessionToken issue(Long adminId, String passwordHash) {
+        Instant expiresAt = now.get().plus(ttl);
+        String payload = VERSION + "." + adminId + "." + expiresAt.getEpochSecond() + "." + stamp(passwordHash);
+        String encoded = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return new AdminSessionToken(encoded + "." + ENCODER.encodeToString(sign(encoded)), expiresAt);
+    }
+
+    /**
+     * The administrator a token was issued to, if it is well formed, correctly signed, unexpired, and the account
+     * is still active on the same password.
+     */
+    public Optional<AdminPrincipal> authenticate(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        String encoded = token.substring(0, dot);
+        String[] fields;
+        try {
+            if (!MessageDigest.isEqual(sign(encoded), DECODER.decode(token.substring(dot + 1)))) {
+                return Optional.empty();
+            }
+            fields = new String(DECODER.decode(encoded), StandardCharsets.UTF_8).split("\\.");
+        } catch (IllegalArgumentException malformed) {
+            return Optional.empty();
+        }
+        if (fields.length != 4 || !VERSION.equals(fields[0])) {
+            return Optional.empty();
+        }
+        long adminId;
+        long expiresAt;
+        try {
+            adminId = Long.parseLong(fields[1]);
+            expiresAt = Long.parseLong(fields[2]);
+        } catch (NumberFormatException malformed) {
+            return Optional.empty();
+        }
+        if (now.get().getEpochSecond() >= expiresAt) {
+            return Optional.empty();
+        }
+        CachedAdministrator administrator = lookup(adminId);
+        if (administrator == null || !administrator.active() || !administrator.stamp().equals(fields[3])) {
+            return Optional.empty();
+        }
+        return Optional.of(new AdminPrincipal(adminId, administrator.superAdmin()));
+    }
+
+    /**
+     * Drops the cached state for an administrator, so a change to the account applies to their next request.
+     */
+    public synchronized void evict(Long adminId) {
+        principals.remove(adminId);
+    }
+
+    synchronized int cachedPrincipals() {
+        return principals.size();
+    }
+
+    private CachedAdministrator lookup(long adminId) {
+        long current = clock.getAsLong();
+        synchronized (this) {
+            CachedAdministrator cached = principals.get(adminId);
+            if (cached != null && current - cached.loadedAt() < cacheTtlNanos) {
+                return cached;
+            }
+        }
+        // Loaded outside the lock; two requests racing on a miss both read, which is harmless.
+        CachedAdministrator loaded = administratorRepository.findById(adminId)
+                .map(administrator -> new CachedAdministrator(
+                        administrator.getAdminRoleStatus() == Administrator.AdminRoleStatus.ACTIVE,
+                        administrator.isSuperAdmin(), stamp(administrator.getAdminPassword()), current))
+                .orElse(null);
+        if (loaded != null) {
+            synchronized (this) {
+                principals.put(adminId, loaded);
+                if (principals.size() > maxCachedPrincipals) {
+                    principals.remove(principals.keySet().iterator().next());
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("HMAC-SHA256 is unavailable.", exception);
+        }
+    }
+
+    // Short and one-way, so the token reveals nothing usable about the hash it is derived from.
+    private static String stamp(String passwordHash) {
+        String hash = passwordHash != null ? passwordHash : "";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(hash.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is unavailable.", exception);
+        }
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            byte[] configured = secret.getBytes(StandardCharsets.UTF_8);
+            if (configured.length < 32) {
+                LOGGER.warn("app.security.admin-session.secret is shorter than 32 bytes; use a longer random value.");
+            }
+            return configured;
+        }
+        LOGGER.warn("No app.security.admin-session.secret configured; admin sessions will not survive a restart "
+                + "or work across nodes.");
+        byte[] generated = new byte[32];
+        new SecureRandom().nextBytes(generated);
+        return generated;
+    }
+
+    public record AdminSessionToken(String token, Instant expiresAt) {
+    }
+
+    private record CachedAdministrator(boolean active, boolean superAdmin, String stamp, long loadedAt) {
+    }
+}
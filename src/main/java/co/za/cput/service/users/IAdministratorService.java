@@ -24,6 +24,11 @@ public interface IAdministratorService extends IService<Administrator, Long> {
 
     Landlord verifyLandlord(Long adminId, String adminPassword, Long landlordId, boolean approved);
 
+    Landlord verifyLandlord(AdminPrincipal session, Long landlordId, boolean approved);
+
     Verification verifyListing(Long adminId, String adminPassword, Long verificationId,
                                Verification.VerificationStatus status, String notes);
+
+    Verification verifyListing(AdminPrincipal session, Long verificationId,
+                               Verification.VerificationStatus status, String notes);
 }
@@ -1,63 +1,264 @@
 package co.za.cput.service.users;
 
+import co.za.cput.dto.LoginThrottleStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
-import java.time.Instant;
+import java.util.Comparator;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
+/**
+ * Locks out logins after too many failures, counted separately per email and per client IP. Failures are counted
+ * over a sliding window, approximated from the current and previous fixed windows, and reaching the limit locks the
+ * key for {@code app.security.login.lockout-ms}. Each key's state is an immutable {@link Window} swapped atomically
+ * by {@link ConcurrentHashMap#compute}, so concurrent failures are never lost.
+ * <p>
+ * Memory is bounded: keys idle for two windows are swept on a schedule, and once {@code max-tracked-keys} is
+ * reached a new key displaces the least recently failed keys, unlocked ones first, so every new key is still counted.
+ * A burst spread over many emails still trips the per-IP limit. A successful login clears only the email's failures, so one valid account cannot be used to reset
+ * an IP's count.
+ */
 @Component
 public class LoginRateLimiter {
 
-    private static final int MAX_ATTEMPTS = 5;
-    private static final Duration LOCKOUT_DURATION = Duration.ofMinutes(15);
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoginRateLimiter.class);
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String IP_PREFIX = "ip:";
+    private static final long MIN_SWEEP_GAP_NANOS = Duration.ofSeconds(1).toNanos();
+    private static final Comparator<Map.Entry<String, Window>> DISPLACE_FIRST =
+            Comparator.comparing((Map.Entry<String, Window> entry) -> entry.getValue().locked())
+                    .thenComparingLong(entry -> entry.getValue().lastFailure());
 
-    private final Map<String, LoginAttempt> attempts = new ConcurrentHashMap<>();
+    private final int maxAttemptsPerEmail;
+    private final int maxAttemptsPerIp;
+    private final long windowNanos;
+    private final long lockoutNanos;
+    private final int maxTrackedKeys;
+    private final LongSupplier clock;
 
-    public boolean isBlocked(String email) {
-        LoginAttempt attempt = attempts.get(email);
-        if (attempt == null) {
-            return false;
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep;
+
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LongAdder blockedByEmail = new LongAdder();
+    private final LongAdder blockedByIp = new LongAdder();
+    private final LongAdder emailLockouts = new LongAdder();
+    private final LongAdder ipLockouts = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder displaced = new LongAdder();
+
+    @Autowired
+    public LoginRateLimiter(@Value("${app.security.login.max-attempts-per-email:5}") int maxAttemptsPerEmail,
+                            @Value("${app.security.login.max-attempts-per-ip:50}") int maxAttemptsPerIp,
+                            @Value("${app.security.login.window-ms:900000}") long windowMillis,
+                            @Value("${app.security.login.lockout-ms:900000}") long lockoutMillis,
+                            @Value("${app.security.login.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this(maxAttemptsPerEmail, maxAttemptsPerIp, windowMillis, lockoutMillis, maxTrackedKeys, System::nanoTime);
+    }
+
+    LoginRateLimiter(int maxAttemptsPerEmail,
+                     int maxAttemptsPerIp,
+                     long windowMillis,
+                     long lockoutMillis,
+                     int maxTrackedKeys,
+                     LongSupplier clock) {
+        this.maxAttemptsPerEmail = Math.max(1, maxAttemptsPerEmail);
+        this.maxAttemptsPerIp = Math.max(1, maxAttemptsPerIp);
+        this.windowNanos = Duration.ofMillis(Math.max(1, windowMillis)).toNanos();
+        this.lockoutNanos = Duration.ofMillis(Math.max(1, lockoutMillis)).toNanos();
+        this.maxTrackedKeys = Math.max(1, maxTrackedKeys);
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong() - MIN_SWEEP_GAP_NANOS);
+    }
+
+    /**
+     * How long until a login for this email from this address may be tried again.
+     *
+     * @param clientIp the caller's address; {@code null} checks the email only
+     * @return {@link Duration#ZERO} when the login may go ahead
+     */
+    public Duration retryAfter(String email, String clientIp) {
+        long now = clock.getAsLong();
+        long emailWait = lockedFor(EMAIL_PREFIX + email, now);
+        long ipWait = clientIp != null ? lockedFor(IP_PREFIX + clientIp, now) : 0;
+        if (emailWait > 0) {
+            blockedByEmail.increment();
+        } else if (ipWait > 0) {
+            blockedByIp.increment();
         }
+        return Duration.ofNanos(Math.max(emailWait, ipWait));
+    }
+
+    public void recordFailedAttempt(String email, String clientIp) {
+        long now = clock.getAsLong();
+        failedAttempts.increment();
+        if (fail(EMAIL_PREFIX + email, maxAttemptsPerEmail, now)) {
+            emailLockouts.increment();
+        }
+        if (clientIp != null && fail(IP_PREFIX + clientIp, maxAttemptsPerIp, now)) {
+            ipLockouts.increment();
+            LOGGER.warn("Locked out logins from {} after {} failed attempts.", clientIp, maxAttemptsPerIp);
+        }
+    }
 
-        if (attempt.lockExpiresAt != null) {
-            if (Instant.now().isAfter(attempt.lockExpiresAt)) {
-                attempts.remove(email);
-                return false;
+    public void resetAttempts(String email) {
+        windows.remove(EMAIL_PREFIX + email);
+    }
+
+    /**
+     * Drops keys with no lockout and no failures left in the sliding window.
+     *
+     * @return the number of keys dropped
+     */
+    @Scheduled(initialDelayString = "${app.security.login.cleanup-interval-ms:60000}",
+            fixedDelayString = "${app.security.login.cleanup-interval-ms:60000}")
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        lastSweep.set(now);
+        int dropped = 0;
+        for (String key : windows.keySet()) {
+            // Re-checked under the key's lock, so a failure recorded meanwhile is not dropped with it.
+            boolean[] removed = {false};
+            windows.computeIfPresent(key, (k, window) -> {
+                removed[0] = window.idle(now, windowNanos);
+                return removed[0] ? null : window;
+            });
+            if (removed[0]) {
+                dropped++;
             }
-            return true;
         }
-        return false;
+        evicted.add(dropped);
+        return dropped;
+    }
+
+    public LoginThrottleStats stats() {
+        long now = clock.getAsLong();
+        long locked = windows.values().stream().filter(window -> window.lockedUntil(now) > 0).count();
+        return new LoginThrottleStats(maxAttemptsPerEmail, maxAttemptsPerIp, windows.size(), maxTrackedKeys, locked,
+                failedAttempts.sum(), blockedByEmail.sum(), blockedByIp.sum(), emailLockouts.sum(), ipLockouts.sum(),
+                evicted.sum(), displaced.sum());
     }
 
-    public void recordFailedAttempt(String email) {
-        LoginAttempt attempt = attempts.computeIfAbsent(email, key -> new LoginAttempt());
-        attempt.attempts++;
-        if (attempt.attempts >= MAX_ATTEMPTS) {
-            attempt.lockExpiresAt = Instant.now().plus(LOCKOUT_DURATION);
+    private long lockedFor(String key, long now) {
+        Window window = windows.get(key);
+        return window != null ? window.lockedUntil(now) : 0;
+    }
+
+    // Returns whether this failure locked the key.
+    private boolean fail(String key, int limit, long now) {
+        if (!windows.containsKey(key)) {
+            makeRoom(now);
         }
+        boolean[] lockedNow = {false};
+        windows.compute(key, (k, window) -> {
+            Window next = (window != null ? window : Window.start(now)).fail(now, windowNanos);
+            if (next.locked() || next.estimate(now, windowNanos) < limit) {
+                return next;
+            }
+            lockedNow[0] = true;
+            return next.lock(now + lockoutNanos);
+        });
+        return lockedNow[0];
     }
 
-    public void resetAttempts(String email) {
-        attempts.remove(email);
+    // A full map is swept at most once a second, so a flood of new keys cannot turn every failure into a scan.
+    private void makeRoom(long now) {
+        if (windows.size() < maxTrackedKeys) {
+            return;
+        }
+        long previous = lastSweep.get();
+        if (now - previous >= MIN_SWEEP_GAP_NANOS && lastSweep.compareAndSet(previous, now)) {
+            evictIdle();
+        }
+        if (windows.size() >= maxTrackedKeys) {
+            displaceOldest();
+        }
     }
 
-    public Duration timeUntilUnlock(String email) {
-        LoginAttempt attempt = attempts.get(email);
-        if (attempt == null || attempt.lockExpiresAt == null) {
-            return Duration.ZERO;
+    // Frees a tenth of the map at once, so a flood of new keys pays for one scan per batch rather than per key.
+    private synchronized void displaceOldest() {
+        int excess = windows.size() - maxTrackedKeys + 1;
+        if (excess <= 0) {
+            return;
+        }
+        int batch = Math.max(excess, maxTrackedKeys / 10);
+        PriorityQueue<Map.Entry<String, Window>> oldest = new PriorityQueue<>(DISPLACE_FIRST.reversed());
+        for (Map.Entry<String, Window> entry : windows.entrySet()) {
+            oldest.offer(Map.entry(entry.getKey(), entry.getValue()));
+            if (oldest.size() > batch) {
+                oldest.poll();
+            }
         }
-        Instant now = Instant.now();
-        if (now.isAfter(attempt.lockExpiresAt)) {
-            attempts.remove(email);
-            return Duration.ZERO;
+        int dropped = 0;
+        for (Map.Entry<String, Window> entry : oldest) {
+            // A key that failed again since the scan keeps its place.
+            if (windows.remove(entry.getKey(), entry.getValue())) {
+                dropped++;
+            }
         }
-        return Duration.between(now, attempt.lockExpiresAt);
+        displaced.add(dropped);
+        LOGGER.warn("Login throttle reached {} tracked keys; displaced the {} least recently failed.",
+                maxTrackedKeys, dropped);
     }
 
-    private static final class LoginAttempt {
-        private int attempts;
-        private Instant lockExpiresAt;
+    /**
+     * Failure counts for the fixed window starting at {@code start} and the one before it. While
+     * {@code locked}, counting is paused and restarts from zero once {@code lockedUntil} passes.
+     * {@code lastFailure} decides which keys a full map gives up first.
+     */
+    private record Window(long start, int previous, int current, boolean locked, long lockedUntil,
+                          long lastFailure) {
+
+        static Window start(long now) {
+            return new Window(now, 0, 0, false, 0, now);
+        }
+
+        Window fail(long now, long windowNanos) {
+            if (locked) {
+                if (now - lockedUntil < 0) {
+                    return new Window(start, previous, current, true, lockedUntil, now);
+                }
+                return new Window(now, 0, 1, false, 0, now);
+            }
+            long elapsed = now - start;
+            if (elapsed >= 2 * windowNanos) {
+                return new Window(now, 0, 1, false, 0, now);
+            }
+            if (elapsed >= windowNanos) {
+                return new Window(start + windowNanos, current, 1, false, 0, now);
+            }
+            return new Window(start, previous, current + 1, false, 0, now);
+        }
+
+        // The previous window's count, weighted by how much of it still overlaps the sliding window.
+        double estimate(long now, long windowNanos) {
+            long elapsed = Math.min(Math.max(0, now - start), windowNanos);
+            return previous * (double) (windowNanos - elapsed) / windowNanos + current;
+        }
+
+        Window lock(long until) {
+            return new Window(start, 0, 0, true, until, lastFailure);
+        }
+
+        long lockedUntil(long now) {
+            return locked ? Math.max(0, lockedUntil - now) : 0;
+        }
+
+        boolean idle(long now, long windowNanos) {
+            if (locked) {
+                return now - lockedUntil >= 0;
+            }
+            return now - start >= 2 * windowNanos;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package co.za.cput.service.users.implementation;
 
+import co.za.cput.domain.business.Accommodation;
 import co.za.cput.domain.business.Verification;
 import co.za.cput.domain.generic.Contact;
 import co.za.cput.domain.users.Administrator;
@@ -8,6 +9,11 @@ import co.za.cput.repository.business.AccommodationRepository;
 import co.za.cput.repository.business.VerificationRepository;
 import co.za.cput.repository.users.AdministratorRepository;
 import co.za.cput.repository.users.LandLordRepository;
+import co.za.cput.service.analytics.DashboardCounter;
+import co.za.cput.service.analytics.DashboardEventPublisher;
+import co.za.cput.service.notification.NotificationOutbox;
+import co.za.cput.service.users.AdminPrincipal;
+import co.za.cput.service.users.AdminSessionTokenService;
 import co.za.cput.service.users.IAdministratorService;
 import co.za.cput.util.Helper;
 import co.za.cput.util.LinkingEntitiesHelper;
@@ -17,6 +23,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -34,6 +42,10 @@ public class AdministratorServiceImpl implements IAdministratorService {
     private final AccommodationRepository accommodationRepository;
     private final VerificationRepository verificationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DashboardEventPublisher dashboardEvents;
+    private final NotificationOutbox notificationOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final AdminSessionTokenService adminSessions;
 
 
     @Autowired
@@ -41,11 +53,19 @@ public class AdministratorServiceImpl implements IAdministratorService {
                                     LandLordRepository landLordRepository,
                                     AccommodationRepository accommodationRepository,
                                     VerificationRepository verificationRepository,
-                                    PasswordEncoder passwordEncoder) {        this.administratorRepository = administratorRepository;
+                                    PasswordEncoder passwordEncoder,
+                                    DashboardEventPublisher dashboardEvents,
+                                    NotificationOutbox notificationOutbox,
+                                    PlatformTransactionManager transactionManager,
+                                    AdminSessionTokenService adminSessions) {        this.administratorRepository = administratorRepository;
         this.landLordRepository = landLordRepository;
         this.accommodationRepository = accommodationRepository;
         this.verificationRepository = verificationRepository;
         this.passwordEncoder = passwordEncoder;
+        this.dashboardEvents = dashboardEvents;
+        this.notificationOutbox = notificationOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.adminSessions = adminSessions;
     }
 
     @Override
@@ -103,7 +123,9 @@ public class AdministratorServiceImpl implements IAdministratorService {
     @Override
     public Administrator update(Administrator administrator) {
         Administrator securedAdministrator = secureAdministrator(administrator);
-        return administratorRepository.saveAndFlush(securedAdministrator);
+        Administrator saved = administratorRepository.saveAndFlush(securedAdministrator);
+        adminSessions.evict(saved.getAdminID());
+        return saved;
     }
 
     @Override
@@ -160,7 +182,9 @@ public class AdministratorServiceImpl implements IAdministratorService {
                 .setAdminRoleStatus(Administrator.AdminRoleStatus.ACTIVE)
                 .build();
 
-        return administratorRepository.saveAndFlush(approved);
+        Administrator saved = administratorRepository.saveAndFlush(approved);
+        adminSessions.evict(saved.getAdminID());
+        return saved;
     }
 
     @Override
@@ -184,6 +208,7 @@ public class AdministratorServiceImpl implements IAdministratorService {
 
         administratorRepository.delete(applicant);
         administratorRepository.flush();
+        adminSessions.evict(applicantId);
 
         if (LOGGER.isInfoEnabled()) {
             String trimmedReason = reason != null ? reason.trim() : "";
@@ -229,13 +254,36 @@ public class AdministratorServiceImpl implements IAdministratorService {
 
     }
 
-    @Override
-    public Landlord verifyLandlord(Long adminId, String adminPassword, Long landlordId, boolean approved) {
+    // AdminSessionFilter already checked the account against its cached state, which every password or approval
+    // change below evicts, so the verification only needs a reference to the administrator, not another read.
+    private Administrator requireSessionAdministrator(AdminPrincipal session) {
+        if (session == null || session.adminId() == null) {
+            throw new IllegalArgumentException("Invalid administrator credentials.");
+        }
+        return administratorRepository.getReferenceById(session.adminId());
+    }
+
+    private Administrator requireAuthenticatedAdministrator(Long adminId, String adminPassword) {
         Administrator administrator = authenticateAdmin(adminId, adminPassword);
         if (administrator == null) {
             throw new IllegalArgumentException("Invalid administrator credentials.");
         }
+        return administrator;
+    }
+
+    @Override
+    public Landlord verifyLandlord(Long adminId, String adminPassword, Long landlordId, boolean approved) {
+        requireAuthenticatedAdministrator(adminId, adminPassword);
+        return applyLandlordVerification(landlordId, approved);
+    }
 
+    @Override
+    public Landlord verifyLandlord(AdminPrincipal session, Long landlordId, boolean approved) {
+        requireSessionAdministrator(session);
+        return applyLandlordVerification(landlordId, approved);
+    }
+
+    private Landlord applyLandlordVerification(Long landlordId, boolean approved) {
         Landlord landlord = landLordRepository.findById(landlordId)
                 .orElseThrow(() -> new IllegalArgumentException("Landlord not found."));
 
@@ -244,17 +292,27 @@ public class AdministratorServiceImpl implements IAdministratorService {
                 .setVerified(approved)
                 .build();
 
-        return landLordRepository.saveAndFlush(updatedLandlord);
+        boolean wasVerified = landlord.isVerified();
+        Landlord saved = landLordRepository.saveAndFlush(updatedLandlord);
+        dashboardEvents.transition(DashboardCounter.VERIFIED_LANDLORDS, wasVerified, approved);
+        return saved;
     }
 
     @Override
     public Verification verifyListing(Long adminId, String adminPassword, Long verificationId,
                                       Verification.VerificationStatus status, String notes) {
-        Administrator administrator = authenticateAdmin(adminId, adminPassword);
-        if (administrator == null) {
-            throw new IllegalArgumentException("Invalid administrator credentials.");
-        }
+        return applyListingVerification(requireAuthenticatedAdministrator(adminId, adminPassword),
+                verificationId, status, notes);
+    }
+
+    @Override
+    public Verification verifyListing(AdminPrincipal session, Long verificationId,
+                                      Verification.VerificationStatus status, String notes) {
+        return applyListingVerification(requireSessionAdministrator(session), verificationId, status, notes);
+    }
 
+    private Verification applyListingVerification(Administrator administrator, Long verificationId,
+                                                  Verification.VerificationStatus status, String notes) {
         if (status == null) {
             throw new IllegalArgumentException("Verification status is required.");
         }
@@ -276,12 +334,27 @@ public class AdministratorServiceImpl implements IAdministratorService {
         }
 
         Verification updatedVerification = builder.build();
-        return verificationRepository.saveAndFlush(updatedVerification);
+        boolean wasPending = existingVerification.getVerificationStatus() == Verification.VerificationStatus.PENDING;
+        // The landlord's notification is queued with the decision, so it goes out exactly when the decision commits.
+        Verification saved = transactionTemplate.execute(transaction -> {
+            Verification written = verificationRepository.saveAndFlush(updatedVerification);
+            Accommodation accommodation = written.getAccommodation();
+            if (accommodation != null && accommodation.getLandlord() != null
+                    && existingVerification.getVerificationStatus() != status) {
+                notificationOutbox.listingVerified(written.getVerificationID(), accommodation.getAccommodationID(),
+                        accommodation.getLandlord().getLandlordID(), status, written.getNotes());
+            }
+            return written;
+        });
+        dashboardEvents.transition(DashboardCounter.PENDING_VERIFICATIONS,
+                wasPending, status == Verification.VerificationStatus.PENDING);
+        return saved;
     }
 
     @Override
     public void delete(Long Id) {
         administratorRepository.deleteById(Id);
+        adminSessions.evict(Id);
 
     }
 
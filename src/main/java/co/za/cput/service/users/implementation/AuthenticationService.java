@@ -1,12 +1,14 @@
 package co.za.cput.service.users.implementation;
 
+import co.za.cput.domain.generic.UserAuthentication;
 import co.za.cput.domain.users.Administrator;
-import co.za.cput.domain.users.Landlord;
-import co.za.cput.domain.users.Student;
+import co.za.cput.dto.LoginCredential;
 import co.za.cput.dto.LoginResponse;
+import co.za.cput.repository.generic.UserAuthenticationRepository;
 import co.za.cput.repository.users.AdministratorRepository;
 import co.za.cput.repository.users.LandLordRepository;
 import co.za.cput.repository.users.StudentRepository;
+import co.za.cput.service.users.AdminSessionTokenService;
 import co.za.cput.service.users.LoginRateLimiter;
 import co.za.cput.service.users.TooManyLoginAttemptsException;
 import co.za.cput.util.Helper;
@@ -15,28 +17,51 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
-
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Logs users in against the credential index in {@code user_authentication}: one indexed read finds every account
+ * the email belongs to with what the response shows of it, so the accounts themselves are not loaded, and the
+ * password is checked once per distinct hash among them.
+ */
 @Service
 public class AuthenticationService {
 
+    private static final Comparator<LoginCredential> ROLE_PRECEDENCE = Comparator.comparingInt(credential ->
+            switch (credential.role()) {
+                case ADMINISTRATOR -> 0;
+                case LANDLORD -> 1;
+                case STUDENT -> 2;
+            });
+
     private final AdministratorRepository administratorRepository;
     private final LandLordRepository landLordRepository;
     private final StudentRepository studentRepository;
     private final PasswordEncoder passwordEncoder;
     private final LoginRateLimiter loginRateLimiter;
+    private final UserAuthenticationRepository userAuthenticationRepository;
+    private final AdminSessionTokenService adminSessions;
 
     @Autowired
     public AuthenticationService(AdministratorRepository administratorRepository,
                                  LandLordRepository landLordRepository,
                                  StudentRepository studentRepository,
                                  PasswordEncoder passwordEncoder,
-                                 LoginRateLimiter loginRateLimiter) {
+                                 LoginRateLimiter loginRateLimiter,
+                                 UserAuthenticationRepository userAuthenticationRepository,
+                                 AdminSessionTokenService adminSessions) {
         this.administratorRepository = administratorRepository;
         this.landLordRepository = landLordRepository;
         this.studentRepository = studentRepository;
         this.passwordEncoder = passwordEncoder;
         this.loginRateLimiter = loginRateLimiter;
+        this.userAuthenticationRepository = userAuthenticationRepository;
+        this.adminSessions = adminSessions;
     }
 
     public boolean emailExists(String email) {
@@ -56,6 +81,13 @@ public class AuthenticationService {
     }
 
     public LoginResponse login(String email, String password, String role) {
+        return login(email, password, role, null);
+    }
+
+    /**
+     * @param clientIp the caller's address, throttled alongside the email; {@code null} throttles the email only
+     */
+    public LoginResponse login(String email, String password, String role, String clientIp) {
 
         if (Helper.isNullorEmpty(email) || Helper.isNullorEmpty(password)) {
             throw new IllegalArgumentException("Email and password are required");
@@ -68,27 +100,19 @@ public class AuthenticationService {
             throw new IllegalArgumentException("Unknown account type selected.");
         }
 
-        if (loginRateLimiter.isBlocked(normalisedEmail)) {
-            Duration remaining = loginRateLimiter.timeUntilUnlock(normalisedEmail);
+        Duration remaining = loginRateLimiter.retryAfter(normalisedEmail, clientIp);
+        if (!remaining.isZero()) {
             long minutes = Math.max(1, remaining.toMinutes());
             throw new TooManyLoginAttemptsException(
                     String.format("Too many failed attempts. Please try again in %d minute%s.", minutes, minutes == 1 ? "" : "s")
             );
         }
 
-        if ("STUDENT".equals(normalisedRole)) {
-            return authenticateStudent(normalisedEmail, password, true);
+        List<LoginCredential> credentials = userAuthenticationRepository.findCredentials(normalisedEmail);
+        if (normalisedRole != null) {
+            return authenticateWithRole(normalisedEmail, password, clientIp, toUserRole(normalisedRole), credentials);
         }
-
-        if ("LANDLORD".equals(normalisedRole)) {
-            return authenticateLandlord(normalisedEmail, password, true);
-        }
-
-        if ("ADMIN".equals(normalisedRole)) {
-            return authenticateAdministrator(normalisedEmail, password, true);
-        }
-
-        return authenticateWithoutExplicitRole(normalisedEmail, password);
+        return authenticateWithoutExplicitRole(normalisedEmail, password, clientIp, credentials);
 
     }
 
@@ -115,98 +139,66 @@ public class AuthenticationService {
         }
         return encodedPassword.equals(rawPassword);
     }
-    private LoginResponse authenticateStudent(String email, String password, boolean strictRole) {
-        Student student = studentRepository
-                .findFirstByContact_EmailIgnoreCase(email)
-                .orElse(null);
-
-        if (student != null && passwordMatches(password, student.getPassword())) {
-            loginRateLimiter.resetAttempts(email);
-            return LoginResponse.successForStudent(student);
-        }
-
-        loginRateLimiter.recordFailedAttempt(email);
-        return LoginResponse.failure(strictRole
-                ? "Invalid email or password for the selected account type."
-                : "Invalid email or password.");
+    private UserAuthentication.UserRole toUserRole(String normalisedRole) {
+        return switch (normalisedRole) {
+            case "ADMIN" -> UserAuthentication.UserRole.ADMINISTRATOR;
+            case "LANDLORD" -> UserAuthentication.UserRole.LANDLORD;
+            default -> UserAuthentication.UserRole.STUDENT;
+        };
     }
 
-    private LoginResponse authenticateLandlord(String email, String password, boolean strictRole) {
-        Landlord landlord = landLordRepository
-                .findFirstByContact_EmailIgnoreCase(email)
-                .orElse(null);
-
-        if (landlord != null && passwordMatches(password, landlord.getPassword())) {
-            loginRateLimiter.resetAttempts(email);
-            return LoginResponse.successForLandlord(landlord);
-        }
-
-        loginRateLimiter.recordFailedAttempt(email);
-        return LoginResponse.failure(strictRole
-                ? "Invalid email or password for the selected account type."
-                : "Invalid email or password.");
+    /*
+     * Each distinct hash is checked at most once per login. A login usually costs one BCrypt check: an account type
+     * narrows the rows to that type, and an email with one account has one row. More than one check happens only when
+     * the email has several accounts of the candidate types, such as a student and a landlord sharing a contact,
+     * with different passwords: the hashes are then tried in role order until one matches, so a wrong password
+     * checks them all.
+     */
+    private Predicate<LoginCredential> passwordCheck(String rawPassword) {
+        Map<String, Boolean> checked = new HashMap<>();
+        return credential -> credential.accountId() != null && credential.password() != null
+                && checked.computeIfAbsent(credential.password(), hash -> passwordMatches(rawPassword, hash));
     }
 
-    private LoginResponse authenticateAdministrator(String email, String password, boolean strictRole) {
-        Administrator administrator = administratorRepository
-                .findFirstByContact_EmailIgnoreCase(email)
-                .orElse(null);
-
-        if (administrator != null && passwordMatches(password, administrator.getAdminPassword())) {
-            Administrator.AdminRoleStatus roleStatus = administrator.getAdminRoleStatus();
-            if (roleStatus == Administrator.AdminRoleStatus.ACTIVE) {
-                loginRateLimiter.resetAttempts(email);
-                return LoginResponse.successForAdministrator(administrator);
+    private LoginResponse authenticateWithRole(String email, String password, String clientIp,
+                                               UserAuthentication.UserRole role, List<LoginCredential> credentials) {
+        Predicate<LoginCredential> matches = passwordCheck(password);
+        for (LoginCredential credential : credentials) {
+            if (credential.role() != role || !matches.test(credential)) {
+                continue;
             }
-
             loginRateLimiter.resetAttempts(email);
-            String message = roleStatus == Administrator.AdminRoleStatus.SUSPENDED
-                    ? "Your administrator account has been suspended."
-                    : "Your administrator account is awaiting approval.";
-            return LoginResponse.failure(message);
+            if (role == UserAuthentication.UserRole.ADMINISTRATOR && !credential.isActiveAdministrator()) {
+                return LoginResponse.failure(inactiveAdministratorMessage(credential));
+            }
+            return signedIn(credential);
         }
 
-        loginRateLimiter.recordFailedAttempt(email);
-        return LoginResponse.failure(strictRole
-                ? "Invalid email or password for the selected account type."
-                : "Invalid email or password.");
+        loginRateLimiter.recordFailedAttempt(email, clientIp);
+        return LoginResponse.failure("Invalid email or password for the selected account type.");
     }
 
-    private LoginResponse authenticateWithoutExplicitRole(String email, String password) {
+    // An active administrator account wins, then landlord, then student; a pending administrator account only
+    // explains the failure when nothing else matched.
+    private LoginResponse authenticateWithoutExplicitRole(String email, String password, String clientIp,
+                                                          List<LoginCredential> credentials) {
+        Predicate<LoginCredential> matches = passwordCheck(password);
         String pendingAdministratorMessage = null;
-        boolean administratorCredentialsMatched = false;
-
-        Administrator administrator = administratorRepository
-                .findFirstByContact_EmailIgnoreCase(email)
-                .orElse(null);
-
-        if (administrator != null && passwordMatches(password, administrator.getAdminPassword())) {
-            administratorCredentialsMatched = true;
-            Administrator.AdminRoleStatus roleStatus = administrator.getAdminRoleStatus();
-            if (roleStatus == Administrator.AdminRoleStatus.ACTIVE) {
-                loginRateLimiter.resetAttempts(email);
-                return LoginResponse.successForAdministrator(administrator);
+        List<LoginCredential> byPrecedence = credentials.stream()
+                .sorted(ROLE_PRECEDENCE)
+                .toList();
+        for (LoginCredential credential : byPrecedence) {
+            if (!matches.test(credential)) {
+                continue;
+            }
+            if (credential.role() == UserAuthentication.UserRole.ADMINISTRATOR && !credential.isActiveAdministrator()) {
+                if (pendingAdministratorMessage == null) {
+                    pendingAdministratorMessage = inactiveAdministratorMessage(credential);
+                }
+                continue;
             }
-
-            pendingAdministratorMessage = roleStatus == Administrator.AdminRoleStatus.SUSPENDED
-                    ? "Your administrator account has been suspended."
-                    : "Your administrator account is awaiting approval.";
-        }
-
-        Landlord landlord = landLordRepository
-                .findFirstByContact_EmailIgnoreCase(email)
-                .orElse(null);
-        if (landlord != null && passwordMatches(password, landlord.getPassword())) {
-            loginRateLimiter.resetAttempts(email);
-            return LoginResponse.successForLandlord(landlord);
-        }
-
-        Student student = studentRepository
-                .findFirstByContact_EmailIgnoreCase(email)
-                .orElse(null);
-        if (student != null && passwordMatches(password, student.getPassword())) {
             loginRateLimiter.resetAttempts(email);
-            return LoginResponse.successForStudent(student);
+            return signedIn(credential);
         }
 
         if (pendingAdministratorMessage != null) {
@@ -214,12 +206,22 @@ public class AuthenticationService {
             return LoginResponse.failure(pendingAdministratorMessage);
         }
 
-        if (administratorCredentialsMatched) {
-            loginRateLimiter.resetAttempts(email);
-            return LoginResponse.failure("Invalid email or password.");
+        loginRateLimiter.recordFailedAttempt(email, clientIp);
+        return LoginResponse.failure("Invalid email or password.");
+    }
+
+    private LoginResponse signedIn(LoginCredential credential) {
+        if (credential.role() != UserAuthentication.UserRole.ADMINISTRATOR) {
+            return LoginResponse.success(credential, null, null);
         }
+        AdminSessionTokenService.AdminSessionToken session =
+                adminSessions.issue(credential.accountId(), credential.password());
+        return LoginResponse.success(credential, session.token(), session.expiresAt());
+    }
 
-        loginRateLimiter.recordFailedAttempt(email);
-        return LoginResponse.failure("Invalid email or password.");
+    private static String inactiveAdministratorMessage(LoginCredential credential) {
+        return credential.adminRoleStatus() == Administrator.AdminRoleStatus.SUSPENDED
+                ? "Your administrator account has been suspended."
+                : "Your administrator account is awaiting approval.";
     }
 }
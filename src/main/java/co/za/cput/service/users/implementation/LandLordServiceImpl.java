@@ -8,6 +8,8 @@ import co.za.cput.domain.generic.Contact;
 import co.za.cput.domain.users.Landlord;
 import co.za.cput.repository.business.AccommodationRepository;
 import co.za.cput.repository.users.LandLordRepository;
+import co.za.cput.service.analytics.DashboardCounter;
+import co.za.cput.service.analytics.DashboardEventPublisher;
 import co.za.cput.service.users.ILandLordService;
 import co.za.cput.util.Helper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,14 +28,17 @@ public class LandLordServiceImpl implements ILandLordService {
     private LandLordRepository landLordRepository;
     private AccommodationRepository accommodationRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DashboardEventPublisher dashboardEvents;
 
     @Autowired
     public LandLordServiceImpl(LandLordRepository landLordRepository,
                                AccommodationRepository accommodationRepository,
-                               PasswordEncoder passwordEncoder) {
+                               PasswordEncoder passwordEncoder,
+                               DashboardEventPublisher dashboardEvents) {
         this.landLordRepository = landLordRepository;
         this.accommodationRepository = accommodationRepository;
         this.passwordEncoder = passwordEncoder;
+        this.dashboardEvents = dashboardEvents;
     }
 
     @Override
@@ -57,6 +62,8 @@ public class LandLordServiceImpl implements ILandLordService {
                 .build();
 
         savedLandlord = landLordRepository.saveAndFlush(savedLandlord);
+        dashboardEvents.created(DashboardCounter.LANDLORDS);
+        dashboardEvents.transition(DashboardCounter.VERIFIED_LANDLORDS, false, savedLandlord.isVerified());
 
         // Step 2: Link accommodations to savedLandlord
         List<Accommodation> linkedAccommodations = new ArrayList<>();
@@ -70,6 +77,8 @@ public class LandLordServiceImpl implements ILandLordService {
             }
         }
 
+        dashboardEvents.changed(DashboardCounter.ACCOMMODATIONS, linkedAccommodations.size());
+
         // Step 3: Return saved landlord with linked accommodations (optional)
         return savedLandlord;
     }
@@ -125,7 +134,10 @@ public class LandLordServiceImpl implements ILandLordService {
                 .build();
 
         // Step 4: Save updated landlord
-        return landLordRepository.saveAndFlush(updated);
+        boolean wasVerified = existing.isVerified();
+        Landlord saved = landLordRepository.saveAndFlush(updated);
+        dashboardEvents.transition(DashboardCounter.VERIFIED_LANDLORDS, wasVerified, saved.isVerified());
+        return saved;
     }
 
     @Override
@@ -135,7 +147,13 @@ public class LandLordServiceImpl implements ILandLordService {
 
     @Override
     public void delete(Long Id) {
+        Landlord existing = landLordRepository.findById(Id).orElse(null);
+        if (existing == null) {
+            return;
+        }
         landLordRepository.deleteById(Id);
+        dashboardEvents.deleted(DashboardCounter.LANDLORDS);
+        dashboardEvents.transition(DashboardCounter.VERIFIED_LANDLORDS, existing.isVerified(), false);
     }
     private Landlord secureLandlord(Landlord landlord) {
         if (landlord == null) {
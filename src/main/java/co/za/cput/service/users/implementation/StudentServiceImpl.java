@@ -3,6 +3,8 @@ package co.za.cput.service.users.implementation;
 import co.za.cput.domain.generic.Contact;
 import co.za.cput.domain.users.Student;
 import co.za.cput.repository.users.StudentRepository;
+import co.za.cput.service.analytics.DashboardCounter;
+import co.za.cput.service.analytics.DashboardEventPublisher;
 import co.za.cput.service.users.IStudentService;
 import co.za.cput.util.Helper;
 import co.za.cput.util.LinkingEntitiesHelper;
@@ -17,10 +19,14 @@ public class StudentServiceImpl implements IStudentService {
 
     private final StudentRepository studentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DashboardEventPublisher dashboardEvents;
 
-    public StudentServiceImpl(StudentRepository studentRepository, PasswordEncoder passwordEncoder) {
+    public StudentServiceImpl(StudentRepository studentRepository,
+                              PasswordEncoder passwordEncoder,
+                              DashboardEventPublisher dashboardEvents) {
         this.studentRepository = studentRepository;
         this.passwordEncoder = passwordEncoder;
+        this.dashboardEvents = dashboardEvents;
     }
 
     @Override
@@ -47,6 +53,7 @@ public class StudentServiceImpl implements IStudentService {
                 .build();
 
         Student savedStudent = studentRepository.saveAndFlush(studentWithoutBookings); // Now has ID
+        dashboardEvents.created(DashboardCounter.STUDENTS);
 
         // No bookings to link – return the saved student as-is
         if (securedStudent.getBookings() == null || securedStudent.getBookings().isEmpty()) {
@@ -89,7 +96,11 @@ public class StudentServiceImpl implements IStudentService {
 
     @Override
     public void delete(Long Id) {
+        if (!studentRepository.existsById(Id)) {
+            return;
+        }
         studentRepository.deleteById(Id);
+        dashboardEvents.deleted(DashboardCounter.STUDENTS);
     }
     private Student secureStudent(Student student) {
         if (student == null) {
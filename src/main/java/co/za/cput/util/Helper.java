@@ -8,11 +8,15 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class Helper {
 
+    // Free-text queries are truncated to this many tokens so a pasted paragraph cannot blow up the lookup.
+    public static final int MAX_QUERY_TOKENS = 8;
+    private static final Pattern SEARCH_TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
 
     public static boolean isNullorEmpty(String str) {
         return str == null || str.isEmpty();
@@ -51,6 +55,30 @@ public class Helper {
         return postalCode >= 1000 && postalCode <= 9999;
     }
 
+    // Coordinates are optional, but when given both must be present and inside the WGS84 ranges.
+    public static boolean isValidCoordinates(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) {
+            return true;
+        }
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+
+    // Lower-cased letter/digit runs, in order and without duplicates; used by free-text search and autocomplete.
+    public static List<String> toSearchTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (isNullorEmpty(text)) {
+            return tokens;
+        }
+        for (String token : SEARCH_TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
     public static boolean isValid_ReviewDate(LocalDate reviewDate) {
         if (reviewDate == null) {
             return false;
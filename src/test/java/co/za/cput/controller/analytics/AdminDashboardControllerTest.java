@@ -0,0 +1,34 @@
+package co.za.cput.controller.analytics;
+
+import co.za.cput.dto.AdminDashboardStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AdminDashboardControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private static final String BASE_URL = "/api/admin/dashboard";
+
+    @Test
+    void overviewIsServedFromOneSnapshot() {
+        ResponseEntity<AdminDashboardStats> first =
+                restTemplate.getForEntity(BASE_URL + "/overview", AdminDashboardStats.class);
+        ResponseEntity<AdminDashboardStats> second =
+                restTemplate.getForEntity(BASE_URL + "/overview", AdminDashboardStats.class);
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNotNull(first.getBody());
+        assertTrue(first.getBody().verifiedLandlords() <= first.getBody().totalLandlords());
+        assertNotNull(first.getBody().generatedAt());
+        assertEquals(first.getBody(), second.getBody());
+    }
+}
@@ -2,6 +2,9 @@ package co.za.cput.controller.business;
 
 import co.za.cput.domain.business.Accommodation;
 import co.za.cput.domain.generic.Address;
+import co.za.cput.dto.AccommodationInsight;
+import co.za.cput.dto.AccommodationInsightsRequest;
+import co.za.cput.dto.AccommodationSearchPage;
 import co.za.cput.factory.business.AccommodationFactory;
 import co.za.cput.factory.generic.AddressFactory;
 import org.junit.jupiter.api.MethodOrderer;
@@ -13,6 +16,8 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -82,6 +87,42 @@ class AccommodationControllerTest {
         System.out.println("Updated accommodation: " + response.getBody());
     }
 
+    @Test
+    void ca_bulkInsights() {
+        assertNotNull(accommodation_with_Id);
+        String url = BASE_URL + "/insights";
+        AccommodationInsightsRequest request = new AccommodationInsightsRequest();
+        request.setAccommodationIds(List.of(accommodation_with_Id.getAccommodationID(), 987654L));
+
+        ResponseEntity<AccommodationInsight[]> response =
+                this.restTemplate.postForEntity(url, request, AccommodationInsight[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().length);
+        assertEquals(accommodation_with_Id.getAccommodationID(), response.getBody()[0].accommodationId());
+        assertEquals(0, response.getBody()[0].totalBookings());
+
+        request.setAccommodationIds(List.of());
+        assertEquals(HttpStatus.BAD_REQUEST, this.restTemplate.postForEntity(url, request, String.class).getStatusCode());
+    }
+
+    @Test
+    void cb_searchBindsTheQueryString() {
+        assertNotNull(accommodation_with_Id);
+        String url = BASE_URL + "/search?suburb=Observatory&minRent=4400&wifiAvailable=false&q=main"
+                + "&availableFrom=2031-02-01&availableTo=2031-03-01&size=5";
+        ResponseEntity<AccommodationSearchPage> response =
+                this.restTemplate.getForEntity(url, AccommodationSearchPage.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().items().stream()
+                .anyMatch(summary -> summary.id().equals(accommodation_with_Id.getAccommodationID())));
+
+        ResponseEntity<String> partialRadius =
+                this.restTemplate.getForEntity(BASE_URL + "/search/facets?latitude=-33.9", String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, partialRadius.getStatusCode());
+    }
+
     @Test
     void d_getAllAccommodations() {//THIS TEST IS FAILING BECAUSE OF THE BI-DIRECTIONAL RELATIONSHIP
         String url = BASE_URL + "/getAllAccommodation";
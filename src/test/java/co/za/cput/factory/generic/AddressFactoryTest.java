@@ -47,5 +47,19 @@ class AddressFactoryTest {
         System.out.println("Empty suburb: " + address3);
     }
 
+    @Test
+    void coordinates() {
+        Address pinned = AddressFactory.createAddress(
+                "12B", "Durban Road", "Bellville", "Cape Town", 7530, -33.9006, 18.6291);
+        assertNotNull(pinned);
+        assertEquals(-33.9006, pinned.getLatitude());
+
+        assertNull(AddressFactory.createAddress(
+                "12B", "Durban Road", "Bellville", "Cape Town", 7530, -33.9006, null));
+        assertNull(AddressFactory.createAddress(
+                "12B", "Durban Road", "Bellville", "Cape Town", 7530, -133.9, 18.6291));
+        System.out.println("Pinned Address: " + pinned);
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package co.za.cput.service.analytics;
+
+import co.za.cput.dto.AdminDashboardCounts;
+import co.za.cput.dto.AdminDashboardStats;
+import co.za.cput.repository.analytics.AdminDashboardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminDashboardServiceTest {
+
+    @Mock
+    private AdminDashboardRepository dashboardRepository;
+
+    private LiveDashboardCounters counters;
+    private AdminDashboardService service;
+
+    @BeforeEach
+    void setUp() {
+        counters = new LiveDashboardCounters(dashboardRepository);
+        service = new AdminDashboardService(counters);
+    }
+
+    @Test
+    void overviewIsServedFromTheCountersWithoutQuerying() {
+        when(dashboardRepository.countOverview()).thenReturn(new AdminDashboardCounts(120, 30, 20, 40, 3, 25));
+        counters.seedOnStartup();
+
+        AdminDashboardStats first = service.buildOverview();
+        AdminDashboardStats second = service.buildOverview();
+
+        assertEquals(first, second);
+        assertEquals(120, first.totalStudents());
+        assertEquals(62.5, first.occupancyRate());
+        verify(dashboardRepository, times(1)).countOverview();
+
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.ACTIVE_BOOKINGS, 1));
+        AdminDashboardStats moved = service.buildOverview();
+
+        assertEquals(26, moved.activeBookings());
+        assertEquals(65.0, moved.occupancyRate());
+        assertFalse(moved.generatedAt().isBefore(first.generatedAt()));
+        verify(dashboardRepository, times(1)).countOverview();
+    }
+}
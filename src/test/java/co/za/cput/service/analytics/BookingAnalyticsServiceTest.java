@@ -0,0 +1,114 @@
+package co.za.cput.service.analytics;
+
+import co.za.cput.domain.analytics.BookingRollup;
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.generic.Address;
+import co.za.cput.dto.ApplicationFunnel;
+import co.za.cput.dto.BookingSeriesPoint;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class BookingAnalyticsServiceTest {
+
+    private static final String SUBURB = "Rollup Heights";
+
+    @Autowired
+    private BookingAnalyticsService analyticsService;
+
+    private final Accommodation single = accommodation(Accommodation.RoomType.SINGLE);
+    private final Accommodation shared = accommodation(Accommodation.RoomType.SHARED);
+
+    @Test
+    void a_applicationsAreRolledUpByDayWeekAndMonth() {
+        analyticsService.recordApplication(booking(single, LocalDate.of(2025, 3, 3)));
+        analyticsService.recordApplication(booking(single, LocalDate.of(2025, 3, 3)));
+        analyticsService.recordApplication(booking(shared, LocalDate.of(2025, 3, 5)));
+        analyticsService.recordApplication(booking(single, LocalDate.of(2025, 4, 10)));
+
+        List<BookingSeriesPoint> days = analyticsService.series(BookingRollup.Granularity.DAY,
+                LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 6), "  rollup HEIGHTS ", null);
+        assertEquals(5, days.size());
+        assertEquals(LocalDate.of(2025, 3, 2), days.get(0).periodStart());
+        assertEquals(0, days.get(0).applications());
+        assertEquals(2, days.get(1).applications());
+        assertEquals(1, days.get(3).applications());
+
+        List<BookingSeriesPoint> weeks = analyticsService.series(BookingRollup.Granularity.WEEK,
+                LocalDate.of(2025, 3, 5), LocalDate.of(2025, 3, 5), SUBURB, null);
+        assertEquals(List.of(new BookingSeriesPoint(LocalDate.of(2025, 3, 3), 3, 0, 0)), weeks);
+
+        List<BookingSeriesPoint> months = analyticsService.series(BookingRollup.Granularity.MONTH,
+                LocalDate.of(2025, 3, 15), LocalDate.of(2025, 4, 1), SUBURB, Accommodation.RoomType.SINGLE);
+        assertEquals(2, months.size());
+        assertEquals(2, months.get(0).applications());
+        assertEquals(1, months.get(1).applications());
+    }
+
+    @Test
+    void b_decisionsAreFiledUnderTheApplicationDayAndReversalsAreTakenBack() {
+        Booking confirmed = withStatus(booking(single, LocalDate.of(2025, 3, 3)), Booking.BookingStatus.CONFIRMED);
+        Booking failed = withStatus(booking(shared, LocalDate.of(2025, 3, 5)), Booking.BookingStatus.FAILED);
+
+        analyticsService.recordStatusChange(confirmed, Booking.BookingStatus.IN_PROGRESS);
+        analyticsService.recordStatusChange(confirmed, Booking.BookingStatus.CONFIRMED);
+        analyticsService.recordStatusChange(failed, Booking.BookingStatus.IN_PROGRESS);
+
+        List<BookingSeriesPoint> days = analyticsService.series(BookingRollup.Granularity.DAY,
+                LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 5), SUBURB, null);
+        assertEquals(List.of(
+                new BookingSeriesPoint(LocalDate.of(2025, 3, 3), 2, 1, 0),
+                new BookingSeriesPoint(LocalDate.of(2025, 3, 4), 0, 0, 0),
+                new BookingSeriesPoint(LocalDate.of(2025, 3, 5), 1, 0, 1)), days);
+
+        // Confirmed off the waitlist after the landlord turned it down: one application, one outcome.
+        analyticsService.recordStatusChange(withStatus(failed, Booking.BookingStatus.CONFIRMED),
+                Booking.BookingStatus.FAILED);
+
+        ApplicationFunnel funnel = analyticsService.funnel(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 5));
+        assertEquals(3, funnel.applications());
+        assertEquals(2, funnel.confirmations());
+        assertEquals(0, funnel.failures());
+        assertEquals(1, funnel.pending());
+        assertEquals(66.67, funnel.confirmationRate());
+    }
+
+    @Test
+    void c_invalidRangesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.series(
+                BookingRollup.Granularity.DAY, LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 1), null, null));
+        assertThrows(IllegalArgumentException.class, () -> analyticsService.series(
+                BookingRollup.Granularity.DAY, LocalDate.of(2020, 1, 1), LocalDate.of(2025, 1, 1), null, null));
+        assertEquals(61, analyticsService.series(
+                BookingRollup.Granularity.MONTH, LocalDate.of(2020, 1, 1), LocalDate.of(2025, 1, 1), null, null).size());
+    }
+
+    private static Accommodation accommodation(Accommodation.RoomType roomType) {
+        return new Accommodation.Builder()
+                .setRoomType(roomType)
+                .setAddress(new Address.Builder().setSuburb(SUBURB).build())
+                .build();
+    }
+
+    private static Booking withStatus(Booking booking, Booking.BookingStatus status) {
+        return new Booking.Builder().copy(booking).setBookingStatus(status).build();
+    }
+
+    private static Booking booking(Accommodation accommodation, LocalDate requestDate) {
+        return new Booking.Builder()
+                .setAccommodation(accommodation)
+                .setRequestDate(requestDate)
+                .setBookingStatus(Booking.BookingStatus.IN_PROGRESS)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package co.za.cput.service.analytics;
+
+import co.za.cput.dto.AdminDashboardCounts;
+import co.za.cput.dto.AdminDashboardStats;
+import co.za.cput.repository.analytics.AdminDashboardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveDashboardCountersTest {
+
+    @Mock
+    private AdminDashboardRepository dashboardRepository;
+
+    private LiveDashboardCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new LiveDashboardCounters(dashboardRepository);
+    }
+
+    @Test
+    void eventsMoveTheCountersWithoutTouchingTheDatabase() {
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.ACCOMMODATIONS, 4));
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.ACTIVE_BOOKINGS, 1));
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.ACTIVE_BOOKINGS, 1));
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.ACTIVE_BOOKINGS, -1));
+
+        AdminDashboardStats stats = counters.snapshot();
+        assertEquals(4, stats.totalAccommodations());
+        assertEquals(1, stats.activeBookings());
+        assertEquals(25.0, stats.occupancyRate());
+        verifyNoInteractions(dashboardRepository);
+    }
+
+    @Test
+    void changesAreCoalescedUntilTaken() {
+        assertFalse(counters.takeChanged());
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.STUDENTS, 1));
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.STUDENTS, 1));
+
+        assertTrue(counters.takeChanged());
+        assertFalse(counters.takeChanged());
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        when(dashboardRepository.countOverview()).thenReturn(new AdminDashboardCounts(120, 30, 20, 40, 3, 25));
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.STUDENTS, 118));
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.LANDLORDS, 30));
+        counters.takeChanged();
+
+        assertEquals(5, counters.reconcile());
+        assertEquals(120, counters.get(DashboardCounter.STUDENTS));
+        assertEquals(30, counters.get(DashboardCounter.LANDLORDS));
+        assertEquals(25, counters.get(DashboardCounter.ACTIVE_BOOKINGS));
+        assertTrue(counters.takeChanged());
+
+        assertEquals(0, counters.reconcile());
+        assertFalse(counters.takeChanged());
+    }
+
+    @Test
+    void reconcileLeavesCountersThatMovedDuringTheRead() {
+        when(dashboardRepository.countOverview()).thenAnswer(invocation -> {
+            // A booking confirmed while the counts were being read may or may not be in them.
+            counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.ACTIVE_BOOKINGS, 1));
+            return new AdminDashboardCounts(10, 0, 0, 0, 0, 7);
+        });
+
+        assertEquals(1, counters.reconcile());
+        assertEquals(10, counters.get(DashboardCounter.STUDENTS));
+        assertEquals(1, counters.get(DashboardCounter.ACTIVE_BOOKINGS));
+    }
+
+    @Test
+    void aFailedReconcileKeepsTheCounters() {
+        when(dashboardRepository.countOverview()).thenThrow(new IllegalStateException("database unavailable"));
+        counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.STUDENTS, 3));
+
+        assertEquals(0, counters.reconcile());
+        assertEquals(3, counters.get(DashboardCounter.STUDENTS));
+    }
+
+    @Test
+    void reconcileSkipsEventsCommittedButNotYetApplied() {
+        when(dashboardRepository.countOverview()).thenReturn(new AdminDashboardCounts(0, 0, 0, 0, 0, 1));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.ACTIVE_BOOKINGS, 1));
+            // The booking has committed, so the counts include it, but its event has not been applied yet.
+            assertEquals(0, counters.reconcile());
+            assertEquals(0, counters.get(DashboardCounter.ACTIVE_BOOKINGS));
+            completeWith(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, counters.get(DashboardCounter.ACTIVE_BOOKINGS));
+        assertEquals(0, counters.reconcile());
+        assertEquals(1, counters.get(DashboardCounter.ACTIVE_BOOKINGS));
+    }
+
+    @Test
+    void rolledBackEventsAreNotApplied() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            counters.onCounterEvent(new DashboardCounterEvent(DashboardCounter.STUDENTS, 1));
+            completeWith(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, counters.get(DashboardCounter.STUDENTS));
+        assertFalse(counters.takeChanged());
+    }
+
+    private static void completeWith(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
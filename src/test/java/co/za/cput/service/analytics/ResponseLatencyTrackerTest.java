@@ -0,0 +1,89 @@
+package co.za.cput.service.analytics;
+
+import co.za.cput.dto.BookingDecisionLatency;
+import co.za.cput.dto.ResponseLatencySummary;
+import co.za.cput.repository.business.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseLatencyTrackerTest {
+
+    private static final LocalDateTime STARTED = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Test
+    void percentilesStayWithinTheHistogramPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram(ResponseLatencyTracker.HIGHEST_TRACKABLE_SECONDS);
+        for (long seconds = 1; seconds <= 10_000; seconds++) {
+            histogram.record(seconds);
+        }
+
+        assertEquals(10_000, histogram.count());
+        assertEquals(10_000, histogram.max());
+        assertEquals(5_000.5, histogram.mean());
+        assertWithin(5_000, histogram.valueAtPercentile(50));
+        assertWithin(9_000, histogram.valueAtPercentile(90));
+        assertWithin(9_900, histogram.valueAtPercentile(99));
+        assertEquals(10_000, histogram.valueAtPercentile(100));
+        assertTrue(histogram.bucketCount() < 1_000);
+    }
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int index = 1; index < 500; index++) {
+            long top = LatencyHistogram.highestValueIn(index - 1);
+            assertEquals(index, LatencyHistogram.indexOf(top + 1));
+            assertEquals(index - 1, LatencyHistogram.indexOf(top));
+        }
+    }
+
+    @Test
+    void landlordsBeyondTheLimitOnlyCountTowardsTheOverallFigures() {
+        ResponseLatencyTracker tracker = new ResponseLatencyTracker(bookingRepository, 1, STARTED);
+
+        tracker.record(7L, STARTED, STARTED.plusHours(2));
+        tracker.record(8L, STARTED, STARTED.plusHours(4));
+        tracker.record(null, STARTED, STARTED.plusHours(6));
+        tracker.record(7L, null, STARTED);
+
+        ResponseLatencySummary overall = tracker.overall();
+        assertEquals(3, overall.decisions());
+        assertEquals(6 * 3600, overall.maxSeconds());
+        ResponseLatencySummary landlord = tracker.forLandlord(7L);
+        assertEquals(1, landlord.decisions());
+        assertWithin(7200, landlord.p50Seconds());
+        assertEquals(0, tracker.forLandlord(8L).decisions());
+        assertEquals(1, tracker.trackedLandlords());
+    }
+
+    @Test
+    void seedingReadsOnlyDecisionsMadeBeforeTheTrackerStarted() {
+        when(bookingRepository.findDecisionLatencies(STARTED)).thenReturn(List.of(
+                new BookingDecisionLatency(7L, STARTED.minusDays(2), STARTED.minusDays(1)),
+                new BookingDecisionLatency(9L, STARTED.minusHours(3), STARTED.minusHours(2))));
+        ResponseLatencyTracker tracker = new ResponseLatencyTracker(bookingRepository, 10, STARTED);
+
+        tracker.seedOnStartup();
+
+        assertEquals(2, tracker.overall().decisions());
+        assertWithin(86_400, tracker.forLandlord(7L).maxSeconds());
+        assertEquals(3600, tracker.forLandlord(9L).p99Seconds());
+        verify(bookingRepository).findDecisionLatencies(STARTED);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.04,
+                () -> "expected about " + expected + " but was " + actual);
+    }
+}
@@ -3,11 +3,12 @@ package co.za.cput.service.business.implementation;
 import co.za.cput.domain.business.Accommodation;
 import co.za.cput.domain.business.Booking;
 import co.za.cput.domain.generic.Address;
+import co.za.cput.dto.AccommodationBookingCounts;
 import co.za.cput.dto.AccommodationInsight;
 import co.za.cput.dto.AccommodationRatingSummary;
+import co.za.cput.repository.business.AccommodationRatingRepository;
 import co.za.cput.repository.business.AccommodationRepository;
 import co.za.cput.repository.business.BookingRepository;
-import co.za.cput.repository.business.ReviewRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -16,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,7 +36,7 @@ class AccommodationInsightServiceTest {
     private AccommodationRepository accommodationRepository;
 
     @Mock
-    private ReviewRepository reviewRepository;
+    private AccommodationRatingRepository ratingRepository;
 
     @Mock
     private BookingRepository bookingRepository;
@@ -66,10 +69,9 @@ class AccommodationInsightServiceTest {
         );
 
         when(accommodationRepository.findById(1L)).thenReturn(Optional.of(accommodation));
-        when(reviewRepository.findSummaryByAccommodationId(1L)).thenReturn(Optional.of(summary));
-        when(bookingRepository.countByAccommodation_AccommodationID(1L)).thenReturn(6L);
-        when(bookingRepository.countByAccommodation_AccommodationIDAndBookingStatus(1L, Booking.BookingStatus.CONFIRMED))
-                .thenReturn(4L);
+        when(ratingRepository.findSummaryByAccommodationId(1L)).thenReturn(Optional.of(summary));
+        when(bookingRepository.countBookingsByAccommodationIds(List.of(1L), Booking.BookingStatus.CONFIRMED))
+                .thenReturn(List.of(new AccommodationBookingCounts(1L, 6, 4)));
 
         Optional<AccommodationInsight> result = service.buildInsights(1L);
 
@@ -90,11 +92,58 @@ class AccommodationInsightServiceTest {
 
     @Test
     void findTopRatedSanitizesLimitBeforeQuery() {
-        when(reviewRepository.findTopRatedSummaries(any(PageRequest.class))).thenReturn(List.of());
-        when(accommodationRepository.findAllById(any())).thenReturn(List.of());
+        when(ratingRepository.findTopRatedSummaries(any(PageRequest.class))).thenReturn(List.of());
+        when(accommodationRepository.findByAccommodationIDIn(any())).thenReturn(List.of());
 
         service.findTopRated(-10);
 
-        verify(reviewRepository).findTopRatedSummaries(eq(PageRequest.of(0, 1)));
+        verify(ratingRepository).findTopRatedSummaries(eq(PageRequest.of(0, 1)));
+    }
+
+    @Test
+    void findTopRatedCountsBookingsForAllAccommodationsInOneQuery() {
+        when(ratingRepository.findTopRatedSummaries(any(PageRequest.class))).thenReturn(List.of(
+                new AccommodationRatingSummary(2L, 4.9, 3L, LocalDate.of(2024, 9, 1), 3L),
+                new AccommodationRatingSummary(1L, 4.1, 5L, LocalDate.of(2024, 7, 1), 4L)));
+        when(accommodationRepository.findByAccommodationIDIn(List.of(2L, 1L)))
+                .thenReturn(List.of(accommodation(1L), accommodation(2L)));
+        when(bookingRepository.countBookingsByAccommodationIds(List.of(2L, 1L), Booking.BookingStatus.CONFIRMED))
+                .thenReturn(List.of(new AccommodationBookingCounts(1L, 4, 1)));
+
+        List<AccommodationInsight> insights = service.findTopRated(5);
+
+        assertEquals(List.of(2L, 1L), insights.stream().map(AccommodationInsight::accommodationId).toList());
+        assertEquals(0, insights.get(0).totalBookings());
+        assertEquals(0.0, insights.get(0).occupancyRate());
+        assertEquals(4, insights.get(1).totalBookings());
+        assertEquals(25.0, insights.get(1).occupancyRate(), 0.001);
+        verify(bookingRepository, never()).countByAccommodation_AccommodationID(any());
+    }
+
+    @Test
+    void bulkInsightsKeepRequestOrderAndSkipUnknownIds() {
+        when(accommodationRepository.findByAccommodationIDIn(List.of(3L, 1L, 404L)))
+                .thenReturn(List.of(accommodation(1L), accommodation(3L)));
+        when(ratingRepository.findSummariesByAccommodationIds(List.of(3L, 1L, 404L))).thenReturn(List.of(
+                new AccommodationRatingSummary(3L, 3.0, 2L, LocalDate.of(2024, 5, 5), 1L)));
+        when(bookingRepository.countBookingsByAccommodationIds(List.of(3L, 1L, 404L), Booking.BookingStatus.CONFIRMED))
+                .thenReturn(List.of(new AccommodationBookingCounts(3L, 2, 2)));
+
+        List<AccommodationInsight> insights = service.buildInsights(Arrays.asList(3L, 1L, null, 3L, 404L));
+
+        assertEquals(List.of(3L, 1L), insights.stream().map(AccommodationInsight::accommodationId).toList());
+        assertEquals(3.0, insights.get(0).averageRating());
+        assertEquals(100.0, insights.get(0).occupancyRate());
+        assertEquals(0, insights.get(1).totalReviews());
+        assertTrue(service.buildInsights(List.of()).isEmpty());
+    }
+
+    private static Accommodation accommodation(Long id) {
+        return new Accommodation.Builder()
+                .setAccommodationID(id)
+                .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                .setRent(3500)
+                .setDistanceFromCampus(2.0)
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.AccommodationRating;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.business.Review;
+import co.za.cput.dto.AccommodationRatingSummary;
+import co.za.cput.repository.business.AccommodationRatingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class AccommodationRatingServiceTest {
+
+    @Autowired
+    private ReviewServiceImpl reviewService;
+
+    @Autowired
+    private AccommodationRatingService ratingService;
+
+    @Autowired
+    private AccommodationRatingRepository ratingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Long accommodationId;
+    private static final List<Long> bookingIds = new ArrayList<>();
+    private static final List<Review> reviews = new ArrayList<>();
+
+    @Test
+    void a_reviewsAreAddedToTheAggregate() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Accommodation accommodation = new Accommodation.Builder()
+                    .setRent(3900)
+                    .setDistanceFromCampus(1.5)
+                    .setRoomType(Accommodation.RoomType.SINGLE)
+                    .setBathroomType(Accommodation.BathroomType.PRIVATE)
+                    .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                    .build();
+            entityManager.persist(accommodation);
+            for (int i = 0; i < 2; i++) {
+                Booking booking = new Booking.Builder()
+                        .setTotalAmount(3900)
+                        .setBookingStatus(Booking.BookingStatus.CONFIRMED)
+                        .setAccommodation(accommodation)
+                        .build();
+                entityManager.persist(booking);
+                bookingIds.add(booking.getBookingID());
+            }
+            accommodationId = accommodation.getAccommodationID();
+        });
+
+        reviews.add(reviewService.addReviewToBooking(bookingIds.get(0), review(5, LocalDate.of(2025, 3, 1))));
+        reviews.add(reviewService.addReviewToBooking(bookingIds.get(1), review(3, LocalDate.of(2025, 4, 1))));
+
+        AccommodationRatingSummary summary = ratingRepository.findSummaryByAccommodationId(accommodationId)
+                .orElseThrow();
+        assertEquals(4.0, summary.averageRating());
+        assertEquals(2L, summary.totalReviews());
+        assertEquals(1L, summary.positiveReviewCount());
+        assertEquals(LocalDate.of(2025, 4, 1), summary.mostRecentReviewDate());
+    }
+
+    @Test
+    void b_updatesAndDeletesMoveTheirContribution() {
+        reviewService.update(new Review.Builder()
+                .copy(reviews.get(1))
+                .setRating(4)
+                .setReviewDate(LocalDate.of(2025, 2, 1))
+                .build());
+
+        AccommodationRating rating = ratingRepository.findById(accommodationId).orElseThrow();
+        assertEquals(9, rating.getRatingSum());
+        assertEquals(2, rating.getPositiveCount());
+        assertEquals(LocalDate.of(2025, 3, 1), rating.getLastReviewDate());
+
+        reviewService.delete(reviews.get(0).getReviewID());
+
+        rating = ratingRepository.findById(accommodationId).orElseThrow();
+        assertEquals(4, rating.getRatingSum());
+        assertEquals(1, rating.getReviewCount());
+        assertEquals(4.0, rating.getAverageRating());
+        assertEquals(LocalDate.of(2025, 2, 1), rating.getLastReviewDate());
+    }
+
+    @Test
+    void c_rebuildRepairsDrift() {
+        AccommodationRating rating = ratingRepository.findById(accommodationId).orElseThrow();
+        rating.copyTotals(new AccommodationRating.Builder()
+                .setAccommodationId(accommodationId)
+                .setRatingSum(50)
+                .setReviewCount(10)
+                .build());
+        ratingRepository.save(rating);
+
+        assertTrue(ratingService.rebuild() >= 1);
+
+        AccommodationRating repaired = ratingRepository.findById(accommodationId).orElseThrow();
+        assertEquals(4, repaired.getRatingSum());
+        assertEquals(1, repaired.getReviewCount());
+        assertEquals(1, repaired.getPositiveCount());
+        assertEquals(LocalDate.of(2025, 2, 1), repaired.getLastReviewDate());
+        assertEquals(0, ratingService.rebuild());
+    }
+
+    private static Review review(int rating, LocalDate reviewDate) {
+        return new Review.Builder()
+                .setRating(rating)
+                .setComment("Rating " + rating)
+                .setReviewDate(reviewDate)
+                .build();
+    }
+}
@@ -1,13 +1,26 @@
 package co.za.cput.service.business.implementation;
 
 import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.AccommodationRating;
 import co.za.cput.domain.generic.Address;
 import co.za.cput.domain.generic.Contact;
 import co.za.cput.domain.users.Landlord;
+import co.za.cput.dto.AccommodationFacets;
+import co.za.cput.dto.AccommodationSearchCriteria;
+import co.za.cput.dto.AccommodationSearchPage;
+import co.za.cput.dto.AccommodationSortOption;
+import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.dto.GeoBounds;
+import co.za.cput.dto.GeoRadius;
 import co.za.cput.factory.business.AccommodationFactory;
 import co.za.cput.factory.generic.AddressFactory;
 import co.za.cput.factory.generic.ContactFactory;
 import co.za.cput.factory.user.LandlordFactory;
+import co.za.cput.repository.business.AccommodationRatingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -16,6 +29,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -29,6 +43,15 @@ class AccommodationServiceImplTest {
     @Autowired
     private AccommodationServiceImpl accommodationService;
 
+    @Autowired
+    private AccommodationRatingRepository ratingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Address address = AddressFactory.createAddress(
             "42", "Main Street", "Observatory", "Cape Town", 7925
     );
@@ -150,4 +173,266 @@ class AccommodationServiceImplTest {
         assertNull(accommodationService.read(accommodation_with_Id.getAccommodationID()));
         System.out.println("Deleted accommodation with ID: " + accommodation_with_Id.getAccommodationID());
     }
+
+    @Test
+    @Transactional
+    void f_searchPagesWithKeysetTokens() {
+        double[] rents = {3900.00, 3100.00, 3500.00, 3100.00, 4700.00};
+        for (double rent : rents) {
+            accommodationService.create(AccommodationFactory.createAccommodation(
+                    rent, true, false, 2.5, true,
+                    Accommodation.RoomType.SHARED,
+                    Accommodation.BathroomType.SHARED,
+                    Accommodation.AccommodationStatus.AVAILABLE,
+                    AddressFactory.createAddress("7", "Keyset Road", "Rondebosch", "Keyset Town", 7700),
+                    null,
+                    null
+            ));
+        }
+
+        AccommodationSearchCriteria criteria = new AccommodationSearchCriteria.Builder().setCity("Keyset Town").build();
+
+        List<AccommodationSummary> collected = new ArrayList<>();
+        String pageToken = null;
+        int pages = 0;
+        do {
+            AccommodationSearchPage page = accommodationService.search(criteria, AccommodationSortOption.RENT, pageToken, 2);
+            assertTrue(page.items().size() <= 2);
+            collected.addAll(page.items());
+            pageToken = page.nextPageToken();
+            pages++;
+        } while (pageToken != null);
+
+        assertEquals(3, pages);
+        assertEquals(rents.length, collected.size());
+        assertEquals(rents.length, collected.stream().map(AccommodationSummary::id).distinct().count());
+        for (int i = 1; i < collected.size(); i++) {
+            AccommodationSummary previous = collected.get(i - 1);
+            AccommodationSummary current = collected.get(i);
+            assertTrue(previous.rent() < current.rent()
+                    || (previous.rent() == current.rent() && previous.id() < current.id()));
+        }
+
+        AccommodationSearchPage newest = accommodationService.search(criteria, AccommodationSortOption.NEWEST, null, 10);
+        assertNull(newest.nextPageToken());
+        assertEquals(rents.length, newest.items().size());
+        assertTrue(newest.items().get(0).id() > newest.items().get(rents.length - 1).id());
+
+        AccommodationSearchPage firstByRating = accommodationService.search(criteria, AccommodationSortOption.RATING, null, 4);
+        assertNotNull(firstByRating.nextPageToken());
+        AccommodationSearchPage lastByRating = accommodationService.search(
+                criteria, AccommodationSortOption.RATING, firstByRating.nextPageToken(), 4);
+        assertEquals(1, lastByRating.items().size());
+        assertNull(lastByRating.nextPageToken());
+
+        String rentToken = accommodationService.search(criteria, AccommodationSortOption.RENT, null, 1).nextPageToken();
+        assertThrows(IllegalArgumentException.class,
+                () -> accommodationService.search(criteria, AccommodationSortOption.DISTANCE, rentToken, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> accommodationService.search(criteria, AccommodationSortOption.RENT, "not-a-token", 1));
+    }
+
+    @Test
+    @Transactional
+    void fa_ratingPagesSeekOnTheExactRank() {
+        long[] ratingSums = {13, 14, 13};
+        List<Long> ids = new ArrayList<>();
+        for (long ratingSum : ratingSums) {
+            Long id = accommodationService.create(AccommodationFactory.createAccommodation(
+                    3300.00, true, false, 2.5, true,
+                    Accommodation.RoomType.SHARED,
+                    Accommodation.BathroomType.SHARED,
+                    Accommodation.AccommodationStatus.AVAILABLE,
+                    AddressFactory.createAddress("9", "Rank Road", "Rondebosch", "Rank Town", 7700),
+                    null,
+                    null
+            )).getAccommodationID();
+            ratingRepository.save(new AccommodationRating.Builder()
+                    .setAccommodationId(id)
+                    .setRatingSum(ratingSum)
+                    .setReviewCount(3)
+                    .build());
+            ids.add(id);
+        }
+        assertEquals(4_333_333L, ratingRepository.findById(ids.get(0)).orElseThrow().getRatingRank());
+
+        AccommodationSearchCriteria criteria = new AccommodationSearchCriteria.Builder().setCity("Rank Town").build();
+        List<Long> collected = new ArrayList<>();
+        String pageToken = null;
+        do {
+            AccommodationSearchPage page = accommodationService.search(criteria, AccommodationSortOption.RATING, pageToken, 1);
+            page.items().forEach(summary -> collected.add(summary.id()));
+            pageToken = page.nextPageToken();
+        } while (pageToken != null);
+
+        assertEquals(List.of(ids.get(1), ids.get(2), ids.get(0)), collected);
+    }
+
+    @Test
+    @Transactional
+    void g_searchRunsOneQueryRegardlessOfResultSize() {
+        for (int i = 0; i < 6; i++) {
+            accommodationService.create(AccommodationFactory.createAccommodation(
+                    3000.00 + i * 100, true, true, 1.5, false,
+                    Accommodation.RoomType.SINGLE,
+                    Accommodation.BathroomType.PRIVATE,
+                    Accommodation.AccommodationStatus.AVAILABLE,
+                    AddressFactory.createAddress(String.valueOf(10 + i), "Projection Lane", "Mowbray", "Projection City", 7700),
+                    LandlordFactory.createLandlord(
+                            "Lerato",
+                            "Molefe" + i,
+                            true,
+                            LocalDate.now(),
+                            "Password123",
+                            ContactFactory.createContact(
+                                    "projection.landlord" + i + "@example.com",
+                                    "0721234567",
+                                    "0837654321",
+                                    true,
+                                    true,
+                                    Contact.PreferredContactMethod.EMAIL
+                            ),
+                            Collections.emptyList()
+                    ),
+                    null
+            ));
+        }
+
+        AccommodationSearchCriteria criteria = new AccommodationSearchCriteria.Builder().setCity("Projection City").build();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Detach everything so lazy associations would have to be fetched again if the search touched them.
+        entityManager.clear();
+
+        statistics.clear();
+        AccommodationSearchPage all = accommodationService.search(criteria, null, null, 10);
+        assertEquals(6, all.items().size());
+        assertNull(all.nextPageToken());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        AccommodationSearchPage page = accommodationService.search(criteria, AccommodationSortOption.RENT, null, 4);
+        assertEquals(4, page.items().size());
+        assertNotNull(page.nextPageToken());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        AccommodationSummary cheapest = page.items().get(0);
+        assertEquals(3000.00, cheapest.rent());
+        assertEquals("10 Projection Lane", cheapest.streetAddress());
+        assertEquals("Lerato Molefe0", cheapest.landlordName());
+        assertEquals("projection.landlord0@example.com", cheapest.landlordEmail());
+    }
+
+    @Test
+    @Transactional
+    void h_searchByRadiusAndViewport() {
+        double[][] points = {
+                {-33.9321, 18.6400},  // CPUT Bellville campus
+                {-33.9420, 18.6500},  // about 1.4 km away
+                {-33.9249, 18.4241},  // Cape Town CBD, about 20 km away
+        };
+        for (double[] point : points) {
+            accommodationService.create(AccommodationFactory.createAccommodation(
+                    3800.00, true, true, 1.0, true,
+                    Accommodation.RoomType.SINGLE,
+                    Accommodation.BathroomType.PRIVATE,
+                    Accommodation.AccommodationStatus.AVAILABLE,
+                    AddressFactory.createAddress("3", "Geo Street", "Bellville", "Geo City", 7535, point[0], point[1]),
+                    null,
+                    null
+            ));
+        }
+
+        AccommodationSearchCriteria nearCampus = new AccommodationSearchCriteria.Builder().setCity("Geo City")
+                .setNear(new GeoRadius(-33.9321, 18.6400, 3))
+                .build();
+        List<AccommodationSummary> near = accommodationService.search(nearCampus, null, null, 10).items();
+        assertEquals(2, near.size());
+        assertTrue(near.stream().allMatch(summary -> summary.longitude() > 18.6));
+
+        AccommodationSearchCriteria cityViewport = new AccommodationSearchCriteria.Builder().setCity("Geo City")
+                .setViewport(new GeoBounds(-33.95, 18.40, -33.90, 18.45))
+                .build();
+        List<AccommodationSummary> inViewport = accommodationService.search(cityViewport, null, null, 10).items();
+        assertEquals(1, inViewport.size());
+        assertEquals(-33.9249, inViewport.get(0).latitude());
+    }
+
+    @Test
+    @Transactional
+    void i_facetsCountEachOptionInOneQuery() {
+        double[] rents = {2500.00, 2900.00, 3100.00, 3100.00, 4800.00};
+        for (int i = 0; i < rents.length; i++) {
+            accommodationService.create(AccommodationFactory.createAccommodation(
+                    rents[i], i % 2 == 0, i < 3, 2.0, i == 4,
+                    i < 2 ? Accommodation.RoomType.SINGLE : Accommodation.RoomType.DOUBLE,
+                    Accommodation.BathroomType.SHARED,
+                    Accommodation.AccommodationStatus.AVAILABLE,
+                    AddressFactory.createAddress(String.valueOf(i + 1), "Facet Road", i < 3 ? "Belhar" : "BELHAR EAST",
+                            "Facet City", 7493),
+                    null,
+                    null
+            ));
+        }
+
+        AccommodationSearchCriteria criteria = new AccommodationSearchCriteria.Builder().setCity("Facet City").build();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        AccommodationFacets facets = accommodationService.facets(criteria);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        assertEquals(5, facets.total());
+        assertEquals(2L, facets.roomTypes().get(Accommodation.RoomType.SINGLE));
+        assertEquals(3L, facets.roomTypes().get(Accommodation.RoomType.DOUBLE));
+        assertEquals(0L, facets.roomTypes().get(Accommodation.RoomType.EN_SUITE));
+        assertEquals(5L, facets.bathroomTypes().get(Accommodation.BathroomType.SHARED));
+        assertEquals(3, facets.wifiAvailable());
+        assertEquals(3, facets.furnished());
+        assertEquals(1, facets.utilitiesIncluded());
+        assertEquals(3L, facets.suburbs().get("Belhar"));
+        assertEquals(2L, facets.suburbs().get("BELHAR EAST"));
+        assertEquals(List.of(
+                new AccommodationFacets.RentBucket(2000, 3000, 2),
+                new AccommodationFacets.RentBucket(3000, 4000, 2),
+                new AccommodationFacets.RentBucket(4000, 5000, 1)), facets.rentBuckets());
+
+        AccommodationSearchCriteria singles = new AccommodationSearchCriteria.Builder().setCity("Facet City")
+                .setRoomType(Accommodation.RoomType.SINGLE)
+                .build();
+        assertEquals(2, accommodationService.facets(singles).total());
+        assertEquals(accommodationService.search(singles, null, null, 10).items().size(), accommodationService.facets(singles).total());
+    }
+
+    @Test
+    @Transactional
+    void j_searchByFreeTextPrefix() {
+        accommodationService.create(AccommodationFactory.createAccommodation(
+                4100.00, true, true, 1.0, true,
+                Accommodation.RoomType.SINGLE,
+                Accommodation.BathroomType.PRIVATE,
+                Accommodation.AccommodationStatus.AVAILABLE,
+                AddressFactory.createAddress("9", "Klipfontein Road", "Rondebosch East", "Text City", 7780),
+                null,
+                null
+        ));
+        accommodationService.create(AccommodationFactory.createAccommodation(
+                3900.00, true, true, 1.0, true,
+                Accommodation.RoomType.SINGLE,
+                Accommodation.BathroomType.PRIVATE,
+                Accommodation.AccommodationStatus.AVAILABLE,
+                AddressFactory.createAddress("14", "Main Road", "Mowbray", "Text City", 7700),
+                null,
+                null
+        ));
+
+        assertEquals(1, accommodationService.search(textCriteria("klip RONDE"), null, null, 10).items().size());
+        assertEquals(1, accommodationService.search(textCriteria("east"), null, null, 10).items().size());
+        assertEquals(2, accommodationService.search(textCriteria("text"), null, null, 10).items().size());
+        assertTrue(accommodationService.search(textCriteria("ondebosch"), null, null, 10).items().isEmpty());
+        // Without the in-memory index there is nothing fast enough to autocomplete from.
+        assertTrue(accommodationService.suggest("klip", null).isEmpty());
+    }
+
+    private static AccommodationSearchCriteria textCriteria(String q) {
+        return new AccommodationSearchCriteria.Builder().setCity("Text City").setText(q).build();
+    }
 }
@@ -0,0 +1,135 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.notification.OutboxMessage;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.ApplicationExpiryStats;
+import co.za.cput.repository.business.BookingRepository;
+import co.za.cput.repository.notification.OutboxMessageRepository;
+import co.za.cput.repository.scheduling.JobLeaseRepository;
+import co.za.cput.service.analytics.BookingAnalyticsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"app.applications.expiry.days=30", "app.applications.expiry.chunk-size=2"})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class ApplicationExpiryServiceTest {
+
+    @Autowired
+    private ApplicationExpiryService expiryService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private BookingAnalyticsService bookingAnalytics;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static List<Long> staleIds;
+    private static Long freshId;
+    private static Long confirmedId;
+
+    @Test
+    void a_staleApplicationsFailInChunks() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Accommodation listing = new Accommodation.Builder()
+                    .setRent(4800)
+                    .setRoomType(Accommodation.RoomType.SINGLE)
+                    .setBathroomType(Accommodation.BathroomType.SHARED)
+                    .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                    .build();
+            entityManager.persist(listing);
+            LocalDateTime now = LocalDateTime.now();
+            staleIds = List.of(
+                    application(listing, now.minusDays(45), Booking.BookingStatus.IN_PROGRESS),
+                    application(listing, now.minusDays(40), Booking.BookingStatus.IN_PROGRESS),
+                    application(listing, now.minusDays(31), Booking.BookingStatus.IN_PROGRESS));
+            freshId = application(listing, now.minusDays(5), Booking.BookingStatus.IN_PROGRESS);
+            confirmedId = application(listing, now.minusDays(60), Booking.BookingStatus.CONFIRMED);
+        });
+
+        LocalDate today = LocalDate.now();
+        long failuresBefore = bookingAnalytics.funnel(today.minusDays(60), today).failures();
+
+        assertEquals(3, expiryService.expireStaleApplications());
+        assertEquals(failuresBefore + 3, bookingAnalytics.funnel(today.minusDays(60), today).failures());
+
+        for (Long staleId : staleIds) {
+            Booking expired = bookingRepository.findById(staleId).orElseThrow();
+            assertEquals(Booking.BookingStatus.FAILED, expired.getBookingStatus());
+            assertNull(expired.getDecidedAt());
+            assertFalse(bookingRepository.existsByStudent_StudentIDAndAccommodation_AccommodationIDAndActiveApplicationTrue(
+                    expired.getStudent().getStudentID(), expired.getAccommodation().getAccommodationID()));
+            assertEquals(1, outboxRepository.findBySubjectIdAndEventTypeOrderById(staleId,
+                    OutboxMessage.EventType.APPLICATION_EXPIRED).size());
+        }
+        assertEquals(Booking.BookingStatus.IN_PROGRESS,
+                bookingRepository.findById(freshId).orElseThrow().getBookingStatus());
+        assertEquals(Booking.BookingStatus.CONFIRMED,
+                bookingRepository.findById(confirmedId).orElseThrow().getBookingStatus());
+
+        ApplicationExpiryStats stats = expiryService.stats();
+        assertEquals(1, stats.runs());
+        assertEquals(3, stats.expiredTotal());
+        assertEquals(3, stats.lastRunExpired());
+        assertEquals(1, stats.lastRunListings());
+        assertEquals(2, stats.lastRunChunks());
+    }
+
+    @Test
+    void b_anotherNodeHoldingTheLeaseSkipsTheRun() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        Integer taken = transactionTemplate.execute(status -> jobLeaseRepository.takeOrExtend(
+                ApplicationExpiryService.JOB_NAME, "other-node", now, now.plusMinutes(10)));
+        assertEquals(1, taken);
+
+        assertEquals(0, expiryService.expireStaleApplications());
+        assertEquals(1, expiryService.stats().leaseSkips());
+        assertEquals(1, expiryService.stats().runs());
+
+        transactionTemplate.executeWithoutResult(status ->
+                jobLeaseRepository.release(ApplicationExpiryService.JOB_NAME, "other-node", now));
+        assertEquals(0, expiryService.expireStaleApplications());
+        assertEquals(2, expiryService.stats().runs());
+    }
+
+    private Long application(Accommodation listing, LocalDateTime createdAt, Booking.BookingStatus status) {
+        Student student = new Student.Builder().setStudentName("Expiry").setStudentSurname("Student").build();
+        entityManager.persist(student);
+        Booking booking = new Booking.Builder()
+                .setStudent(student)
+                .setAccommodation(listing)
+                .setTotalAmount(4800)
+                .setCreatedAt(createdAt)
+                .setUpdatedAt(createdAt)
+                .setBookingStatus(status)
+                .build();
+        entityManager.persist(booking);
+        return booking.getBookingID();
+    }
+}
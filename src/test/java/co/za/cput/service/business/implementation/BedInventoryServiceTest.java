@@ -0,0 +1,215 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.BedAvailability;
+import co.za.cput.dto.BookingStatusUpdateRequest;
+import co.za.cput.repository.business.AccommodationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class BedInventoryServiceTest {
+
+    private static final int APPLICANTS = 8;
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private AccommodationServiceImpl accommodationService;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Long accommodationId;
+    private static final List<Long> bookingIds = new ArrayList<>();
+    private static final List<Long> confirmedIds = new ArrayList<>();
+
+    @Test
+    void a_concurrentConfirmationsNeverOverbook() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Accommodation accommodation = new Accommodation.Builder()
+                    .setRent(4500)
+                    .setBedCapacity(3)
+                    .setRoomType(Accommodation.RoomType.SHARED)
+                    .setBathroomType(Accommodation.BathroomType.SHARED)
+                    .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                    .build();
+            entityManager.persist(accommodation);
+            for (int i = 0; i < APPLICANTS; i++) {
+                Student student = new Student.Builder()
+                        .setStudentName("Applicant")
+                        .setStudentSurname("Number " + i)
+                        .build();
+                entityManager.persist(student);
+                Booking booking = new Booking.Builder()
+                        .setStudent(student)
+                        .setAccommodation(accommodation)
+                        .setTotalAmount(4500)
+                        .setCreatedAt(LocalDateTime.now())
+                        .setBookingStatus(Booking.BookingStatus.IN_PROGRESS)
+                        .build();
+                entityManager.persist(booking);
+                bookingIds.add(booking.getBookingID());
+            }
+            accommodationId = accommodation.getAccommodationID();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(APPLICANTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            outcomes.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.updateApplicationStatus(bookingId, status(Booking.BookingStatus.CONFIRMED));
+                    return true;
+                } catch (IllegalArgumentException full) {
+                    assertEquals("This listing has no beds left.", full.getMessage());
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i).get()) {
+                confirmedIds.add(bookingIds.get(i));
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(3, confirmedIds.size());
+        assertEquals(new BedAvailability(3, 3), accommodationRepository.findBedAvailability(accommodationId).orElseThrow());
+        assertEquals(Accommodation.AccommodationStatus.FULL, statusOf(accommodationId));
+        for (Long bookingId : bookingIds) {
+            Booking.BookingStatus expected = confirmedIds.contains(bookingId)
+                    ? Booking.BookingStatus.CONFIRMED
+                    : Booking.BookingStatus.IN_PROGRESS;
+            assertEquals(expected, bookingService.read(bookingId).getBookingStatus());
+        }
+    }
+
+    @Test
+    void b_unconfirmingFreesABed() {
+        bookingService.updateApplicationStatus(confirmedIds.get(0), status(Booking.BookingStatus.FAILED));
+
+        assertEquals(new BedAvailability(3, 2), accommodationRepository.findBedAvailability(accommodationId).orElseThrow());
+        assertEquals(Accommodation.AccommodationStatus.AVAILABLE, statusOf(accommodationId));
+    }
+
+    @Test
+    void c_editingCapacityReDerivesTheStatus() {
+        // As in a web request, where the open session keeps the listing's bookings attached.
+        Accommodation saved = new TransactionTemplate(transactionManager).execute(status -> {
+            Accommodation stored = entityManager.find(Accommodation.class, accommodationId);
+            stored.setBedCapacity(2);
+            stored.setBedsReserved(0);
+            return accommodationService.update(stored);
+        });
+
+        assertEquals(2, saved.getBedsReserved());
+        assertEquals(Accommodation.AccommodationStatus.FULL, saved.getAccommodationStatus());
+        assertEquals(new BedAvailability(2, 2), accommodationRepository.findBedAvailability(accommodationId).orElseThrow());
+        assertEquals(Accommodation.AccommodationStatus.FULL, statusOf(accommodationId));
+        assertThrows(IllegalArgumentException.class, () -> accommodationService.update(
+                new Accommodation.Builder().copy(saved).setBedCapacity(0).build()));
+    }
+
+    @Test
+    void d_concurrentConfirmationsOfOneBookingTakeOneBed() throws Exception {
+        Booking booking = persistApplication(3);
+        Long listingId = booking.getAccommodation().getAccommodationID();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> outcomes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            outcomes.add(executor.submit(() -> {
+                start.await();
+                return bookingService.updateApplicationStatus(booking.getBookingID(),
+                        status(Booking.BookingStatus.CONFIRMED));
+            }));
+        }
+        start.countDown();
+        for (Future<?> outcome : outcomes) {
+            outcome.get();
+        }
+        executor.shutdown();
+
+        assertEquals(new BedAvailability(3, 1), accommodationRepository.findBedAvailability(listingId).orElseThrow());
+    }
+
+    @Test
+    void e_statusChangesThroughUpdateMoveTheBed() {
+        Booking booking = persistApplication(3);
+        Long listingId = booking.getAccommodation().getAccommodationID();
+
+        Booking confirmed = bookingService.update(new Booking.Builder().copy(bookingService.read(booking.getBookingID()))
+                .setBookingStatus(Booking.BookingStatus.CONFIRMED)
+                .build());
+        assertEquals(new BedAvailability(3, 1), accommodationRepository.findBedAvailability(listingId).orElseThrow());
+
+        bookingService.update(new Booking.Builder().copy(confirmed).setBookingStatus(Booking.BookingStatus.FAILED).build());
+        assertEquals(new BedAvailability(3, 0), accommodationRepository.findBedAvailability(listingId).orElseThrow());
+    }
+
+    private Booking persistApplication(int bedCapacity) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Accommodation accommodation = new Accommodation.Builder()
+                    .setRent(4500)
+                    .setBedCapacity(bedCapacity)
+                    .setRoomType(Accommodation.RoomType.SHARED)
+                    .setBathroomType(Accommodation.BathroomType.SHARED)
+                    .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                    .build();
+            entityManager.persist(accommodation);
+            Student student = new Student.Builder().setStudentName("Applicant").setStudentSurname("Twice").build();
+            entityManager.persist(student);
+            Booking booking = new Booking.Builder()
+                    .setStudent(student)
+                    .setAccommodation(accommodation)
+                    .setTotalAmount(4500)
+                    .setCreatedAt(LocalDateTime.now())
+                    .setBookingStatus(Booking.BookingStatus.IN_PROGRESS)
+                    .build();
+            entityManager.persist(booking);
+            return booking;
+        });
+    }
+
+    private Accommodation.AccommodationStatus statusOf(Long id) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                entityManager.find(Accommodation.class, id).getAccommodationStatus());
+    }
+
+    private static BookingStatusUpdateRequest status(Booking.BookingStatus status) {
+        BookingStatusUpdateRequest request = new BookingStatusUpdateRequest();
+        request.setStatus(status);
+        return request;
+    }
+}
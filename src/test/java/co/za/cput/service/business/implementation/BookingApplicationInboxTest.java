@@ -0,0 +1,162 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.generic.Address;
+import co.za.cput.domain.generic.Contact;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.BookingApplicationPage;
+import co.za.cput.dto.BookingApplicationView;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class BookingApplicationInboxTest {
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Long landlordId;
+    private static Long studentId;
+    private static Long secondListingId;
+    // Newest first, as the inbox should list them.
+    private static final List<Long> expectedOrder = new ArrayList<>();
+
+    @Test
+    void a_inboxPagesWalkEveryApplicationNewestFirst() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Landlord landlord = new Landlord.Builder()
+                    .setLandlordFirstName("Inbox")
+                    .setLandlordLastName("Owner")
+                    .setContact(new Contact.Builder().setEmail("inbox.owner@example.com").build())
+                    .build();
+            entityManager.persist(landlord);
+            Accommodation first = listing(landlord, "12", "Main Road");
+            Accommodation second = listing(landlord, null, null);
+            Student student = new Student.Builder()
+                    .setStudentName("Inbox")
+                    .setStudentSurname("Applicant")
+                    .setContact(new Contact.Builder().setEmail("inbox.applicant@example.com").build())
+                    .build();
+            entityManager.persist(student);
+
+            LocalDateTime base = LocalDateTime.of(2025, 3, 1, 9, 0);
+            // Two share a creation time, so the booking id has to break the tie; one predates created_at tracking.
+            // Only one application per listing may stay active, so the rest are failed ones.
+            Booking oldest = application(student, first, base, Booking.BookingStatus.FAILED);
+            Booking tiedLow = application(student, second, base.plusDays(1), Booking.BookingStatus.FAILED);
+            Booking tiedHigh = application(student, first, base.plusDays(1), Booking.BookingStatus.IN_PROGRESS);
+            Booking newest = application(student, second, base.plusDays(3), Booking.BookingStatus.IN_PROGRESS);
+            Booking untimed = application(student, first, null, Booking.BookingStatus.FAILED);
+            expectedOrder.addAll(List.of(newest.getBookingID(), tiedHigh.getBookingID(), tiedLow.getBookingID(),
+                    oldest.getBookingID(), untimed.getBookingID()));
+
+            landlordId = landlord.getLandlordID();
+            studentId = student.getStudentID();
+            secondListingId = second.getAccommodationID();
+        });
+
+        List<Long> seen = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            BookingApplicationPage page = bookingService.findApplicationPageForLandlord(landlordId, null, null, token, 2);
+            page.items().forEach(view -> seen.add(view.bookingId()));
+            token = page.nextPageToken();
+            pages++;
+        } while (token != null);
+
+        assertEquals(expectedOrder, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void b_viewsAreBuiltFromTheJoinedRow() {
+        BookingApplicationView view = bookingService.findApplicationPageForStudent(studentId, null, null, null, 10)
+                .items().get(1);
+
+        assertEquals("Inbox", view.studentFirstName());
+        assertEquals("inbox.applicant@example.com", view.studentEmail());
+        assertEquals("12 Main Road", view.accommodationAddress());
+        assertEquals("Rondebosch", view.accommodationSuburb());
+        assertEquals(landlordId, view.landlordId());
+        assertEquals("inbox.owner@example.com", view.landlordEmail());
+        assertEquals("Rondebosch", bookingService.findApplicationsForLandlord(landlordId).get(0).accommodationAddress());
+    }
+
+    @Test
+    void c_filtersNarrowTheInbox() {
+        BookingApplicationPage secondListing = bookingService.findApplicationPageForLandlord(
+                landlordId, null, secondListingId, null, null);
+        assertEquals(List.of(expectedOrder.get(0), expectedOrder.get(2)),
+                secondListing.items().stream().map(BookingApplicationView::bookingId).toList());
+        assertNull(secondListing.nextPageToken());
+
+        BookingApplicationPage failedOnSecond = bookingService.findApplicationPageForLandlord(
+                landlordId, Booking.BookingStatus.FAILED, secondListingId, null, null);
+        assertEquals(List.of(expectedOrder.get(2)),
+                failedOnSecond.items().stream().map(BookingApplicationView::bookingId).toList());
+
+        assertTrue(bookingService.findApplicationPageForStudent(
+                studentId, Booking.BookingStatus.CONFIRMED, null, null, null).items().isEmpty());
+        assertEquals(5, bookingService.findApplicationsForStudent(studentId).size());
+    }
+
+    @Test
+    void d_malformedTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.findApplicationPageForLandlord(landlordId, null, null, "not a token", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.findApplicationPageForStudent(null, null, null, null, null));
+    }
+
+    private Accommodation listing(Landlord landlord, String streetNumber, String streetName) {
+        Accommodation accommodation = new Accommodation.Builder()
+                .setRent(4800)
+                .setRoomType(Accommodation.RoomType.SINGLE)
+                .setBathroomType(Accommodation.BathroomType.PRIVATE)
+                .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                .setAddress(new Address.Builder()
+                        .setStreetNumber(streetNumber)
+                        .setStreetName(streetName)
+                        .setSuburb("Rondebosch")
+                        .build())
+                .setLandlord(landlord)
+                .build();
+        entityManager.persist(accommodation);
+        return accommodation;
+    }
+
+    private Booking application(Student student, Accommodation accommodation, LocalDateTime createdAt,
+                                Booking.BookingStatus bookingStatus) {
+        Booking booking = new Booking.Builder()
+                .setStudent(student)
+                .setAccommodation(accommodation)
+                .setTotalAmount(4800)
+                .setCreatedAt(createdAt)
+                .setBookingStatus(bookingStatus)
+                .build();
+        entityManager.persist(booking);
+        return booking;
+    }
+}
@@ -0,0 +1,179 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.BedAvailability;
+import co.za.cput.dto.BookingDecisionResult;
+import co.za.cput.dto.BookingStatusBulkRequest;
+import co.za.cput.dto.BookingStatusBulkResponse;
+import co.za.cput.dto.BookingStatusDecision;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.repository.business.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class BookingBulkDecisionTest {
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Long landlordId;
+    private static Long accommodationId;
+    private static Long otherLandlordsBookingId;
+    private static final List<Long> bookingIds = new ArrayList<>();
+
+    @Test
+    void a_decisionsAreAppliedOrRejectedOneByOne() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Landlord landlord = new Landlord.Builder().setLandlordFirstName("Bulk").setLandlordLastName("Owner").build();
+            Landlord otherLandlord = new Landlord.Builder().setLandlordFirstName("Other").setLandlordLastName("Owner").build();
+            entityManager.persist(landlord);
+            entityManager.persist(otherLandlord);
+            Accommodation residence = listing(landlord, 2);
+            Accommodation elsewhere = listing(otherLandlord, null);
+            for (int i = 0; i < 4; i++) {
+                bookingIds.add(application(residence, i).getBookingID());
+            }
+            otherLandlordsBookingId = application(elsewhere, 9).getBookingID();
+            landlordId = landlord.getLandlordID();
+            accommodationId = residence.getAccommodationID();
+        });
+
+        BookingStatusBulkResponse response = bookingService.updateApplicationStatuses(request(
+                new BookingStatusDecision(bookingIds.get(0), Booking.BookingStatus.CONFIRMED),
+                new BookingStatusDecision(bookingIds.get(1), Booking.BookingStatus.CONFIRMED),
+                new BookingStatusDecision(bookingIds.get(2), Booking.BookingStatus.CONFIRMED),
+                new BookingStatusDecision(bookingIds.get(3), Booking.BookingStatus.FAILED),
+                new BookingStatusDecision(bookingIds.get(0), Booking.BookingStatus.FAILED),
+                new BookingStatusDecision(otherLandlordsBookingId, Booking.BookingStatus.CONFIRMED),
+                new BookingStatusDecision(Long.MAX_VALUE, Booking.BookingStatus.CONFIRMED),
+                new BookingStatusDecision(null, Booking.BookingStatus.CONFIRMED)));
+
+        assertEquals(3, response.applied());
+        assertEquals(0, response.unchanged());
+        assertEquals(5, response.rejected());
+        List<BookingDecisionResult> results = response.results();
+        assertEquals(BookingDecisionResult.Outcome.APPLIED, results.get(0).outcome());
+        assertEquals(BookingDecisionResult.Outcome.APPLIED, results.get(1).outcome());
+        assertEquals("This listing has no beds left.", results.get(2).message());
+        assertEquals(Booking.BookingStatus.IN_PROGRESS, results.get(2).status());
+        assertEquals(Booking.BookingStatus.FAILED, results.get(3).status());
+        assertEquals("This booking already has a decision in the request.", results.get(4).message());
+        assertEquals("This booking is not for one of your listings.", results.get(5).message());
+        assertEquals("Booking not found.", results.get(6).message());
+        assertEquals("A booking id and status are required.", results.get(7).message());
+
+        assertStatus(bookingIds.get(0), Booking.BookingStatus.CONFIRMED);
+        assertStatus(bookingIds.get(1), Booking.BookingStatus.CONFIRMED);
+        assertStatus(bookingIds.get(2), Booking.BookingStatus.IN_PROGRESS);
+        assertStatus(bookingIds.get(3), Booking.BookingStatus.FAILED);
+        assertStatus(otherLandlordsBookingId, Booking.BookingStatus.IN_PROGRESS);
+        assertNotNull(bookingRepository.findById(bookingIds.get(3)).orElseThrow().getDecidedAt());
+        assertNull(bookingRepository.findById(bookingIds.get(2)).orElseThrow().getDecidedAt());
+        assertEquals(new BedAvailability(2, 2), accommodationRepository.findBedAvailability(accommodationId).orElseThrow());
+    }
+
+    @Test
+    void b_releasedBedsGoToConfirmationsInTheSameBatch() {
+        BookingStatusBulkResponse response = bookingService.updateApplicationStatuses(request(
+                new BookingStatusDecision(bookingIds.get(2), Booking.BookingStatus.CONFIRMED),
+                new BookingStatusDecision(bookingIds.get(1), Booking.BookingStatus.FAILED),
+                new BookingStatusDecision(bookingIds.get(0), Booking.BookingStatus.CONFIRMED)));
+
+        assertEquals(2, response.applied());
+        assertEquals(1, response.unchanged());
+        assertStatus(bookingIds.get(1), Booking.BookingStatus.FAILED);
+        assertStatus(bookingIds.get(2), Booking.BookingStatus.CONFIRMED);
+        assertEquals(new BedAvailability(2, 2), accommodationRepository.findBedAvailability(accommodationId).orElseThrow());
+        assertFalse(bookingRepository.existsByStudent_StudentIDAndAccommodation_AccommodationIDAndActiveApplicationTrue(
+                studentOf(bookingIds.get(1)), accommodationId));
+    }
+
+    @Test
+    void c_requestsMustNameTheLandlordAndStayBounded() {
+        BookingStatusBulkRequest anonymous = request(new BookingStatusDecision(bookingIds.get(0), Booking.BookingStatus.FAILED));
+        anonymous.setLandlordId(null);
+        assertThrows(IllegalArgumentException.class, () -> bookingService.updateApplicationStatuses(anonymous));
+        assertThrows(IllegalArgumentException.class, () -> bookingService.updateApplicationStatuses(request()));
+
+        BookingStatusDecision[] tooMany = new BookingStatusDecision[BookingServiceImpl.MAX_BULK_DECISIONS + 1];
+        for (int i = 0; i < tooMany.length; i++) {
+            tooMany[i] = new BookingStatusDecision((long) i + 1, Booking.BookingStatus.FAILED);
+        }
+        assertThrows(IllegalArgumentException.class, () -> bookingService.updateApplicationStatuses(request(tooMany)));
+    }
+
+    private Accommodation listing(Landlord landlord, Integer bedCapacity) {
+        Accommodation accommodation = new Accommodation.Builder()
+                .setRent(5200)
+                .setBedCapacity(bedCapacity)
+                .setRoomType(Accommodation.RoomType.SHARED)
+                .setBathroomType(Accommodation.BathroomType.SHARED)
+                .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                .setLandlord(landlord)
+                .build();
+        entityManager.persist(accommodation);
+        return accommodation;
+    }
+
+    private Booking application(Accommodation accommodation, int applicant) {
+        Student student = new Student.Builder()
+                .setStudentName("Bulk")
+                .setStudentSurname("Applicant " + applicant)
+                .build();
+        entityManager.persist(student);
+        Booking booking = new Booking.Builder()
+                .setStudent(student)
+                .setAccommodation(accommodation)
+                .setTotalAmount(5200)
+                .setCreatedAt(LocalDateTime.now().minusDays(2))
+                .setBookingStatus(Booking.BookingStatus.IN_PROGRESS)
+                .build();
+        entityManager.persist(booking);
+        return booking;
+    }
+
+    private void assertStatus(Long bookingId, Booking.BookingStatus expected) {
+        assertEquals(expected, bookingRepository.findById(bookingId).orElseThrow().getBookingStatus());
+    }
+
+    private Long studentOf(Long bookingId) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                entityManager.find(Booking.class, bookingId).getStudent().getStudentID());
+    }
+
+    private static BookingStatusBulkRequest request(BookingStatusDecision... decisions) {
+        BookingStatusBulkRequest request = new BookingStatusBulkRequest();
+        request.setLandlordId(landlordId);
+        request.setDecisions(List.of(decisions));
+        return request;
+    }
+}
@@ -1,12 +1,22 @@
 package co.za.cput.service.business.implementation;
 
+import co.za.cput.domain.business.Accommodation;
 import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.BookingApplicationRequest;
+import co.za.cput.dto.BookingApplicationView;
+import co.za.cput.dto.BookingStatusUpdateRequest;
 import co.za.cput.factory.business.BookingFactory;
+import co.za.cput.repository.business.BookingRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,6 +31,15 @@ class BookingServiceImplTest {
     @Autowired
     private BookingServiceImpl bookingService;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private Booking booking1 = BookingFactory.createBooking(
             LocalDate.of(2025, 5, 15),
             LocalDate.of(2025, 6, 1),
@@ -36,6 +55,9 @@ class BookingServiceImplTest {
     );
 
     private static Booking booking_with_ID;
+    private static Long studentId;
+    private static Long accommodationId;
+    private static Long applicationId;
 
     @Test
     void a_create() {
@@ -90,4 +112,74 @@ class BookingServiceImplTest {
         assertNull(deletedBooking);
         System.out.println("Booking deleted: " + booking_with_ID);
     }
+
+    @Test
+    void f_applyingTwiceForTheSameListingIsRejected() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Student student = new Student.Builder()
+                    .setStudentName("Duplicate")
+                    .setStudentSurname("Applicant")
+                    .build();
+            entityManager.persist(student);
+            Accommodation accommodation = new Accommodation.Builder()
+                    .setRent(4100)
+                    .setRoomType(Accommodation.RoomType.SINGLE)
+                    .setBathroomType(Accommodation.BathroomType.SHARED)
+                    .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                    .build();
+            entityManager.persist(accommodation);
+            studentId = student.getStudentID();
+            accommodationId = accommodation.getAccommodationID();
+        });
+
+        BookingApplicationView first = apply();
+        applicationId = first.bookingId();
+
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+                this::apply);
+        assertEquals("You already have an active application for this listing.", duplicate.getMessage());
+    }
+
+    @Test
+    void g_theDatabaseRejectsASecondActiveApplication() {
+        assertThrows(DataIntegrityViolationException.class, () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> {
+                    Booking active = bookingRepository.findById(applicationId).orElseThrow();
+                    bookingRepository.saveAndFlush(new Booking.Builder()
+                            .copy(active)
+                            .setBookingID(null)
+                            .setReview(null)
+                            .build());
+                }));
+    }
+
+    @Test
+    void h_aFailedApplicationFreesTheListingForANewOne() {
+        BookingStatusUpdateRequest failed = new BookingStatusUpdateRequest();
+        failed.setStatus(Booking.BookingStatus.FAILED);
+        bookingService.updateApplicationStatus(applicationId, failed);
+
+        BookingApplicationView again = apply();
+        assertNotEquals(applicationId, again.bookingId());
+
+        BookingStatusUpdateRequest reopen = new BookingStatusUpdateRequest();
+        reopen.setStatus(Booking.BookingStatus.IN_PROGRESS);
+        IllegalArgumentException duplicate = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.updateApplicationStatus(applicationId, reopen));
+        assertEquals("The student already has an active application for this listing.", duplicate.getMessage());
+        assertEquals(Booking.BookingStatus.FAILED, bookingRepository.findById(applicationId).orElseThrow().getBookingStatus());
+    }
+
+    // Runs like a web request, where the open session keeps the loaded listing managed.
+    private BookingApplicationView apply() {
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> bookingService.applyForAccommodation(application()));
+    }
+
+    private static BookingApplicationRequest application() {
+        BookingApplicationRequest request = new BookingApplicationRequest();
+        request.setStudentId(studentId);
+        request.setAccommodationId(accommodationId);
+        return request;
+    }
 }
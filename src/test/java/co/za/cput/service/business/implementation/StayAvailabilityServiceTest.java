@@ -0,0 +1,198 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.generic.Address;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.AccommodationSearchCriteria;
+import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.dto.BookingStatusBulkRequest;
+import co.za.cput.dto.BookingStatusBulkResponse;
+import co.za.cput.dto.BookingStatusDecision;
+import co.za.cput.dto.BookingStatusUpdateRequest;
+import co.za.cput.repository.business.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class StayAvailabilityServiceTest {
+
+    private static final LocalDate FEBRUARY = LocalDate.of(2027, 2, 1);
+    private static final LocalDate JULY = LocalDate.of(2027, 7, 1);
+    private static final LocalDate DECEMBER = LocalDate.of(2027, 12, 1);
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private AccommodationServiceImpl accommodationService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Long landlordId;
+    private static Long cottageId;
+    private static Long flatId;
+    private static Long firstSemester;
+    private static Long clashing;
+    private static Long secondSemester;
+    private static Long flatFirst;
+    private static Long flatClash;
+
+    @Test
+    void a_overlappingConfirmationsAreRejected() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Landlord landlord = new Landlord.Builder().setLandlordFirstName("Calendar").setLandlordLastName("Owner").build();
+            entityManager.persist(landlord);
+            // Single updates go to the listing without a landlord: there is no open session here to load one.
+            Accommodation cottage = listing(null);
+            Accommodation flat = listing(landlord);
+            firstSemester = application(cottage, FEBRUARY, JULY).getBookingID();
+            clashing = application(cottage, FEBRUARY.plusMonths(2), JULY.plusMonths(1)).getBookingID();
+            secondSemester = application(cottage, JULY, DECEMBER).getBookingID();
+            flatFirst = application(flat, FEBRUARY, JULY).getBookingID();
+            flatClash = application(flat, FEBRUARY.plusDays(10), FEBRUARY.plusDays(20)).getBookingID();
+            landlordId = landlord.getLandlordID();
+            cottageId = cottage.getAccommodationID();
+            flatId = flat.getAccommodationID();
+        });
+
+        bookingService.updateApplicationStatus(firstSemester, status(Booking.BookingStatus.CONFIRMED));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.updateApplicationStatus(clashing, status(Booking.BookingStatus.CONFIRMED)));
+        assertEquals(StayAvailabilityService.STAY_CONFLICT_MESSAGE, exception.getMessage());
+        assertEquals(Booking.BookingStatus.IN_PROGRESS,
+                bookingRepository.findById(clashing).orElseThrow().getBookingStatus());
+
+        // Check-out day is the next check-in day.
+        bookingService.updateApplicationStatus(secondSemester, status(Booking.BookingStatus.CONFIRMED));
+    }
+
+    @Test
+    void b_bulkConfirmationsClashWithEachOther() {
+        BookingStatusBulkRequest request = new BookingStatusBulkRequest();
+        request.setLandlordId(landlordId);
+        request.setDecisions(List.of(
+                new BookingStatusDecision(flatFirst, Booking.BookingStatus.CONFIRMED),
+                new BookingStatusDecision(flatClash, Booking.BookingStatus.CONFIRMED)));
+
+        BookingStatusBulkResponse response = bookingService.updateApplicationStatuses(request);
+
+        assertEquals(1, response.applied());
+        assertEquals(StayAvailabilityService.STAY_CONFLICT_MESSAGE, response.results().get(1).message());
+    }
+
+    @Test
+    void c_searchesSkipListingsBookedForTheRange() {
+        assertEquals(List.of(), availableBetween(FEBRUARY, DECEMBER));
+        assertEquals(List.of(flatId), availableBetween(JULY, DECEMBER));
+        assertEquals(List.of(cottageId, flatId), availableBetween(DECEMBER, DECEMBER.plusMonths(1)));
+
+        // Freeing the first semester shows up in the next search.
+        bookingService.updateApplicationStatus(firstSemester, status(Booking.BookingStatus.FAILED));
+        assertEquals(List.of(cottageId), availableBetween(FEBRUARY, JULY));
+
+        assertThrows(IllegalArgumentException.class, () -> availableBetween(DECEMBER, null));
+        assertThrows(IllegalArgumentException.class, () -> availableBetween(DECEMBER, FEBRUARY));
+    }
+
+    @Test
+    void d_aStayConfirmedWhileTheCheckWaitsIsSeen() throws Exception {
+        Long[] ids = new TransactionTemplate(transactionManager).execute(status -> {
+            Accommodation studio = listing(null);
+            return new Long[]{application(studio, FEBRUARY, JULY).getBookingID(),
+                    application(studio, FEBRUARY.plusMonths(1), JULY.plusMonths(1)).getBookingID()};
+        });
+
+        // The first confirmation stays uncommitted, holding the listing, until the second has read its booking and
+        // is waiting for the listing; the second must then count the first stay, not what it saw when it started.
+        CountDownLatch written = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bookingService.updateApplicationStatus(ids[0], status(Booking.BookingStatus.CONFIRMED));
+            written.countDown();
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.updateApplicationStatus(ids[1], status(Booking.BookingStatus.CONFIRMED)));
+        writer.get();
+        executor.shutdown();
+
+        assertEquals(StayAvailabilityService.STAY_CONFLICT_MESSAGE, exception.getMessage());
+        assertEquals(Booking.BookingStatus.IN_PROGRESS, bookingRepository.findById(ids[1]).orElseThrow().getBookingStatus());
+    }
+
+    private List<Long> availableBetween(LocalDate from, LocalDate to) {
+        AccommodationSearchCriteria criteria = new AccommodationSearchCriteria.Builder().setCity("Calendarville")
+                .setAvailableFrom(from)
+                .setAvailableTo(to)
+                .build();
+        return accommodationService.search(criteria, null, null, 100).items().stream().map(AccommodationSummary::id).sorted().toList();
+    }
+
+    private Accommodation listing(Landlord landlord) {
+        Accommodation accommodation = new Accommodation.Builder()
+                .setRent(6100)
+                .setRoomType(Accommodation.RoomType.SINGLE)
+                .setBathroomType(Accommodation.BathroomType.PRIVATE)
+                .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                .setAddress(new Address.Builder().setCity("Calendarville").setSuburb("Rondebosch").build())
+                .setLandlord(landlord)
+                .build();
+        entityManager.persist(accommodation);
+        return accommodation;
+    }
+
+    private Booking application(Accommodation accommodation, LocalDate checkIn, LocalDate checkOut) {
+        Student student = new Student.Builder().setStudentName("Calendar").setStudentSurname("Tenant").build();
+        entityManager.persist(student);
+        Booking booking = new Booking.Builder()
+                .setStudent(student)
+                .setAccommodation(accommodation)
+                .setCheckInDate(checkIn)
+                .setCheckOutDate(checkOut)
+                .setTotalAmount(6100)
+                .setCreatedAt(LocalDateTime.now())
+                .setBookingStatus(Booking.BookingStatus.IN_PROGRESS)
+                .build();
+        entityManager.persist(booking);
+        return booking;
+    }
+
+    private static BookingStatusUpdateRequest status(Booking.BookingStatus status) {
+        BookingStatusUpdateRequest request = new BookingStatusUpdateRequest();
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,224 @@
+package co.za.cput.service.business.implementation;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.business.WaitlistEntry;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.BedAvailability;
+import co.za.cput.dto.BookingStatusUpdateRequest;
+import co.za.cput.dto.WaitlistEntryView;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.repository.business.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class WaitlistServiceImplTest {
+
+    @Autowired
+    private WaitlistServiceImpl waitlistService;
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Long accommodationId;
+    private static Long holderBookingId;
+    private static Long unfundedId;
+    private static Long selfFundedId;
+    private static Long fundedId;
+    private static Long unfundedEntry;
+    private static Long selfFundedEntry;
+    private static Long fundedEntry;
+
+    @Test
+    void a_studentsQueueByPriorityTierThenArrival() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Accommodation accommodation = new Accommodation.Builder()
+                    .setRent(3900)
+                    .setBedCapacity(1)
+                    .setRoomType(Accommodation.RoomType.SINGLE)
+                    .setBathroomType(Accommodation.BathroomType.SHARED)
+                    .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                    .build();
+            entityManager.persist(accommodation);
+            Booking holder = new Booking.Builder()
+                    .setStudent(student("Holder", Student.FundingStatus.FUNDED))
+                    .setAccommodation(accommodation)
+                    .setTotalAmount(3900)
+                    .setCreatedAt(LocalDateTime.now())
+                    .setBookingStatus(Booking.BookingStatus.IN_PROGRESS)
+                    .build();
+            entityManager.persist(holder);
+            accommodationId = accommodation.getAccommodationID();
+            holderBookingId = holder.getBookingID();
+            unfundedId = student("Unfunded", Student.FundingStatus.NOT_FUNDED).getStudentID();
+            selfFundedId = student("SelfFunded", Student.FundingStatus.SELF_FUNDED).getStudentID();
+            fundedId = student("Funded", Student.FundingStatus.FUNDED).getStudentID();
+        });
+
+        IllegalArgumentException notFull = assertThrows(IllegalArgumentException.class,
+                () -> waitlistService.join(unfundedId, accommodationId));
+        assertEquals("This listing still has beds; apply for it instead.", notFull.getMessage());
+
+        bookingService.updateApplicationStatus(holderBookingId, status(Booking.BookingStatus.CONFIRMED));
+        unfundedEntry = waitlistService.join(unfundedId, accommodationId).id();
+        selfFundedEntry = waitlistService.join(selfFundedId, accommodationId).id();
+        WaitlistEntryView funded = waitlistService.join(fundedId, accommodationId);
+        fundedEntry = funded.id();
+
+        assertEquals(1L, funded.position());
+        assertThrows(IllegalArgumentException.class, () -> waitlistService.join(fundedId, accommodationId));
+        assertEquals(List.of(fundedEntry, selfFundedEntry, unfundedEntry),
+                waitlistService.findForAccommodation(accommodationId).stream().map(WaitlistEntryView::id).toList());
+        assertEquals(3L, waitlistService.findForStudent(unfundedId).get(0).position());
+    }
+
+    @Test
+    void b_aFreedBedIsHeldForTheHeadOfTheQueue() {
+        bookingService.updateApplicationStatus(holderBookingId, status(Booking.BookingStatus.FAILED));
+
+        WaitlistEntryView offer = waitlistService.findForStudent(fundedId).get(0);
+        assertEquals(WaitlistEntry.WaitlistStatus.OFFERED, offer.status());
+        assertNotNull(offer.holdExpiresAt());
+        assertEquals(new BedAvailability(1, 1), accommodationRepository.findBedAvailability(accommodationId).orElseThrow());
+        assertEquals(Accommodation.AccommodationStatus.FULL,
+                accommodationRepository.findById(accommodationId).orElseThrow().getAccommodationStatus());
+        assertThrows(IllegalArgumentException.class, () -> waitlistService.acceptOffer(selfFundedEntry, selfFundedId));
+        assertThrows(IllegalArgumentException.class, () -> waitlistService.acceptOffer(fundedEntry, selfFundedId));
+    }
+
+    @Test
+    void c_acceptingTurnsTheHoldIntoABooking() {
+        WaitlistEntryView accepted = waitlistService.acceptOffer(fundedEntry, fundedId);
+
+        assertEquals(WaitlistEntry.WaitlistStatus.ACCEPTED, accepted.status());
+        Booking booking = bookingRepository.findById(accepted.bookingId()).orElseThrow();
+        assertEquals(Booking.BookingStatus.CONFIRMED, booking.getBookingStatus());
+        assertEquals(new BedAvailability(1, 1), accommodationRepository.findBedAvailability(accommodationId).orElseThrow());
+    }
+
+    @Test
+    void d_expiredAndDeclinedHoldsPassDownTheQueue() {
+        bookingService.updateApplicationStatus(waitlistService.findForStudent(fundedId).get(0).bookingId(),
+                status(Booking.BookingStatus.FAILED));
+        assertEquals(WaitlistEntry.WaitlistStatus.OFFERED, waitlistService.findForStudent(selfFundedId).get(0).status());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                entityManager.createQuery("UPDATE WaitlistEntry w SET w.holdExpiresAt = :past WHERE w.id = :id")
+                        .setParameter("past", LocalDateTime.now().minusMinutes(1))
+                        .setParameter("id", selfFundedEntry)
+                        .executeUpdate());
+        assertEquals(1, waitlistService.sweep());
+        assertEquals(WaitlistEntry.WaitlistStatus.EXPIRED, waitlistService.findForStudent(selfFundedId).get(0).status());
+        assertEquals(WaitlistEntry.WaitlistStatus.OFFERED, waitlistService.findForStudent(unfundedId).get(0).status());
+
+        WaitlistEntryView declined = waitlistService.leave(unfundedEntry, unfundedId);
+        assertEquals(WaitlistEntry.WaitlistStatus.CANCELLED, declined.status());
+        assertEquals(new BedAvailability(1, 0), accommodationRepository.findBedAvailability(accommodationId).orElseThrow());
+        assertTrue(waitlistService.findForAccommodation(accommodationId).isEmpty());
+    }
+
+    @Test
+    void e_acceptingAnOfferStillChecksTheStayCalendar() {
+        LocalDate checkIn = LocalDate.now().plusMonths(2);
+        LocalDate checkOut = checkIn.plusMonths(1);
+        Long[] ids = new TransactionTemplate(transactionManager).execute(status -> {
+            Accommodation accommodation = new Accommodation.Builder()
+                    .setRent(4100)
+                    .setBedCapacity(2)
+                    .setRoomType(Accommodation.RoomType.DOUBLE)
+                    .setBathroomType(Accommodation.BathroomType.SHARED)
+                    .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                    .build();
+            entityManager.persist(accommodation);
+            // Confirmed before beds were counted, so it holds one of the two nights but none of the beds.
+            entityManager.persist(booking(student("Legacy", Student.FundingStatus.FUNDED), accommodation,
+                    Booking.BookingStatus.CONFIRMED, checkIn, checkOut));
+            Booking first = booking(student("FirstHolder", Student.FundingStatus.FUNDED), accommodation,
+                    Booking.BookingStatus.IN_PROGRESS, null, null);
+            Booking second = booking(student("SecondHolder", Student.FundingStatus.FUNDED), accommodation,
+                    Booking.BookingStatus.IN_PROGRESS, null, null);
+            Student early = student("EarlyApplicant", Student.FundingStatus.FUNDED);
+            Student late = student("LateApplicant", Student.FundingStatus.FUNDED);
+            Booking earlyApplication = booking(early, accommodation, Booking.BookingStatus.IN_PROGRESS, checkIn, checkOut);
+            Booking lateApplication = booking(late, accommodation, Booking.BookingStatus.IN_PROGRESS, checkIn, checkOut);
+            for (Booking booking : List.of(first, second, earlyApplication, lateApplication)) {
+                entityManager.persist(booking);
+            }
+            return new Long[]{accommodation.getAccommodationID(), first.getBookingID(), second.getBookingID(),
+                    early.getStudentID(), late.getStudentID(), lateApplication.getBookingID()};
+        });
+        Long listingId = ids[0];
+        Long earlyId = ids[3];
+        Long lateId = ids[4];
+
+        bookingService.updateApplicationStatus(ids[1], status(Booking.BookingStatus.CONFIRMED));
+        bookingService.updateApplicationStatus(ids[2], status(Booking.BookingStatus.CONFIRMED));
+        Long earlyEntry = waitlistService.join(earlyId, listingId).id();
+        Long lateEntry = waitlistService.join(lateId, listingId).id();
+        bookingService.updateApplicationStatus(ids[1], status(Booking.BookingStatus.FAILED));
+        bookingService.updateApplicationStatus(ids[2], status(Booking.BookingStatus.FAILED));
+        assertEquals(WaitlistEntry.WaitlistStatus.OFFERED, waitlistService.findForStudent(lateId).get(0).status());
+
+        assertEquals(WaitlistEntry.WaitlistStatus.ACCEPTED, waitlistService.acceptOffer(earlyEntry, earlyId).status());
+        IllegalArgumentException overlap = assertThrows(IllegalArgumentException.class,
+                () -> waitlistService.acceptOffer(lateEntry, lateId));
+        assertEquals(StayAvailabilityService.STAY_CONFLICT_MESSAGE, overlap.getMessage());
+        assertEquals(Booking.BookingStatus.IN_PROGRESS, bookingRepository.findById(ids[5]).orElseThrow().getBookingStatus());
+        assertEquals(WaitlistEntry.WaitlistStatus.OFFERED, waitlistService.findForStudent(lateId).get(0).status());
+    }
+
+    private Booking booking(Student student, Accommodation accommodation, Booking.BookingStatus status,
+                            LocalDate checkIn, LocalDate checkOut) {
+        return new Booking.Builder()
+                .setStudent(student)
+                .setAccommodation(accommodation)
+                .setTotalAmount(accommodation.getRent())
+                .setCreatedAt(LocalDateTime.now())
+                .setCheckInDate(checkIn)
+                .setCheckOutDate(checkOut)
+                .setBookingStatus(status)
+                .build();
+    }
+
+    private Student student(String name, Student.FundingStatus fundingStatus) {
+        Student student = new Student.Builder()
+                .setStudentName(name)
+                .setStudentSurname("Waitlister")
+                .setFundingStatus(fundingStatus)
+                .build();
+        entityManager.persist(student);
+        return student;
+    }
+
+    private static BookingStatusUpdateRequest status(Booking.BookingStatus status) {
+        BookingStatusUpdateRequest request = new BookingStatusUpdateRequest();
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,169 @@
+package co.za.cput.service.business.search;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.dto.AccommodationSearchCriteria;
+import co.za.cput.dto.AccommodationSearchPage;
+import co.za.cput.dto.AccommodationSortOption;
+import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.dto.SearchCacheStats;
+import co.za.cput.service.business.AccommodationChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccommodationSearchCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AccommodationSearchCache cache = new AccommodationSearchCache(true, 100, 1_000, now::get);
+
+    @Test
+    void repeatsOfTheSameSearchAreServedFromTheCache() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<AccommodationSummary>> loader = counting(loads, List.of(listing(1L, "Bellville", 3500)));
+
+        cache.search(inCity("Bellville"), loader);
+        cache.search(inCity("BELLVILLE"), loader);
+        List<AccommodationSummary> result = cache.search(inCity("bellville"), loader);
+
+        assertEquals(1, loads.get());
+        assertEquals(1L, result.get(0).id());
+        SearchCacheStats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.entries());
+        assertEquals(2, stats.weight());
+    }
+
+    @Test
+    void invalidatesOnlyTheEntriesAChangeCanAffect() {
+        AtomicInteger bellvilleLoads = new AtomicInteger();
+        AtomicInteger mowbrayLoads = new AtomicInteger();
+        Supplier<List<AccommodationSummary>> bellville = counting(bellvilleLoads, List.of(listing(1L, "Bellville", 3500)));
+        Supplier<List<AccommodationSummary>> mowbray = counting(mowbrayLoads, List.of(listing(2L, "Mowbray", 4200)));
+        cache.search(inCity("Bellville"), bellville);
+        cache.search(inCity("Mowbray"), mowbray);
+
+        // Listing 1 was in the Bellville result: only that entry goes.
+        cache.onAccommodationChanged(new AccommodationChangedEvent(1L, listing(1L, "Bellville", 3600)));
+        cache.search(inCity("Bellville"), bellville);
+        cache.search(inCity("Mowbray"), mowbray);
+        assertEquals(2, bellvilleLoads.get());
+        assertEquals(1, mowbrayLoads.get());
+
+        // A new Mowbray listing was in neither result but now matches the Mowbray search.
+        cache.onAccommodationChanged(new AccommodationChangedEvent(3L, listing(3L, "Mowbray", 3900)));
+        cache.search(inCity("Bellville"), bellville);
+        cache.search(inCity("Mowbray"), mowbray);
+        assertEquals(2, bellvilleLoads.get());
+        assertEquals(2, mowbrayLoads.get());
+
+        // Deleting a listing that no cached result holds changes nothing.
+        cache.onAccommodationChanged(new AccommodationChangedEvent(99L, null));
+        cache.search(inCity("Bellville"), bellville);
+        cache.search(inCity("Mowbray"), mowbray);
+        assertEquals(2, bellvilleLoads.get());
+        assertEquals(2, mowbrayLoads.get());
+        assertEquals(2, cache.stats().invalidations());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesOnceOverWeight() {
+        for (int i = 0; i < 20; i++) {
+            cache.search(inCity("City " + i), rows(5));
+            cache.search(inCity("City 0"), rows(5));
+        }
+
+        SearchCacheStats stats = cache.stats();
+        assertTrue(stats.weight() <= 100);
+        assertEquals(16, stats.entries());
+        assertEquals(4, stats.evictions());
+
+        AtomicInteger loads = new AtomicInteger();
+        cache.search(inCity("City 0"), counting(loads, List.of()));
+        cache.search(inCity("City 1"), counting(loads, List.of()));
+        assertEquals(1, loads.get());
+
+        // A result heavier than a tenth of the budget is handed back without displacing anything.
+        assertEquals(12, cache.search(inCity("Everywhere"), rows(12)).size());
+        assertEquals(stats.evictions(), cache.stats().evictions());
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<AccommodationSummary>> loader = counting(loads, List.of(listing(1L, "Bellville", 3500)));
+
+        cache.search(inCity("Bellville"), loader);
+        now.addAndGet(999_000_000L);
+        cache.search(inCity("Bellville"), loader);
+        now.addAndGet(2_000_000L);
+        cache.search(inCity("Bellville"), loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void aLoadThatOverlapsAChangeIsNotStored() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<AccommodationSummary>> racingLoader = () -> {
+            loads.incrementAndGet();
+            cache.onAccommodationChanged(new AccommodationChangedEvent(5L, listing(5L, "Bellville", 3000)));
+            return List.of();
+        };
+
+        cache.search(inCity("Bellville"), racingLoader);
+        cache.search(inCity("Bellville"), counting(loads, List.of()));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void pagesAreKeyedByPositionAndRatingOrderIsNeverCached() {
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<AccommodationSearchPage> loader = () -> {
+            loads.incrementAndGet();
+            return new AccommodationSearchPage(List.of(listing(1L, "Bellville", 3500)), AccommodationSortOption.RENT, 10, null);
+        };
+
+        cache.page(inCity("Bellville"), AccommodationSortOption.RENT, null, 10, loader);
+        cache.page(inCity("Bellville"), AccommodationSortOption.RENT, "", 10, loader);
+        cache.page(inCity("Bellville"), AccommodationSortOption.RENT, null, 20, loader);
+        cache.page(inCity("Bellville"), AccommodationSortOption.RATING, null, 10, loader);
+        cache.page(inCity("Bellville"), AccommodationSortOption.RATING, null, 10, loader);
+
+        assertEquals(4, loads.get());
+    }
+
+    private static AccommodationSearchCriteria inCity(String city) {
+        return new AccommodationSearchCriteria.Builder().setCity(city).build();
+    }
+
+    private static Supplier<List<AccommodationSummary>> counting(AtomicInteger loads, List<AccommodationSummary> rows) {
+        return () -> {
+            loads.incrementAndGet();
+            return rows;
+        };
+    }
+
+    private static Supplier<List<AccommodationSummary>> rows(int count) {
+        return () -> {
+            List<AccommodationSummary> rows = new ArrayList<>();
+            for (long id = 1; id <= count; id++) {
+                rows.add(listing(1000 + id, "Anywhere", 3000));
+            }
+            return rows;
+        };
+    }
+
+    private static AccommodationSummary listing(Long id, String city, double rent) {
+        return new AccommodationSummary(id, rent, true, true, false, 2.0,
+                Accommodation.RoomType.SINGLE, Accommodation.BathroomType.PRIVATE,
+                Accommodation.AccommodationStatus.AVAILABLE,
+                id + " Main Road", "Central", city, null, null, "Test Landlord", "landlord@example.com", 7L);
+    }
+}
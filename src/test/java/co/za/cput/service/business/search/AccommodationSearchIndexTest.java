@@ -0,0 +1,302 @@
+package co.za.cput.service.business.search;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.dto.AccommodationFacets;
+import co.za.cput.dto.AccommodationPageToken;
+import co.za.cput.dto.AccommodationSearchCriteria;
+import co.za.cput.dto.AccommodationSortOption;
+import co.za.cput.dto.AccommodationSuggestion;
+import co.za.cput.dto.AccommodationSummary;
+import co.za.cput.dto.GeoBounds;
+import co.za.cput.dto.GeoRadius;
+import co.za.cput.repository.business.AccommodationRepository;
+import co.za.cput.service.business.AccommodationChangedEvent;
+import co.za.cput.util.Helper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccommodationSearchIndexTest {
+
+    private static final String[] CITIES = {"Cape Town", "Bellville", "Stellenbosch"};
+    private static final String[] SUBURBS = {"Observatory", "Rondebosch", "Belhar", "Mowbray"};
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    private AccommodationSearchIndex index;
+    private List<AccommodationSummary> listings;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+        listings = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            listings.add(listing(id, random));
+        }
+        when(accommodationRepository.findSummaries(isNull(), eq(0))).thenReturn(listings);
+
+        index = new AccommodationSearchIndex(accommodationRepository, true);
+        index.rebuild();
+    }
+
+    @Test
+    void filtersMatchABruteForceScan() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            AccommodationSearchCriteria criteria = new AccommodationSearchCriteria.Builder()
+                    .setMinRent(random.nextBoolean() ? 2000.0 + random.nextInt(2000) : null)
+                    .setMaxRent(random.nextBoolean() ? 4000.0 + random.nextInt(3000) : null)
+                    .setWifiAvailable(randomFlag(random))
+                    .setFurnished(randomFlag(random))
+                    .setUtilitiesIncluded(randomFlag(random))
+                    .setMaxDistanceFromCampus(random.nextBoolean() ? 1.0 + random.nextInt(8) : null)
+                    .setCity(random.nextInt(3) == 0
+                            ? CITIES[random.nextInt(CITIES.length)].toUpperCase(Locale.ROOT) : null)
+                    .setSuburb(random.nextInt(3) == 0 ? SUBURBS[random.nextInt(SUBURBS.length)] : null)
+                    .setRoomType(random.nextBoolean() ? Accommodation.RoomType.values()[random.nextInt(4)] : null)
+                    .setBathroomType(random.nextBoolean()
+                            ? Accommodation.BathroomType.values()[random.nextInt(2)] : null)
+                    .setStatus(random.nextBoolean()
+                            ? Accommodation.AccommodationStatus.values()[random.nextInt(2)] : null)
+                    .setLandlordId(random.nextInt(4) == 0 ? (long) (1 + random.nextInt(40)) : null)
+                    .build();
+
+            List<Long> expected = listings.stream()
+                    .filter(matches(criteria))
+                    .sorted(Comparator.comparingDouble(AccommodationSummary::rent).thenComparing(AccommodationSummary::id))
+                    .map(AccommodationSummary::id)
+                    .toList();
+
+            List<Long> actual = index.find(criteria, AccommodationSortOption.RENT, null, 0).stream()
+                    .map(AccommodationSummary::id)
+                    .toList();
+
+            assertEquals(expected, actual);
+            assertEquals(expected.size(), listings.stream().filter(criteria::matches).count());
+        }
+    }
+
+    @Test
+    void pagesWalkEveryMatchExactlyOnce() {
+        for (AccommodationSortOption sort : List.of(AccommodationSortOption.RENT,
+                AccommodationSortOption.DISTANCE,
+                AccommodationSortOption.NEWEST)) {
+            List<Long> walked = new ArrayList<>();
+            AccommodationPageToken after = null;
+            List<AccommodationSummary> page;
+            do {
+                page = index.find(null, sort, after, 250);
+                page.forEach(row -> walked.add(row.id()));
+                if (!page.isEmpty()) {
+                    AccommodationSummary last = page.get(page.size() - 1);
+                    double key = switch (sort) {
+                        case RENT -> last.rent();
+                        case DISTANCE -> last.distanceFromCampus();
+                        default -> last.id();
+                    };
+                    after = new AccommodationPageToken(sort, key, last.id());
+                }
+            } while (page.size() == 250);
+
+            assertEquals(listings.size(), walked.size());
+            assertEquals(listings.size(), walked.stream().distinct().count());
+        }
+    }
+
+    @Test
+    void appliesChangesIncrementally() {
+        AccommodationSearchCriteria inKhayelitsha = new AccommodationSearchCriteria.Builder().setSuburb("Khayelitsha").build();
+        assertTrue(index.find(inKhayelitsha, null, null, 0).isEmpty());
+
+        AccommodationSummary moved = new AccommodationSummary(17L, 1999.0, true, true, true, 3.0,
+                Accommodation.RoomType.SINGLE, Accommodation.BathroomType.PRIVATE,
+                Accommodation.AccommodationStatus.AVAILABLE,
+                "1 Main Road", "Khayelitsha", "Cape Town", -34.04, 18.67, "Test Landlord", "landlord@example.com", 99L);
+        index.onAccommodationChanged(new AccommodationChangedEvent(17L, moved));
+
+        List<AccommodationSummary> found = index.find(inKhayelitsha, null, null, 0);
+        assertEquals(1, found.size());
+        assertEquals(moved, found.get(0));
+        assertEquals(listings.size(), index.size());
+
+        index.onAccommodationChanged(new AccommodationChangedEvent(17L, null));
+        assertTrue(index.find(inKhayelitsha, null, null, 0).isEmpty());
+        assertEquals(listings.size() - 1, index.size());
+        assertTrue(index.find(null, null, null, 0).stream().noneMatch(row -> row.id() == 17L));
+    }
+
+    @Test
+    void radiusAndViewportMatchABruteForceScan() {
+        Random random = new Random(11);
+        for (int i = 0; i < 100; i++) {
+            GeoRadius near = new GeoRadius(-33.95 + random.nextDouble() * 0.1, 18.45 + random.nextDouble() * 0.2,
+                    0.5 + random.nextDouble() * 6);
+            double south = -34.05 + random.nextDouble() * 0.15;
+            double west = 18.40 + random.nextDouble() * 0.2;
+            GeoBounds viewport = new GeoBounds(south, west, south + random.nextDouble() * 0.1, west + random.nextDouble() * 0.15);
+
+            for (AccommodationSearchCriteria criteria : List.of(geoCriteria(near, null), geoCriteria(null, viewport))) {
+                List<Long> expected = listings.stream()
+                        .filter(row -> row.latitude() != null)
+                        .filter(row -> criteria.near() == null || criteria.near().contains(row.latitude(), row.longitude()))
+                        .filter(row -> criteria.viewport() == null || criteria.viewport().contains(row.latitude(), row.longitude()))
+                        .map(AccommodationSummary::id)
+                        .sorted()
+                        .toList();
+
+                List<Long> actual = index.find(criteria, null, null, 0).stream()
+                        .map(AccommodationSummary::id)
+                        .toList();
+
+                assertEquals(expected, actual);
+            }
+        }
+
+        GeoBounds wholeCity = new GeoBounds(-35, 17, -33, 20);
+        assertEquals(listings.stream().filter(row -> row.latitude() != null).count(),
+                index.find(geoCriteria(null, wholeCity), null, null, 0).size());
+    }
+
+    @Test
+    void facetsMatchATallyOfTheSearchResults() {
+        AccommodationSearchCriteria criteria = new AccommodationSearchCriteria.Builder()
+                .setMinRent(2500.0)
+                .setMaxRent(5500.0)
+                .setWifiAvailable(true)
+                .setMaxDistanceFromCampus(7.0)
+                .setCity("cape town")
+                .setViewport(new GeoBounds(-34.0, 18.4, -33.85, 18.7))
+                .build();
+        List<AccommodationSummary> results = index.find(criteria, null, null, 0);
+        AccommodationFacets.Tally expected = new AccommodationFacets.Tally();
+        results.forEach(expected::add);
+
+        AccommodationFacets facets = index.facets(criteria);
+        assertEquals(expected.toFacets(), facets);
+        assertEquals(results.size(), facets.total());
+        assertEquals(facets.total(), facets.wifiAvailable());
+        assertEquals(facets.total(), facets.rentBuckets().stream().mapToLong(AccommodationFacets.RentBucket::count).sum());
+        assertEquals(listings.size(), index.facets(null).total());
+    }
+
+    @Test
+    void textSearchMatchesABruteForceScan() {
+        for (String q : List.of("rond", "Main rond", "CAPE", "bel", "landlord 12", "12 main", "stell obs", "zzz")) {
+            AccommodationSearchCriteria criteria = new AccommodationSearchCriteria.Builder().setWifiAvailable(true).setText(q).build();
+            List<String> tokens = Helper.toSearchTokens(q);
+
+            List<Long> expected = listings.stream()
+                    .filter(row -> row.wifiAvailable())
+                    .filter(row -> {
+                        List<String> words = Helper.toSearchTokens(String.join(" ",
+                                row.streetAddress(), row.suburb(), row.city(), row.landlordName()));
+                        return tokens.stream().allMatch(token -> words.stream().anyMatch(word -> word.startsWith(token)));
+                    })
+                    .map(AccommodationSummary::id)
+                    .toList();
+
+            List<Long> actual = index.find(criteria, null, null, 0).stream()
+                    .map(AccommodationSummary::id)
+                    .toList();
+
+            assertEquals(expected, actual, q);
+            assertEquals(expected, listings.stream().filter(criteria::matches).map(AccommodationSummary::id).toList(), q);
+        }
+    }
+
+    @Test
+    void suggestsNamesByPrefixAndFollowsChanges() {
+        long inRondebosch = listings.stream().filter(row -> row.suburb().equals("Rondebosch")).count();
+        List<AccommodationSuggestion> suggestions = index.suggest("Ron", 5);
+        assertEquals(List.of(new AccommodationSuggestion("Rondebosch", AccommodationSuggestion.Field.SUBURB, inRondebosch)),
+                suggestions);
+
+        List<AccommodationSuggestion> streets = index.suggest("main 123", 3);
+        assertEquals(3, streets.size());
+        assertTrue(streets.stream().allMatch(suggestion -> suggestion.field() == AccommodationSuggestion.Field.STREET
+                && suggestion.text().startsWith("123")));
+        assertTrue(index.suggest("  ", 5).isEmpty());
+
+        AccommodationSummary moved = new AccommodationSummary(17L, 1999.0, true, true, true, 3.0,
+                Accommodation.RoomType.SINGLE, Accommodation.BathroomType.PRIVATE,
+                Accommodation.AccommodationStatus.AVAILABLE,
+                "1 Main Road", "Khayelitsha", "Cape Town", -34.04, 18.67, "Test Landlord", "landlord@example.com", 99L);
+        index.onAccommodationChanged(new AccommodationChangedEvent(17L, moved));
+        assertEquals(List.of(new AccommodationSuggestion("Khayelitsha", AccommodationSuggestion.Field.SUBURB, 1)),
+                index.suggest("khay", 5));
+        assertTrue(index.suggest("17 main", 5).stream().noneMatch(suggestion -> suggestion.text().equals("17 Main Road")));
+
+        index.onAccommodationChanged(new AccommodationChangedEvent(17L, null));
+        assertTrue(index.suggest("khay", 5).isEmpty());
+        assertTrue(index.suggest("test landl", 5).isEmpty());
+    }
+
+    @Test
+    void leavesRatingOrderToTheDatabase() {
+        assertTrue(index.canServe(AccommodationSortOption.RENT));
+        assertFalse(index.canServe(AccommodationSortOption.RATING));
+        assertFalse(new AccommodationSearchIndex(accommodationRepository, false).canServe(AccommodationSortOption.RENT));
+    }
+
+    private static AccommodationSummary listing(long id, Random random) {
+        return new AccommodationSummary(
+                id,
+                2000 + random.nextInt(50) * 100,
+                random.nextBoolean(),
+                random.nextBoolean(),
+                random.nextBoolean(),
+                random.nextInt(100) / 10.0,
+                Accommodation.RoomType.values()[random.nextInt(4)],
+                Accommodation.BathroomType.values()[random.nextInt(2)],
+                Accommodation.AccommodationStatus.values()[random.nextInt(2)],
+                id + " Main Road",
+                SUBURBS[random.nextInt(SUBURBS.length)],
+                CITIES[random.nextInt(CITIES.length)],
+                id % 10 == 0 ? null : -34.05 + random.nextDouble() * 0.25,
+                id % 10 == 0 ? null : 18.40 + random.nextDouble() * 0.35,
+                "Landlord " + id,
+                "landlord" + id + "@example.com",
+                (long) (1 + random.nextInt(40))
+        );
+    }
+
+    private static AccommodationSearchCriteria geoCriteria(GeoRadius near, GeoBounds viewport) {
+        return new AccommodationSearchCriteria.Builder().setNear(near).setViewport(viewport).build();
+    }
+
+    private static Boolean randomFlag(Random random) {
+        int roll = random.nextInt(3);
+        return roll == 0 ? null : roll == 1;
+    }
+
+    private static Predicate<AccommodationSummary> matches(AccommodationSearchCriteria criteria) {
+        return row -> (criteria.minRent() == null || row.rent() >= criteria.minRent())
+                && (criteria.maxRent() == null || row.rent() <= criteria.maxRent())
+                && (criteria.wifiAvailable() == null || row.wifiAvailable() == criteria.wifiAvailable())
+                && (criteria.furnished() == null || row.furnished() == criteria.furnished())
+                && (criteria.utilitiesIncluded() == null || row.utilitiesIncluded() == criteria.utilitiesIncluded())
+                && (criteria.maxDistanceFromCampus() == null || row.distanceFromCampus() <= criteria.maxDistanceFromCampus())
+                && (criteria.city() == null || row.city().equalsIgnoreCase(criteria.city()))
+                && (criteria.suburb() == null || row.suburb().equalsIgnoreCase(criteria.suburb()))
+                && (criteria.roomType() == null || row.roomType() == criteria.roomType())
+                && (criteria.bathroomType() == null || row.bathroomType() == criteria.bathroomType())
+                && (criteria.status() == null || row.status() == criteria.status())
+                && (criteria.landlordId() == null || criteria.landlordId().equals(row.landlordId()));
+    }
+}
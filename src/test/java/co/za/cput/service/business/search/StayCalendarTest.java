@@ -0,0 +1,63 @@
+package co.za.cput.service.business.search;
+
+import co.za.cput.dto.BookingStay;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StayCalendarTest {
+
+    private static final LocalDate YEAR_START = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void overlapsAndPeaksMatchABruteForceScan() {
+        Random random = new Random(11);
+        List<BookingStay> stays = new ArrayList<>();
+        for (long id = 1; id <= 400; id++) {
+            LocalDate checkIn = YEAR_START.plusDays(random.nextInt(365));
+            stays.add(new BookingStay(id, 1L, null, checkIn, checkIn.plusDays(1 + random.nextInt(120))));
+        }
+        StayCalendar calendar = new StayCalendar(stays);
+
+        for (int query = 0; query < 300; query++) {
+            LocalDate from = YEAR_START.plusDays(random.nextInt(400));
+            LocalDate to = from.plusDays(1 + random.nextInt(60));
+            List<Long> expected = stays.stream()
+                    .filter(stay -> stay.checkInDate().isBefore(to) && stay.checkOutDate().isAfter(from))
+                    .map(BookingStay::bookingId)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, calendar.overlapping(from, to).stream().sorted().toList());
+
+            int peak = 0;
+            for (LocalDate night = from; night.isBefore(to); night = night.plusDays(1)) {
+                LocalDate current = night;
+                peak = Math.max(peak, (int) stays.stream()
+                        .filter(stay -> !stay.checkInDate().isAfter(current) && stay.checkOutDate().isAfter(current))
+                        .count());
+            }
+            assertEquals(peak, calendar.peakOccupancy(from, to, null));
+        }
+    }
+
+    @Test
+    void backToBackStaysDoNotOverlap() {
+        LocalDate february = LocalDate.of(2026, 2, 1);
+        LocalDate july = LocalDate.of(2026, 7, 1);
+        StayCalendar calendar = new StayCalendar(List.of(
+                new BookingStay(1L, 1L, null, february, july),
+                new BookingStay(2L, 1L, null, null, july)));
+
+        assertEquals(1, calendar.size());
+        assertEquals(0, calendar.peakOccupancy(july, july.plusMonths(5), null));
+        assertEquals(1, calendar.peakOccupancy(july.minusDays(1), july.plusDays(1), null));
+        assertEquals(0, calendar.peakOccupancy(february, july, 1L));
+        assertEquals(2, calendar.peakOccupancy(february, july, null,
+                List.of(new BookingStay(3L, 1L, null, february.plusMonths(1), february.plusMonths(2)))));
+    }
+}
@@ -0,0 +1,257 @@
+package co.za.cput.service.generic.implementation;
+
+import co.za.cput.domain.generic.Contact;
+import co.za.cput.domain.generic.UserAuthentication;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.LoginCredential;
+import co.za.cput.dto.LoginResponse;
+import co.za.cput.repository.generic.ContactRepository;
+import co.za.cput.repository.generic.CredentialIndexRepository;
+import co.za.cput.repository.generic.UserAuthenticationRepository;
+import co.za.cput.repository.users.LandLordRepository;
+import co.za.cput.repository.users.StudentRepository;
+import co.za.cput.service.users.implementation.AuthenticationService;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class CredentialIndexBackfillTest {
+
+    @Autowired
+    private CredentialIndexBackfill backfill;
+
+    @Autowired
+    private CredentialIndexRepository credentialIndex;
+
+    @Autowired
+    private UserAuthenticationRepository userAuthenticationRepository;
+
+    @Autowired
+    private LandLordRepository landLordRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Long landlordId;
+
+    @Test
+    void a_savedAccountsAreIndexedAndFollowTheirContact() {
+        Contact contact = new Contact.Builder()
+                .setEmail("Indexed.Landlord@Test-Suite.local ")
+                .setPreferredContactMethod(Contact.PreferredContactMethod.EMAIL)
+                .build();
+        Landlord landlord = landLordRepository.save(new Landlord.Builder()
+                .setLandlordFirstName("Indexed")
+                .setLandlordLastName("Landlord")
+                .setDateRegistered(LocalDate.now())
+                .setPassword(passwordEncoder.encode("IndexedPass123"))
+                .setContact(contact)
+                .build());
+        landlordId = landlord.getLandlordID();
+
+        List<LoginCredential> credentials =
+                userAuthenticationRepository.findCredentials("indexed.landlord@test-suite.local");
+        assertEquals(1, credentials.size());
+        assertEquals(UserAuthentication.UserRole.LANDLORD, credentials.get(0).role());
+        assertEquals(landlordId, credentials.get(0).accountId());
+        assertEquals("Indexed", credentials.get(0).firstName());
+
+        Contact renamed = new Contact.Builder()
+                .copy(landlord.getContact())
+                .setEmail("renamed.landlord@test-suite.local")
+                .build();
+        landLordRepository.save(new Landlord.Builder().copy(landlord).setContact(renamed).build());
+
+        assertTrue(userAuthenticationRepository.findCredentials("indexed.landlord@test-suite.local").isEmpty());
+        LoginResponse response = authenticationService.login("renamed.landlord@test-suite.local", "IndexedPass123");
+        assertTrue(response.isAuthenticated(), "Expected login under the new email to succeed");
+        assertEquals("LANDLORD", response.getRole());
+    }
+
+    @Test
+    void b_deletedAccountsLeaveTheIndex() {
+        landLordRepository.deleteById(landlordId);
+
+        assertTrue(userAuthenticationRepository.findCredentials("renamed.landlord@test-suite.local").isEmpty());
+        assertFalse(authenticationService.login("renamed.landlord@test-suite.local", "IndexedPass123")
+                .isAuthenticated());
+    }
+
+    @Test
+    void c_backfillIndexesAccountsWrittenOutsideJpa() {
+        Long contactId = insertContact("Legacy.Student@Test-Suite.local");
+        jdbcTemplate.update("INSERT INTO student (student_name, student_surname, password, is_student_verified, "
+                + "contact_id) VALUES ('Legacy', 'Student', ?, FALSE, ?)", passwordEncoder.encode("LegacyPass123"),
+                contactId);
+
+        String email = "legacy.student@test-suite.local";
+        assertTrue(userAuthenticationRepository.findCredentials(email).isEmpty());
+        assertFalse(authenticationService.login(email, "LegacyPass123").isAuthenticated());
+
+        assertEquals(1, backfill.backfill());
+        assertEquals(0, backfill.backfill());
+
+        LoginResponse response = authenticationService.login(email, "LegacyPass123", "student");
+        assertTrue(response.isAuthenticated(), "Expected the backfilled student to log in");
+        assertEquals("STUDENT", response.getRole());
+    }
+
+    @Test
+    void d_savedAccountsAdoptTheSignUpRowOfTheirContact() {
+        String email = "signed.up.landlord@test-suite.local";
+        Long contactId = insertContact(email);
+        insertSignUpRow(email, "SignUpPass123", "LANDLORD", contactId);
+
+        Landlord landlord = new TransactionTemplate(transactionManager).execute(status ->
+                landLordRepository.save(new Landlord.Builder()
+                        .setLandlordFirstName("Signed")
+                        .setLandlordLastName("Up")
+                        .setDateRegistered(LocalDate.now())
+                        .setContact(contactRepository.findById(contactId).orElseThrow())
+                        .build()));
+
+        List<LoginCredential> credentials = userAuthenticationRepository.findCredentials(email);
+        assertEquals(1, credentials.size());
+        assertEquals(landlord.getLandlordID(), credentials.get(0).accountId());
+        LoginResponse response = authenticationService.login(email, "SignUpPass123", "landlord");
+        assertTrue(response.isAuthenticated(), "Expected the sign-up password to log the landlord in");
+        assertEquals(landlord.getLandlordID(), response.getUserId());
+    }
+
+    @Test
+    void e_accountsSharingAContactBothLogIn() {
+        String email = "shared.contact@test-suite.local";
+        String hash = passwordEncoder.encode("SharedPass123");
+        Student student = studentRepository.save(new Student.Builder()
+                .setStudentName("Shared")
+                .setStudentSurname("Contact")
+                .setPassword(hash)
+                .setContact(new Contact.Builder()
+                        .setEmail(email)
+                        .setPreferredContactMethod(Contact.PreferredContactMethod.EMAIL)
+                        .build())
+                .build());
+        Landlord landlord = new TransactionTemplate(transactionManager).execute(status ->
+                landLordRepository.save(new Landlord.Builder()
+                        .setLandlordFirstName("Shared")
+                        .setLandlordLastName("Contact")
+                        .setDateRegistered(LocalDate.now())
+                        .setPassword(hash)
+                        .setContact(contactRepository.findById(student.getContact().getContactID()).orElseThrow())
+                        .build()));
+
+        assertEquals("STUDENT", authenticationService.login(email, "SharedPass123", "student").getRole());
+        assertEquals("LANDLORD", authenticationService.login(email, "SharedPass123", "landlord").getRole());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                credentialIndex.remove(CredentialIndexRepository.Account.LANDLORD, landlord.getLandlordID()));
+        assertTrue(authenticationService.login(email, "SharedPass123", "student").isAuthenticated());
+        assertFalse(authenticationService.login(email, "SharedPass123", "landlord").isAuthenticated());
+
+        assertEquals(1, backfill.backfill());
+        assertTrue(authenticationService.login(email, "SharedPass123", "landlord").isAuthenticated());
+        assertTrue(authenticationService.login(email, "SharedPass123", "student").isAuthenticated());
+    }
+
+    @Test
+    void f_backfillAdoptsTheSignUpRowOfAContact() {
+        String email = "signed.up.student@test-suite.local";
+        Long contactId = insertContact(email);
+        insertSignUpRow(email, "SignUpPass456", "STUDENT", contactId);
+        jdbcTemplate.update("INSERT INTO student (student_name, student_surname, is_student_verified, contact_id) "
+                + "VALUES ('Signed', 'Up', FALSE, ?)", contactId);
+        assertFalse(authenticationService.login(email, "SignUpPass456", "student").isAuthenticated());
+
+        assertEquals(1, backfill.backfill());
+        assertEquals(0, backfill.backfill());
+
+        LoginResponse response = authenticationService.login(email, "SignUpPass456", "student");
+        assertTrue(response.isAuthenticated(), "Expected the backfilled student to log in with the sign-up password");
+        assertEquals(1, userAuthenticationRepository.findCredentials(email).size());
+    }
+
+    @Test
+    void g_accountsSharingAContactKeepTheirOwnPasswords() {
+        String email = "two.passwords@test-suite.local";
+        Student student = studentRepository.save(new Student.Builder()
+                .setStudentName("Two")
+                .setStudentSurname("Passwords")
+                .setPassword(passwordEncoder.encode("StudentPass123"))
+                .setContact(new Contact.Builder()
+                        .setEmail(email)
+                        .setPreferredContactMethod(Contact.PreferredContactMethod.EMAIL)
+                        .build())
+                .build());
+        Landlord landlord = new TransactionTemplate(transactionManager).execute(status ->
+                landLordRepository.save(new Landlord.Builder()
+                        .setLandlordFirstName("Two")
+                        .setLandlordLastName("Passwords")
+                        .setDateRegistered(LocalDate.now())
+                        .setPassword(passwordEncoder.encode("LandlordPass123"))
+                        .setContact(contactRepository.findById(student.getContact().getContactID()).orElseThrow())
+                        .build()));
+
+        assertEquals(2, userAuthenticationRepository.findCredentials(email).size());
+        assertTrue(authenticationService.login(email, "StudentPass123", "student").isAuthenticated());
+        assertTrue(authenticationService.login(email, "LandlordPass123", "landlord").isAuthenticated());
+        assertFalse(authenticationService.login(email, "LandlordPass123", "student").isAuthenticated());
+
+        landLordRepository.save(new Landlord.Builder()
+                .copy(landlord)
+                .setPassword(passwordEncoder.encode("ChangedLandlord456"))
+                .build());
+        assertTrue(authenticationService.login(email, "ChangedLandlord456", "landlord").isAuthenticated());
+        assertTrue(authenticationService.login(email, "StudentPass123", "student").isAuthenticated());
+    }
+
+    private Long insertContact(String email) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO contact (email, is_email_verified, is_phone_verified) VALUES (?, FALSE, FALSE)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setString(1, email);
+            return statement;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+
+    // A row as sign-up wrote it before the index existed: it holds the hash but names no account.
+    private void insertSignUpRow(String email, String password, String role, Long contactId) {
+        jdbcTemplate.update("INSERT INTO user_authentication (username, password, user_role, contact_id) "
+                + "VALUES (?, ?, ?, ?)", email, passwordEncoder.encode(password), role, contactId);
+    }
+}
@@ -0,0 +1,164 @@
+package co.za.cput.service.generic.implementation;
+
+import co.za.cput.repository.generic.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.idempotency.persistence.enabled=true")
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void a_retryReplaysTheFirstResponse() {
+        AtomicInteger runs = new AtomicInteger();
+        Map<String, Object> request = Map.of("studentId", 1, "accommodationId", 2);
+
+        ResponseEntity<?> first = idempotencyService.execute("test.apply", "key-a", request, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("bookingId", 42));
+        });
+        ResponseEntity<?> retry = idempotencyService.execute("test.apply", "key-a", request, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("bookingId", 43));
+        });
+
+        assertEquals(1, runs.get());
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("{\"bookingId\":42}", retry.getBody());
+        assertTrue(recordRepository.findById("test.apply:key-a").orElseThrow().isCompleted());
+    }
+
+    @Test
+    void b_keyReusedForADifferentRequestIsRefused() {
+        ResponseEntity<?> reused = idempotencyService.execute("test.apply", "key-a",
+                Map.of("studentId", 1, "accommodationId", 3), () -> ResponseEntity.ok("should not run"));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, reused.getStatusCode());
+
+        // The same key on another endpoint is a different request.
+        ResponseEntity<?> otherScope = idempotencyService.execute("test.signup", "key-a",
+                Map.of("email", "x@example.com"), () -> ResponseEntity.ok("ran"));
+        assertEquals("ran", otherScope.getBody());
+    }
+
+    @Test
+    void c_serverErrorsAreNotKept() {
+        AtomicInteger runs = new AtomicInteger();
+        ResponseEntity<?> failed = idempotencyService.execute("test.apply", "key-c", "body", () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.internalServerError().body("boom");
+        });
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, failed.getStatusCode());
+        assertTrue(recordRepository.findById("test.apply:key-c").isEmpty());
+
+        ResponseEntity<?> retried = idempotencyService.execute("test.apply", "key-c", "body", () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok("done");
+        });
+        assertEquals(2, runs.get());
+        assertEquals("done", retried.getBody());
+    }
+
+    @Test
+    void d_concurrentDuplicatesRunOnce() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<ResponseEntity<?>> first = pool.submit(() -> idempotencyService.execute("test.apply", "key-d",
+                    "body", () -> {
+                        runs.incrementAndGet();
+                        started.countDown();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException exception) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return ResponseEntity.status(HttpStatus.CREATED).body("created");
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<ResponseEntity<?>> second = pool.submit(() -> idempotencyService.execute("test.apply", "key-d",
+                    "body", () -> {
+                        runs.incrementAndGet();
+                        return ResponseEntity.ok("duplicate ran");
+                    }));
+            Future<ResponseEntity<?>> third = pool.submit(() -> idempotencyService.execute("test.apply", "key-d",
+                    "body", () -> {
+                        runs.incrementAndGet();
+                        return ResponseEntity.ok("duplicate ran");
+                    }));
+            release.countDown();
+
+            assertEquals("created", first.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals("created", second.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals("created", third.get(5, TimeUnit.SECONDS).getBody());
+            assertEquals(1, runs.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void e_anotherNodeReplaysFromTheDatabase() {
+        IdempotencyService otherNode = new IdempotencyService(objectMapper, recordRepository, transactionManager,
+                true, 100, 60_000, 1_000, System::nanoTime);
+
+        ResponseEntity<?> replayed = otherNode.execute("test.apply", "key-a",
+                Map.of("studentId", 1, "accommodationId", 2), () -> ResponseEntity.ok("should not run"));
+        assertEquals(HttpStatus.CREATED, replayed.getStatusCode());
+        assertEquals("{\"bookingId\":42}", replayed.getBody());
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    void f_memoryIsBoundedAndExpires() {
+        long[] now = {0};
+        IdempotencyService small = new IdempotencyService(objectMapper, recordRepository, transactionManager,
+                false, 2, 1_000, 1_000, () -> now[0]);
+        for (int i = 0; i < 5; i++) {
+            small.execute("test.small", "key-" + i, "body", () -> ResponseEntity.ok("ok"));
+        }
+        assertEquals(2, small.size());
+
+        now[0] = TimeUnit.SECONDS.toNanos(2);
+        AtomicInteger runs = new AtomicInteger();
+        small.execute("test.small", "key-4", "body", () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok("ok");
+        });
+        assertEquals(1, runs.get());
+        assertEquals(1, small.size());
+    }
+}
@@ -0,0 +1,169 @@
+package co.za.cput.service.notification;
+
+import co.za.cput.domain.business.Accommodation;
+import co.za.cput.domain.business.Booking;
+import co.za.cput.domain.generic.Contact;
+import co.za.cput.domain.notification.OutboxMessage;
+import co.za.cput.domain.users.Student;
+import co.za.cput.dto.BookingStatusUpdateRequest;
+import co.za.cput.repository.notification.OutboxMessageRepository;
+import co.za.cput.service.business.implementation.BookingServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"app.notifications.retry-base-ms=0", "app.notifications.max-attempts=2"})
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class NotificationDispatcherTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2027, 3, 1);
+
+    @TestConfiguration
+    static class UnreachableChannelConfig {
+
+        @Bean
+        NotificationChannel unreachableChannel() {
+            return new NotificationChannel() {
+                @Override
+                public String name() {
+                    return "unreachable";
+                }
+
+                @Override
+                public void deliver(Notification notification) throws IOException {
+                    throw new IOException("Connection refused");
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private FileNotificationChannel fileChannel;
+
+    @Autowired
+    private OutboxMessageRepository outboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static Long confirmedId;
+    private static Long clashingId;
+
+    @Test
+    void a_statusChangesAreQueuedOnlyWhenTheyCommit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Accommodation listing = new Accommodation.Builder()
+                    .setRent(5400)
+                    .setRoomType(Accommodation.RoomType.SINGLE)
+                    .setBathroomType(Accommodation.BathroomType.SHARED)
+                    .setAccommodationStatus(Accommodation.AccommodationStatus.AVAILABLE)
+                    .build();
+            entityManager.persist(listing);
+            confirmedId = application(listing, "first@outbox.test").getBookingID();
+            clashingId = application(listing, "second@outbox.test").getBookingID();
+        });
+
+        bookingService.updateApplicationStatus(confirmedId, status(Booking.BookingStatus.CONFIRMED));
+        // The same dates on a single-unit listing: the confirmation rolls back and so does its notification.
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.updateApplicationStatus(clashingId, status(Booking.BookingStatus.CONFIRMED)));
+
+        List<OutboxMessage> queued = messagesFor(confirmedId);
+        assertEquals(2, queued.size());
+        assertTrue(queued.stream().allMatch(message -> message.getStatus() == OutboxMessage.OutboxStatus.PENDING
+                && message.getRecipientType() == OutboxMessage.RecipientType.STUDENT));
+        assertEquals(List.of(), messagesFor(clashingId));
+    }
+
+    @Test
+    void b_dispatchSendsEachChannelAndRetriesFailuresSeparately() throws IOException {
+        assertTrue(dispatcher.dispatch() >= 1);
+
+        Map<String, OutboxMessage> byChannel = byChannel(messagesFor(confirmedId));
+        OutboxMessage sent = byChannel.get(FileNotificationChannel.NAME);
+        assertEquals(OutboxMessage.OutboxStatus.SENT, sent.getStatus());
+        assertNotNull(sent.getSentAt());
+        assertTrue(Files.readString(fileChannel.path()).contains("\"id\":\"outbox-" + sent.getId() + "\""));
+
+        OutboxMessage retrying = byChannel.get("unreachable");
+        assertEquals(OutboxMessage.OutboxStatus.PENDING, retrying.getStatus());
+        assertEquals(1, retrying.getAttempts());
+        assertNull(retrying.getClaimToken());
+        assertTrue(retrying.getLastError().contains("Connection refused"));
+    }
+
+    @Test
+    void c_aMessageOutOfAttemptsIsLeftFailed() {
+        dispatcher.dispatch();
+
+        Map<String, OutboxMessage> byChannel = byChannel(messagesFor(confirmedId));
+        assertEquals(OutboxMessage.OutboxStatus.FAILED, byChannel.get("unreachable").getStatus());
+        assertEquals(2, byChannel.get("unreachable").getAttempts());
+        assertEquals(1, byChannel.get(FileNotificationChannel.NAME).getAttempts());
+
+        dispatcher.dispatch();
+        assertEquals(2, byChannel(messagesFor(confirmedId)).get("unreachable").getAttempts());
+    }
+
+    private Booking application(Accommodation listing, String email) {
+        Student student = new Student.Builder()
+                .setStudentName("Outbox")
+                .setStudentSurname("Student")
+                .setContact(new Contact.Builder().setEmail(email).build())
+                .build();
+        entityManager.persist(student);
+        Booking booking = new Booking.Builder()
+                .setStudent(student)
+                .setAccommodation(listing)
+                .setCheckInDate(MARCH)
+                .setCheckOutDate(MARCH.plusMonths(9))
+                .setTotalAmount(5400)
+                .setCreatedAt(LocalDateTime.now())
+                .setBookingStatus(Booking.BookingStatus.IN_PROGRESS)
+                .build();
+        entityManager.persist(booking);
+        return booking;
+    }
+
+    private List<OutboxMessage> messagesFor(Long bookingId) {
+        return outboxRepository.findBySubjectIdAndEventTypeOrderById(bookingId,
+                OutboxMessage.EventType.BOOKING_STATUS_CHANGED);
+    }
+
+    private static Map<String, OutboxMessage> byChannel(List<OutboxMessage> messages) {
+        return messages.stream().collect(Collectors.toMap(OutboxMessage::getChannel, Function.identity()));
+    }
+
+    private static BookingStatusUpdateRequest status(Booking.BookingStatus status) {
+        BookingStatusUpdateRequest request = new BookingStatusUpdateRequest();
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,182 @@
+package co.za.cput.service.users;
+
+import co.za.cput.domain.generic.Contact;
+import co.za.cput.domain.users.Administrator;
+import co.za.cput.domain.users.Landlord;
+import co.za.cput.dto.LoginResponse;
+import co.za.cput.repository.users.AdministratorRepository;
+import co.za.cput.repository.users.LandLordRepository;
+import co.za.cput.service.users.implementation.AdministratorServiceImpl;
+import co.za.cput.service.users.implementation.AuthenticationService;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestMethodOrder(MethodOrderer.MethodName.class)
+class AdminSessionTokenServiceTest {
+
+    private static final String EMAIL = "session.admin@test-suite.local";
+    private static final String PASSWORD = "SessionAdmin123";
+
+    @Autowired
+    private AdminSessionTokenService adminSessions;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private AdministratorServiceImpl administratorService;
+
+    @Autowired
+    private AdministratorRepository administratorRepository;
+
+    @Autowired
+    private LandLordRepository landLordRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static Long adminId;
+    private static String token;
+
+    @Test
+    void a_adminLoginIssuesASessionToken() {
+        Contact contact = new Contact.Builder()
+                .setEmail(EMAIL)
+                .setPreferredContactMethod(Contact.PreferredContactMethod.EMAIL)
+                .build();
+        adminId = administratorRepository.save(new Administrator.Builder()
+                .setAdminName("Session")
+                .setAdminSurname("Admin")
+                .setAdminPassword(passwordEncoder.encode(PASSWORD))
+                .setAdminRoleStatus(Administrator.AdminRoleStatus.ACTIVE)
+                .setSuperAdmin(true)
+                .setContact(contact)
+                .build()).getAdminID();
+
+        LoginResponse response = authenticationService.login(EMAIL, PASSWORD, "admin");
+        assertTrue(response.isAuthenticated());
+        assertNotNull(response.getSessionToken());
+        assertTrue(response.getSessionExpiresAt().isAfter(Instant.now()));
+        token = response.getSessionToken();
+
+        AdminPrincipal principal = adminSessions.authenticate(token).orElseThrow();
+        assertEquals(adminId, principal.adminId());
+        assertTrue(principal.superAdmin());
+    }
+
+    @Test
+    void b_forgedOrMalformedTokensAreRejected() {
+        String[] parts = token.split("\\.");
+        String otherPayload = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("v1." + (adminId + 1) + ".9999999999.0000").getBytes());
+
+        assertTrue(adminSessions.authenticate(otherPayload + "." + parts[1]).isEmpty());
+        assertTrue(adminSessions.authenticate(parts[0] + "." + parts[1] + "x").isEmpty());
+        assertTrue(adminSessions.authenticate(parts[0]).isEmpty());
+        assertTrue(adminSessions.authenticate("not a token").isEmpty());
+        assertTrue(adminSessions.authenticate(null).isEmpty());
+    }
+
+    @Test
+    void c_adminActionsAcceptTheTokenInsteadOfAPassword() throws Exception {
+        Long landlordId = landLordRepository.save(new Landlord.Builder()
+                .setLandlordFirstName("Session")
+                .setLandlordLastName("Landlord")
+                .setDateRegistered(LocalDate.now())
+                .setVerified(false)
+                .build()).getLandlordID();
+        String body = "{\"approved\": true}";
+
+        mockMvc.perform(post("/api/admins/landlords/{id}/verification", landlordId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/admins/landlords/{id}/verification", landlordId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.verified").value(true));
+
+        mockMvc.perform(post("/api/admins/landlords/{id}/verification", landlordId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "tampered")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void d_changingThePasswordRevokesEarlierTokens() {
+        Administrator administrator = administratorRepository.findById(adminId).orElseThrow();
+        administratorService.update(new Administrator.Builder()
+                .copy(administrator)
+                .setAdminPassword("ChangedPassword456")
+                .build());
+
+        assertTrue(adminSessions.authenticate(token).isEmpty());
+        String fresh = authenticationService.login(EMAIL, "ChangedPassword456", "admin").getSessionToken();
+        assertTrue(adminSessions.authenticate(fresh).isPresent());
+    }
+
+    @Test
+    void da_suspendingTheAccountRevokesItsTokensAtOnce() {
+        String current = authenticationService.login(EMAIL, "ChangedPassword456", "admin").getSessionToken();
+        assertTrue(adminSessions.authenticate(current).isPresent());
+        Administrator administrator = administratorRepository.findById(adminId).orElseThrow();
+
+        administratorService.update(new Administrator.Builder()
+                .copy(administrator)
+                .setAdminRoleStatus(Administrator.AdminRoleStatus.INACTIVE)
+                .build());
+        assertTrue(adminSessions.authenticate(current).isEmpty());
+
+        administratorService.update(new Administrator.Builder()
+                .copy(administrator)
+                .setAdminRoleStatus(Administrator.AdminRoleStatus.ACTIVE)
+                .build());
+        assertTrue(adminSessions.authenticate(current).isPresent());
+    }
+
+    @Test
+    void e_tokensExpireAndThePrincipalCacheIsBounded() {
+        AtomicReference<Instant> now = new AtomicReference<>(Instant.now());
+        AtomicLong clock = new AtomicLong();
+        AdminSessionTokenService shortLived = new AdminSessionTokenService(administratorRepository,
+                "a-test-secret-that-is-at-least-32-bytes", Duration.ofMinutes(5).toMillis(), 1,
+                Duration.ofMinutes(1).toMillis(), clock::get, now::get);
+        Administrator administrator = administratorRepository.findById(adminId).orElseThrow();
+
+        String issued = shortLived.issue(administrator).token();
+        assertTrue(shortLived.authenticate(issued).isPresent());
+        assertTrue(adminSessions.authenticate(issued).isEmpty(), "A token signed with another key must not verify");
+
+        now.set(now.get().plus(Duration.ofMinutes(5)));
+        assertTrue(shortLived.authenticate(issued).isEmpty());
+        assertEquals(1, shortLived.cachedPrincipals());
+    }
+}
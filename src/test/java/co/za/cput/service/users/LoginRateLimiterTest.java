@@ -0,0 +1,167 @@
+package co.za.cput.service.users;
+
+import co.za.cput.dto.LoginThrottleStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * MINUTE);
+
+    private LoginRateLimiter limiter(int perEmail, int perIp, int maxKeys) {
+        return new LoginRateLimiter(perEmail, perIp, Duration.ofMinutes(15).toMillis(),
+                Duration.ofMinutes(15).toMillis(), maxKeys, now::get);
+    }
+
+    @Test
+    void emailLocksAfterTheLimitAndUnlocksAfterTheLockout() {
+        LoginRateLimiter limiter = limiter(5, 100, 100);
+        for (int i = 0; i < 4; i++) {
+            limiter.recordFailedAttempt("a@test.com", "10.0.0.1");
+        }
+        assertTrue(limiter.retryAfter("a@test.com", "10.0.0.1").isZero());
+
+        limiter.recordFailedAttempt("a@test.com", "10.0.0.1");
+        assertEquals(Duration.ofMinutes(15), limiter.retryAfter("a@test.com", "10.0.0.2"));
+        assertTrue(limiter.retryAfter("b@test.com", "10.0.0.1").isZero());
+
+        now.addAndGet(15 * MINUTE);
+        assertTrue(limiter.retryAfter("a@test.com", "10.0.0.1").isZero());
+
+        LoginThrottleStats stats = limiter.stats();
+        assertEquals(5, stats.failedAttempts());
+        assertEquals(1, stats.emailLockouts());
+        assertEquals(1, stats.blockedByEmail());
+    }
+
+    @Test
+    void failuresSlideOutOfTheWindow() {
+        LoginRateLimiter limiter = limiter(5, 100, 100);
+        for (int i = 0; i < 4; i++) {
+            limiter.recordFailedAttempt("a@test.com", null);
+        }
+        // Halfway through the next window only about half of the earlier failures still count.
+        now.addAndGet(15 * MINUTE + 8 * MINUTE);
+        limiter.recordFailedAttempt("a@test.com", null);
+        limiter.recordFailedAttempt("a@test.com", null);
+        assertTrue(limiter.retryAfter("a@test.com", null).isZero());
+
+        limiter.recordFailedAttempt("a@test.com", null);
+        limiter.recordFailedAttempt("a@test.com", null);
+        assertFalse(limiter.retryAfter("a@test.com", null).isZero());
+    }
+
+    @Test
+    void ipLocksAcrossEmailsAndASuccessDoesNotResetIt() {
+        LoginRateLimiter limiter = limiter(5, 10, 100);
+        for (int i = 0; i < 10; i++) {
+            limiter.recordFailedAttempt("user" + i + "@test.com", "10.0.0.9");
+            limiter.resetAttempts("user" + i + "@test.com");
+        }
+        assertFalse(limiter.retryAfter("fresh@test.com", "10.0.0.9").isZero());
+        assertTrue(limiter.retryAfter("fresh@test.com", "10.0.0.8").isZero());
+        assertEquals(1, limiter.stats().ipLockouts());
+        assertEquals(1, limiter.stats().blockedByIp());
+    }
+
+    @Test
+    void concurrentFailuresAreNotLost() throws Exception {
+        LoginRateLimiter limiter = limiter(1_000, 10_000, 100);
+        int threads = 8;
+        int perThread = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        limiter.recordFailedAttempt("target@test.com", "10.0.0.1");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(limiter.retryAfter("target@test.com", null).isZero());
+        assertEquals(threads * perThread, limiter.stats().failedAttempts());
+
+        for (int i = 0; i < 1_000 - threads * perThread; i++) {
+            limiter.recordFailedAttempt("target@test.com", "10.0.0.1");
+        }
+        assertFalse(limiter.retryAfter("target@test.com", null).isZero());
+    }
+
+    @Test
+    void memoryStaysBoundedAndIdleKeysAreEvicted() {
+        LoginRateLimiter limiter = limiter(5, 100, 10);
+        for (int i = 0; i < 50; i++) {
+            limiter.recordFailedAttempt("spray" + i + "@test.com", null);
+        }
+        LoginThrottleStats full = limiter.stats();
+        assertEquals(10, full.trackedKeys());
+        assertEquals(40, full.displaced());
+
+        now.addAndGet(30 * MINUTE);
+        limiter.recordFailedAttempt("late@test.com", null);
+        assertEquals(1, limiter.stats().trackedKeys());
+        assertEquals(10, limiter.stats().evicted());
+
+        now.addAndGet(30 * MINUTE);
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(0, limiter.stats().trackedKeys());
+    }
+
+    @Test
+    void aFullLimiterStillLocksANewKey() {
+        LoginRateLimiter limiter = limiter(5, 100, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.recordFailedAttempt("spray" + i + "@test.com", null);
+            now.addAndGet(1);
+        }
+        for (int i = 0; i < 5; i++) {
+            limiter.recordFailedAttempt("victim@test.com", null);
+        }
+        assertEquals(Duration.ofMinutes(15), limiter.retryAfter("victim@test.com", null));
+
+        LoginThrottleStats stats = limiter.stats();
+        assertEquals(10, stats.trackedKeys());
+        assertEquals(1, stats.displaced());
+    }
+
+    @Test
+    void lockedKeysAreDisplacedLast() {
+        LoginRateLimiter limiter = limiter(2, 100, 3);
+        limiter.recordFailedAttempt("locked@test.com", null);
+        limiter.recordFailedAttempt("locked@test.com", null);
+        now.addAndGet(1);
+        limiter.recordFailedAttempt("a@test.com", null);
+        now.addAndGet(1);
+        limiter.recordFailedAttempt("b@test.com", null);
+        now.addAndGet(1);
+
+        limiter.recordFailedAttempt("c@test.com", null);
+        assertFalse(limiter.retryAfter("locked@test.com", null).isZero());
+        assertEquals(3, limiter.stats().trackedKeys());
+        assertEquals(1, limiter.stats().lockedKeys());
+    }
+}